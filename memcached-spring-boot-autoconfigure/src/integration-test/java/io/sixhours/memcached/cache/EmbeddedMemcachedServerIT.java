@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.sixhours.memcached.cache.MemcachedCacheProperties.Protocol;
+import io.sixhours.memcached.test.EmbeddedMemcachedServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Memcached cache integration tests against the embedded memcached server, without Docker.
+ */
+class EmbeddedMemcachedServerIT {
+
+    private final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer();
+
+    private MemcachedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (cacheManager instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+        server.stop();
+    }
+
+    @Test
+    void whenXMemcachedTextProtocolThenCacheOperationsSuccessful() throws IOException {
+        whenCacheManagerThenCacheOperationsSuccessful(xmemcached(Protocol.TEXT));
+    }
+
+    @Test
+    void whenXMemcachedBinaryProtocolThenCacheOperationsSuccessful() throws IOException {
+        whenCacheManagerThenCacheOperationsSuccessful(xmemcached(Protocol.BINARY));
+    }
+
+    @Test
+    void whenSpymemcachedTextProtocolThenCacheOperationsSuccessful() throws IOException {
+        whenCacheManagerThenCacheOperationsSuccessful(spymemcached(Protocol.TEXT));
+    }
+
+    @Test
+    void whenSpymemcachedBinaryProtocolThenCacheOperationsSuccessful() throws IOException {
+        whenCacheManagerThenCacheOperationsSuccessful(spymemcached(Protocol.BINARY));
+    }
+
+    @Test
+    void whenLatencyExceedsOperationTimeoutThenOperationFails() throws IOException {
+        cacheManager = xmemcached(Protocol.TEXT);
+        server.setLatency(Duration.ofMillis(500));
+
+        assertThatThrownBy(() -> cacheManager.client().get("key"))
+                .isInstanceOf(MemcachedOperationException.class);
+    }
+
+    @Test
+    void whenServerErrorInjectedThenOperationFails() throws IOException {
+        cacheManager = xmemcached(Protocol.TEXT);
+        server.failNext(EmbeddedMemcachedServer.Fault.ERROR, 1);
+
+        assertThatThrownBy(() -> cacheManager.client().set("key", 60, "value"))
+                .isInstanceOf(MemcachedOperationException.class);
+        assertThat(cacheManager.client().get("key")).isNull();
+    }
+
+    private void whenCacheManagerThenCacheOperationsSuccessful(MemcachedCacheManager memcachedCacheManager) {
+        cacheManager = memcachedCacheManager;
+        Cache cache = cacheManager.getCache("books");
+
+        cache.put("key", "value");
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(cache.putIfAbsent("key", "other")).isNotNull()
+                .extracting(Cache.ValueWrapper::get).isEqualTo("value");
+
+        assertThat(cache.get("loaded", () -> "loaded value")).isEqualTo("loaded value");
+        assertThat(cache.get("loaded", () -> "reloaded value")).isEqualTo("loaded value");
+
+        cache.evict("key");
+        assertThat(cache.get("key")).isNull();
+
+        cache.clear();
+        assertThat(cache.get("loaded")).isNull();
+        assertThat(server.itemCount()).isPositive();
+    }
+
+    private MemcachedCacheManager xmemcached(Protocol protocol) throws IOException {
+        return new XMemcachedCacheManagerFactory(properties(protocol),
+                new StaticListableBeanFactory().getBeanProvider(XMemcachedClientCustomizer.class)).create();
+    }
+
+    private MemcachedCacheManager spymemcached(Protocol protocol) throws IOException {
+        return new SpyMemcachedCacheManagerFactory(properties(protocol),
+                new StaticListableBeanFactory().getBeanProvider(SpyMemcachedConnectionFactoryCustomizer.class)).create();
+    }
+
+    private MemcachedCacheProperties properties(Protocol protocol) {
+        MemcachedCacheProperties properties = new MemcachedCacheProperties();
+        properties.setServers(server.getAddress());
+        properties.setProtocol(protocol);
+        properties.setOperationTimeout(Duration.ofMillis(200));
+        return properties;
+    }
+}
@@ -20,8 +20,18 @@ import com.google.appengine.api.memcache.MemcacheService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 /**
  * {@code AppEngine} memcached client implementation.
+ * <p>
+ * The {@link MemcacheService} calls are served by the local App Engine runtime, so the async operations
+ * complete them in place and return an already completed future. Values are always serialized by the
+ * {@link MemcacheService}, so the {@link MemcachedCodec} configured for a cache is not applied.
  *
  * @author Igor Bolic
  */
@@ -47,7 +57,13 @@ public class AppEngineMemcachedClient implements IMemcachedClient {
 
     @Override
     public void set(String key, int exp, Object value) {
-        this.service.put(key, value, Expiration.byDeltaSeconds(exp));
+        this.service.put(key, MemcachedCodecValue.unwrap(value), Expiration.byDeltaSeconds(exp));
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        return this.service.put(key, MemcachedCodecValue.unwrap(value), Expiration.byDeltaSeconds(exp),
+                MemcacheService.SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
     }
 
     @Override
@@ -71,8 +87,77 @@ public class AppEngineMemcachedClient implements IMemcachedClient {
         return this.service.increment(key, by);
     }
 
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
+        return this.service.getAll(keys);
+    }
+
+    @Override
+    public void setMulti(Map<String, Object> values, int exp) {
+        Map<String, Object> plainValues = new LinkedHashMap<>(values);
+        plainValues.replaceAll((key, value) -> MemcachedCodecValue.unwrap(value));
+        this.service.putAll(plainValues, Expiration.byDeltaSeconds(exp));
+    }
+
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        this.service.deleteAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return completed(() -> get(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        return completed(() -> {
+            set(key, exp, value);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        return completed(() -> add(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        return completed(() -> {
+            touch(key, exp);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        return completed(() -> {
+            delete(key);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        return completed(() -> incr(key, by));
+    }
+
+    @Override
+    public boolean supportsCodecs() {
+        return true;
+    }
+
     @Override
     public void shutdown() {
         // do nothing
     }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IMemcachedClient} decorator merging concurrent single-key gets into multi-gets.
+ * <p>
+ * Gets are queued per server owning the key, and every server has at most one batch in flight, sent on a pool of
+ * sender threads, so a slow server does not hold back the gets of the other servers. The window adapts to load: a
+ * get for a server with no batch in flight is sent right away, while gets queued during a running batch are sent
+ * together in the next one. Once more than one get is waiting, the sender waits up to the max delay for the batch to
+ * fill up to the max batch size. Gets fail if not completed within the operation timeout plus the max delay. All
+ * other operations are passed to the delegate client as is.
+ */
+public class BatchingMemcachedClient implements IMemcachedClient {
+    private static final Log log = LogFactory.getLog(BatchingMemcachedClient.class);
+
+    private static final int SENDER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final String UNKNOWN_SERVER = "";
+
+    private final IMemcachedClient delegate;
+    private final int maxBatchSize;
+    private final long maxDelay;
+    private final long getTimeout;
+    private final Map<String, ServerQueue> serverQueues = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor senders;
+
+    private volatile BatchListener batchListener = BatchListener.NONE;
+    private volatile boolean running = true;
+
+    public BatchingMemcachedClient(IMemcachedClient delegate, MemcachedCacheProperties.Batching batching) {
+        this(delegate, batching, Duration.ofMillis(Default.OPERATION_TIMEOUT));
+    }
+
+    /**
+     * Creates the batching client.
+     *
+     * @param delegate         The decorated client
+     * @param batching         The batching configuration
+     * @param operationTimeout The operation timeout of the delegate client, bounding the wait of the gets
+     */
+    public BatchingMemcachedClient(IMemcachedClient delegate, MemcachedCacheProperties.Batching batching,
+                                   Duration operationTimeout) {
+        log.info("BatchingMemcachedClient client initialized.");
+        this.delegate = delegate;
+        this.maxBatchSize = batching.getMaxBatchSize();
+        this.maxDelay = batching.getMaxDelay().toNanos();
+        this.getTimeout = operationTimeout.toNanos() + this.maxDelay;
+
+        // every server has at most one batch in flight, so the queue is bounded by the number of servers
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("memcached-batch-");
+        threadFactory.setDaemon(true);
+        this.senders = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.senders.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the decorated client.
+     *
+     * @return The delegate client
+     */
+    public IMemcachedClient delegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Sets the listener notified about the dispatched batches, e.g. to record metrics.
+     *
+     * @param batchListener The batch listener
+     */
+    public void setBatchListener(BatchListener batchListener) {
+        this.batchListener = (batchListener != null) ? batchListener : BatchListener.NONE;
+    }
+
+    @Override
+    public Object nativeClient() {
+        return this.delegate.nativeClient();
+    }
+
+    @Override
+    public Object get(String key) {
+        try {
+            return getAsync(key).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MemcachedOperationException("Failed to get key", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MemcachedOperationException("Failed to get key", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        if (!this.running) {
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to get key",
+                    new IllegalStateException("Client is shut down")));
+        }
+        PendingGet pendingGet = new PendingGet(key, new CompletableFuture<>(), System.nanoTime());
+        ServerQueue serverQueue = this.serverQueues.computeIfAbsent(server(key), server -> new ServerQueue());
+        serverQueue.gets.add(pendingGet);
+        if (!this.running) {
+            failPendingGets();
+        } else {
+            schedule(serverQueue);
+        }
+        return pendingGet.result().orTimeout(this.getTimeout, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void set(String key, int exp, Object value) {
+        this.delegate.set(key, exp, value);
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        return this.delegate.add(key, exp, value);
+    }
+
+    @Override
+    public void touch(String key, int exp) {
+        this.delegate.touch(key, exp);
+    }
+
+    @Override
+    public void delete(String key) {
+        this.delegate.delete(key);
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public long incr(String key, int by) {
+        return this.delegate.incr(key, by);
+    }
+
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
+        return this.delegate.getMulti(keys);
+    }
+
+    @Override
+    public void setMulti(Map<String, Object> values, int exp) {
+        this.delegate.setMulti(values, exp);
+    }
+
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        this.delegate.deleteMulti(keys);
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        return this.delegate.setAsync(key, exp, value);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        return this.delegate.addAsync(key, exp, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        return this.delegate.touchAsync(key, exp);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        return this.delegate.deleteAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        return this.delegate.incrAsync(key, by);
+    }
+
+    @Override
+    public CompletableFuture<Void> setNoReply(String key, int exp, Object value) {
+        return this.delegate.setNoReply(key, exp, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
+        return this.delegate.addNoReply(key, exp, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteNoReply(String key) {
+        return this.delegate.deleteNoReply(key);
+    }
+
+    @Override
+    public MemcachedTransportStatistics transportStatistics() {
+        return this.delegate.transportStatistics();
+    }
+
+    @Override
+    public Map<String, Map<String, String>> stats(String group) {
+        return this.delegate.stats(group);
+    }
+
+    @Override
+    public boolean supportsCodecs() {
+        return this.delegate.supportsCodecs();
+    }
+
+    @Override
+    public void shutdown() {
+        this.running = false;
+        this.senders.shutdownNow();
+        try {
+            this.senders.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPendingGets();
+        this.delegate.shutdown();
+    }
+
+    private String server(String key) {
+        String server = this.delegate.transportStatistics().locate(key);
+        return (server != null) ? server : UNKNOWN_SERVER;
+    }
+
+    /**
+     * Starts sending the gets of the server, unless its batch is already in flight.
+     */
+    private void schedule(ServerQueue serverQueue) {
+        synchronized (serverQueue) {
+            if (serverQueue.sending) {
+                return;
+            }
+            serverQueue.sending = true;
+        }
+        try {
+            this.senders.execute(() -> sendAll(serverQueue));
+        } catch (RejectedExecutionException e) {
+            synchronized (serverQueue) {
+                serverQueue.sending = false;
+            }
+            failGets(serverQueue, e);
+        }
+    }
+
+    /**
+     * Sends the batches of the server one after another, until no get is left in its queue.
+     */
+    private void sendAll(ServerQueue serverQueue) {
+        while (true) {
+            List<PendingGet> batch;
+            try {
+                batch = nextBatch(serverQueue);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                synchronized (serverQueue) {
+                    serverQueue.sending = false;
+                }
+                return;
+            }
+            if (batch.isEmpty()) {
+                synchronized (serverQueue) {
+                    if (serverQueue.gets.isEmpty()) {
+                        serverQueue.sending = false;
+                        return;
+                    }
+                }
+                continue;
+            }
+            send(batch);
+        }
+    }
+
+    /**
+     * Takes the next batch of gets of the server. If more than one get is already waiting, the batch is filled up to
+     * the max batch size, waiting at most max delay since the first get was queued.
+     *
+     * @return The batch of gets, empty if no get is waiting
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private List<PendingGet> nextBatch(ServerQueue serverQueue) throws InterruptedException {
+        List<PendingGet> batch = new ArrayList<>(this.maxBatchSize);
+        PendingGet first = serverQueue.gets.poll();
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        serverQueue.gets.drainTo(batch, this.maxBatchSize - 1);
+
+        if (batch.size() > 1) {
+            long deadline = first.queuedAt() + this.maxDelay;
+            long remaining;
+            while (batch.size() < this.maxBatchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                PendingGet next = serverQueue.gets.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                serverQueue.gets.drainTo(batch, this.maxBatchSize - batch.size());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Sends the batch to the delegate client. Gets left incomplete by a failure, whatever its type, are failed, so
+     * their callers never wait forever.
+     */
+    private void send(List<PendingGet> batch) {
+        RuntimeException failure = null;
+        try {
+            long sentAt = System.nanoTime();
+            BatchListener listener = this.batchListener;
+            listener.batchSent(batch.size());
+            batch.forEach(pendingGet -> listener.getQueued(sentAt - pendingGet.queuedAt()));
+
+            if (batch.size() == 1) {
+                PendingGet pendingGet = batch.get(0);
+                pendingGet.result().complete(this.delegate.get(pendingGet.key()));
+                return;
+            }
+
+            Set<String> keys = new LinkedHashSet<>();
+            batch.forEach(pendingGet -> keys.add(pendingGet.key()));
+            Map<String, Object> values = this.delegate.getMulti(keys);
+            batch.forEach(pendingGet -> pendingGet.result().complete(values.get(pendingGet.key())));
+        } catch (RuntimeException e) {
+            failure = e;
+        } catch (Throwable e) {
+            log.warn("Failed to send batch of gets", e);
+            failure = new MemcachedOperationException("Failed to get key", e);
+        } finally {
+            for (PendingGet pendingGet : batch) {
+                if (!pendingGet.result().isDone()) {
+                    pendingGet.result().completeExceptionally((failure != null) ? failure
+                            : new MemcachedOperationException("Failed to get key", null));
+                }
+            }
+        }
+    }
+
+    private void failPendingGets() {
+        IllegalStateException shutDown = new IllegalStateException("Client is shut down");
+        this.serverQueues.values().forEach(serverQueue -> failGets(serverQueue, shutDown));
+    }
+
+    private static void failGets(ServerQueue serverQueue, Throwable cause) {
+        List<PendingGet> remaining = new ArrayList<>();
+        serverQueue.gets.drainTo(remaining);
+        remaining.forEach(pendingGet -> pendingGet.result().completeExceptionally(
+                new MemcachedOperationException("Failed to get key", cause)));
+    }
+
+    /**
+     * Listener notified about the batches sent by the {@link BatchingMemcachedClient}.
+     */
+    public interface BatchListener {
+
+        BatchListener NONE = new BatchListener() {
+        };
+
+        /**
+         * Called for every batch sent to the delegate client.
+         *
+         * @param batchSize Number of gets in the batch
+         */
+        default void batchSent(int batchSize) {
+        }
+
+        /**
+         * Called for every get sent to the delegate client.
+         *
+         * @param queueDelayNanos Time in nanoseconds the get waited in the queue
+         */
+        default void getQueued(long queueDelayNanos) {
+        }
+    }
+
+    private record PendingGet(String key, CompletableFuture<Object> result, long queuedAt) {
+    }
+
+    /**
+     * Gets queued for a single server, and whether a sender thread is sending them.
+     */
+    private static final class ServerQueue {
+        private final BlockingQueue<PendingGet> gets = new LinkedBlockingQueue<>();
+        private boolean sending;
+    }
+}
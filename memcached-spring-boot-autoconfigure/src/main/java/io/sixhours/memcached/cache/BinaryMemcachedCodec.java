@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary {@link MemcachedCodec}.
+ * <p>
+ * Strings, boxed primitives, byte arrays and the {@link ArrayList}, {@link HashSet}, {@link LinkedHashSet},
+ * {@link HashMap} and {@link LinkedHashMap} collections of such values are written with a one byte type tag followed
+ * by their content, without class descriptors. Any other value falls back to Java serialization.
+ */
+public class BinaryMemcachedCodec implements MemcachedCodec {
+
+    public static final String NAME = "binary";
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte CHARACTER = 9;
+    private static final byte BYTES = 10;
+    private static final byte LIST = 11;
+    private static final byte SET = 12;
+    private static final byte LINKED_SET = 13;
+    private static final byte MAP = 14;
+    private static final byte LINKED_MAP = 15;
+    private static final byte SERIALIZED = 16;
+
+    @Override
+    public int id() {
+        return 1;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Failed to encode value of type %s",
+                    value.getClass().getName()), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return read(in);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to decode value", e);
+        }
+    }
+
+    private void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer number) {
+            out.writeByte(INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Short number) {
+            out.writeByte(SHORT);
+            out.writeShort(number);
+        } else if (value instanceof Byte number) {
+            out.writeByte(BYTE);
+            out.writeByte(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Character character) {
+            out.writeByte(CHARACTER);
+            out.writeChar(character);
+        } else if (value instanceof byte[] array) {
+            out.writeByte(BYTES);
+            writeBytes(out, array);
+        } else if (value.getClass() == ArrayList.class) {
+            out.writeByte(LIST);
+            writeElements(out, (List<?>) value);
+        } else if (value.getClass() == HashSet.class) {
+            out.writeByte(SET);
+            writeElements(out, (Set<?>) value);
+        } else if (value.getClass() == LinkedHashSet.class) {
+            out.writeByte(LINKED_SET);
+            writeElements(out, (Set<?>) value);
+        } else if (value.getClass() == HashMap.class) {
+            out.writeByte(MAP);
+            writeEntries(out, (Map<?, ?>) value);
+        } else if (value.getClass() == LinkedHashMap.class) {
+            out.writeByte(LINKED_MAP);
+            writeEntries(out, (Map<?, ?>) value);
+        } else {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(out, serialized.toByteArray());
+        }
+    }
+
+    private void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeElements(DataOutputStream out, Collection<?> elements) throws IOException {
+        out.writeInt(elements.size());
+        for (Object element : elements) {
+            write(out, element);
+        }
+    }
+
+    private void writeEntries(DataOutputStream out, Map<?, ?> entries) throws IOException {
+        out.writeInt(entries.size());
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            write(out, entry.getKey());
+            write(out, entry.getValue());
+        }
+    }
+
+    private Object read(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+            case INTEGER -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case SHORT -> in.readShort();
+            case BYTE -> in.readByte();
+            case BOOLEAN -> in.readBoolean();
+            case CHARACTER -> in.readChar();
+            case BYTES -> readBytes(in);
+            case LIST -> {
+                int size = in.readInt();
+                yield readElements(in, size, new ArrayList<>(size));
+            }
+            case SET -> {
+                int size = in.readInt();
+                yield readElements(in, size, new HashSet<>(capacity(size)));
+            }
+            case LINKED_SET -> {
+                int size = in.readInt();
+                yield readElements(in, size, new LinkedHashSet<>(capacity(size)));
+            }
+            case MAP -> {
+                int size = in.readInt();
+                yield readEntries(in, size, new HashMap<>(capacity(size)));
+            }
+            case LINKED_MAP -> {
+                int size = in.readInt();
+                yield readEntries(in, size, new LinkedHashMap<>(capacity(size)));
+            }
+            case SERIALIZED -> readSerialized(readBytes(in));
+            default -> throw new IllegalStateException(String.format("Unknown value type %d", type));
+        };
+    }
+
+    private byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private Collection<Object> readElements(DataInputStream in, int size, Collection<Object> elements)
+            throws IOException, ClassNotFoundException {
+        for (int i = 0; i < size; i++) {
+            elements.add(read(in));
+        }
+        return elements;
+    }
+
+    private Map<Object, Object> readEntries(DataInputStream in, int size, Map<Object, Object> entries)
+            throws IOException, ClassNotFoundException {
+        for (int i = 0; i < size; i++) {
+            entries.put(read(in), read(in));
+        }
+        return entries;
+    }
+
+    /**
+     * Initial capacity of a hash based collection holding the given number of elements without rehashing.
+     */
+    private static int capacity(int size) {
+        return (int) Math.ceil(size / 0.75);
+    }
+
+    private Object readSerialized(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+                ClassUtils.getDefaultClassLoader())) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link IMemcachedClient} decorator guarding the memcached operations with circuit breakers, so that an unavailable
+ * server turns into cache misses instead of operations waiting for the operation timeout.
+ * <p>
+ * Single-key operations go through the breaker of the server owning the key, or through the client breaker if the
+ * server can not be determined. Multi-key operations skip the keys of the servers whose breaker is not closed and go
+ * through the client breaker. A rejected read returns a miss and a rejected write does nothing. An operation let
+ * through that fails with a {@link MemcachedOperationException} or a timeout is recorded by its breaker and then
+ * treated the same way as a rejected one. Other failures, e.g. a value that can not be serialized, are not counted
+ * and are rethrown as before. A rejected add reports the value as stored, so that a lease is never waited for, while
+ * a rejected asynchronous add, which creates the cache namespace, reports it as not stored, so that a namespace the
+ * server did not store is never used.
+ * {@code flush}, {@code stats} and {@code shutdown} are passed to the delegate client as is.
+ */
+public class CircuitBreakingMemcachedClient implements IMemcachedClient {
+    private static final Log log = LogFactory.getLog(CircuitBreakingMemcachedClient.class);
+
+    static final String CLIENT_BREAKER = "client";
+
+    private final IMemcachedClient delegate;
+    private final MemcachedCacheProperties.CircuitBreaker circuitBreaker;
+    private final Clock clock;
+    private final MemcachedCircuitBreaker clientBreaker;
+    private final ConcurrentMap<String, MemcachedCircuitBreaker> serverBreakers = new ConcurrentHashMap<>();
+
+    private volatile Listener listener = Listener.NONE;
+
+    public CircuitBreakingMemcachedClient(IMemcachedClient delegate,
+                                          MemcachedCacheProperties.CircuitBreaker circuitBreaker) {
+        this(delegate, circuitBreaker, Clock.systemUTC());
+    }
+
+    CircuitBreakingMemcachedClient(IMemcachedClient delegate, MemcachedCacheProperties.CircuitBreaker circuitBreaker,
+                                   Clock clock) {
+        log.info("CircuitBreakingMemcachedClient client initialized.");
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.clock = clock;
+        this.clientBreaker = new MemcachedCircuitBreaker(CLIENT_BREAKER, circuitBreaker, clock);
+    }
+
+    /**
+     * Returns the decorated client.
+     *
+     * @return The delegate client
+     */
+    public IMemcachedClient delegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Returns the client breaker followed by the breakers of the servers used so far, ordered by address.
+     *
+     * @return The circuit breakers
+     */
+    public List<MemcachedCircuitBreaker> breakers() {
+        List<MemcachedCircuitBreaker> breakers = new ArrayList<>();
+        breakers.add(this.clientBreaker);
+        breakers.addAll(new TreeMap<>(this.serverBreakers).values());
+        return breakers;
+    }
+
+    /**
+     * Sets the listener notified about the breakers created, including the breakers already created.
+     *
+     * @param listener The listener
+     */
+    public void setListener(Listener listener) {
+        this.listener = (listener != null) ? listener : Listener.NONE;
+        breakers().forEach(this.listener::breakerAdded);
+    }
+
+    @Override
+    public Object nativeClient() {
+        return this.delegate.nativeClient();
+    }
+
+    @Override
+    public Object get(String key) {
+        return call(breaker(key), () -> this.delegate.get(key), null);
+    }
+
+    @Override
+    public void set(String key, int exp, Object value) {
+        call(breaker(key), () -> {
+            this.delegate.set(key, exp, value);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        return call(breaker(key), () -> this.delegate.add(key, exp, value), true);
+    }
+
+    @Override
+    public void touch(String key, int exp) {
+        call(breaker(key), () -> {
+            this.delegate.touch(key, exp);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void delete(String key) {
+        call(breaker(key), () -> {
+            this.delegate.delete(key);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public long incr(String key, int by) {
+        return call(breaker(key), () -> this.delegate.incr(key, by), -1L);
+    }
+
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
+        List<String> permitted = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (permitsMultiKey(key)) {
+                permitted.add(key);
+            }
+        }
+        if (permitted.isEmpty()) {
+            return Map.of();
+        }
+        return call(this.clientBreaker, () -> this.delegate.getMulti(permitted), Map.of());
+    }
+
+    @Override
+    public void setMulti(Map<String, Object> values, int exp) {
+        Map<String, Object> permitted = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            if (permitsMultiKey(key)) {
+                permitted.put(key, value);
+            }
+        });
+        if (!permitted.isEmpty()) {
+            call(this.clientBreaker, () -> {
+                this.delegate.setMulti(permitted, exp);
+                return null;
+            }, null);
+        }
+    }
+
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        List<String> permitted = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (permitsMultiKey(key)) {
+                permitted.add(key);
+            }
+        }
+        if (!permitted.isEmpty()) {
+            call(this.clientBreaker, () -> {
+                this.delegate.deleteMulti(permitted);
+                return null;
+            }, null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return callAsync(breaker(key), () -> this.delegate.getAsync(key), null);
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        return callAsync(breaker(key), () -> this.delegate.setAsync(key, exp, value), null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        return callAsync(breaker(key), () -> this.delegate.addAsync(key, exp, value), false);
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        return callAsync(breaker(key), () -> this.delegate.touchAsync(key, exp), null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        return callAsync(breaker(key), () -> this.delegate.deleteAsync(key), null);
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        return callAsync(breaker(key), () -> this.delegate.incrAsync(key, by), -1L);
+    }
+
+    @Override
+    public CompletableFuture<Void> setNoReply(String key, int exp, Object value) {
+        return callAsync(breaker(key), () -> this.delegate.setNoReply(key, exp, value), null);
+    }
+
+    @Override
+    public CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
+        return callAsync(breaker(key), () -> this.delegate.addNoReply(key, exp, value), null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteNoReply(String key) {
+        return callAsync(breaker(key), () -> this.delegate.deleteNoReply(key), null);
+    }
+
+    @Override
+    public MemcachedTransportStatistics transportStatistics() {
+        return this.delegate.transportStatistics();
+    }
+
+    @Override
+    public Map<String, Map<String, String>> stats(String group) {
+        return this.delegate.stats(group);
+    }
+
+    @Override
+    public boolean supportsCodecs() {
+        return this.delegate.supportsCodecs();
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    private static <T> T call(MemcachedCircuitBreaker breaker, Supplier<T> operation, T rejected) {
+        if (!breaker.tryAcquire()) {
+            return rejected;
+        }
+        T result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            if (!isTransportFailure(e)) {
+                breaker.released();
+                throw e;
+            }
+            failed(breaker, e);
+            return rejected;
+        }
+        breaker.succeeded();
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> callAsync(MemcachedCircuitBreaker breaker,
+                                                      Supplier<CompletableFuture<T>> operation, T rejected) {
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(rejected);
+        }
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            if (!isTransportFailure(e)) {
+                breaker.released();
+                throw e;
+            }
+            failed(breaker, e);
+            return CompletableFuture.completedFuture(rejected);
+        }
+        return future.handle((result, e) -> {
+            if (e == null) {
+                breaker.succeeded();
+                return result;
+            }
+            if (!isTransportFailure(e)) {
+                breaker.released();
+                throw (e instanceof CompletionException completionException)
+                        ? completionException
+                        : new CompletionException(e);
+            }
+            failed(breaker, e);
+            return rejected;
+        });
+    }
+
+    /**
+     * Returns whether the operation failed in the memcached transport, i.e. whether the failure tells about the
+     * server availability.
+     */
+    private static boolean isTransportFailure(Throwable error) {
+        Throwable e = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+        return e instanceof MemcachedOperationException || MemcachedCircuitBreaker.isTimeout(e);
+    }
+
+    private static void failed(MemcachedCircuitBreaker breaker, Throwable e) {
+        breaker.failed(e);
+        log.debug(String.format("Memcached operation failed on '%s'", breaker.name()), e);
+    }
+
+    private boolean permitsMultiKey(String key) {
+        MemcachedCircuitBreaker breaker = breaker(key);
+        return breaker == this.clientBreaker || breaker.permitsMultiKey();
+    }
+
+    /**
+     * Returns the breaker of the server owning the key, or the client breaker if the server can not be determined.
+     */
+    private MemcachedCircuitBreaker breaker(String key) {
+        MemcachedTransportStatistics statistics = this.delegate.transportStatistics();
+        String server = (statistics != null) ? statistics.locate(key) : null;
+        if (server == null) {
+            return this.clientBreaker;
+        }
+        MemcachedCircuitBreaker breaker = this.serverBreakers.get(server);
+        if (breaker != null) {
+            return breaker;
+        }
+        MemcachedCircuitBreaker created = new MemcachedCircuitBreaker(server, this.circuitBreaker, this.clock);
+        breaker = this.serverBreakers.putIfAbsent(server, created);
+        if (breaker != null) {
+            return breaker;
+        }
+        this.listener.breakerAdded(created);
+        return created;
+    }
+
+    /**
+     * Listener notified about the circuit breakers created, e.g. to record metrics.
+     */
+    public interface Listener {
+
+        Listener NONE = breaker -> {
+        };
+
+        void breakerAdded(MemcachedCircuitBreaker breaker);
+    }
+}
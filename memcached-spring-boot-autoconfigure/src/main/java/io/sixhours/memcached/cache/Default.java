@@ -18,11 +18,17 @@ package io.sixhours.memcached.cache;
 import io.sixhours.memcached.cache.MemcachedCacheProperties.Authentication;
 import io.sixhours.memcached.cache.MemcachedCacheProperties.Authentication.Mechanism;
 import io.sixhours.memcached.cache.MemcachedCacheProperties.HashStrategy;
+import io.sixhours.memcached.cache.MemcachedCacheProperties.InvalidationStrategy;
+import io.sixhours.memcached.cache.MemcachedCacheProperties.Lease;
 import io.sixhours.memcached.cache.MemcachedCacheProperties.Provider;
+import io.sixhours.memcached.cache.MemcachedCacheProperties.WriteBehind;
+import io.sixhours.memcached.cache.MemcachedCacheProperties.WriteMode;
+import org.springframework.util.unit.DataSize;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.List;
+import java.util.zip.Deflater;
 
 import static io.sixhours.memcached.cache.MemcachedCacheProperties.Protocol;
 import static java.util.Collections.singletonList;
@@ -56,6 +62,80 @@ public final class Default {
 
     public static final HashStrategy HASH_STRATEGY = HashStrategy.STANDARD;
 
+    public static final Duration NAMESPACE_REFRESH_INTERVAL = Duration.ZERO;
+
+    public static final InvalidationStrategy INVALIDATION_STRATEGY = InvalidationStrategy.NAMESPACE;
+
+    public static final Duration LEASE_TTL = Duration.ofSeconds(10);
+
+    public static final Duration LEASE_WAIT_TIMEOUT = Duration.ofMillis(2000);
+
+    public static final Duration LEASE_POLL_INTERVAL = Duration.ofMillis(50);
+
+    public static final Lease.Fallback LEASE_FALLBACK = Lease.Fallback.LOAD;
+
+    public static final Duration REFRESH_SOFT_TTL = Duration.ZERO;
+
+    public static final double REFRESH_EARLY_REFRESH_BETA = 0;
+
+    public static final int NEAR_CACHE_MAX_SIZE = 1000;
+
+    public static final Duration NEAR_CACHE_TTL = Duration.ofMillis(5000);
+
+    public static final WriteMode WRITE_MODE = WriteMode.ACKNOWLEDGED;
+
+    public static final int BATCHING_MAX_BATCH_SIZE = 64;
+
+    public static final Duration BATCHING_MAX_DELAY = Duration.ofMillis(2);
+
+    public static final String CODEC = MemcachedCodecs.JAVA;
+
+    public static final DataSize COMPRESSION_THRESHOLD = DataSize.ofBytes(1024);
+
+    public static final String COMPRESSION_ALGORITHM = DeflateMemcachedCompressor.NAME;
+
+    public static final int COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    public static final double COMPRESSION_MAX_RATIO = 0.9;
+
+    public static final int WRITE_BEHIND_CAPACITY = 10000;
+
+    public static final int WRITE_BEHIND_BATCH_SIZE = 100;
+
+    public static final WriteBehind.FullPolicy WRITE_BEHIND_FULL_POLICY = WriteBehind.FullPolicy.WRITE;
+
+    public static final int KEY_GENERATOR_MAX_LENGTH = 100;
+
+    public static final double METRICS_SAMPLE_RATE = 1.0;
+
+    public static final int METRICS_MAX_CACHES = 100;
+
+    public static final Duration SERVER_STATS_MIN_INTERVAL = Duration.ofSeconds(10);
+
+    public static final int HOT_KEYS_CAPACITY = 100;
+
+    public static final int HOT_KEYS_TOP = 10;
+
+    public static final double HOT_KEYS_SAMPLE_RATE = 0.01;
+
+    public static final Duration HOT_KEYS_DECAY_INTERVAL = Duration.ofMinutes(1);
+
+    public static final int HOT_KEY_REPLICATION_COPIES = 3;
+
+    public static final long HOT_KEY_REPLICATION_THRESHOLD = 10000;
+
+    public static final Duration HOT_KEY_REPLICATION_COPY_EXPIRATION = Duration.ofSeconds(10);
+
+    public static final double CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 0.5;
+
+    public static final int CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+
+    public static final int CIRCUIT_BREAKER_MINIMUM_CALLS = 10;
+
+    public static final Duration CIRCUIT_BREAKER_OPEN_DURATION = Duration.ofSeconds(10);
+
+    public static final int CIRCUIT_BREAKER_HALF_OPEN_TRIALS = 3;
+
     private Default() {
         throw new AssertionError("Suppress default constructor");
     }
@@ -30,6 +30,14 @@ class DisposableMemcachedCacheManager extends MemcachedCacheManager implements D
 
     @Override
     public void destroy() {
-        this.memcachedClient.shutdown();
+        try {
+            flush();
+        } finally {
+            try {
+                close();
+            } finally {
+                this.memcachedClient.shutdown();
+            }
+        }
     }
 }
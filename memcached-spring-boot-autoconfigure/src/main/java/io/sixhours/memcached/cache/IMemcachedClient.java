@@ -15,6 +15,10 @@
  */
 package io.sixhours.memcached.cache;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Memcached client interface.
  *
@@ -28,6 +32,8 @@ public interface IMemcachedClient {
 
     void set(String key, int exp, Object value);
 
+    boolean add(String key, int exp, Object value);
+
     void touch(final String key, final int exp);
 
     void delete(String key);
@@ -36,5 +42,86 @@ public interface IMemcachedClient {
 
     long incr(String key, int by);
 
+    Map<String, Object> getMulti(Collection<String> keys);
+
+    void setMulti(Map<String, Object> values, int exp);
+
+    void deleteMulti(Collection<String> keys);
+
+    CompletableFuture<Object> getAsync(String key);
+
+    CompletableFuture<Void> setAsync(String key, int exp, Object value);
+
+    CompletableFuture<Boolean> addAsync(String key, int exp, Object value);
+
+    CompletableFuture<Void> touchAsync(String key, int exp);
+
+    CompletableFuture<Void> deleteAsync(String key);
+
+    CompletableFuture<Long> incrAsync(String key, int by);
+
+    /**
+     * Sets the value without waiting for the server acknowledgment. The returned future completes once the
+     * command is handed over to the client, and fails only if it could not be sent.
+     * <p>
+     * Defaults to {@link #setAsync(String, int, Object)} for clients without a dedicated noreply command.
+     */
+    default CompletableFuture<Void> setNoReply(String key, int exp, Object value) {
+        return setAsync(key, exp, value);
+    }
+
+    /**
+     * Adds the value, unless the key is already present, without waiting for the server acknowledgment, see
+     * {@link #setNoReply(String, int, Object)}.
+     * <p>
+     * Defaults to {@link #add(String, int, Object)}, waiting for the server reply, for clients without a dedicated
+     * noreply or asynchronous add command.
+     */
+    default CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
+        try {
+            add(key, exp, value);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Deletes the key without waiting for the server acknowledgment, see {@link #setNoReply(String, int, Object)}.
+     */
+    default CompletableFuture<Void> deleteNoReply(String key) {
+        return deleteAsync(key);
+    }
+
+    /**
+     * Returns the transport statistics of the memcached servers, or {@code null} for clients that do not collect them.
+     */
+    default MemcachedTransportStatistics transportStatistics() {
+        return null;
+    }
+
+    /**
+     * Queries the statistics of every memcached server, e.g. {@code stats}, {@code stats slabs} or
+     * {@code stats items}. Servers are keyed by their address in the {@code host:port} form.
+     * <p>
+     * Defaults to no servers for clients that can not query the server statistics.
+     *
+     * @param group The statistics group, e.g. {@code slabs} or {@code items}, {@code null} for the general stats
+     * @return The statistics per server
+     */
+    default Map<String, Map<String, String>> stats(String group) {
+        return Map.of();
+    }
+
+    /**
+     * Returns whether the client stores the {@link MemcachedCodecValue} values, encoding them with their codec or
+     * storing the plain value. Caches with a codec require such a client.
+     * <p>
+     * Defaults to {@code false} for clients that pass the values to the memcached client as is.
+     */
+    default boolean supportsCodecs() {
+        return false;
+    }
+
     void shutdown();
 }
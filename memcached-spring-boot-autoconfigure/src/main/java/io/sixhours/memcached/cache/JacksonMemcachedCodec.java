@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.util.ClassUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON {@link MemcachedCodec} backed by Jackson.
+ * <p>
+ * The value is written as JSON, preceded by its class name, so it is read back as the same type. Nested values are
+ * read with the types declared by that class, so the cached classes should declare concrete types for their
+ * properties.
+ * <p>
+ * Since the class name is read from the cached data, only the allowed types are decoded: strings, primitive
+ * wrappers, {@code java.math} numbers, {@code java.time} values and {@code java.util} collections and maps, plus the
+ * classes whose name starts with one of the configured allowed type prefixes, e.g. {@code com.example.model.} for
+ * a package or {@code com.example.model.Book} for a single class.
+ */
+public class JacksonMemcachedCodec implements MemcachedCodec {
+
+    public static final String NAME = "json";
+
+    private final JsonMapper mapper;
+    private final List<String> allowedTypes;
+
+    public JacksonMemcachedCodec() {
+        this(List.of());
+    }
+
+    public JacksonMemcachedCodec(Collection<String> allowedTypes) {
+        this(JsonMapper.builder().build(), allowedTypes);
+    }
+
+    public JacksonMemcachedCodec(JsonMapper mapper) {
+        this(mapper, List.of());
+    }
+
+    public JacksonMemcachedCodec(JsonMapper mapper, Collection<String> allowedTypes) {
+        this.mapper = mapper;
+        this.allowedTypes = List.copyOf(allowedTypes);
+    }
+
+    @Override
+    public int id() {
+        return 2;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            byte[] type = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            byte[] json = this.mapper.writeValueAsBytes(value);
+            return ByteBuffer.allocate(Short.BYTES + type.length + json.length)
+                    .putShort((short) type.length)
+                    .put(type)
+                    .put(json)
+                    .array();
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException(String.format("Failed to encode value of type %s",
+                    value.getClass().getName()), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int typeLength = buffer.getShort();
+        String typeName = new String(data, Short.BYTES, typeLength, StandardCharsets.UTF_8);
+        int jsonOffset = Short.BYTES + typeLength;
+        try {
+            Class<?> type = ClassUtils.forName(typeName, ClassUtils.getDefaultClassLoader());
+            if (!isAllowed(type)) {
+                throw new IllegalStateException(String.format("Type %s is not allowed to be decoded", typeName));
+            }
+            return this.mapper.readValue(data, jsonOffset, data.length - jsonOffset, type);
+        } catch (ClassNotFoundException | JacksonException e) {
+            throw new IllegalStateException(String.format("Failed to decode value of type %s", typeName), e);
+        }
+    }
+
+    private boolean isAllowed(Class<?> type) {
+        if (type == String.class || ClassUtils.isPrimitiveWrapper(type)
+                || type == BigDecimal.class || type == BigInteger.class
+                || type.getName().startsWith("java.time.")
+                || (type.getPackageName().equals("java.util")
+                && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)))) {
+            return true;
+        }
+        return this.allowedTypes.stream().anyMatch(type.getName()::startsWith);
+    }
+}
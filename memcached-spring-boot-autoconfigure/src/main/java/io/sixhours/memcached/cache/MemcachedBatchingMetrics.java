@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect metrics on the get batching of the {@link BatchingMemcachedClient}. Binds no metrics if batching is
+ * disabled. The meters of the cache manager clients are tagged with the cache manager name.
+ */
+public class MemcachedBatchingMetrics implements MeterBinder {
+
+    private final Map<IMemcachedClient, Tags> memcachedClients;
+
+    public MemcachedBatchingMetrics(IMemcachedClient memcachedClient) {
+        this.memcachedClients = Map.of(memcachedClient, Tags.empty());
+    }
+
+    public MemcachedBatchingMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        this.memcachedClients = MemcachedCacheMetricsBinder.byCacheManager(cacheManagers,
+                MemcachedCacheManager::client);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.memcachedClients.forEach((memcachedClient, tags) -> bindClient(registry, memcachedClient, tags));
+    }
+
+    private static void bindClient(MeterRegistry registry, IMemcachedClient memcachedClient, Tags tags) {
+        final IMemcachedClient client = (memcachedClient instanceof CircuitBreakingMemcachedClient circuitBreaking)
+                ? circuitBreaking.delegate()
+                : memcachedClient;
+        if (!(client instanceof BatchingMemcachedClient batchingClient)) {
+            return;
+        }
+
+        final DistributionSummary batchSize = DistributionSummary.builder("memcached.batch.size")
+                .tags(tags)
+                .description("The number of gets sent in a single multi-get")
+                .publishPercentileHistogram()
+                .register(registry);
+        final Timer queueDelay = Timer.builder("memcached.batch.queue.delay")
+                .tags(tags)
+                .description("The time gets wait in the batching queue before being sent")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        batchingClient.setBatchListener(new BatchingMemcachedClient.BatchListener() {
+            @Override
+            public void batchSent(int size) {
+                batchSize.record(size);
+            }
+
+            @Override
+            public void getQueued(long queueDelayNanos) {
+                queueDelay.record(queueDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of the bulk lookup of multiple keys, see {@link MemcachedCache#getAll(java.util.Collection)}.
+ *
+ * @param hits   The values found in the cache, by cache key
+ * @param misses The cache keys not found in the cache
+ */
+public record MemcachedBulkResult(Map<Object, Object> hits, Set<Object> misses) {
+}
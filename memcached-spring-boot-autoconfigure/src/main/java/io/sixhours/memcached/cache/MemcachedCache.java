@@ -15,15 +15,33 @@
  */
 package io.sixhours.memcached.cache;
 
+import io.sixhours.memcached.cache.MemcachedCacheProperties.InvalidationStrategy;
+import io.sixhours.memcached.cache.MemcachedCacheProperties.WriteMode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * Cache implementation on top of Memcached.
@@ -32,17 +50,49 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class MemcachedCache extends AbstractValueAdaptingCache {
 
+    private static final Log log = LogFactory.getLog(MemcachedCache.class);
+
     private static final String KEY_DELIMITER = ":";
+    private static final String LEASE_KEY_SEGMENT = "lease";
+    private static final String COPY_KEY_SEGMENT = "copy";
+    private static final long NAMESPACE_TOUCH_INTERVAL = 1000L;
+    private static final int ADD_ATTEMPTS = 3;
 
-    private final IMemcachedClient memcachedClient;
+    private final IMemcachedClient nativeClient;
+    private volatile IMemcachedClient memcachedClient;
     private final MemcacheCacheMetadata memcacheCacheMetadata;
+    private final MemcachedKeyEncoder keyEncoder;
+
+    private final ConcurrentMap<Object, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<Object> inFlightRefreshes = ConcurrentHashMap.newKeySet();
 
-    private final Lock lock = new ReentrantLock();
+    private long namespaceRefreshInterval = Default.NAMESPACE_REFRESH_INTERVAL.toMillis();
+    private volatile LocalNamespace localNamespace;
+    private InvalidationStrategy invalidationStrategy = Default.INVALIDATION_STRATEGY;
+    private MemcachedLoadLease lease;
+    private long softTtl;
+    private double earlyRefreshBeta;
+    private Executor refreshExecutor = ForkJoinPool.commonPool();
+    private MemcachedNearCache nearCache;
+    private WriteMode writeMode = Default.WRITE_MODE;
+    private MemcachedWriteBehindQueue writeBehind;
+    private MemcachedCodec codec;
+    private MemcachedCompression compression;
+    private MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+    private MemcachedHotKeys hotKeys;
+    private MemcachedKeyReplication replication;
+    private volatile MemcachedOperationListener operationListener = MemcachedOperationListener.NONE;
 
     private final AtomicLong hits = new AtomicLong();
     private final AtomicLong misses = new AtomicLong();
     private final AtomicLong puts = new AtomicLong();
     private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong coalescedLoads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong nearHits = new AtomicLong();
+    private final AtomicLong nearMisses = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong nextNamespaceTouch = new AtomicLong();
 
     /**
      * Create an {@code MemcachedCache} with the given settings.
@@ -56,8 +106,10 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
      */
     public MemcachedCache(String name, IMemcachedClient memcachedClient, int expiration, String prefix, String namespace, Clock clock) {
         super(true);
+        this.nativeClient = memcachedClient;
         this.memcachedClient = memcachedClient;
         this.memcacheCacheMetadata = new MemcacheCacheMetadata(name, expiration, prefix, namespace, clock);
+        this.keyEncoder = new MemcachedKeyEncoder(this.memcacheCacheMetadata.keyPrefix());
     }
 
     /**
@@ -77,7 +129,158 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
 
     @Override
     protected Object lookup(Object key) {
-        return trackHitsMisses(memcachedClient.get(memcachedKey(key)));
+        return trackHitsMisses(read(key));
+    }
+
+    private Object read(Object key) {
+        return storeValue(readEntry(key));
+    }
+
+    private MemcachedCacheEntry readEntry(Object key) {
+        if (this.nearCache == null) {
+            return readMemcachedEntry(key);
+        }
+
+        MemcachedCacheEntry entry = readNearEntry(key);
+        if (entry != null) {
+            return entry;
+        }
+        long nearCacheVersion = this.nearCache.version();
+        entry = readMemcachedEntry(key);
+        if (entry != null) {
+            this.nearCache.putIfNotInvalidated(key, entry, nearCacheVersion);
+        }
+        return entry;
+    }
+
+    private MemcachedCacheEntry readMemcachedEntry(Object key) {
+        String namespace = namespaceValue();
+        if (namespace == null) {
+            return null;
+        }
+        String memcachedKey = memcachedKey(key, namespace);
+        Object pendingValue = pendingWrite(memcachedKey);
+        if (pendingValue != null) {
+            return fromMemcachedValue(pendingValue, namespace);
+        }
+        recordRead(memcachedKey);
+        return fromMemcachedValue(readReplicated(key, namespace, memcachedKey), namespace);
+    }
+
+    /**
+     * Reads the key from memcached. A replicated key is read from a random copy, falling back to the original key
+     * if the copy is missing, in which case the copy is repaired from the original value, see
+     * {@link #repairCopy(String, Object)}.
+     */
+    private Object readReplicated(Object key, String namespace, String memcachedKey) {
+        int copy = readCopy(key, memcachedKey);
+        if (copy == 0) {
+            return this.memcachedClient.get(memcachedKey);
+        }
+        String copyKey = copyKey(key, namespace, copy);
+        Object value = this.memcachedClient.get(copyKey);
+        if (value != null) {
+            return value;
+        }
+        Object originalValue = this.memcachedClient.get(memcachedKey);
+        repairCopy(copyKey, originalValue);
+        return originalValue;
+    }
+
+    private CompletableFuture<Object> readReplicatedAsync(Object key, String namespace, String memcachedKey) {
+        int copy = readCopy(key, memcachedKey);
+        if (copy == 0) {
+            return this.memcachedClient.getAsync(memcachedKey);
+        }
+        String copyKey = copyKey(key, namespace, copy);
+        return this.memcachedClient.getAsync(copyKey)
+                .thenCompose(value -> (value != null)
+                        ? CompletableFuture.completedFuture(value)
+                        : this.memcachedClient.getAsync(memcachedKey)
+                        .thenApply(originalValue -> {
+                            repairCopy(copyKey, originalValue);
+                            return originalValue;
+                        }));
+    }
+
+    /**
+     * Reads the keys with a multi-get, reading the replicated keys from a random copy. Copies found missing are
+     * read from their original keys with a second multi-get, and repaired from the original values.
+     *
+     * @return The values found, by the original memcached key
+     */
+    private Map<String, Object> readReplicatedMulti(Map<String, Object> keysByMemcachedKey, String namespace) {
+        if (this.replication == null) {
+            return this.memcachedClient.getMulti(keysByMemcachedKey.keySet());
+        }
+
+        Map<String, String> memcachedKeysByReadKey = new LinkedHashMap<>();
+        keysByMemcachedKey.forEach((memcachedKey, key) -> {
+            int copy = readCopy(key, memcachedKey);
+            memcachedKeysByReadKey.put((copy == 0) ? memcachedKey : copyKey(key, namespace, copy), memcachedKey);
+        });
+
+        Map<String, Object> readValues = this.memcachedClient.getMulti(memcachedKeysByReadKey.keySet());
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, String> missingCopies = new LinkedHashMap<>();
+        memcachedKeysByReadKey.forEach((readKey, memcachedKey) -> {
+            Object value = readValues.get(readKey);
+            if (value != null) {
+                values.put(memcachedKey, value);
+            } else if (!readKey.equals(memcachedKey)) {
+                missingCopies.put(memcachedKey, readKey);
+            }
+        });
+
+        if (!missingCopies.isEmpty()) {
+            Map<String, Object> originalValues = this.memcachedClient.getMulti(missingCopies.keySet());
+            originalValues.forEach((memcachedKey, value) -> repairCopy(missingCopies.get(memcachedKey), value));
+            values.putAll(originalValues);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the missing copy from the original value, so that a key read far more often than written keeps
+     * spreading its reads once its copies expire. The copy is added, leaving a copy written meanwhile by a put
+     * untouched. A copy repaired from a value read just before a concurrent evict may still outlive the evict, and is
+     * served until it expires, i.e. at most for the copy expiration.
+     */
+    private void repairCopy(String copyKey, Object memcachedValue) {
+        if (memcachedValue != null) {
+            writeNoReply(() -> this.memcachedClient.addNoReply(copyKey, this.replication.copyExpiration(),
+                    encoded(memcachedValue)));
+        }
+    }
+
+    private int readCopy(Object key, String memcachedKey) {
+        return (this.replication != null && this.replication.isReplicated(key, memcachedKey))
+                ? this.replication.randomCopy()
+                : 0;
+    }
+
+    /**
+     * Returns the value queued by the write-behind for the given key, so that the writes not yet sent to memcached
+     * are visible to the reads through this cache instance.
+     */
+    private Object pendingWrite(String memcachedKey) {
+        return (this.writeBehind != null) ? this.writeBehind.pending(memcachedKey) : null;
+    }
+
+    private void recordRead(String memcachedKey) {
+        if (this.hotKeys != null) {
+            this.hotKeys.record(memcachedKey);
+        }
+    }
+
+    private MemcachedCacheEntry readNearEntry(Object key) {
+        MemcachedCacheEntry entry = this.nearCache.get(key);
+        if (entry != null) {
+            nearHits.incrementAndGet();
+        } else {
+            nearMisses.incrementAndGet();
+        }
+        return entry;
     }
 
     @Override
@@ -87,68 +290,941 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
 
     @Override
     public Object getNativeCache() {
-        return this.memcachedClient;
+        return this.nativeClient;
     }
 
+    /**
+     * Returns the cached value, loading it with the {@code valueLoader} on a cache miss.
+     * <p>
+     * Concurrent misses on the same key within this cache instance share a single {@code valueLoader} call, while
+     * misses on different keys are loaded in parallel. A {@code valueLoader} reading the same key again on its own
+     * thread loads the value directly instead of waiting for itself. If the distributed lease is configured, the load is
+     * additionally coordinated between application instances, see {@link #setLease(MemcachedCacheProperties.Lease)}.
+     * <p>
+     * If the refresh is configured, a cached value past its soft ttl is returned as is, while the {@code valueLoader}
+     * reloads it in the background, see {@link #setRefresh(MemcachedCacheProperties.Refresh)}.
+     */
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        Object value = lookup(key);
-        if (value != null) {
+        MemcachedCacheEntry entry = trackHitsMisses(readEntry(key));
+        if (entry != null) {
+            if (isRefreshDue(entry)) {
+                refreshInBackground(key, () -> refreshValue(key, valueLoader));
+            }
+            return (T) fromStoreValue(entry.value());
+        }
+
+        InFlightLoad load = new InFlightLoad();
+        InFlightLoad inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            if (inFlightLoad.owner == Thread.currentThread()) {
+                return (T) fromStoreValue(toStoreValue(loadValue(key, valueLoader)));
+            }
+            coalescedLoads.incrementAndGet();
+            return (T) fromStoreValue(await(inFlightLoad));
+        }
+
+        try {
+            Object value = leaseValue(key, valueLoader);
+            load.complete(value);
             return (T) fromStoreValue(value);
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, load);
         }
+    }
 
-        lock.lock();
+    private static <T> T await(CompletableFuture<T> future) {
         try {
-            value = lookup(key);
-            if (value != null) {
-                return (T) fromStoreValue(value);
-            } else {
-                return (T) fromStoreValue(loadValue(key, valueLoader));
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the value under the distributed lease, if configured. The lease holder loads the value, while the other
+     * callers wait for the value to appear in the cache and, depending on the lease fallback, either load the value
+     * or fail once the lease wait timeout elapses.
+     *
+     * @param key         The key
+     * @param valueLoader The value loader
+     * @return The store value
+     */
+    private Object leaseValue(Object key, Callable<?> valueLoader) {
+        if (this.lease == null) {
+            return toStoreValue(loadValue(key, valueLoader));
+        }
+
+        String leaseKey = leaseKey(key);
+        if (this.lease.tryAcquire(leaseKey)) {
+            try {
+                return toStoreValue(loadValue(key, valueLoader));
+            } finally {
+                this.lease.release(leaseKey);
             }
-        } finally {
-            lock.unlock();
         }
+
+        Object value = this.lease.awaitValue(() -> read(key));
+        if (value != null) {
+            return value;
+        }
+        if (!this.lease.isLoadOnTimeout()) {
+            throw new ValueRetrievalException(key, valueLoader,
+                    new IllegalStateException("Timed out waiting for the value loaded by the lease holder"));
+        }
+        return toStoreValue(loadValue(key, valueLoader));
     }
 
     private <T> T loadValue(Object key, Callable<T> valueLoader) {
         T value;
+        long start = System.nanoTime();
         try {
             value = valueLoader.call();
         } catch (Exception e) {
+            this.operationListener.valueLoaded(System.nanoTime() - start, false);
             throw new ValueRetrievalException(key, valueLoader, e);
         }
-        put(key, value);
+        long loadTime = System.nanoTime() - start;
+        this.operationListener.valueLoaded(loadTime, true);
+        put(key, value, Duration.ofNanos(loadTime).toMillis());
         return value;
     }
 
+    /**
+     * Reloads the value of an entry past its soft ttl. If the distributed lease is configured, only the application
+     * instance that acquires the lease reloads the value, while the others keep serving the current value.
+     *
+     * @param key         The key
+     * @param valueLoader The value loader
+     */
+    private void refreshValue(Object key, Callable<?> valueLoader) {
+        if (this.lease == null) {
+            loadValue(key, valueLoader);
+            return;
+        }
+
+        String leaseKey = leaseKey(key);
+        if (this.lease.tryAcquire(leaseKey)) {
+            try {
+                loadValue(key, valueLoader);
+            } finally {
+                this.lease.release(leaseKey);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the entry should be refreshed. Past the soft ttl the entry is always refreshed. With the early
+     * refresh beta set, the entry is refreshed ahead of the soft ttl with the probability growing as the soft ttl
+     * approaches and with the time it took to load the value (XFetch).
+     *
+     * @param entry The cache entry
+     * @return {@code true} if the entry should be refreshed
+     */
+    private boolean isRefreshDue(MemcachedCacheEntry entry) {
+        if (this.softTtl <= 0 || entry.softExpiresAt() <= 0) {
+            return false;
+        }
+
+        double now = this.memcacheCacheMetadata.clock().millis();
+        if (this.earlyRefreshBeta > 0) {
+            now -= entry.loadTime() * this.earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        }
+        return now >= entry.softExpiresAt();
+    }
+
+    /**
+     * Runs the refresh on the refresh executor, unless a refresh of the same key is already in progress in this
+     * cache instance.
+     *
+     * @param key     The key
+     * @param refresh The refresh to run
+     */
+    private void refreshInBackground(Object key, Runnable refresh) {
+        if (!this.inFlightRefreshes.add(key)) {
+            return;
+        }
+
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    refresh.run();
+                    this.refreshes.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.warn(String.format("Failed to refresh the value of key '%s' in cache '%s'", key, getName()), e);
+                } finally {
+                    this.inFlightRefreshes.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.inFlightRefreshes.remove(key);
+            log.warn(String.format("Failed to schedule the refresh of key '%s' in cache '%s'", key, getName()), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> retrieve(Object key) {
+        return retrieveEntry(key).thenApply(entry -> toValueWrapper(storeValue(entry)));
+    }
+
+    private CompletableFuture<MemcachedCacheEntry> retrieveEntry(Object key) {
+        if (this.nearCache == null) {
+            return retrieveMemcachedEntry(key).thenApply(this::trackHitsMisses);
+        }
+
+        MemcachedCacheEntry nearEntry = readNearEntry(key);
+        if (nearEntry != null) {
+            return CompletableFuture.completedFuture(trackHitsMisses(nearEntry));
+        }
+        long nearCacheVersion = this.nearCache.version();
+        return retrieveMemcachedEntry(key).thenApply(entry -> {
+            if (entry != null) {
+                this.nearCache.putIfNotInvalidated(key, entry, nearCacheVersion);
+            }
+            return trackHitsMisses(entry);
+        });
+    }
+
+    private CompletableFuture<MemcachedCacheEntry> retrieveMemcachedEntry(Object key) {
+        return namespaceValueAsync()
+                .thenCompose(namespace -> {
+                    if (namespace == null) {
+                        return CompletableFuture.<MemcachedCacheEntry>completedFuture(null);
+                    }
+                    String memcachedKey = memcachedKey(key, namespace);
+                    Object pendingValue = pendingWrite(memcachedKey);
+                    if (pendingValue != null) {
+                        return CompletableFuture.completedFuture(fromMemcachedValue(pendingValue, namespace));
+                    }
+                    recordRead(memcachedKey);
+                    return readReplicatedAsync(key, namespace, memcachedKey)
+                            .thenApply(value -> fromMemcachedValue(value, namespace));
+                });
+    }
+
+    /**
+     * Returns the cached value, loading it with the {@code valueLoader} on a cache miss.
+     * <p>
+     * If the refresh is configured, a cached value past its soft ttl is returned as is, while the {@code valueLoader}
+     * reloads it in the background.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return retrieveEntry(key).thenCompose(entry -> {
+            if (entry != null) {
+                if (isRefreshDue(entry)) {
+                    refreshInBackground(key, () -> loadAsync(key, valueLoader).join());
+                }
+                return CompletableFuture.completedFuture((T) fromStoreValue(entry.value()));
+            }
+            return loadAsync(key, valueLoader);
+        });
+    }
+
+    private <T> CompletableFuture<T> loadAsync(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        long start = System.nanoTime();
+        return valueLoader.get()
+                .whenComplete((value, e) -> this.operationListener.valueLoaded(System.nanoTime() - start, e == null))
+                .thenCompose(value ->
+                        putAsync(key, value, Duration.ofNanos(System.nanoTime() - start).toMillis()).thenApply(v -> value));
+    }
+
+    private CompletableFuture<Void> putAsync(Object key, Object value, long loadTime) {
+        return namespaceValueAsync()
+                .thenCompose(namespace -> {
+                    if (namespace == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    Object memcachedValue = toMemcachedValue(toStoreValue(value), namespace, loadTime);
+                    String memcachedKey = memcachedKey(key, namespace);
+                    if (this.writeBehind != null) {
+                        this.writeBehind.enqueue(memcachedKey, memcachedValue);
+                        putNearEntry(key, memcachedValue);
+                        writeCopies(key, namespace, memcachedKey, memcachedValue);
+                        puts.incrementAndGet();
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    if (isNoReply()) {
+                        writeNoReply(() -> this.memcachedClient.setNoReply(memcachedKey,
+                                this.memcacheCacheMetadata.expiration(), encoded(memcachedValue)));
+                        putNearEntry(key, memcachedValue);
+                        touchNamespaceNoReply();
+                        writeCopies(key, namespace, memcachedKey, memcachedValue);
+                        puts.incrementAndGet();
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    return this.memcachedClient.setAsync(memcachedKey,
+                                    this.memcacheCacheMetadata.expiration(), encoded(memcachedValue))
+                            .thenRun(() -> {
+                                putNearEntry(key, memcachedValue);
+                                writeCopies(key, namespace, memcachedKey, memcachedValue);
+                            })
+                            .thenCompose(v -> this.memcachedClient.touchAsync(this.memcacheCacheMetadata.namespaceKey(),
+                                    this.memcacheCacheMetadata.expiration()))
+                            .thenRun(puts::incrementAndGet);
+                });
+    }
+
     @Override
     public void put(Object key, Object value) {
-        this.memcachedClient.set(memcachedKey(key), this.memcacheCacheMetadata.expiration(), toStoreValue(value));
-        this.memcachedClient.touch(this.memcacheCacheMetadata.namespaceKey(), this.memcacheCacheMetadata.expiration());
+        put(key, value, 0);
+    }
+
+    private void put(Object key, Object value, long loadTime) {
+        String namespace = namespaceValue();
+        if (namespace == null) {
+            return;
+        }
+        Object memcachedValue = toMemcachedValue(toStoreValue(value), namespace, loadTime);
+        String memcachedKey = memcachedKey(key, namespace);
+        if (this.writeBehind != null) {
+            this.writeBehind.enqueue(memcachedKey, memcachedValue);
+            putNearEntry(key, memcachedValue);
+        } else if (isNoReply()) {
+            writeNoReply(() -> this.memcachedClient.setNoReply(memcachedKey, this.memcacheCacheMetadata.expiration(),
+                    encoded(memcachedValue)));
+            putNearEntry(key, memcachedValue);
+            touchNamespaceNoReply();
+        } else {
+            this.memcachedClient.set(memcachedKey, this.memcacheCacheMetadata.expiration(), encoded(memcachedValue));
+            putNearEntry(key, memcachedValue);
+            this.memcachedClient.touch(this.memcacheCacheMetadata.namespaceKey(), this.memcacheCacheMetadata.expiration());
+        }
+        writeCopies(key, namespace, memcachedKey, memcachedValue);
         puts.incrementAndGet();
     }
 
+    private void putNearEntry(Object key, Object memcachedValue) {
+        if (this.nearCache != null) {
+            this.nearCache.put(key, (memcachedValue instanceof MemcachedCacheEntry entry)
+                    ? entry
+                    : new MemcachedCacheEntry(0, memcachedValue));
+        }
+    }
+
+    /**
+     * Stores the value only if the key is not present, using the memcached {@code add} operation, so concurrent calls
+     * for the same key across application instances store exactly one value. The stored value is read back only
+     * when the add loses.
+     */
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        Object existingValue = lookup(key);
-        if (existingValue == null) {
-            put(key, value);
-            return toValueWrapper(value);
+        MemcachedCacheEntry existing = (this.nearCache != null) ? readNearEntry(key) : null;
+        if (existing == null) {
+            existing = addOrGet(key, value);
+        }
+
+        if (trackHitsMisses(existing) != null) {
+            return toValueWrapper(existing.value());
+        }
+        return toValueWrapper(value);
+    }
+
+    /**
+     * Adds the value to memcached, unless the key is already present.
+     * <p>
+     * A lost add followed by a miss, the present entry evicted or written before the last clear with the generation
+     * strategy, is retried a bounded number of times, since a plain set could overwrite a value added concurrently.
+     * If every attempt is lost, or the namespace is unknown, the value is not cached.
+     *
+     * @param key   The key
+     * @param value The value to add
+     * @return The entry already present for the key, or {@code null} if none is present
+     */
+    private MemcachedCacheEntry addOrGet(Object key, Object value) {
+        String namespace = namespaceValue();
+        if (namespace == null) {
+            return null;
+        }
+        String memcachedKey = memcachedKey(key, namespace);
+        Object pendingValue = pendingWrite(memcachedKey);
+        if (pendingValue != null) {
+            return fromMemcachedValue(pendingValue, namespace);
         }
 
-        return toValueWrapper(existingValue);
+        Object memcachedValue = toMemcachedValue(toStoreValue(value), namespace, 0);
+        for (int attempt = 0; attempt < ADD_ATTEMPTS; attempt++) {
+            if (this.memcachedClient.add(memcachedKey, this.memcacheCacheMetadata.expiration(),
+                    encoded(memcachedValue))) {
+                putNearEntry(key, memcachedValue);
+                writeCopies(key, namespace, memcachedKey, memcachedValue);
+                this.memcachedClient.touch(this.memcacheCacheMetadata.namespaceKey(),
+                        this.memcacheCacheMetadata.expiration());
+                puts.incrementAndGet();
+                return null;
+            }
+
+            Object presentValue = this.memcachedClient.get(memcachedKey);
+            MemcachedCacheEntry existing = fromMemcachedValue(presentValue, namespace);
+            if (existing != null) {
+                if (this.nearCache != null) {
+                    this.nearCache.put(key, existing);
+                }
+                return existing;
+            }
+            if (presentValue != null) {
+                // written before the last clear with the generation strategy, deleted so that the add can replace it
+                this.memcachedClient.delete(memcachedKey);
+            }
+        }
+        return null;
     }
 
     @Override
     public void evict(Object key) {
-        this.memcachedClient.delete(memcachedKey(key));
+        String namespace = isGenerationStamped() ? null : namespaceValue();
+        if (namespace == null && !isGenerationStamped()) {
+            if (this.nearCache != null) {
+                this.nearCache.invalidate(key);
+            }
+            return;
+        }
+        String memcachedKey = memcachedKey(key, namespace);
+        if (this.writeBehind != null) {
+            this.writeBehind.remove(memcachedKey);
+        }
+        if (isNoReply()) {
+            writeNoReply(() -> this.memcachedClient.deleteNoReply(memcachedKey));
+        } else {
+            this.memcachedClient.delete(memcachedKey);
+        }
+        deleteCopies(List.of(key), namespace);
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(key);
+        }
         this.evictions.incrementAndGet();
     }
 
+    /**
+     * Looks up the values of the given keys with a single memcached multi-get, after checking the near cache if
+     * configured.
+     *
+     * @param keys The cache keys
+     * @return The values found in the cache and the keys that are missing
+     */
+    public MemcachedBulkResult getAll(Collection<?> keys) {
+        Map<Object, Object> hitValues = new LinkedHashMap<>();
+        Set<Object> missingKeys = new LinkedHashSet<>();
+
+        List<Object> remoteKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            MemcachedCacheEntry entry = (this.nearCache != null) ? readNearEntry(key) : null;
+            if (entry != null) {
+                hitValues.put(key, fromStoreValue(entry.value()));
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+
+        long nearCacheVersion = (this.nearCache != null) ? this.nearCache.version() : 0;
+        String namespace = remoteKeys.isEmpty() ? null : namespaceValue();
+        if (namespace == null) {
+            missingKeys.addAll(remoteKeys);
+        } else {
+            Map<String, Object> keysByMemcachedKey = new LinkedHashMap<>();
+            remoteKeys.forEach(key -> keysByMemcachedKey.put(memcachedKey(key, namespace), key));
+            keysByMemcachedKey.keySet().forEach(this::recordRead);
+
+            Map<String, Object> values = readReplicatedMulti(keysByMemcachedKey, namespace);
+            keysByMemcachedKey.forEach((memcachedKey, key) -> {
+                Object pendingValue = pendingWrite(memcachedKey);
+                MemcachedCacheEntry entry = fromMemcachedValue(
+                        (pendingValue != null) ? pendingValue : values.get(memcachedKey), namespace);
+                if (entry == null) {
+                    missingKeys.add(key);
+                    return;
+                }
+                hitValues.put(key, fromStoreValue(entry.value()));
+                if (this.nearCache != null) {
+                    this.nearCache.putIfNotInvalidated(key, entry, nearCacheVersion);
+                }
+            });
+        }
+
+        this.hits.addAndGet(hitValues.size());
+        this.misses.addAndGet(missingKeys.size());
+        return new MemcachedBulkResult(hitValues, missingKeys);
+    }
+
+    /**
+     * Stores the given values with a single client multi-set. XMemcached has no multi-set command, so its client
+     * sets the values concurrently, waiting for every acknowledgement.
+     *
+     * @param values The values to store, by cache key
+     */
+    public void putAll(Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        String namespace = namespaceValue();
+        if (namespace == null) {
+            return;
+        }
+        Map<Object, Object> valuesByKey = new LinkedHashMap<>();
+        Map<String, Object> memcachedValues = new LinkedHashMap<>();
+        Map<String, Object> keysByMemcachedKey = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            Object memcachedValue = toMemcachedValue(toStoreValue(value), namespace, 0);
+            String memcachedKey = memcachedKey(key, namespace);
+            valuesByKey.put(key, memcachedValue);
+            memcachedValues.put(memcachedKey, memcachedValue);
+            keysByMemcachedKey.put(memcachedKey, key);
+        });
+        if (this.writeBehind != null) {
+            memcachedValues.forEach(this.writeBehind::enqueue);
+            valuesByKey.forEach(this::putNearEntry);
+        } else if (isNoReply()) {
+            memcachedValues.forEach((memcachedKey, memcachedValue) -> writeNoReply(() ->
+                    this.memcachedClient.setNoReply(memcachedKey, this.memcacheCacheMetadata.expiration(),
+                            encoded(memcachedValue))));
+            valuesByKey.forEach(this::putNearEntry);
+            touchNamespaceNoReply();
+        } else {
+            this.memcachedClient.setMulti(encoded(memcachedValues), this.memcacheCacheMetadata.expiration());
+            valuesByKey.forEach(this::putNearEntry);
+            this.memcachedClient.touch(this.memcacheCacheMetadata.namespaceKey(), this.memcacheCacheMetadata.expiration());
+        }
+        keysByMemcachedKey.forEach((memcachedKey, key) ->
+                writeCopies(key, namespace, memcachedKey, memcachedValues.get(memcachedKey)));
+        this.puts.addAndGet(values.size());
+    }
+
+    /**
+     * Removes the given keys with a single client multi-delete, sent the same way as {@link #putAll(Map)}.
+     *
+     * @param keys The cache keys
+     */
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        String namespace = isGenerationStamped() ? null : namespaceValue();
+        if (namespace == null && !isGenerationStamped()) {
+            if (this.nearCache != null) {
+                keys.forEach(this.nearCache::invalidate);
+            }
+            return;
+        }
+        List<String> memcachedKeys = new ArrayList<>(keys.size());
+        keys.forEach(key -> memcachedKeys.add(memcachedKey(key, namespace)));
+        if (this.writeBehind != null) {
+            memcachedKeys.forEach(this.writeBehind::remove);
+        }
+        if (isNoReply()) {
+            memcachedKeys.forEach(memcachedKey -> writeNoReply(() -> this.memcachedClient.deleteNoReply(memcachedKey)));
+        } else {
+            this.memcachedClient.deleteMulti(memcachedKeys);
+        }
+        deleteCopies(keys, namespace);
+        if (this.nearCache != null) {
+            keys.forEach(this.nearCache::invalidate);
+        }
+        this.evictions.addAndGet(keys.size());
+    }
+
+    private boolean isNoReply() {
+        return this.writeMode == WriteMode.NOREPLY;
+    }
+
+    /**
+     * Writes the copies of a replicated key. The copies are queued with the original if the write-behind is enabled,
+     * or else written without waiting for the servers, and expire after the copy expiration.
+     */
+    private void writeCopies(Object key, String namespace, String memcachedKey, Object memcachedValue) {
+        if (this.replication == null || !this.replication.isReplicated(key, memcachedKey)) {
+            return;
+        }
+        for (int copy = 1; copy < this.replication.copies(); copy++) {
+            writeCopy(copyKey(key, namespace, copy), memcachedValue);
+        }
+    }
+
+    private void writeCopy(String copyKey, Object memcachedValue) {
+        if (memcachedValue == null) {
+            return;
+        }
+        if (this.writeBehind != null) {
+            this.writeBehind.enqueue(copyKey, new QueuedCopy(memcachedValue));
+        } else {
+            writeNoReply(() -> this.memcachedClient.setNoReply(copyKey, this.replication.copyExpiration(),
+                    encoded(memcachedValue)));
+        }
+    }
+
+    /**
+     * Deletes the copies of the keys that may be replicated, by this or any other application instance. With the
+     * automatic replication every key may be hot on some instance, so every evicted key costs {@code copies - 1}
+     * additional deletes, sent in the same multi-delete or without waiting for the reply.
+     */
+    private void deleteCopies(Collection<?> keys, String namespace) {
+        if (this.replication == null) {
+            return;
+        }
+        List<String> copyKeys = new ArrayList<>();
+        for (Object key : keys) {
+            if (this.replication.mayHaveCopies(key)) {
+                for (int copy = 1; copy < this.replication.copies(); copy++) {
+                    copyKeys.add(copyKey(key, namespace, copy));
+                }
+            }
+        }
+        if (copyKeys.isEmpty()) {
+            return;
+        }
+        if (this.writeBehind != null) {
+            copyKeys.forEach(this.writeBehind::remove);
+        }
+        if (isNoReply()) {
+            copyKeys.forEach(copyKey -> writeNoReply(() -> this.memcachedClient.deleteNoReply(copyKey)));
+        } else {
+            this.memcachedClient.deleteMulti(copyKeys);
+        }
+    }
+
+    /**
+     * Extends the namespace key expiration after a write sent without waiting for the reply. The touch needs a
+     * round-trip, so it is sent at most once per second by the cache instance, rather than on every write.
+     */
+    private void touchNamespaceNoReply() {
+        long now = this.memcacheCacheMetadata.clock().millis();
+        long nextTouch = this.nextNamespaceTouch.get();
+        if (now < nextTouch || !this.nextNamespaceTouch.compareAndSet(nextTouch, now + NAMESPACE_TOUCH_INTERVAL)) {
+            return;
+        }
+        writeNoReply(() -> this.memcachedClient.touchAsync(this.memcacheCacheMetadata.namespaceKey(),
+                this.memcacheCacheMetadata.expiration()));
+    }
+
+    /**
+     * Sends the write without waiting for its result. Failed writes are counted and logged instead of being
+     * propagated to the caller.
+     *
+     * @param write The write operation
+     */
+    private void writeNoReply(Supplier<CompletableFuture<Void>> write) {
+        try {
+            write.get().whenComplete((result, e) -> {
+                if (e != null) {
+                    failedWrite(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            failedWrite(e);
+        }
+    }
+
+    /**
+     * Writes a batch of queued values, sent by the write-behind worker. The queued copies of replicated keys are
+     * written in a separate multi-set, with the copy expiration.
+     *
+     * @param values The values to write, by memcached key
+     */
+    private void writeQueued(Map<String, Object> values) {
+        Map<String, Object> originals = new LinkedHashMap<>();
+        Map<String, Object> copies = new LinkedHashMap<>();
+        values.forEach((memcachedKey, value) -> {
+            if (value instanceof QueuedCopy copy) {
+                copies.put(memcachedKey, copy.value());
+            } else {
+                originals.put(memcachedKey, value);
+            }
+        });
+        if (!originals.isEmpty()) {
+            this.memcachedClient.setMulti(encoded(originals), this.memcacheCacheMetadata.expiration());
+            this.memcachedClient.touch(this.memcacheCacheMetadata.namespaceKey(),
+                    this.memcacheCacheMetadata.expiration());
+        }
+        if (!copies.isEmpty()) {
+            this.memcachedClient.setMulti(encoded(copies), this.replication.copyExpiration());
+        }
+    }
+
+    /**
+     * Writes the puts queued by the write-behind to memcached, blocking until they are written. Does nothing if the
+     * write-behind is disabled.
+     */
+    public void flush() {
+        if (this.writeBehind != null) {
+            this.writeBehind.flush();
+        }
+    }
+
+    /**
+     * Stops the write-behind worker, if any. Called by the cache manager on shutdown, after {@link #flush()}.
+     */
+    void close() {
+        if (this.writeBehind != null) {
+            this.writeBehind.close();
+        }
+    }
+
+    private void failedWrite(Throwable e) {
+        this.failedWrites.incrementAndGet();
+        log.debug(String.format("Failed to write to cache '%s'", getName()), e);
+    }
+
+    /**
+     * Invalidates the cache by incrementing the namespace value. If the namespace key was evicted, XMemcached
+     * recreates it with zero and Spymemcached leaves it missing, and either would let the entries written under a
+     * namespace taken from the clock become valid again, so the namespace is moved to the current time instead.
+     * The moved namespace is read back, and the clear fails if it is missing, e.g. when the circuit breaker rejected
+     * the writes, rather than being lost silently.
+     */
     @Override
     public void clear() {
-        this.memcachedClient.incr(this.memcacheCacheMetadata.namespaceKey(), 1);
+        final String namespaceKey = this.memcacheCacheMetadata.namespaceKey();
+        try {
+            if (this.memcachedClient.incr(namespaceKey, 1) <= 0) {
+                // the namespace was evicted, or the increment was rejected by an open circuit breaker
+                this.memcachedClient.set(namespaceKey, this.memcacheCacheMetadata.expiration(),
+                        String.valueOf(this.memcacheCacheMetadata.clock().millis()));
+                if (this.memcachedClient.get(namespaceKey) == null) {
+                    throw new MemcachedOperationException(String.format("Failed to clear cache '%s'", getName()),
+                            null);
+                }
+            }
+        } finally {
+            this.localNamespace = null;
+            if (this.writeBehind != null) {
+                this.writeBehind.clear();
+            }
+            if (this.nearCache != null) {
+                this.nearCache.clear();
+            }
+        }
+    }
+
+    /**
+     * Sets the interval during which the namespace value is kept in this cache instance, instead of being read
+     * from memcached on every cache operation. Zero, the default, reads the namespace value on every operation.
+     * <p>
+     * The local value is dropped on {@link #clear()}, so the clear is visible immediately in this instance. Clears
+     * made by other application instances become visible after at most the given interval.
+     *
+     * @param namespaceRefreshInterval The namespace refresh interval
+     */
+    public void setNamespaceRefreshInterval(Duration namespaceRefreshInterval) {
+        this.namespaceRefreshInterval = namespaceRefreshInterval.toMillis();
+    }
+
+    /**
+     * Sets the distributed lease used by {@link #get(Object, Callable)} to load a missing value in a single
+     * application instance at a time. A {@code null} or disabled lease loads the value without coordination
+     * between application instances.
+     *
+     * @param lease The lease configuration
+     */
+    public void setLease(MemcachedCacheProperties.Lease lease) {
+        this.lease = (lease != null && lease.isEnabled()) ? new MemcachedLoadLease(() -> this.memcachedClient, lease) : null;
+    }
+
+    /**
+     * Sets the background refresh of the cache entries. Entries written while the soft ttl is set carry the time
+     * after which they are reloaded. Once it elapses, {@link #get(Object, Callable)} and
+     * {@link #retrieve(Object, Supplier)} keep returning the current value, while a single refresh per key reloads
+     * it in the background. The cache expiration still removes entries that are not refreshed in time.
+     * <p>
+     * Lookups without a value loader, such as {@link #get(Object)}, return the current value until the cache
+     * expiration. A {@code null} refresh or a zero soft ttl disables the refresh.
+     *
+     * @param refresh The refresh configuration
+     */
+    public void setRefresh(MemcachedCacheProperties.Refresh refresh) {
+        this.softTtl = (refresh != null) ? refresh.getSoftTtl().toMillis() : 0;
+        this.earlyRefreshBeta = (refresh != null) ? refresh.getEarlyRefreshBeta() : 0;
+    }
+
+    /**
+     * Sets the in-process near cache kept in front of memcached. Lookups are served from the near cache while the
+     * entry is present there, otherwise the entry read from memcached is added to it. Puts, evicts and clears made
+     * through this cache instance update the near cache immediately; changes made by other application instances
+     * become visible once the near cache ttl elapses. A {@code null} or disabled near cache reads every entry from
+     * memcached.
+     *
+     * @param nearCache The near cache configuration
+     */
+    public void setNearCache(MemcachedCacheProperties.NearCache nearCache) {
+        this.nearCache = (nearCache != null && nearCache.isEnabled())
+                ? new MemcachedNearCache(nearCache, this.memcacheCacheMetadata.clock())
+                : null;
+    }
+
+    /**
+     * Sets the write mode of puts and evicts. With {@link WriteMode#ACKNOWLEDGED}, the default, every write waits for
+     * the server acknowledgment and failures are propagated to the caller. With {@link WriteMode#NOREPLY} writes
+     * return as soon as they are handed over to the client; failed writes are only counted, see
+     * {@link #failedWrites()}.
+     *
+     * @param writeMode The write mode
+     */
+    public void setWriteMode(WriteMode writeMode) {
+        this.writeMode = writeMode;
+    }
+
+    /**
+     * Sets the write-behind of puts. When enabled, puts are queued and written to memcached in batches by a
+     * background worker, and return without waiting for memcached. Repeated puts of a queued key are collapsed into
+     * a single write. Queued values are visible to the reads through this cache instance, evicts and clears discard
+     * them. Failed writes are only counted, see {@link #failedWrites()}. A {@code null} or disabled write-behind writes
+     * every put in the caller thread.
+     *
+     * @param writeBehind The write-behind configuration
+     */
+    public void setWriteBehind(MemcachedCacheProperties.WriteBehind writeBehind) {
+        this.writeBehind = (writeBehind != null && writeBehind.isEnabled())
+                ? new MemcachedWriteBehindQueue(getName(), writeBehind, this::writeQueued)
+                : null;
+    }
+
+    /**
+     * Sets the codec encoding the cached values. A {@code null} codec, the default, uses the serialization of the
+     * memcached client.
+     *
+     * @param codec The codec
+     */
+    public void setCodec(MemcachedCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Sets the compression of the values encoded by the cache codec. Values are compressed by the client transcoder,
+     * so the compression is applied only with a codec set, see {@link #setCodec(MemcachedCodec)}. A {@code null} or
+     * disabled compression stores the encoded values uncompressed.
+     *
+     * @param compression The compression configuration
+     */
+    public void setCompression(MemcachedCacheProperties.Compression compression) {
+        this.compression = (compression != null && compression.isEnabled())
+                ? new MemcachedCompression(compression)
+                : null;
+    }
+
+    /**
+     * The compression statistics of the cache, or {@code null} if the compression is disabled or the cache has no
+     * codec.
+     *
+     * @return The compression
+     */
+    public MemcachedCompression compression() {
+        return (this.codec != null) ? this.compression : null;
+    }
+
+    /**
+     * Sets the metrics configuration applied once the cache is bound to a meter registry, see
+     * {@link #setOperationListener(MemcachedOperationListener)}.
+     *
+     * @param metrics The metrics configuration
+     */
+    public void setMetrics(MemcachedCacheProperties.Metrics metrics) {
+        this.metrics = (metrics != null) ? metrics : new MemcachedCacheProperties.Metrics();
+    }
+
+    /**
+     * The metrics configuration of the cache.
+     *
+     * @return The metrics configuration
+     */
+    public MemcachedCacheProperties.Metrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the hot keys tracking. When enabled, a sample of the keys read from memcached is counted to find the keys
+     * read most often, see {@link #hotKeys()}. A {@code null} or disabled configuration tracks no keys.
+     *
+     * @param hotKeys The hot keys configuration
+     */
+    public void setHotKeys(MemcachedCacheProperties.HotKeys hotKeys) {
+        this.hotKeys = (hotKeys != null && hotKeys.isEnabled())
+                ? new MemcachedHotKeys(hotKeys, this.memcacheCacheMetadata.clock(), this::locate)
+                : null;
+    }
+
+    /**
+     * The hot keys of the cache, or {@code null} if the hot keys tracking is disabled.
+     *
+     * @return The hot keys
+     */
+    public MemcachedHotKeys hotKeys() {
+        return this.hotKeys;
+    }
+
+    /**
+     * Sets the hot key replication. When enabled, the configured keys of the cache and the keys read more often than
+     * the threshold are stored as several copies, spread across the servers by the session locator, and reads pick
+     * a random copy. Automatic replication relies on the hot keys tracking, see
+     * {@link #setHotKeys(MemcachedCacheProperties.HotKeys)}. Evicts remove the copies, while clearing the cache
+     * invalidates them along with the original keys. A {@code null} or disabled replication stores every key once.
+     *
+     * @param replication The hot key replication configuration
+     */
+    public void setHotKeyReplication(MemcachedCacheProperties.HotKeyReplication replication) {
+        this.replication = (replication != null && replication.isEnabled())
+                ? new MemcachedKeyReplication(replication, replication.getKeys().get(getName()), this::hotKeys)
+                : null;
+    }
+
+    /**
+     * Returns the address of the server the memcached key hashes to, {@code null} if the client can not tell.
+     */
+    private String locate(String memcachedKey) {
+        MemcachedTransportStatistics transportStatistics = this.nativeClient.transportStatistics();
+        return (transportStatistics != null) ? transportStatistics.locate(memcachedKey) : null;
+    }
+
+    /**
+     * Sets the listener notified about the memcached operations and the value loads of the cache. The operations are
+     * timed, at the sample rate of the metrics configuration, only while a listener is set; {@code null} removes the
+     * listener.
+     *
+     * @param operationListener The operation listener
+     */
+    public void setOperationListener(MemcachedOperationListener operationListener) {
+        if (operationListener == null) {
+            this.operationListener = MemcachedOperationListener.NONE;
+            this.memcachedClient = this.nativeClient;
+            return;
+        }
+        this.operationListener = operationListener;
+        this.memcachedClient = new TimedMemcachedClient(this.nativeClient, operationListener,
+                this.metrics.getSampleRate());
+    }
+
+    /**
+     * Sets the executor running the background refreshes. Defaults to the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param refreshExecutor The refresh executor
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Sets the strategy used to invalidate the cache entries on {@link #clear()}.
+     * <p>
+     * With {@link InvalidationStrategy#NAMESPACE}, the default, the namespace value is part of every key, so a clear
+     * moves the cache to a new set of keys. With {@link InvalidationStrategy#GENERATION} entries are kept under stable
+     * keys and carry the namespace value they were written with; entries written before the last clear are treated as
+     * misses and overwritten on the next put. Combined with {@link #setNamespaceRefreshInterval(Duration)} a cache hit
+     * costs a single memcached round-trip.
+     *
+     * @param invalidationStrategy The invalidation strategy
+     */
+    public void setInvalidationStrategy(InvalidationStrategy invalidationStrategy) {
+        this.invalidationStrategy = invalidationStrategy;
     }
 
     public long hits() {
@@ -167,13 +1243,119 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
         return evictions.get();
     }
 
+    /**
+     * Number of {@link #get(Object, Callable)} cache misses that were served by a value load already in progress
+     * for the same key, instead of calling the value loader again.
+     *
+     * @return Number of coalesced loads
+     */
+    public long coalescedLoads() {
+        return coalescedLoads.get();
+    }
+
+    /**
+     * Number of cache entries reloaded in the background after their soft ttl.
+     *
+     * @return Number of refreshes
+     */
+    public long refreshes() {
+        return refreshes.get();
+    }
+
+    /**
+     * Number of lookups served by the near cache.
+     *
+     * @return Number of near cache hits
+     */
+    public long nearHits() {
+        return nearHits.get();
+    }
+
+    /**
+     * Number of lookups not found in the near cache, and therefore read from memcached.
+     *
+     * @return Number of near cache misses
+     */
+    public long nearMisses() {
+        return nearMisses.get();
+    }
+
+    /**
+     * Number of lookups served by memcached, excluding the ones served by the near cache.
+     *
+     * @return Number of memcached hits
+     */
+    public long memcachedHits() {
+        return hits.get() - nearHits.get();
+    }
+
+    /**
+     * Number of writes sent in the {@link WriteMode#NOREPLY} write mode or queued by the write-behind that failed.
+     *
+     * @return Number of failed writes
+     */
+    public long failedWrites() {
+        MemcachedWriteBehindQueue queue = this.writeBehind;
+        return failedWrites.get() + ((queue != null) ? queue.failures() : 0);
+    }
+
+    /**
+     * Number of puts waiting in the write-behind queue, or {@code null} if the write-behind is disabled.
+     *
+     * @return The write-behind queue size
+     */
+    public Integer writeQueueSize() {
+        MemcachedWriteBehindQueue queue = this.writeBehind;
+        return (queue != null) ? queue.size() : null;
+    }
+
+    /**
+     * Number of puts discarded because the write-behind queue was full.
+     *
+     * @return Number of dropped puts
+     */
+    public long writeQueueDrops() {
+        MemcachedWriteBehindQueue queue = this.writeBehind;
+        return (queue != null) ? queue.drops() : 0;
+    }
+
+    /**
+     * Number of batches of queued puts written to memcached.
+     *
+     * @return Number of written batches
+     */
+    public long writeQueueFlushes() {
+        MemcachedWriteBehindQueue queue = this.writeBehind;
+        return (queue != null) ? queue.batches() : 0;
+    }
+
+    /**
+     * Total time, in nanoseconds, spent writing the batches of queued puts to memcached.
+     *
+     * @return The total write time in nanoseconds
+     */
+    public long writeQueueFlushTime() {
+        MemcachedWriteBehindQueue queue = this.writeBehind;
+        return (queue != null) ? queue.batchWriteTime() : 0;
+    }
+
+    /**
+     * Number of entries currently kept in the near cache, or {@code null} if the near cache is disabled.
+     *
+     * @return The near cache size
+     */
+    public Long nearCacheSize() {
+        MemcachedNearCache near = this.nearCache;
+        return (near != null) ? (long) near.size() : null;
+    }
+
     /**
      * Tracks number of hits and misses per {@code MemcachedCache} instance.
      *
      * @param value Value returned from the underlying cache store.
      * @return The value
      */
-    private Object trackHitsMisses(Object value) {
+    private <V> V trackHitsMisses(V value) {
         if (value != null) {
             hits.incrementAndGet();
         } else {
@@ -185,36 +1367,190 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
     /**
      * Gets Memcached key value.
      * <p>
-     * Prepends cache prefix and namespace value to the given {@code key}. All whitespace characters will be stripped from
-     * the {@code key} value, for Memcached key to be valid.
+     * Prepends cache prefix and namespace value to the given {@code key}. For the
+     * {@link InvalidationStrategy#GENERATION} strategy the namespace segment is left empty, so the key stays the
+     * same across cache clears. All whitespace characters will be stripped from the {@code key} value, for Memcached
+     * key to be valid; keys too long or not ASCII-safe are hashed, see {@link MemcachedKeyEncoder}.
      *
-     * @param key The key
+     * @param key       The key
+     * @param namespace The namespace value
      * @return Memcached key
      */
-    private String memcachedKey(Object key) {
-        return memcacheCacheMetadata.keyPrefix() +
-                namespaceValue() +
-                KEY_DELIMITER +
-                String.valueOf(key).replaceAll("\\s", "");
+    private String memcachedKey(Object key, String namespace) {
+        return this.keyEncoder.encode(isGenerationStamped() ? "" : namespace, key);
+    }
+
+    private String leaseKey(Object key) {
+        return this.keyEncoder.encode(LEASE_KEY_SEGMENT, key);
+    }
+
+    /**
+     * Returns the memcached key of a copy of a replicated key. Copies belong to the namespace of the original key,
+     * so clearing the cache invalidates them along with the original keys.
+     */
+    private String copyKey(Object key, String namespace, int copy) {
+        String segment = isGenerationStamped()
+                ? COPY_KEY_SEGMENT + copy
+                : namespace + KEY_DELIMITER + COPY_KEY_SEGMENT + copy;
+        return this.keyEncoder.encode(segment, key);
+    }
+
+    private boolean isGenerationStamped() {
+        return this.invalidationStrategy == InvalidationStrategy.GENERATION;
+    }
+
+    /**
+     * Wraps the store value into the {@link MemcachedCacheEntry} stamped with the current namespace value, when
+     * the {@link InvalidationStrategy#GENERATION} strategy is used, and with the soft expiration time, when the
+     * refresh is enabled.
+     *
+     * @param storeValue The store value
+     * @param namespace  The namespace value
+     * @param loadTime   Time in milliseconds it took to load the value
+     * @return Value to be written to memcached
+     */
+    private Object toMemcachedValue(Object storeValue, String namespace, long loadTime) {
+        if (!isGenerationStamped() && this.softTtl <= 0) {
+            return storeValue;
+        }
+        long generation = isGenerationStamped() ? generation(namespace) : 0;
+        if (this.softTtl <= 0) {
+            return new MemcachedCacheEntry(generation, storeValue);
+        }
+        return new MemcachedCacheEntry(generation, storeValue,
+                this.memcacheCacheMetadata.clock().millis() + this.softTtl, loadTime);
+    }
+
+    /**
+     * Unwraps the value read from memcached into the {@link MemcachedCacheEntry}. For the
+     * {@link InvalidationStrategy#GENERATION} strategy, entries written before the current namespace value are
+     * treated as missing.
+     *
+     * @param memcachedValue The value read from memcached
+     * @param namespace      The namespace value
+     * @return The cache entry, or {@code null} if missing
+     */
+    private MemcachedCacheEntry fromMemcachedValue(Object memcachedValue, String namespace) {
+        if (memcachedValue instanceof MemcachedCacheEntry entry) {
+            return (!isGenerationStamped() || entry.generation() >= generation(namespace)) ? entry : null;
+        }
+        if (memcachedValue == null || isGenerationStamped()) {
+            return null;
+        }
+        return new MemcachedCacheEntry(0, memcachedValue);
+    }
+
+    /**
+     * Wraps the memcached value to be encoded by the cache codec, if configured.
+     */
+    private Object encoded(Object memcachedValue) {
+        return (this.codec != null)
+                ? new MemcachedCodecValue(this.codec, memcachedValue, this.compression)
+                : memcachedValue;
+    }
+
+    private Map<String, Object> encoded(Map<String, Object> memcachedValues) {
+        if (this.codec == null) {
+            return memcachedValues;
+        }
+        Map<String, Object> encodedValues = new LinkedHashMap<>(memcachedValues);
+        encodedValues.replaceAll((memcachedKey, memcachedValue) -> encoded(memcachedValue));
+        return encodedValues;
+    }
+
+    private static Object storeValue(MemcachedCacheEntry entry) {
+        return (entry != null) ? entry.value() : null;
+    }
+
+    private static long generation(String namespace) {
+        return Long.parseLong(namespace.trim());
     }
 
     /**
      * Gets namespace value from the cache. The value is used for invalidation of the cache data
      * by incrementing current namespace value by 1.
+     * <p>
+     * A missing namespace is created from the current time with the memcached {@code add} operation, whose result is
+     * authoritative: the created value is used if the add succeeds, or else the value added concurrently is read.
+     * If neither is known, e.g. the server is unavailable, the namespace is unknown and the cache is bypassed, so
+     * that no entry is read or written under a namespace the server did not store. The asynchronous add is used,
+     * since a rejected one reports the namespace as not stored, see {@link CircuitBreakingMemcachedClient}.
      *
-     * @return Namespace integer value returned as {@code String}
+     * @return Namespace integer value returned as {@code String}, or {@code null} if unknown
      */
     private String namespaceValue() {
-        String value = (String) this.memcachedClient.get(this.memcacheCacheMetadata.namespaceKey());
+        LocalNamespace local = this.localNamespace;
+        if (local != null && local.isValid(this.memcacheCacheMetadata.clock().millis())) {
+            return local.value();
+        }
+
+        final String namespaceKey = this.memcacheCacheMetadata.namespaceKey();
+        String value = (String) this.memcachedClient.get(namespaceKey);
         if (value == null) {
-            value = String.valueOf(System.currentTimeMillis());
-            this.memcachedClient.set(this.memcacheCacheMetadata.namespaceKey(),
-                    this.memcacheCacheMetadata.expiration(), value);
+            value = (String) await(createNamespaceAsync(namespaceKey));
+        }
+
+        return (value != null) ? keepLocalNamespace(value) : null;
+    }
+
+    /**
+     * Non-blocking variant of {@link #namespaceValue()}.
+     *
+     * @return Future completed with the namespace integer value returned as {@code String}, or {@code null} if unknown
+     */
+    private CompletableFuture<String> namespaceValueAsync() {
+        LocalNamespace local = this.localNamespace;
+        if (local != null && local.isValid(this.memcacheCacheMetadata.clock().millis())) {
+            return CompletableFuture.completedFuture(local.value());
         }
 
+        final String namespaceKey = this.memcacheCacheMetadata.namespaceKey();
+        return this.memcachedClient.getAsync(namespaceKey)
+                .thenCompose(value -> (value != null)
+                        ? CompletableFuture.completedFuture(value)
+                        : createNamespaceAsync(namespaceKey))
+                .thenApply(value -> (value != null) ? keepLocalNamespace((String) value) : null);
+    }
+
+    private CompletableFuture<Object> createNamespaceAsync(String namespaceKey) {
+        String created = String.valueOf(this.memcacheCacheMetadata.clock().millis());
+        return this.memcachedClient.addAsync(namespaceKey, this.memcacheCacheMetadata.expiration(), created)
+                .thenCompose(added -> added
+                        ? CompletableFuture.completedFuture(created)
+                        : this.memcachedClient.getAsync(namespaceKey));
+    }
+
+    private String keepLocalNamespace(String value) {
+        if (this.namespaceRefreshInterval > 0) {
+            this.localNamespace = new LocalNamespace(value,
+                    this.memcacheCacheMetadata.clock().millis() + this.namespaceRefreshInterval);
+        }
         return value;
     }
 
+    /**
+     * Load of a key in progress, shared by the concurrent misses on the key.
+     */
+    private static final class InFlightLoad extends CompletableFuture<Object> {
+        private final Thread owner = Thread.currentThread();
+    }
+
+    /**
+     * Copy of a replicated value queued by the write-behind, written with the copy expiration.
+     */
+    private record QueuedCopy(Object value) {
+    }
+
+    /**
+     * Namespace value kept in the cache instance until the given expiry time in milliseconds.
+     */
+    private record LocalNamespace(String value, long expiresAt) {
+
+        boolean isValid(long now) {
+            return now < expiresAt;
+        }
+    }
+
     static class MemcacheCacheMetadata {
         private final String name;
         private final int expiration;
@@ -268,5 +1604,9 @@ public class MemcachedCache extends AbstractValueAdaptingCache {
         public String namespaceKey() {
             return namespaceKey;
         }
+
+        public Clock clock() {
+            return clock;
+        }
     }
 }
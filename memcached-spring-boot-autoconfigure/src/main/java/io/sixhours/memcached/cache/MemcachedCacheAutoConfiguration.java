@@ -43,6 +43,7 @@ import org.springframework.context.annotation.Import;
 @EnableConfigurationProperties(MemcachedCacheProperties.class)
 @AutoConfigureBefore(CacheAutoConfiguration.class)
 @AutoConfigureAfter(name = "org.springframework.cloud.autoconfigure.RefreshAutoConfiguration")
-@Import({AppEngineMemcachedCacheAutoConfiguration.class, XMemcachedCacheAutoConfiguration.class, SpyMemcachedCacheAutoConfiguration.class})
+@Import({AppEngineMemcachedCacheAutoConfiguration.class, XMemcachedCacheAutoConfiguration.class, SpyMemcachedCacheAutoConfiguration.class,
+        MemcachedKeyGeneratorConfiguration.class})
 public class MemcachedCacheAutoConfiguration {
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.io.Serializable;
+
+/**
+ * Envelope of the cached value stored in memcached, stamped with the cache generation it was written with and,
+ * when background refresh is enabled, with the time the value should be refreshed.
+ *
+ * @param generation    The cache namespace value at the time of write
+ * @param value         The cached value
+ * @param softExpiresAt Time in milliseconds after which the value is refreshed, or {@code 0} if never
+ * @param loadTime      Time in milliseconds it took to load the value, or {@code 0} if unknown
+ */
+public record MemcachedCacheEntry(long generation, Object value, long softExpiresAt, long loadTime)
+        implements Serializable {
+
+    public MemcachedCacheEntry(long generation, Object value) {
+        this(generation, value, 0, 0);
+    }
+}
@@ -19,8 +19,11 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.NoOpCache;
 import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -29,7 +32,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -51,6 +62,10 @@ public class MemcachedCacheManager extends AbstractTransactionSupportingCacheMan
 
     private static final Logger log = Logger.getLogger(MemcachedCacheManager.class.getName());
 
+    private static final String CACHE_MANAGER_SUFFIX = "cacheManager";
+    private static final int REFRESH_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int REFRESH_QUEUE_CAPACITY = 1_000;
+
     final IMemcachedClient memcachedClient;
 
     private int expiration = Default.EXPIRATION;
@@ -60,6 +75,32 @@ public class MemcachedCacheManager extends AbstractTransactionSupportingCacheMan
     private List<String> metricsCacheNames = Collections.emptyList();
     private Set<String> disabledCacheNames = new HashSet<>();
     private Clock clock = Clock.systemUTC();
+    private Duration namespaceRefreshInterval = Default.NAMESPACE_REFRESH_INTERVAL;
+    private MemcachedCacheProperties.InvalidationStrategy invalidationStrategy = Default.INVALIDATION_STRATEGY;
+    private MemcachedCacheProperties.Lease lease;
+    private Map<String, MemcachedCacheProperties.Lease> leasePerCache;
+    private MemcachedCacheProperties.Refresh refresh;
+    private Map<String, MemcachedCacheProperties.Refresh> refreshPerCache;
+    private MemcachedCacheProperties.NearCache nearCache;
+    private Map<String, MemcachedCacheProperties.NearCache> nearCachePerCache;
+    private MemcachedCacheProperties.WriteMode writeMode = Default.WRITE_MODE;
+    private Map<String, MemcachedCacheProperties.WriteMode> writeModePerCache;
+    private MemcachedCacheProperties.WriteBehind writeBehind;
+    private Map<String, MemcachedCacheProperties.WriteBehind> writeBehindPerCache;
+    private String codec = Default.CODEC;
+    private Map<String, String> codecPerCache;
+    private MemcachedCacheProperties.Compression compression;
+    private Map<String, MemcachedCacheProperties.Compression> compressionPerCache;
+    private MemcachedCacheProperties.Metrics metrics;
+    private MemcachedCacheProperties.ServerStats serverStats;
+    private MemcachedCacheProperties.HotKeys hotKeys;
+    private MemcachedCacheProperties.HotKeyReplication hotKeyReplication;
+    private MemcachedServerStatistics serverStatistics;
+    private volatile Consumer<MemcachedCache> cacheCreatedListener = cache -> {
+    };
+    private final ExecutorService defaultRefreshExecutor = newRefreshExecutor();
+    private Executor refreshExecutor = defaultRefreshExecutor;
+    private ExecutorService statsExecutor;
 
     /**
      * Construct a {@link MemcachedCacheManager}
@@ -93,12 +134,28 @@ public class MemcachedCacheManager extends AbstractTransactionSupportingCacheMan
 
     @Override
     protected MemcachedCache getMissingCache(String name) {
-        return createCache(name);
+        MemcachedCache cache = createCache(name);
+        cacheCreatedListener.accept(cache);
+        return cache;
     }
 
     private MemcachedCache createCache(String name) {
         int cacheExpiration = determineExpiration(name);
-        return new MemcachedCache(name, memcachedClient, cacheExpiration, prefix, namespace, clock);
+        MemcachedCache cache = new MemcachedCache(name, memcachedClient, cacheExpiration, prefix, namespace, clock);
+        cache.setNamespaceRefreshInterval(namespaceRefreshInterval);
+        cache.setInvalidationStrategy(invalidationStrategy);
+        cache.setLease(determineLease(name));
+        cache.setRefresh(determineRefresh(name));
+        cache.setRefreshExecutor(refreshExecutor);
+        cache.setNearCache(determineNearCache(name));
+        cache.setWriteMode(determineWriteMode(name));
+        cache.setWriteBehind(determineWriteBehind(name));
+        cache.setCodec(MemcachedCodecs.forName(determineCodec(name)));
+        cache.setCompression(determineCompression(name));
+        cache.setMetrics(metrics);
+        cache.setHotKeys(hotKeys);
+        cache.setHotKeyReplication(hotKeyReplication);
+        return cache;
     }
 
     private int determineExpiration(String name) {
@@ -106,6 +163,72 @@ public class MemcachedCacheManager extends AbstractTransactionSupportingCacheMan
                 .orElse(this.expiration);
     }
 
+    private MemcachedCacheProperties.Lease determineLease(String name) {
+        return Optional.ofNullable(leasePerCache).map(l -> l.get(name))
+                .orElse(this.lease);
+    }
+
+    private MemcachedCacheProperties.Refresh determineRefresh(String name) {
+        return Optional.ofNullable(refreshPerCache).map(r -> r.get(name))
+                .orElse(this.refresh);
+    }
+
+    private MemcachedCacheProperties.NearCache determineNearCache(String name) {
+        return Optional.ofNullable(nearCachePerCache).map(n -> n.get(name))
+                .orElse(this.nearCache);
+    }
+
+    private MemcachedCacheProperties.WriteMode determineWriteMode(String name) {
+        return Optional.ofNullable(writeModePerCache).map(w -> w.get(name))
+                .orElse(this.writeMode);
+    }
+
+    private MemcachedCacheProperties.WriteBehind determineWriteBehind(String name) {
+        return Optional.ofNullable(writeBehindPerCache).map(w -> w.get(name))
+                .orElse(this.writeBehind);
+    }
+
+    private String determineCodec(String name) {
+        return Optional.ofNullable(codecPerCache).map(c -> c.get(name))
+                .orElse(this.codec);
+    }
+
+    private MemcachedCacheProperties.Compression determineCompression(String name) {
+        return Optional.ofNullable(compressionPerCache).map(c -> c.get(name))
+                .orElse(this.compression);
+    }
+
+    /**
+     * Creates the default refresh executor. Refreshes queued beyond its capacity are rejected, and the caches keep
+     * serving the current values until a later read schedules the refresh again.
+     */
+    private static ExecutorService newRefreshExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("memcached-refresh-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static CustomizableThreadFactory statsThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("memcached-stats-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Returns the cache manager name used in metrics and endpoints, the bean name without the {@code CacheManager}
+     * suffix as done by Spring Boot for the caches bound on startup.
+     */
+    static String cacheManagerName(String beanName) {
+        if (beanName.length() > CACHE_MANAGER_SUFFIX.length()
+                && StringUtils.endsWithIgnoreCase(beanName, CACHE_MANAGER_SUFFIX)) {
+            return beanName.substring(0, beanName.length() - CACHE_MANAGER_SUFFIX.length());
+        }
+        return beanName;
+    }
+
     /**
      * Sets global expiration for all cache names.
      * Custom expiration per cache is used in case it is defined by {@code expirationPerCache} {@link Map} property.
@@ -144,6 +267,303 @@ public class MemcachedCacheManager extends AbstractTransactionSupportingCacheMan
         }
     }
 
+    /**
+     * Sets the interval during which caches keep the namespace value locally instead of reading it from memcached
+     * on every operation. Zero disables the local namespace value.
+     *
+     * @param namespaceRefreshInterval the namespace refresh interval
+     */
+    public void setNamespaceRefreshInterval(Duration namespaceRefreshInterval) {
+        this.namespaceRefreshInterval = namespaceRefreshInterval;
+    }
+
+    /**
+     * Sets the strategy caches use to invalidate their entries on clear.
+     *
+     * @param invalidationStrategy the invalidation strategy
+     */
+    public void setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy invalidationStrategy) {
+        this.invalidationStrategy = invalidationStrategy;
+    }
+
+    /**
+     * Sets the distributed lease configuration used for cache loads of all cache names.
+     * Custom lease configuration per cache is used in case it is defined by {@code leasePerCache} {@link Map} property.
+     *
+     * @param lease the lease configuration
+     */
+    public void setLease(MemcachedCacheProperties.Lease lease) {
+        this.lease = lease;
+    }
+
+    /**
+     * Sets the distributed lease configuration per cache.
+     *
+     * @param leasePerCache {@link Map} of lease configurations per cache name
+     */
+    public void setLeasePerCache(Map<String, MemcachedCacheProperties.Lease> leasePerCache) {
+        this.leasePerCache = (leasePerCache != null ? new ConcurrentHashMap<>(leasePerCache) : null);
+    }
+
+    /**
+     * Sets the background refresh configuration used for cache entries of all cache names.
+     * Custom refresh configuration per cache is used in case it is defined by {@code refreshPerCache} {@link Map}
+     * property.
+     *
+     * @param refresh the refresh configuration
+     */
+    public void setRefresh(MemcachedCacheProperties.Refresh refresh) {
+        this.refresh = refresh;
+    }
+
+    /**
+     * Sets the background refresh configuration per cache.
+     *
+     * @param refreshPerCache {@link Map} of refresh configurations per cache name
+     */
+    public void setRefreshPerCache(Map<String, MemcachedCacheProperties.Refresh> refreshPerCache) {
+        this.refreshPerCache = (refreshPerCache != null ? new ConcurrentHashMap<>(refreshPerCache) : null);
+    }
+
+    /**
+     * Sets the near cache configuration used for all cache names.
+     * Custom near cache configuration per cache is used in case it is defined by {@code nearCachePerCache} {@link Map}
+     * property.
+     *
+     * @param nearCache the near cache configuration
+     */
+    public void setNearCache(MemcachedCacheProperties.NearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * Sets the near cache configuration per cache.
+     *
+     * @param nearCachePerCache {@link Map} of near cache configurations per cache name
+     */
+    public void setNearCachePerCache(Map<String, MemcachedCacheProperties.NearCache> nearCachePerCache) {
+        this.nearCachePerCache = (nearCachePerCache != null ? new ConcurrentHashMap<>(nearCachePerCache) : null);
+    }
+
+    /**
+     * Sets the write mode of puts and evicts for all cache names.
+     * Custom write mode per cache is used in case it is defined by {@code writeModePerCache} {@link Map} property.
+     *
+     * @param writeMode the write mode
+     */
+    public void setWriteMode(MemcachedCacheProperties.WriteMode writeMode) {
+        this.writeMode = writeMode;
+    }
+
+    /**
+     * Sets the write mode per cache.
+     *
+     * @param writeModePerCache {@link Map} of write modes per cache name
+     */
+    public void setWriteModePerCache(Map<String, MemcachedCacheProperties.WriteMode> writeModePerCache) {
+        this.writeModePerCache = (writeModePerCache != null ? new ConcurrentHashMap<>(writeModePerCache) : null);
+    }
+
+    /**
+     * Sets the write-behind configuration used for all cache names.
+     * Custom write-behind configuration per cache is used in case it is defined by {@code writeBehindPerCache}
+     * {@link Map} property.
+     *
+     * @param writeBehind the write-behind configuration
+     */
+    public void setWriteBehind(MemcachedCacheProperties.WriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Sets the write-behind configuration per cache.
+     *
+     * @param writeBehindPerCache {@link Map} of write-behind configurations per cache name
+     */
+    public void setWriteBehindPerCache(Map<String, MemcachedCacheProperties.WriteBehind> writeBehindPerCache) {
+        this.writeBehindPerCache = (writeBehindPerCache != null ? new ConcurrentHashMap<>(writeBehindPerCache) : null);
+    }
+
+    /**
+     * Sets the name of the codec encoding the cached values for all cache names.
+     * Custom codec per cache is used in case it is defined by {@code codecPerCache} {@link Map} property.
+     *
+     * @param codec the codec name
+     */
+    public void setCodec(String codec) {
+        requireCodecSupport(codec);
+        this.codec = codec;
+    }
+
+    /**
+     * Sets the codec name per cache.
+     *
+     * @param codecPerCache {@link Map} of codec names per cache name
+     */
+    public void setCodecPerCache(Map<String, String> codecPerCache) {
+        if (codecPerCache != null) {
+            codecPerCache.values().forEach(this::requireCodecSupport);
+        }
+        this.codecPerCache = (codecPerCache != null ? new ConcurrentHashMap<>(codecPerCache) : null);
+    }
+
+    /**
+     * Fails if the codec with the given name requires a codec-aware client transcoder the client does not use, so
+     * that the misconfiguration is detected on startup rather than on the first write.
+     */
+    private void requireCodecSupport(String codec) {
+        if (MemcachedCodecs.forName(codec) != null && !this.memcachedClient.supportsCodecs()) {
+            throw new IllegalStateException(String.format("Codec '%s' requires the memcached client to use the "
+                    + "XMemcachedCodecTranscoder or SpyMemcachedCodecTranscoder", codec));
+        }
+    }
+
+    /**
+     * Sets the compression configuration used for all cache names.
+     * Custom compression configuration per cache is used in case it is defined by {@code compressionPerCache}
+     * {@link Map} property.
+     *
+     * @param compression the compression configuration
+     */
+    public void setCompression(MemcachedCacheProperties.Compression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the compression configuration per cache.
+     *
+     * @param compressionPerCache {@link Map} of compression configurations per cache name
+     */
+    public void setCompressionPerCache(Map<String, MemcachedCacheProperties.Compression> compressionPerCache) {
+        this.compressionPerCache = (compressionPerCache != null ? new ConcurrentHashMap<>(compressionPerCache) : null);
+    }
+
+    /**
+     * Sets the metrics configuration used for all cache names.
+     *
+     * @param metrics the metrics configuration
+     */
+    public void setMetrics(MemcachedCacheProperties.Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * The metrics configuration used for all cache names.
+     *
+     * @return the metrics configuration
+     */
+    public MemcachedCacheProperties.Metrics metrics() {
+        return Optional.ofNullable(this.metrics).orElseGet(MemcachedCacheProperties.Metrics::new);
+    }
+
+    /**
+     * Sets the hot keys tracking configuration used for all cache names.
+     *
+     * @param hotKeys the hot keys configuration
+     */
+    public void setHotKeys(MemcachedCacheProperties.HotKeys hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    /**
+     * Sets the hot key replication configuration used for all cache names.
+     *
+     * @param hotKeyReplication the hot key replication configuration
+     */
+    public void setHotKeyReplication(MemcachedCacheProperties.HotKeyReplication hotKeyReplication) {
+        this.hotKeyReplication = hotKeyReplication;
+    }
+
+    /**
+     * Sets the server statistics configuration, see {@link #serverStatistics()}.
+     *
+     * @param serverStats the server statistics configuration
+     */
+    public void setServerStats(MemcachedCacheProperties.ServerStats serverStats) {
+        this.serverStats = serverStats;
+    }
+
+    /**
+     * The statistics of the memcached servers used by the cache manager, queried on a background thread at most
+     * once per configured min interval.
+     *
+     * @return the server statistics
+     */
+    public synchronized MemcachedServerStatistics serverStatistics() {
+        if (this.serverStatistics == null) {
+            Duration minInterval = Optional.ofNullable(this.serverStats)
+                    .map(MemcachedCacheProperties.ServerStats::getMinInterval)
+                    .orElse(Default.SERVER_STATS_MIN_INTERVAL);
+            this.statsExecutor = Executors.newSingleThreadExecutor(statsThreadFactory());
+            this.serverStatistics = new MemcachedServerStatistics(this.memcachedClient, minInterval,
+                    this.statsExecutor);
+        }
+        return this.serverStatistics;
+    }
+
+    /**
+     * Sets the listener called for every cache created on first use, i.e. not listed in the metrics cache names,
+     * e.g. to bind the cache to a meter registry. The listener is called before the cache is returned to the caller.
+     *
+     * @param cacheCreatedListener the cache created listener, {@code null} to remove it
+     */
+    public void setCacheCreatedListener(Consumer<MemcachedCache> cacheCreatedListener) {
+        this.cacheCreatedListener = (cacheCreatedListener != null) ? cacheCreatedListener : cache -> {
+        };
+    }
+
+    /**
+     * Writes the puts queued by the write-behind caches to memcached, blocking until they are written.
+     */
+    public void flush() {
+        for (String name : getCacheNames()) {
+            if (lookupCache(name) instanceof MemcachedCache cache) {
+                cache.flush();
+            }
+        }
+    }
+
+    /**
+     * Stops the background work of the cache manager: the write-behind workers of the caches, the default refresh
+     * executor and the executor of the server statistics. A refresh executor set by the application is left running.
+     */
+    synchronized void close() {
+        for (String name : getCacheNames()) {
+            if (lookupCache(name) instanceof MemcachedCache cache) {
+                cache.close();
+            }
+        }
+        this.defaultRefreshExecutor.shutdownNow();
+        if (this.statsExecutor != null) {
+            this.statsExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the top hot keys of the caches created so far that track their hot keys.
+     *
+     * @return the hot keys by cache name
+     */
+    public Map<String, List<MemcachedHotKeys.HotKey>> hotKeys() {
+        Map<String, List<MemcachedHotKeys.HotKey>> hotKeys = new TreeMap<>();
+        for (String name : getCacheNames()) {
+            if (lookupCache(name) instanceof MemcachedCache cache && cache.hotKeys() != null) {
+                hotKeys.put(name, cache.hotKeys().top());
+            }
+        }
+        return hotKeys;
+    }
+
+    /**
+     * Sets the executor running the background refreshes of cache entries. Defaults to a bounded pool of daemon
+     * threads, shut down with the cache manager.
+     *
+     * @param refreshExecutor the refresh executor
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
     public IMemcachedClient client() {
         return this.memcachedClient;
     }
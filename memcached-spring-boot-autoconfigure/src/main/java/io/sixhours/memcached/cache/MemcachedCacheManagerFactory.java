@@ -15,6 +15,9 @@
  */
 package io.sixhours.memcached.cache;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import java.io.IOException;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,6 +29,7 @@ import java.util.stream.Collectors;
  * @author Sasa Bolic
  */
 public abstract class MemcachedCacheManagerFactory {
+    private static final Log log = LogFactory.getLog(MemcachedCacheManagerFactory.class);
 
     protected final MemcachedCacheProperties properties;
 
@@ -34,7 +38,8 @@ public abstract class MemcachedCacheManagerFactory {
     }
 
     public MemcachedCacheManager create() throws IOException {
-        final DisposableMemcachedCacheManager cacheManager = new DisposableMemcachedCacheManager(memcachedClient());
+        final DisposableMemcachedCacheManager cacheManager = new DisposableMemcachedCacheManager(
+                circuitBreaking(batching(memcachedClient())));
 
         cacheManager.setExpiration((int) properties.getExpiration().getSeconds());
         cacheManager.setExpirationPerCache(properties.getExpirationPerCache().entrySet().stream()
@@ -43,9 +48,67 @@ public abstract class MemcachedCacheManagerFactory {
         cacheManager.setMetricsCacheNames(properties.getMetricsCacheNames());
         cacheManager.setPrefix(properties.getPrefix());
         cacheManager.setNamespace(Default.NAMESPACE);
+        cacheManager.setNamespaceRefreshInterval(properties.getNamespaceRefreshInterval());
+        cacheManager.setInvalidationStrategy(properties.getInvalidationStrategy());
+        cacheManager.setLease(properties.getLease());
+        cacheManager.setLeasePerCache(properties.getLeasePerCache());
+        cacheManager.setRefresh(properties.getRefresh());
+        cacheManager.setRefreshPerCache(properties.getRefreshPerCache());
+        cacheManager.setNearCache(properties.getNearCache());
+        cacheManager.setNearCachePerCache(properties.getNearCachePerCache());
+        cacheManager.setWriteMode(properties.getWriteMode());
+        cacheManager.setWriteModePerCache(properties.getWriteModePerCache());
+        cacheManager.setWriteBehind(properties.getWriteBehind());
+        cacheManager.setWriteBehindPerCache(properties.getWriteBehindPerCache());
+        cacheManager.setCodec(properties.getCodec());
+        cacheManager.setCodecPerCache(properties.getCodecPerCache());
+        MemcachedCodecs.setJsonAllowedTypes(properties.getJsonAllowedTypes());
+        cacheManager.setCompression(properties.getCompression());
+        cacheManager.setCompressionPerCache(properties.getCompressionPerCache());
+        warnIfCompressionIgnored();
+        cacheManager.setMetrics(properties.getMetrics());
+        cacheManager.setServerStats(properties.getServerStats());
+        cacheManager.setHotKeys(properties.getHotKeys());
+        cacheManager.setHotKeyReplication(properties.getHotKeyReplication());
 
         return cacheManager;
     }
 
+    /**
+     * Warns about the compression configured for the caches using the 'java' codec, which keeps the compression of
+     * the memcached client and ignores the configured one.
+     */
+    private void warnIfCompressionIgnored() {
+        if (isCompressionIgnored(properties.getCodec(), properties.getCompression())) {
+            log.warn("Compression is enabled, but ignored by the caches using the 'java' codec. Configure a codec such "
+                    + "as 'binary' or 'json' to compress the cached values");
+        }
+        properties.getCompressionPerCache().forEach((cacheName, compression) -> {
+            String codec = properties.getCodecPerCache().getOrDefault(cacheName, properties.getCodec());
+            if (isCompressionIgnored(codec, compression)) {
+                log.warn(String.format("Compression of cache '%s' is enabled, but ignored by its 'java' codec",
+                        cacheName));
+            }
+        });
+    }
+
+    private static boolean isCompressionIgnored(String codec, MemcachedCacheProperties.Compression compression) {
+        return compression != null && compression.isEnabled() && MemcachedCodecs.forName(codec) == null;
+    }
+
+    private IMemcachedClient batching(IMemcachedClient memcachedClient) {
+        final MemcachedCacheProperties.Batching batching = properties.getBatching();
+        return batching.isEnabled()
+                ? new BatchingMemcachedClient(memcachedClient, batching, properties.getOperationTimeout())
+                : memcachedClient;
+    }
+
+    private IMemcachedClient circuitBreaking(IMemcachedClient memcachedClient) {
+        final MemcachedCacheProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        return circuitBreaker.isEnabled()
+                ? new CircuitBreakingMemcachedClient(memcachedClient, circuitBreaker)
+                : memcachedClient;
+    }
+
     abstract IMemcachedClient memcachedClient() throws IOException;
 }
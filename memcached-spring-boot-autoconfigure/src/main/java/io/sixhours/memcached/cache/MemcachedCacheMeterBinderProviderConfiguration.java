@@ -16,11 +16,16 @@
 package io.sixhours.memcached.cache;
 
 import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.cache.metrics.CacheMetricsRegistrar;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 /**
  * Configuration for the Memcached {@link org.springframework.boot.cache.metrics.CacheMeterBinderProvider} bean.
  *
@@ -35,4 +40,32 @@ public class MemcachedCacheMeterBinderProviderConfiguration {
     public MemcachedCacheMeterBinderProvider memcachedCacheMeterBinderProvider() {
         return new MemcachedCacheMeterBinderProvider();
     }
+
+    @Bean
+    public MemcachedBatchingMetrics memcachedBatchingMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedBatchingMetrics(cacheManagers);
+    }
+
+    @Bean
+    public MemcachedCircuitBreakerMetrics memcachedCircuitBreakerMetrics(
+            Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedCircuitBreakerMetrics(cacheManagers);
+    }
+
+    @Bean
+    public MemcachedTransportMetrics memcachedTransportMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedTransportMetrics(cacheManagers);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "memcached.cache.server-stats", name = "metrics", havingValue = "true")
+    public MemcachedServerStatsMetrics memcachedServerStatsMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedServerStatsMetrics(cacheManagers);
+    }
+
+    @Bean
+    public MemcachedCacheMetricsBinder memcachedCacheMetricsBinder(Map<String, MemcachedCacheManager> cacheManagers,
+                                                                   ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar) {
+        return new MemcachedCacheMetricsBinder(cacheManagers, cacheMetricsRegistrar);
+    }
 }
@@ -15,11 +15,23 @@
  */
 package io.sixhours.memcached.cache;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Collect metrics on Memcached caches.
  *
@@ -68,8 +80,165 @@ public class MemcachedCacheMetrics extends CacheMeterBinder<MemcachedCache> {
 
     @Override
     protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
-        if (cache.getNativeCache() instanceof XMemcachedClient memcachedClient) {
-            registry.gauge("available_servers_count", memcachedClient.nativeClient().getAvailableServers().size());
+        FunctionCounter.builder("cache.loads.coalesced", cache, MemcachedCache::coalescedLoads)
+                .tags(getTagsWithCacheName())
+                .description("The number of cache loads served by a load already in progress for the same key")
+                .register(registry);
+
+        FunctionCounter.builder("cache.refreshes", cache, MemcachedCache::refreshes)
+                .tags(getTagsWithCacheName())
+                .description("The number of cache entries reloaded in the background after their soft ttl")
+                .register(registry);
+
+        FunctionCounter.builder("cache.writes.failed", cache, MemcachedCache::failedWrites)
+                .tags(getTagsWithCacheName())
+                .description("The number of noreply or write-behind cache writes that failed")
+                .register(registry);
+
+        FunctionCounter.builder("cache.near.gets", cache, MemcachedCache::nearHits)
+                .tags(getTagsWithCacheName()).tag("result", "hit")
+                .description("The number of times cache lookup methods were served by the near cache")
+                .register(registry);
+
+        FunctionCounter.builder("cache.near.gets", cache, MemcachedCache::nearMisses)
+                .tags(getTagsWithCacheName()).tag("result", "miss")
+                .description("The number of times cache lookup methods did not find the entry in the near cache")
+                .register(registry);
+
+        FunctionCounter.builder("cache.memcached.gets", cache, MemcachedCache::memcachedHits)
+                .tags(getTagsWithCacheName()).tag("result", "hit")
+                .description("The number of times cache lookup methods were served by memcached")
+                .register(registry);
+
+        FunctionCounter.builder("cache.memcached.gets", cache, MemcachedCache::misses)
+                .tags(getTagsWithCacheName()).tag("result", "miss")
+                .description("The number of times cache lookup methods did not find the entry in memcached")
+                .register(registry);
+
+        if (cache.nearCacheSize() != null) {
+            Gauge.builder("cache.near.size", cache, c -> Objects.requireNonNullElse(c.nearCacheSize(), 0L))
+                    .tags(getTagsWithCacheName())
+                    .description("The number of entries kept in the near cache")
+                    .register(registry);
+        }
+
+        if (cache.writeQueueSize() != null) {
+            Gauge.builder("cache.write.queue.size", cache, c -> Objects.requireNonNullElse(c.writeQueueSize(), 0))
+                    .tags(getTagsWithCacheName())
+                    .description("The number of puts waiting in the write-behind queue")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.write.queue.dropped", cache, MemcachedCache::writeQueueDrops)
+                    .tags(getTagsWithCacheName())
+                    .description("The number of puts discarded because the write-behind queue was full")
+                    .register(registry);
+
+            FunctionTimer.builder("cache.write.queue.flush", cache, MemcachedCache::writeQueueFlushes,
+                            MemcachedCache::writeQueueFlushTime, TimeUnit.NANOSECONDS)
+                    .tags(getTagsWithCacheName())
+                    .description("The time spent writing batches of queued puts to memcached")
+                    .register(registry);
+        }
+
+        MemcachedCompression compression = cache.compression();
+        if (compression != null) {
+            FunctionCounter.builder("cache.compression.values", compression, MemcachedCompression::compressed)
+                    .tags(getTagsWithCacheName()).tag("result", "compressed")
+                    .description("The number of cache values stored compressed")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.compression.values", compression, MemcachedCompression::skipped)
+                    .tags(getTagsWithCacheName()).tag("result", "skipped")
+                    .description("The number of cache values stored uncompressed because of a poor compression ratio")
+                    .register(registry);
+
+            Gauge.builder("cache.compression.ratio", compression, MemcachedCompression::ratio)
+                    .tags(getTagsWithCacheName())
+                    .description("The ratio of the compressed size to the original size of the compressed values")
+                    .register(registry);
+
+            FunctionTimer.builder("cache.compression.time", compression, MemcachedCompression::compressions,
+                            MemcachedCompression::compressionTime, TimeUnit.NANOSECONDS)
+                    .tags(getTagsWithCacheName())
+                    .description("The time spent compressing cache values")
+                    .register(registry);
+        }
+
+        if (cache.hotKeys() != null) {
+            bindHotKeys(registry, cache.hotKeys());
+        }
+
+        if (cache.metrics().isOperationTimers()) {
+            bindOperationTimers(registry);
+        }
+    }
+
+    /**
+     * Publishes the top hot keys of every decay interval, tagged by key and server. The previous hot keys are
+     * replaced, bounding the number of meters to the top hot keys configured.
+     */
+    private void bindHotKeys(MeterRegistry registry, MemcachedHotKeys hotKeys) {
+        final MultiGauge hotKeyReads = MultiGauge.builder("cache.hot.keys")
+                .tags(getTagsWithCacheName())
+                .description("The estimated number of reads of the hot keys within the last decay interval")
+                .register(registry);
+
+        hotKeys.setListener(top -> hotKeyReads.register(top.stream()
+                .<MultiGauge.Row<?>>map(hotKey -> MultiGauge.Row.of(Tags.of("key", hotKey.key(),
+                        "server", Objects.requireNonNullElse(hotKey.server(), "unknown")), hotKey.count()))
+                .toList(), true));
+    }
+
+    /**
+     * Registers the operation and load timers up front and installs the listener recording them, so the recording
+     * costs no meter lookup.
+     */
+    private void bindOperationTimers(MeterRegistry registry) {
+        final MemcachedCacheProperties.Metrics metrics = cache.metrics();
+
+        final Map<MemcachedOperationListener.Operation, Timer> operationTimers =
+                new EnumMap<>(MemcachedOperationListener.Operation.class);
+        for (MemcachedOperationListener.Operation operation : MemcachedOperationListener.Operation.values()) {
+            operationTimers.put(operation, timer("cache.memcached.operations", metrics)
+                    .tag("operation", operation.tagValue())
+                    .description("The time spent in memcached operations")
+                    .register(registry));
+        }
+        final Timer loadSuccess = timer("cache.loads", metrics).tag("result", "success")
+                .description("The time spent loading values on cache misses and refreshes")
+                .register(registry);
+        final Timer loadFailure = timer("cache.loads", metrics).tag("result", "failure")
+                .description("The time spent loading values on cache misses and refreshes")
+                .register(registry);
+
+        cache.setOperationListener(new MemcachedOperationListener() {
+            @Override
+            public void operationCompleted(Operation operation, long durationNanos) {
+                operationTimers.get(operation).record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void valueLoaded(long durationNanos, boolean success) {
+                (success ? loadSuccess : loadFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private Timer.Builder timer(String name, MemcachedCacheProperties.Metrics metrics) {
+        return distribution(Timer.builder(name).tags(getTagsWithCacheName()), metrics);
+    }
+
+    /**
+     * Applies the percentiles, percentile histogram and slo boundaries of the metrics configuration to the timer.
+     */
+    static Timer.Builder distribution(Timer.Builder builder, MemcachedCacheProperties.Metrics metrics) {
+        builder.publishPercentileHistogram(metrics.isPercentileHistogram());
+        if (metrics.getPercentiles() != null && !metrics.getPercentiles().isEmpty()) {
+            builder.publishPercentiles(metrics.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray());
+        }
+        if (metrics.getSlo() != null && !metrics.getSlo().isEmpty()) {
+            builder.serviceLevelObjectives(metrics.getSlo().toArray(new Duration[0]));
         }
+        return builder;
     }
 }
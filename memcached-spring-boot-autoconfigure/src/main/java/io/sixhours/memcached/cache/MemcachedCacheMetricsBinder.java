@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.cache.metrics.CacheMetricsRegistrar;
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Binds the caches created on first use by the {@link MemcachedCacheManager} beans to the meter registry. Caches
+ * listed in the metrics cache names are created on startup and bound by the {@link CacheMetricsRegistrar}, all other
+ * caches are created on the first {@code getCache} call and would otherwise stay unmonitored.
+ * <p>
+ * A cache is bound if its name matches one of the include patterns and none of the exclude patterns of the metrics
+ * configuration, up to the max caches limit per cache manager. The meters are tagged with the cache manager name the
+ * same way as the caches bound on startup.
+ */
+public class MemcachedCacheMetricsBinder implements SmartInitializingSingleton {
+    private static final Log log = LogFactory.getLog(MemcachedCacheMetricsBinder.class);
+
+    private final Map<String, MemcachedCacheManager> cacheManagers;
+    private final ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar;
+
+    public MemcachedCacheMetricsBinder(Map<String, MemcachedCacheManager> cacheManagers,
+                                       ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar) {
+        this.cacheManagers = cacheManagers;
+        this.cacheMetricsRegistrar = cacheMetricsRegistrar;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.cacheManagers.forEach((beanName, cacheManager) -> cacheManager.setCacheCreatedListener(
+                new CacheManagerBinding(cacheManagerTag(beanName), cacheManager.metrics())));
+    }
+
+    /**
+     * Returns a component of every cache manager, e.g. its client, with the cache manager tag of its meters. A
+     * component shared by several cache managers is tagged with the first of them.
+     */
+    static <T> Map<T, Tags> byCacheManager(Map<String, MemcachedCacheManager> cacheManagers,
+                                           Function<MemcachedCacheManager, T> component) {
+        Map<T, Tags> components = new LinkedHashMap<>();
+        cacheManagers.forEach((beanName, cacheManager) -> components.putIfAbsent(component.apply(cacheManager),
+                Tags.of(cacheManagerTag(beanName))));
+        return components;
+    }
+
+    private static Tag cacheManagerTag(String beanName) {
+        return Tag.of("cache.manager", MemcachedCacheManager.cacheManagerName(beanName));
+    }
+
+    private static boolean matches(List<String> patterns, String name) {
+        return patterns != null && PatternMatchUtils.simpleMatch(patterns.toArray(new String[0]), name);
+    }
+
+    private final class CacheManagerBinding implements Consumer<MemcachedCache> {
+        private final Tag cacheManagerTag;
+        private final MemcachedCacheProperties.Metrics metrics;
+        private int boundCaches;
+        private boolean limitReported;
+
+        private CacheManagerBinding(Tag cacheManagerTag, MemcachedCacheProperties.Metrics metrics) {
+            this.cacheManagerTag = cacheManagerTag;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public synchronized void accept(MemcachedCache cache) {
+            String name = cache.getName();
+            if (!matches(this.metrics.getInclude(), name) || matches(this.metrics.getExclude(), name)) {
+                return;
+            }
+            CacheMetricsRegistrar registrar = cacheMetricsRegistrar.getIfAvailable();
+            if (registrar == null) {
+                return;
+            }
+            if (this.boundCaches >= this.metrics.getMaxCaches()) {
+                if (!this.limitReported) {
+                    this.limitReported = true;
+                    log.warn(String.format("Cache '%s' is not bound to the meter registry, the limit of %d caches "
+                            + "bound on first use is reached.", name, this.metrics.getMaxCaches()));
+                }
+                return;
+            }
+            if (registrar.bindCacheToRegistry(cache, this.cacheManagerTag)) {
+                this.boundCaches++;
+            }
+        }
+    }
+}
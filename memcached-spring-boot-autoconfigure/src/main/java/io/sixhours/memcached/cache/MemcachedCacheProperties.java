@@ -17,7 +17,10 @@ package io.sixhours.memcached.cache;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.convert.DataSizeUnit;
 import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.unit.DataUnit;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -55,7 +58,8 @@ public class MemcachedCacheProperties {
     private Set<String> disabledCacheNames = new HashSet<>();
 
     /**
-     * Comma-separated list of cache names for which metrics will be collected
+     * Comma-separated list of cache names created on startup, for which metrics will be collected. Caches created on
+     * first use are bound according to the {@code metrics} include and exclude patterns.
      */
     private List<String> metricsCacheNames = new ArrayList<>();
 
@@ -109,6 +113,170 @@ public class MemcachedCacheProperties {
      */
     private HashStrategy hashStrategy = Default.HASH_STRATEGY;
 
+    /**
+     * Interval in seconds during which the cache namespace value is kept in the application, instead of being read
+     * from memcached on every cache operation. Bounds the delay after which a cache clear made by another application
+     * instance becomes visible. The default is 0s, meaning the namespace value is read on every cache operation.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration namespaceRefreshInterval = Default.NAMESPACE_REFRESH_INTERVAL;
+
+    /**
+     * Cache invalidation strategy. Use 'namespace' to include the namespace value in every cache key; use 'generation'
+     * to keep the cache keys stable and store the namespace value together with the cached value. The default is
+     * 'namespace'.
+     */
+    private InvalidationStrategy invalidationStrategy = Default.INVALIDATION_STRATEGY;
+
+    /**
+     * Distributed lease configuration for cache loads. When enabled, only the application instance that acquires
+     * the lease loads the missing value, while the others wait for it to appear in the cache.
+     * Defaults to disabled lease.
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * Lease configuration per cache. The map contains cache name as the key and lease configuration as the value.
+     * <p>
+     * The lease configuration in the map will override global {@code lease}, but only for the cache with the name
+     * specified as the map key.
+     */
+    private Map<String, Lease> leasePerCache = new HashMap<>();
+
+    /**
+     * Refresh configuration for cache entries loaded through a value loader. When the soft ttl is set, entries older
+     * than the soft ttl are still served while a single background refresh reloads them, until the cache expiration
+     * removes them from memcached. Defaults to disabled refresh.
+     */
+    private Refresh refresh = new Refresh();
+
+    /**
+     * Refresh configuration per cache. The map contains cache name as the key and refresh configuration as the value.
+     * <p>
+     * The refresh configuration in the map will override global {@code refresh}, but only for the cache with the name
+     * specified as the map key.
+     */
+    private Map<String, Refresh> refreshPerCache = new HashMap<>();
+
+    /**
+     * In-process near cache configuration. When enabled, recently used entries are kept in the application for
+     * the near cache ttl and served without reading them from memcached. Defaults to disabled near cache.
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * Near cache configuration per cache. The map contains cache name as the key and near cache configuration as the
+     * value.
+     * <p>
+     * The near cache configuration in the map will override global {@code near-cache}, but only for the cache with
+     * the name specified as the map key.
+     */
+    private Map<String, NearCache> nearCachePerCache = new HashMap<>();
+
+    /**
+     * Write mode of cache puts and evicts. Use 'acknowledged' to wait for the server acknowledgment of every write;
+     * use 'noreply' to return as soon as the write is sent, without propagating write failures. The default is
+     * 'acknowledged'.
+     */
+    private WriteMode writeMode = Default.WRITE_MODE;
+
+    /**
+     * Write mode per cache. The map contains cache name as the key and write mode as the value.
+     * <p>
+     * The write mode in the map will override global {@code write-mode}, but only for the cache with the name
+     * specified as the map key.
+     */
+    private Map<String, WriteMode> writeModePerCache = new HashMap<>();
+
+    /**
+     * Batching of concurrent single-key gets into multi-gets. Defaults to disabled batching.
+     */
+    private Batching batching = new Batching();
+
+    /**
+     * Write-behind configuration. When enabled, cache puts are queued and written to memcached in batches by a
+     * background worker, and the put returns without waiting for memcached. Defaults to disabled write-behind.
+     */
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * Write-behind configuration per cache. The map contains cache name as the key and write-behind configuration as
+     * the value.
+     * <p>
+     * The write-behind configuration in the map will override global {@code write-behind}, but only for the cache
+     * with the name specified as the map key.
+     */
+    private Map<String, WriteBehind> writeBehindPerCache = new HashMap<>();
+
+    /**
+     * Codec encoding the cached values. Use 'java' for the serialization of the memcached client, 'binary' for the
+     * compact binary codec, 'json' for the Jackson JSON codec, or the name of a codec registered through the
+     * {@link MemcachedCodec} service loader. The default is 'java'.
+     */
+    private String codec = Default.CODEC;
+
+    /**
+     * Codec per cache. The map contains cache name as the key and codec name as the value.
+     * <p>
+     * The codec in the map will override global {@code codec}, but only for the cache with the name specified as the
+     * map key.
+     */
+    private Map<String, String> codecPerCache = new HashMap<>();
+
+    /**
+     * Types decoded by the 'json' codec, by class or package name prefix, e.g. 'com.example.model.'. The type of a
+     * json encoded value is read from the cached data, so other types are rejected, except the JDK value types.
+     */
+    private List<String> jsonAllowedTypes = new ArrayList<>();
+
+    /**
+     * Compression of the cached values. Applied to the caches using a codec other than 'java'; the 'java' codec keeps
+     * the compression of the memcached client. Defaults to disabled compression.
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * Compression configuration per cache. The map contains cache name as the key and compression configuration as the
+     * value.
+     * <p>
+     * The compression configuration in the map will override global {@code compression}, but only for the cache with
+     * the name specified as the map key.
+     */
+    private Map<String, Compression> compressionPerCache = new HashMap<>();
+
+    /**
+     * Compact key generator configuration. When enabled, {@link MemcachedKeyGenerator} is registered as the default
+     * key generator of the cache annotations. Defaults to disabled, keeping the Spring {@code SimpleKeyGenerator}.
+     */
+    private KeyGenerator keyGenerator = new KeyGenerator();
+
+    /**
+     * Cache metrics configuration, applied to the caches bound to a meter registry.
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * Memcached server statistics configuration, used by the {@code memcached} actuator endpoint and the server
+     * statistics metrics.
+     */
+    private ServerStats serverStats = new ServerStats();
+
+    /**
+     * Hot keys tracking configuration, applied to all caches. Defaults to disabled.
+     */
+    private HotKeys hotKeys = new HotKeys();
+
+    /**
+     * Hot key replication configuration, applied to all caches. Defaults to disabled.
+     */
+    private HotKeyReplication hotKeyReplication = new HotKeyReplication();
+
+    /**
+     * Circuit breaker configuration, applied to the memcached client and to every memcached server. Defaults to
+     * disabled.
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
     public List<InetSocketAddress> getServers() {
         return servers;
     }
@@ -236,6 +404,202 @@ public class MemcachedCacheProperties {
         this.hashStrategy = hashStrategy;
     }
 
+    public Duration getNamespaceRefreshInterval() {
+        return namespaceRefreshInterval;
+    }
+
+    public void setNamespaceRefreshInterval(Duration namespaceRefreshInterval) {
+        if (namespaceRefreshInterval == null || namespaceRefreshInterval.isNegative()) {
+            throw new IllegalArgumentException("Namespace refresh interval must be greater than or equal to zero");
+        }
+        this.namespaceRefreshInterval = namespaceRefreshInterval;
+    }
+
+    public InvalidationStrategy getInvalidationStrategy() {
+        return invalidationStrategy;
+    }
+
+    public void setInvalidationStrategy(InvalidationStrategy invalidationStrategy) {
+        this.invalidationStrategy = invalidationStrategy;
+    }
+
+    public Lease getLease() {
+        return lease;
+    }
+
+    public void setLease(Lease lease) {
+        this.lease = lease;
+    }
+
+    public Map<String, Lease> getLeasePerCache() {
+        return leasePerCache;
+    }
+
+    public void setLeasePerCache(Map<String, Lease> leasePerCache) {
+        this.leasePerCache = leasePerCache;
+    }
+
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    public void setRefresh(Refresh refresh) {
+        this.refresh = refresh;
+    }
+
+    public Map<String, Refresh> getRefreshPerCache() {
+        return refreshPerCache;
+    }
+
+    public void setRefreshPerCache(Map<String, Refresh> refreshPerCache) {
+        this.refreshPerCache = refreshPerCache;
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(NearCache nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public Map<String, NearCache> getNearCachePerCache() {
+        return nearCachePerCache;
+    }
+
+    public void setNearCachePerCache(Map<String, NearCache> nearCachePerCache) {
+        this.nearCachePerCache = nearCachePerCache;
+    }
+
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public void setWriteMode(WriteMode writeMode) {
+        this.writeMode = writeMode;
+    }
+
+    public Map<String, WriteMode> getWriteModePerCache() {
+        return writeModePerCache;
+    }
+
+    public void setWriteModePerCache(Map<String, WriteMode> writeModePerCache) {
+        this.writeModePerCache = writeModePerCache;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public void setBatching(Batching batching) {
+        this.batching = batching;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(WriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public Map<String, WriteBehind> getWriteBehindPerCache() {
+        return writeBehindPerCache;
+    }
+
+    public void setWriteBehindPerCache(Map<String, WriteBehind> writeBehindPerCache) {
+        this.writeBehindPerCache = writeBehindPerCache;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        MemcachedCodecs.forName(codec);
+        this.codec = codec;
+    }
+
+    public Map<String, String> getCodecPerCache() {
+        return codecPerCache;
+    }
+
+    public void setCodecPerCache(Map<String, String> codecPerCache) {
+        this.codecPerCache = codecPerCache;
+    }
+
+    public List<String> getJsonAllowedTypes() {
+        return jsonAllowedTypes;
+    }
+
+    public void setJsonAllowedTypes(List<String> jsonAllowedTypes) {
+        this.jsonAllowedTypes = jsonAllowedTypes;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public Map<String, Compression> getCompressionPerCache() {
+        return compressionPerCache;
+    }
+
+    public void setCompressionPerCache(Map<String, Compression> compressionPerCache) {
+        this.compressionPerCache = compressionPerCache;
+    }
+
+    public KeyGenerator getKeyGenerator() {
+        return keyGenerator;
+    }
+
+    public void setKeyGenerator(KeyGenerator keyGenerator) {
+        this.keyGenerator = keyGenerator;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ServerStats getServerStats() {
+        return serverStats;
+    }
+
+    public void setServerStats(ServerStats serverStats) {
+        this.serverStats = serverStats;
+    }
+
+    public HotKeys getHotKeys() {
+        return hotKeys;
+    }
+
+    public void setHotKeys(HotKeys hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    public HotKeyReplication getHotKeyReplication() {
+        return hotKeyReplication;
+    }
+
+    public void setHotKeyReplication(HotKeyReplication hotKeyReplication) {
+        this.hotKeyReplication = hotKeyReplication;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
     public static class Authentication {
 
         /**
@@ -299,15 +663,861 @@ public class MemcachedCacheProperties {
         }
     }
 
-    public enum Protocol {
-        TEXT, BINARY
+    public static class Lease {
+
+        /**
+         * Whether the distributed lease is used for cache loads. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Lease expiration in seconds. Should cover the longest expected value load. The default is 10s.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl = Default.LEASE_TTL;
+
+        /**
+         * Maximum time in milliseconds to wait for the value loaded by the lease holder. The default is 2000
+         * milliseconds.
+         */
+        private Duration waitTimeout = Default.LEASE_WAIT_TIMEOUT;
+
+        /**
+         * Interval in milliseconds between cache lookups while waiting for the value loaded by the lease holder.
+         * The default is 50 milliseconds.
+         */
+        private Duration pollInterval = Default.LEASE_POLL_INTERVAL;
+
+        /**
+         * Behavior when the value does not appear within the wait timeout. Use 'load' to load the value, or 'fail'
+         * to fail the cache lookup. The default is 'load'.
+         */
+        private Fallback fallback = Default.LEASE_FALLBACK;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            if (ttl == null || ttl.getSeconds() <= 0) {
+                throw new IllegalArgumentException("Lease ttl must be at least one second");
+            }
+            this.ttl = ttl;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            if (waitTimeout == null || waitTimeout.isNegative()) {
+                throw new IllegalArgumentException("Lease wait timeout must be greater than or equal to zero");
+            }
+            this.waitTimeout = waitTimeout;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            if (pollInterval == null || Duration.ZERO.compareTo(pollInterval) >= 0) {
+                throw new IllegalArgumentException("Lease poll interval must be greater then zero");
+            }
+            this.pollInterval = pollInterval;
+        }
+
+        public Fallback getFallback() {
+            return fallback;
+        }
+
+        public void setFallback(Fallback fallback) {
+            this.fallback = fallback;
+        }
+
+        /**
+         * Behavior when the value loaded by the lease holder does not appear within the wait timeout.
+         */
+        public enum Fallback {
+            LOAD, FAIL
+        }
     }
 
-    public enum Provider {
-        STATIC, APPENGINE, AWS
+    public static class Refresh {
+
+        /**
+         * Time in seconds after which a cached entry is refreshed in the background, while its current value is still
+         * served. Should be shorter than the cache expiration. The default is 0s, meaning entries are not refreshed.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration softTtl = Default.REFRESH_SOFT_TTL;
+
+        /**
+         * Weight of the probabilistic early refresh. Entries that took longer to load are more likely to be refreshed
+         * before the soft ttl elapses; values above 1.0 favor earlier refreshes. The default is 0, meaning entries are
+         * refreshed only once the soft ttl elapses.
+         */
+        private double earlyRefreshBeta = Default.REFRESH_EARLY_REFRESH_BETA;
+
+        public Duration getSoftTtl() {
+            return softTtl;
+        }
+
+        public void setSoftTtl(Duration softTtl) {
+            if (softTtl == null || softTtl.isNegative()) {
+                throw new IllegalArgumentException("Refresh soft ttl must be greater than or equal to zero");
+            }
+            this.softTtl = softTtl;
+        }
+
+        public double getEarlyRefreshBeta() {
+            return earlyRefreshBeta;
+        }
+
+        public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+            if (earlyRefreshBeta < 0) {
+                throw new IllegalArgumentException("Early refresh beta must be greater than or equal to zero");
+            }
+            this.earlyRefreshBeta = earlyRefreshBeta;
+        }
     }
 
-    public enum HashStrategy {
-        STANDARD, LIBMEMCACHED, KETAMA, PHP, ELECTION, ROUNDROBIN, RANDOM
+    public static class NearCache {
+
+        /**
+         * Whether the in-process near cache is used. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of entries kept in the near cache. Once reached, the least recently used entry is evicted.
+         * The default is 1000.
+         */
+        private int maxSize = Default.NEAR_CACHE_MAX_SIZE;
+
+        /**
+         * Time in milliseconds an entry is kept in the near cache. Bounds the delay after which changes made by other
+         * application instances become visible. The default is 5000 milliseconds.
+         */
+        private Duration ttl = Default.NEAR_CACHE_TTL;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Near cache max size must be greater then zero");
+            }
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            if (ttl == null || Duration.ZERO.compareTo(ttl) >= 0) {
+                throw new IllegalArgumentException("Near cache ttl must be greater then zero");
+            }
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Batching {
+
+        /**
+         * Whether concurrent single-key gets are merged into multi-gets. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of gets merged into a single multi-get. The default is 64.
+         */
+        private int maxBatchSize = Default.BATCHING_MAX_BATCH_SIZE;
+
+        /**
+         * Maximum time in milliseconds a get waits for the batch to fill up, applied only while other gets are already
+         * waiting. A get arriving to an idle client is sent right away. The default is 2 milliseconds.
+         */
+        private Duration maxDelay = Default.BATCHING_MAX_DELAY;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Batching max batch size must be greater then zero");
+            }
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            if (maxDelay == null || maxDelay.isNegative()) {
+                throw new IllegalArgumentException("Batching max delay must be greater than or equal to zero");
+            }
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    public static class Compression {
+
+        /**
+         * Whether the cached values are compressed. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Minimum size of the encoded value to be compressed. If unit not specified, bytes will be used. The default
+         * is 1024 bytes.
+         */
+        @DataSizeUnit(DataUnit.BYTES)
+        private DataSize threshold = Default.COMPRESSION_THRESHOLD;
+
+        /**
+         * Compression algorithm. Use 'deflate' for the JDK Deflater, or the name of a compressor registered through
+         * the {@link MemcachedCompressor} service loader. The default is 'deflate'.
+         */
+        private String algorithm = Default.COMPRESSION_ALGORITHM;
+
+        /**
+         * Compression level, interpreted by the compression algorithm. For 'deflate' levels range from 0 to 9, -1
+         * selects the default level. The default is -1.
+         */
+        private int level = Default.COMPRESSION_LEVEL;
+
+        /**
+         * Maximum ratio of the compressed size to the original size. Values that do not compress at least this well
+         * are stored uncompressed, so reading them does not pay for the decompression. The default is 0.9.
+         */
+        private double maxRatio = Default.COMPRESSION_MAX_RATIO;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(DataSize threshold) {
+            if (threshold == null || threshold.isNegative()) {
+                throw new IllegalArgumentException("Compression threshold must be greater than or equal to zero");
+            }
+            this.threshold = threshold;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            MemcachedCompressors.forName(algorithm);
+            this.algorithm = algorithm;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public double getMaxRatio() {
+            return maxRatio;
+        }
+
+        public void setMaxRatio(double maxRatio) {
+            if (maxRatio <= 0 || maxRatio > 1) {
+                throw new IllegalArgumentException("Compression max ratio must be greater then zero and at most one");
+            }
+            this.maxRatio = maxRatio;
+        }
+    }
+
+    public static class WriteBehind {
+
+        /**
+         * Whether cache puts are queued and written to memcached by a background worker. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of distinct keys waiting in the queue. Repeated puts of a queued key replace its value and do
+         * not take additional space. The default is 10000.
+         */
+        private int capacity = Default.WRITE_BEHIND_CAPACITY;
+
+        /**
+         * Maximum number of queued values written to memcached in a single batch. The default is 100.
+         */
+        private int batchSize = Default.WRITE_BEHIND_BATCH_SIZE;
+
+        /**
+         * Behavior of the put when the queue is full. Use 'drop' to discard the value, 'block' to wait for free space,
+         * or 'write' to write the value to memcached in the caller thread. The default is 'write'.
+         */
+        private FullPolicy fullPolicy = Default.WRITE_BEHIND_FULL_POLICY;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Write-behind capacity must be greater then zero");
+            }
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Write-behind batch size must be greater then zero");
+            }
+            this.batchSize = batchSize;
+        }
+
+        public FullPolicy getFullPolicy() {
+            return fullPolicy;
+        }
+
+        public void setFullPolicy(FullPolicy fullPolicy) {
+            this.fullPolicy = fullPolicy;
+        }
+
+        /**
+         * Behavior of the put when the write-behind queue is full.
+         */
+        public enum FullPolicy {
+            DROP, BLOCK, WRITE
+        }
+    }
+
+    public static class KeyGenerator {
+
+        /**
+         * Whether the compact memcached key generator is used by the cache annotations. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum length of the generated key. Longer keys are replaced with their hash. The default is 100.
+         */
+        private int maxLength = Default.KEY_GENERATOR_MAX_LENGTH;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxLength() {
+            return maxLength;
+        }
+
+        public void setMaxLength(int maxLength) {
+            if (maxLength <= 0) {
+                throw new IllegalArgumentException("Key generator max length must be greater then zero");
+            }
+            this.maxLength = maxLength;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * Whether the duration of the memcached operations and of the value loads is recorded per cache. The default
+         * is 'true'.
+         */
+        private boolean operationTimers = true;
+
+        /**
+         * Percentiles of the operation and load timers computed in the application, e.g. 0.5, 0.99. Defaults to none.
+         */
+        private List<Double> percentiles = new ArrayList<>();
+
+        /**
+         * Whether the operation and load timers publish a percentile histogram, aggregable across instances by the
+         * monitoring system. The default is 'false'.
+         */
+        private boolean percentileHistogram;
+
+        /**
+         * Service level objective boundaries of the operation and load timers, e.g. 1ms, 5ms. Defaults to none.
+         */
+        private List<Duration> slo = new ArrayList<>();
+
+        /**
+         * Fraction of the memcached operations timed, greater than 0 and at most 1. Lower values reduce the timing
+         * overhead on hot caches while keeping the latency distribution; the timer counts are scaled down by the same
+         * fraction. The default is 1.
+         */
+        private double sampleRate = Default.METRICS_SAMPLE_RATE;
+
+        /**
+         * Name patterns of the caches bound to the meter registry when created on first use, in addition to the
+         * caches listed in 'metrics-cache-names'. Patterns support '*' wildcards, e.g. 'books*'. The default is '*'.
+         */
+        private List<String> include = new ArrayList<>(List.of("*"));
+
+        /**
+         * Name patterns of the caches never bound on first use. Takes precedence over 'include'. Defaults to none.
+         */
+        private List<String> exclude = new ArrayList<>();
+
+        /**
+         * Maximum number of caches bound on first use, limiting the cardinality of the 'cache' tag. Caches created
+         * past the limit are not bound, use 0 to bind none. The default is 100.
+         */
+        private int maxCaches = Default.METRICS_MAX_CACHES;
+
+        public boolean isOperationTimers() {
+            return operationTimers;
+        }
+
+        public void setOperationTimers(boolean operationTimers) {
+            this.operationTimers = operationTimers;
+        }
+
+        public List<Double> getPercentiles() {
+            return percentiles;
+        }
+
+        public void setPercentiles(List<Double> percentiles) {
+            if (percentiles != null && percentiles.stream().anyMatch(p -> p == null || p < 0 || p > 1)) {
+                throw new IllegalArgumentException("Metrics percentiles must be between zero and one");
+            }
+            this.percentiles = percentiles;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+
+        public List<Duration> getSlo() {
+            return slo;
+        }
+
+        public void setSlo(List<Duration> slo) {
+            if (slo != null && slo.stream().anyMatch(s -> s == null || s.isNegative() || s.isZero())) {
+                throw new IllegalArgumentException("Metrics slo must be greater then zero");
+            }
+            this.slo = slo;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            if (sampleRate <= 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Metrics sample rate must be greater then zero and at most one");
+            }
+            this.sampleRate = sampleRate;
+        }
+
+        public List<String> getInclude() {
+            return include;
+        }
+
+        public void setInclude(List<String> include) {
+            this.include = include;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+
+        public void setExclude(List<String> exclude) {
+            this.exclude = exclude;
+        }
+
+        public int getMaxCaches() {
+            return maxCaches;
+        }
+
+        public void setMaxCaches(int maxCaches) {
+            if (maxCaches < 0) {
+                throw new IllegalArgumentException("Metrics max caches must be greater than or equal to zero");
+            }
+            this.maxCaches = maxCaches;
+        }
+    }
+
+    public static class ServerStats {
+
+        /**
+         * Minimum interval between two queries of the memcached server statistics. Reads within the interval return
+         * the last collected statistics. The default is 10 seconds.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration minInterval = Default.SERVER_STATS_MIN_INTERVAL;
+
+        /**
+         * Whether the key server statistics, such as evictions, hits, misses and memory use, are bound to the meter
+         * registry. The default is 'false'.
+         */
+        private boolean metrics;
+
+        public Duration getMinInterval() {
+            return minInterval;
+        }
+
+        public void setMinInterval(Duration minInterval) {
+            if (minInterval == null || minInterval.isNegative() || minInterval.isZero()) {
+                throw new IllegalArgumentException("Server stats min interval must be greater then zero");
+            }
+            this.minInterval = minInterval;
+        }
+
+        public boolean isMetrics() {
+            return metrics;
+        }
+
+        public void setMetrics(boolean metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    public static class HotKeys {
+
+        /**
+         * Whether the keys read most often are tracked per cache. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of keys counted per cache. Higher values track the hot keys more accurately at the cost of
+         * memory. The default is 100.
+         */
+        private int capacity = Default.HOT_KEYS_CAPACITY;
+
+        /**
+         * Number of hot keys reported per cache by the endpoint and the metrics. The default is 10.
+         */
+        private int top = Default.HOT_KEYS_TOP;
+
+        /**
+         * Fraction of the memcached reads counted, greater than 0 and at most 1. The default is 0.01.
+         */
+        private double sampleRate = Default.HOT_KEYS_SAMPLE_RATE;
+
+        /**
+         * Interval after which the counts are halved, so that the hot keys reflect the recent reads. The default is 1
+         * minute.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration decayInterval = Default.HOT_KEYS_DECAY_INTERVAL;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Hot keys capacity must be greater then zero");
+            }
+            this.capacity = capacity;
+        }
+
+        public int getTop() {
+            return top;
+        }
+
+        public void setTop(int top) {
+            if (top <= 0) {
+                throw new IllegalArgumentException("Hot keys top must be greater then zero");
+            }
+            this.top = top;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            if (sampleRate <= 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Hot keys sample rate must be greater then zero and at most one");
+            }
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getDecayInterval() {
+            return decayInterval;
+        }
+
+        public void setDecayInterval(Duration decayInterval) {
+            if (decayInterval == null || decayInterval.isNegative() || decayInterval.isZero()) {
+                throw new IllegalArgumentException("Hot keys decay interval must be greater then zero");
+            }
+            this.decayInterval = decayInterval;
+        }
+    }
+
+    public static class HotKeyReplication {
+
+        /**
+         * Whether hot keys are stored as several copies, spread across the memcached servers, with the reads picking
+         * a random copy. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Number of copies of a hot key, including the original key. The default is 3.
+         */
+        private int copies = Default.HOT_KEY_REPLICATION_COPIES;
+
+        /**
+         * Estimated number of reads per hot keys decay interval above which a key is replicated automatically.
+         * Requires the hot keys tracking, use 0 to replicate only the configured keys. With a threshold set, every
+         * evict also deletes the possible copies of the key, i.e. sends copies - 1 additional deletes per key. The
+         * default is 10000.
+         */
+        private long threshold = Default.HOT_KEY_REPLICATION_THRESHOLD;
+
+        /**
+         * Expiration of the copies, bounding the time a copy may serve a value changed by an application instance
+         * that does not replicate the key. The default is 10 seconds.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration copyExpiration = Default.HOT_KEY_REPLICATION_COPY_EXPIRATION;
+
+        /**
+         * Keys always replicated, by cache name. Defaults to none.
+         */
+        private Map<String, Set<String>> keys = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCopies() {
+            return copies;
+        }
+
+        public void setCopies(int copies) {
+            if (copies < 2) {
+                throw new IllegalArgumentException("Hot key replication copies must be greater then one");
+            }
+            this.copies = copies;
+        }
+
+        public long getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(long threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("Hot key replication threshold must be greater than or equal to zero");
+            }
+            this.threshold = threshold;
+        }
+
+        public Duration getCopyExpiration() {
+            return copyExpiration;
+        }
+
+        public void setCopyExpiration(Duration copyExpiration) {
+            if (copyExpiration == null || copyExpiration.getSeconds() <= 0) {
+                throw new IllegalArgumentException("Hot key replication copy expiration must be at least one second");
+            }
+            this.copyExpiration = copyExpiration;
+        }
+
+        public Map<String, Set<String>> getKeys() {
+            return keys;
+        }
+
+        public void setKeys(Map<String, Set<String>> keys) {
+            this.keys = keys;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        /**
+         * Whether the memcached operations go through circuit breakers, one for the client and one for every server,
+         * so that an unavailable server turns into cache misses instead of operations waiting for the operation
+         * timeout. The default is 'false'.
+         */
+        private boolean enabled;
+
+        /**
+         * Fraction of the failed operations, errors and timeouts, within the window at which a circuit breaker
+         * opens, greater than 0 and at most 1. The default is 0.5.
+         */
+        private double failureRateThreshold = Default.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+
+        /**
+         * Number of the most recent operations the failure rate is computed on. The default is 20.
+         */
+        private int windowSize = Default.CIRCUIT_BREAKER_WINDOW_SIZE;
+
+        /**
+         * Minimum number of operations within the window before the failure rate is evaluated, at most the window
+         * size. The default is 10.
+         */
+        private int minimumCalls = Default.CIRCUIT_BREAKER_MINIMUM_CALLS;
+
+        /**
+         * Time an open circuit breaker short-circuits the operations before letting trial operations through. The
+         * default is 10 seconds.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration openDuration = Default.CIRCUIT_BREAKER_OPEN_DURATION;
+
+        /**
+         * Number of trial operations let through by a half-open circuit breaker. The breaker closes once all of
+         * them succeed, and opens again on the first failure. The default is 3.
+         */
+        private int halfOpenTrials = Default.CIRCUIT_BREAKER_HALF_OPEN_TRIALS;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException(
+                        "Circuit breaker failure rate threshold must be greater then zero and at most one");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("Circuit breaker window size must be greater then zero");
+            }
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("Circuit breaker minimum calls must be greater then zero");
+            }
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            if (openDuration == null || openDuration.isNegative() || openDuration.isZero()) {
+                throw new IllegalArgumentException("Circuit breaker open duration must be greater then zero");
+            }
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenTrials() {
+            return halfOpenTrials;
+        }
+
+        public void setHalfOpenTrials(int halfOpenTrials) {
+            if (halfOpenTrials <= 0) {
+                throw new IllegalArgumentException("Circuit breaker half-open trials must be greater then zero");
+            }
+            this.halfOpenTrials = halfOpenTrials;
+        }
+    }
+
+    public enum Protocol {
+        TEXT, BINARY
+    }
+
+    public enum Provider {
+        STATIC, APPENGINE, AWS
+    }
+
+    public enum HashStrategy {
+        STANDARD, LIBMEMCACHED, KETAMA, PHP, ELECTION, ROUNDROBIN, RANDOM
+    }
+
+    public enum InvalidationStrategy {
+        NAMESPACE, GENERATION
+    }
+
+    public enum WriteMode {
+        ACKNOWLEDGED, NOREPLY
     }
 }
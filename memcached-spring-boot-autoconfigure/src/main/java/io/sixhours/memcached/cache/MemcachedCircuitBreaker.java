@@ -0,0 +1,268 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Clock;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker guarding the operations sent to a memcached server, or to the memcached client as a whole.
+ * <p>
+ * A closed breaker records the outcome of the most recent operations in a window of fixed size, and opens once the
+ * rate of the failed operations, errors and timeouts, reaches the threshold. An open breaker rejects all operations
+ * until the open duration elapses, and then turns half-open: it lets a few trial operations through, closing once
+ * all of them succeed and opening again on the first failure.
+ */
+public class MemcachedCircuitBreaker {
+    private static final Log log = LogFactory.getLog(MemcachedCircuitBreaker.class);
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDuration;
+    private final int halfOpenTrials;
+    private final Clock clock;
+    private final boolean[] window;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private volatile State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    MemcachedCircuitBreaker(String name, MemcachedCacheProperties.CircuitBreaker circuitBreaker, Clock clock) {
+        this.name = name;
+        this.failureRateThreshold = circuitBreaker.getFailureRateThreshold();
+        this.minimumCalls = Math.min(circuitBreaker.getMinimumCalls(), circuitBreaker.getWindowSize());
+        this.openDuration = circuitBreaker.getOpenDuration().toMillis();
+        this.halfOpenTrials = circuitBreaker.getHalfOpenTrials();
+        this.clock = clock;
+        this.window = new boolean[circuitBreaker.getWindowSize()];
+    }
+
+    /**
+     * The name of the breaker, the server address in the {@code host:port} form or {@code client}.
+     *
+     * @return The breaker name
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Returns the state of the breaker. An open breaker is reported half-open once the open duration elapsed, even
+     * if no operation was attempted since.
+     *
+     * @return The breaker state
+     */
+    public State state() {
+        State current = this.state;
+        if (current == State.OPEN) {
+            synchronized (this) {
+                halfOpenIfDue();
+                return this.state;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns whether a key of a multi-key operation may be sent, counting a rejected operation otherwise. Multi-key
+     * operations never serve as trial operations, so only a closed breaker lets their keys through.
+     *
+     * @return {@code true} if the breaker is closed
+     */
+    boolean permitsMultiKey() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        this.rejections.increment();
+        return false;
+    }
+
+    /**
+     * Acquires the permission to send an operation. An operation acquired must report its outcome with
+     * {@link #succeeded()}, {@link #failed(Throwable)} or {@link #released()}.
+     *
+     * @return {@code true} if the operation may be sent, {@code false} if it is rejected
+     */
+    boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            halfOpenIfDue();
+            if (this.state == State.CLOSED
+                    || (this.state == State.HALF_OPEN && this.trialsStarted++ < this.halfOpenTrials)) {
+                return true;
+            }
+        }
+        this.rejections.increment();
+        return false;
+    }
+
+    void succeeded() {
+        this.successes.increment();
+        synchronized (this) {
+            if (this.state == State.CLOSED) {
+                record(false);
+            } else if (this.state == State.HALF_OPEN && ++this.trialsSucceeded >= this.halfOpenTrials) {
+                transition(State.CLOSED);
+            }
+        }
+    }
+
+    /**
+     * Reports an operation acquired that failed for a reason other than the memcached transport, e.g. a value that
+     * could not be serialized. Its outcome is not recorded, and the trial it took is released if half-open.
+     */
+    void released() {
+        synchronized (this) {
+            if (this.state == State.HALF_OPEN) {
+                this.trialsStarted = Math.min(this.trialsStarted, this.halfOpenTrials) - 1;
+            }
+        }
+    }
+
+    void failed(Throwable error) {
+        if (isTimeout(error)) {
+            this.timeouts.increment();
+        } else {
+            this.errors.increment();
+        }
+        synchronized (this) {
+            if (this.state == State.CLOSED) {
+                record(true);
+                if (this.windowCalls >= this.minimumCalls
+                        && this.windowFailures >= this.failureRateThreshold * this.windowCalls) {
+                    transition(State.OPEN);
+                }
+            } else if (this.state == State.HALF_OPEN) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * The number of operations completed successfully.
+     *
+     * @return The number of successful operations
+     */
+    public long successes() {
+        return this.successes.sum();
+    }
+
+    /**
+     * The number of operations failed with an error other than a timeout.
+     *
+     * @return The number of failed operations
+     */
+    public long errors() {
+        return this.errors.sum();
+    }
+
+    /**
+     * The number of operations timed out.
+     *
+     * @return The number of timed out operations
+     */
+    public long timeouts() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * The number of operations rejected by an open or half-open breaker.
+     *
+     * @return The number of rejected operations
+     */
+    public long rejections() {
+        return this.rejections.sum();
+    }
+
+    private void record(boolean failure) {
+        if (this.windowCalls == this.window.length) {
+            if (this.window[this.windowIndex]) {
+                this.windowFailures--;
+            }
+        } else {
+            this.windowCalls++;
+        }
+        this.window[this.windowIndex] = failure;
+        if (failure) {
+            this.windowFailures++;
+        }
+        this.windowIndex = (this.windowIndex + 1) % this.window.length;
+    }
+
+    private void halfOpenIfDue() {
+        if (this.state == State.OPEN && this.clock.millis() - this.openedAt >= this.openDuration) {
+            transition(State.HALF_OPEN);
+        }
+    }
+
+    private void transition(State next) {
+        String message = String.format("Memcached circuit breaker '%s' changed from %s to %s", this.name, this.state, next);
+        if (next == State.OPEN) {
+            log.warn(message);
+        } else {
+            log.info(message);
+        }
+        this.state = next;
+        this.windowIndex = 0;
+        this.windowCalls = 0;
+        this.windowFailures = 0;
+        this.trialsStarted = 0;
+        this.trialsSucceeded = 0;
+        if (next == State.OPEN) {
+            this.openedAt = this.clock.millis();
+        }
+    }
+
+    static boolean isTimeout(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            // the spymemcached timeouts are runtime exceptions, not a TimeoutException
+            if (e instanceof TimeoutException || e.getClass().getSimpleName().endsWith("TimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN;
+
+        /**
+         * Returns the lower case name of the state, used as the metric tag value.
+         *
+         * @return The tag value
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Collect metrics on the circuit breakers of the {@link CircuitBreakingMemcachedClient}: the state of every breaker
+ * and the operations it let through or rejected, tagged by the breaker name, the server address or {@code client}.
+ * Binds no metrics if the circuit breakers are disabled. The meters of the cache manager clients are also tagged
+ * with the cache manager name.
+ */
+public class MemcachedCircuitBreakerMetrics implements MeterBinder {
+
+    private final Map<IMemcachedClient, Tags> memcachedClients;
+
+    public MemcachedCircuitBreakerMetrics(IMemcachedClient memcachedClient) {
+        this.memcachedClients = Map.of(memcachedClient, Tags.empty());
+    }
+
+    public MemcachedCircuitBreakerMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        this.memcachedClients = MemcachedCacheMetricsBinder.byCacheManager(cacheManagers,
+                MemcachedCacheManager::client);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.memcachedClients.forEach((memcachedClient, tags) -> {
+            if (memcachedClient instanceof CircuitBreakingMemcachedClient circuitBreakingClient) {
+                circuitBreakingClient.setListener(breaker -> bindBreaker(registry, breaker, tags));
+            }
+        });
+    }
+
+    private static void bindBreaker(MeterRegistry registry, MemcachedCircuitBreaker breaker, Tags tags) {
+        for (MemcachedCircuitBreaker.State state : MemcachedCircuitBreaker.State.values()) {
+            Gauge.builder("memcached.circuit.breaker.state", breaker, b -> (b.state() == state) ? 1 : 0)
+                    .tags(tags)
+                    .tag("breaker", breaker.name())
+                    .tag("state", state.tagValue())
+                    .description("Whether the circuit breaker is in the given state")
+                    .register(registry);
+        }
+
+        bindOperations(registry, breaker, tags, "success", MemcachedCircuitBreaker::successes);
+        bindOperations(registry, breaker, tags, "error", MemcachedCircuitBreaker::errors);
+        bindOperations(registry, breaker, tags, "timeout", MemcachedCircuitBreaker::timeouts);
+        bindOperations(registry, breaker, tags, "rejected", MemcachedCircuitBreaker::rejections);
+    }
+
+    private static void bindOperations(MeterRegistry registry, MemcachedCircuitBreaker breaker, Tags tags,
+                                       String outcome, ToDoubleFunction<MemcachedCircuitBreaker> count) {
+        FunctionCounter.builder("memcached.circuit.breaker.operations", breaker, count)
+                .tags(tags)
+                .tag("breaker", breaker.name())
+                .tag("outcome", outcome)
+                .description("The number of memcached operations guarded by the circuit breaker, by outcome")
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+/**
+ * Codec converting cache values to the bytes stored in memcached.
+ * <p>
+ * Codecs are selected by {@link #name()} with the {@code memcached.cache.codec} property. Besides the built-in
+ * codecs, implementations listed in {@code META-INF/services/io.sixhours.memcached.cache.MemcachedCodec} are picked up
+ * by {@link MemcachedCodecs}. The {@link #id()} is stored with every encoded value, so a value is always decoded by
+ * the codec that encoded it, regardless of the codec configured for the cache reading it.
+ */
+public interface MemcachedCodec {
+
+    /**
+     * Unique id of the codec, between 1 and 127. Ids up to 15 are reserved for the built-in codecs.
+     *
+     * @return The codec id
+     */
+    int id();
+
+    /**
+     * Unique name of the codec, used in the configuration properties.
+     *
+     * @return The codec name
+     */
+    String name();
+
+    /**
+     * Encodes the value.
+     *
+     * @param value The value, never {@code null}
+     * @return The encoded value
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decodes the value encoded by {@link #encode(Object)}.
+     *
+     * @param data The encoded value
+     * @return The value
+     */
+    Object decode(byte[] data);
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+/**
+ * Value to be encoded with the given codec by the client transcoder, instead of the default client serialization.
+ * <p>
+ * Passed to the {@link IMemcachedClient} write operations by caches with a configured codec, only to the clients
+ * {@link IMemcachedClient#supportsCodecs() supporting codecs}: the clients with a codec-aware transcoder encode it,
+ * the others store the plain {@link #value()}.
+ *
+ * @param codec       The codec
+ * @param value       The value to encode
+ * @param compression The compression of the encoded value, or {@code null} to store it uncompressed
+ */
+public record MemcachedCodecValue(MemcachedCodec codec, Object value, MemcachedCompression compression) {
+
+    public MemcachedCodecValue(MemcachedCodec codec, Object value) {
+        this(codec, value, null);
+    }
+
+    /**
+     * Returns the plain value of the given memcached value, unwrapping the {@link MemcachedCodecValue}.
+     *
+     * @param memcachedValue The memcached value
+     * @return The plain value
+     */
+    public static Object unwrap(Object memcachedValue) {
+        return (memcachedValue instanceof MemcachedCodecValue codecValue) ? codecValue.value() : memcachedValue;
+    }
+}
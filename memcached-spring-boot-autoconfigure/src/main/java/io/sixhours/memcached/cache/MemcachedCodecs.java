@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.util.ClassUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link MemcachedCodec} implementations, and the framing of the encoded values shared by the
+ * codec-aware client transcoders.
+ * <p>
+ * The encoded value starts with the codec id, so it can be decoded without knowing the codec configured for the
+ * cache. The cache entry envelope and the cached {@code null} are framed here, so codecs only encode the cached
+ * values themselves.
+ */
+public final class MemcachedCodecs {
+
+    /**
+     * Name of the default codec, using the serialization of the memcached client.
+     */
+    public static final String JAVA = "java";
+
+    /**
+     * Transcoder flag marking values encoded with a {@link MemcachedCodec}, above the flag bits used by the
+     * XMemcached and spymemcached serializing transcoders.
+     */
+    static final int CODEC_FLAG = 0x10000;
+
+    /**
+     * Transcoder flag marking the codec encoded values stored compressed by {@link MemcachedCompression}.
+     */
+    static final int COMPRESSED_FLAG = 0x20000;
+
+    private static final byte VALUE = 0;
+    private static final byte NULL_VALUE = 1;
+    private static final byte ENTRY = 2;
+
+    private static final Map<String, MemcachedCodec> codecsByName = new ConcurrentHashMap<>();
+    private static final Map<Integer, MemcachedCodec> codecsById = new ConcurrentHashMap<>();
+
+    private static final boolean jacksonPresent =
+            ClassUtils.isPresent("tools.jackson.databind.json.JsonMapper", MemcachedCodecs.class.getClassLoader());
+
+    static {
+        register(new BinaryMemcachedCodec());
+        if (jacksonPresent) {
+            register(new JacksonMemcachedCodec());
+        }
+        ServiceLoader.load(MemcachedCodec.class, MemcachedCodecs.class.getClassLoader()).forEach(MemcachedCodecs::register);
+    }
+
+    private MemcachedCodecs() {
+        throw new AssertionError("Suppress default constructor");
+    }
+
+    /**
+     * Registers the codec, making it available by its name and id. A codec registered with the name and id of a
+     * registered codec replaces it, e.g. to reconfigure it.
+     *
+     * @param codec The codec
+     */
+    public static synchronized void register(MemcachedCodec codec) {
+        if (codec.id() < 1 || codec.id() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Codec id must be between 1 and 127");
+        }
+        MemcachedCodec existing = codecsById.get(codec.id());
+        if (existing != null && !existing.name().equals(codec.name())) {
+            throw new IllegalArgumentException(String.format("Codec id %d is already used by codec '%s'",
+                    codec.id(), existing.name()));
+        }
+        codecsById.put(codec.id(), codec);
+        codecsByName.put(codec.name(), codec);
+    }
+
+    /**
+     * Sets the types decoded by the {@link JacksonMemcachedCodec} in addition to the JDK value types, by class or
+     * package name prefix. Does nothing if Jackson is not available.
+     *
+     * @param allowedTypes The allowed type prefixes
+     */
+    public static void setJsonAllowedTypes(Collection<String> allowedTypes) {
+        if (jacksonPresent) {
+            register(new JacksonMemcachedCodec(allowedTypes));
+        }
+    }
+
+    /**
+     * Returns the codec with the given name.
+     *
+     * @param name The codec name
+     * @return The codec, or {@code null} for the {@link #JAVA} codec
+     */
+    public static MemcachedCodec forName(String name) {
+        if (name == null || JAVA.equals(name)) {
+            return null;
+        }
+        MemcachedCodec codec = codecsByName.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format("Unknown codec '%s'", name));
+        }
+        return codec;
+    }
+
+    /**
+     * Encodes the value with its codec and compresses it, if configured.
+     *
+     * @param codecValue The value
+     * @return The transcoder flags and the data
+     */
+    static EncodedValue encodeValue(MemcachedCodecValue codecValue) {
+        byte[] data = encode(codecValue);
+        MemcachedCompression compression = codecValue.compression();
+        byte[] compressedData = (compression != null) ? compression.compress(data) : null;
+        return (compressedData != null)
+                ? new EncodedValue(CODEC_FLAG | COMPRESSED_FLAG, compressedData)
+                : new EncodedValue(CODEC_FLAG, data);
+    }
+
+    /**
+     * Decodes the value encoded by {@link #encodeValue(MemcachedCodecValue)}.
+     *
+     * @param flags The transcoder flags
+     * @param data  The data
+     * @return The value
+     */
+    static Object decodeValue(int flags, byte[] data) {
+        return decode(((flags & COMPRESSED_FLAG) != 0) ? MemcachedCompression.decompress(data) : data);
+    }
+
+    static byte[] encode(MemcachedCodecValue codecValue) {
+        MemcachedCodec codec = codecValue.codec();
+        MemcachedCacheEntry entry = (codecValue.value() instanceof MemcachedCacheEntry e) ? e : null;
+        Object value = (entry != null) ? entry.value() : codecValue.value();
+        boolean nullValue = (value == null || value == NullValue.INSTANCE);
+        byte[] data = nullValue ? new byte[0] : codec.encode(value);
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 + (entry != null ? 1 + 3 * Long.BYTES : 0) + data.length);
+        buffer.put((byte) codec.id());
+        if (entry != null) {
+            buffer.put(ENTRY)
+                    .putLong(entry.generation())
+                    .putLong(entry.softExpiresAt())
+                    .putLong(entry.loadTime());
+        }
+        return buffer.put(nullValue ? NULL_VALUE : VALUE)
+                .put(data)
+                .array();
+    }
+
+    static Object decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        MemcachedCodec codec = codecsById.get((int) buffer.get());
+        if (codec == null) {
+            throw new IllegalStateException(String.format("Unknown codec id %d", data[0]));
+        }
+
+        byte kind = buffer.get();
+        if (kind == ENTRY) {
+            long generation = buffer.getLong();
+            long softExpiresAt = buffer.getLong();
+            long loadTime = buffer.getLong();
+            return new MemcachedCacheEntry(generation, readValue(codec, buffer.get(), buffer), softExpiresAt,
+                    loadTime);
+        }
+        return readValue(codec, kind, buffer);
+    }
+
+    private static Object readValue(MemcachedCodec codec, byte kind, ByteBuffer buffer) {
+        if (kind == NULL_VALUE) {
+            return NullValue.INSTANCE;
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return codec.decode(data);
+    }
+
+    /**
+     * Value encoded for the client transcoder.
+     *
+     * @param flags The transcoder flags
+     * @param data  The data
+     */
+    record EncodedValue(int flags, byte[] data) {
+    }
+}
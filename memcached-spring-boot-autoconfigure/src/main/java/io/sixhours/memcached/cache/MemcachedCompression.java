@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compression of the encoded values of a cache, with the statistics of the compressed values.
+ * <p>
+ * Values smaller than the threshold are stored as they are. Larger values are compressed, and stored compressed only
+ * when the compressed size relative to the original size does not exceed the max ratio; otherwise the compression is
+ * skipped, so values that do not compress well are not paid for on every read.
+ */
+public class MemcachedCompression {
+
+    private final MemcachedCompressor compressor;
+    private final int threshold;
+    private final int level;
+    private final double maxRatio;
+
+    private final AtomicLong compressed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressionTime = new AtomicLong();
+
+    public MemcachedCompression(MemcachedCacheProperties.Compression compression) {
+        this.compressor = MemcachedCompressors.forName(compression.getAlgorithm());
+        this.threshold = (int) compression.getThreshold().toBytes();
+        this.level = compression.getLevel();
+        this.maxRatio = compression.getMaxRatio();
+    }
+
+    /**
+     * Compresses the data, if it reaches the threshold and compresses well enough.
+     *
+     * @param data The encoded value
+     * @return The compressed value, prefixed with the compressor id and the original length, or {@code null} if the
+     * value is to be stored uncompressed
+     */
+    byte[] compress(byte[] data) {
+        if (data.length < this.threshold) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        byte[] compressedData = this.compressor.compress(data, this.level);
+        this.compressionTime.addAndGet(System.nanoTime() - start);
+
+        if (compressedData.length > data.length * this.maxRatio) {
+            this.skipped.incrementAndGet();
+            return null;
+        }
+        this.compressed.incrementAndGet();
+        this.originalBytes.addAndGet(data.length);
+        this.compressedBytes.addAndGet(compressedData.length);
+
+        return ByteBuffer.allocate(1 + Integer.BYTES + compressedData.length)
+                .put((byte) this.compressor.id())
+                .putInt(data.length)
+                .put(compressedData)
+                .array();
+    }
+
+    /**
+     * Decompresses the value compressed by {@link #compress(byte[])}, using the compressor that compressed it.
+     *
+     * @param data The compressed value
+     * @return The encoded value
+     */
+    static byte[] decompress(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        MemcachedCompressor compressor = MemcachedCompressors.forId(buffer.get());
+        int originalLength = buffer.getInt();
+        byte[] compressedData = new byte[buffer.remaining()];
+        buffer.get(compressedData);
+        return compressor.decompress(compressedData, originalLength);
+    }
+
+    /**
+     * Number of values stored compressed.
+     *
+     * @return Number of compressed values
+     */
+    public long compressed() {
+        return compressed.get();
+    }
+
+    /**
+     * Number of values above the threshold stored uncompressed, because they did not compress well enough.
+     *
+     * @return Number of skipped values
+     */
+    public long skipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Ratio of the compressed size to the original size of the values stored compressed.
+     *
+     * @return The compression ratio, or 1 if no value was compressed yet
+     */
+    public double ratio() {
+        long original = originalBytes.get();
+        return (original > 0) ? (double) compressedBytes.get() / original : 1;
+    }
+
+    /**
+     * Total time, in nanoseconds, spent compressing values, including the skipped ones.
+     *
+     * @return The total compression time in nanoseconds
+     */
+    public long compressionTime() {
+        return compressionTime.get();
+    }
+
+    /**
+     * Number of compressions, including the skipped ones.
+     *
+     * @return Number of compressions
+     */
+    public long compressions() {
+        return compressed.get() + skipped.get();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+/**
+ * Compression algorithm applied to the encoded cache values.
+ * <p>
+ * Compressors are selected by {@link #name()} with the {@code memcached.cache.compression.algorithm} property.
+ * Besides the built-in Deflater compressor, implementations listed in
+ * {@code META-INF/services/io.sixhours.memcached.cache.MemcachedCompressor} are picked up by
+ * {@link MemcachedCompressors}, e.g. LZ4 or zstd. The {@link #id()} is stored with every compressed value.
+ */
+public interface MemcachedCompressor {
+
+    /**
+     * Unique id of the compressor, between 1 and 127. Ids up to 15 are reserved for the built-in compressors.
+     *
+     * @return The compressor id
+     */
+    int id();
+
+    /**
+     * Unique name of the compressor, used in the configuration properties.
+     *
+     * @return The compressor name
+     */
+    String name();
+
+    /**
+     * Compresses the data.
+     *
+     * @param data  The data
+     * @param level The compression level, interpreted by the compressor
+     * @return The compressed data
+     */
+    byte[] compress(byte[] data, int level);
+
+    /**
+     * Decompresses the data compressed by {@link #compress(byte[], int)}.
+     *
+     * @param data           The compressed data
+     * @param originalLength Length of the data before compression
+     * @return The data
+     */
+    byte[] decompress(byte[] data, int originalLength);
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link MemcachedCompressor} implementations.
+ */
+public final class MemcachedCompressors {
+
+    private static final Map<String, MemcachedCompressor> compressorsByName = new ConcurrentHashMap<>();
+    private static final Map<Integer, MemcachedCompressor> compressorsById = new ConcurrentHashMap<>();
+
+    static {
+        register(new DeflateMemcachedCompressor());
+        ServiceLoader.load(MemcachedCompressor.class, MemcachedCompressors.class.getClassLoader())
+                .forEach(MemcachedCompressors::register);
+    }
+
+    private MemcachedCompressors() {
+        throw new AssertionError("Suppress default constructor");
+    }
+
+    /**
+     * Registers the compressor, making it available by its name and id.
+     *
+     * @param compressor The compressor
+     */
+    public static void register(MemcachedCompressor compressor) {
+        if (compressor.id() < 1 || compressor.id() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Compressor id must be between 1 and 127");
+        }
+        MemcachedCompressor existing = compressorsById.putIfAbsent(compressor.id(), compressor);
+        if (existing != null && existing != compressor) {
+            throw new IllegalArgumentException(String.format("Compressor id %d is already used by compressor '%s'",
+                    compressor.id(), existing.name()));
+        }
+        compressorsByName.put(compressor.name(), compressor);
+    }
+
+    /**
+     * Returns the compressor with the given name.
+     *
+     * @param name The compressor name
+     * @return The compressor
+     */
+    public static MemcachedCompressor forName(String name) {
+        MemcachedCompressor compressor = compressorsByName.get(name);
+        if (compressor == null) {
+            throw new IllegalArgumentException(String.format("Unknown compression algorithm '%s'", name));
+        }
+        return compressor;
+    }
+
+    static MemcachedCompressor forId(int id) {
+        MemcachedCompressor compressor = compressorsById.get(id);
+        if (compressor == null) {
+            throw new IllegalStateException(String.format("Unknown compressor id %d", id));
+        }
+        return compressor;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.boot.actuate.endpoint.OperationResponseBody;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link Endpoint @Endpoint} exposing the statistics of the memcached servers used by every
+ * {@link MemcachedCacheManager}: the general stats, slabs and items, with the evictions, hit rate, memory use and
+ * per-slab fill derived from them. Caches tracking their hot keys also report their top hot keys, along with the
+ * server each key hashes to.
+ * <p>
+ * The servers are not queried on the request path. The endpoint returns the last collected
+ * {@link MemcachedServerStatistics} snapshot, refreshed in the background at most once per min interval.
+ */
+@Endpoint(id = "memcached")
+public class MemcachedEndpoint {
+
+    private final Map<String, MemcachedCacheManager> cacheManagers;
+
+    public MemcachedEndpoint(Map<String, MemcachedCacheManager> cacheManagers) {
+        this.cacheManagers = cacheManagers;
+    }
+
+    @ReadOperation
+    public MemcachedDescriptor stats() {
+        Map<String, CacheManagerDescriptor> cacheManagers = new TreeMap<>();
+        this.cacheManagers.forEach((beanName, cacheManager) -> cacheManagers.put(
+                MemcachedCacheManager.cacheManagerName(beanName),
+                new CacheManagerDescriptor(cacheManager.serverStatistics().snapshot(), cacheManager.hotKeys())));
+        return new MemcachedDescriptor(cacheManagers);
+    }
+
+    /**
+     * Statistics of the memcached cache managers, keyed by the cache manager name.
+     *
+     * @param cacheManagers The statistics per cache manager
+     */
+    public record MemcachedDescriptor(
+            Map<String, CacheManagerDescriptor> cacheManagers) implements OperationResponseBody {
+    }
+
+    /**
+     * Statistics of a single memcached cache manager.
+     *
+     * @param servers The statistics of the memcached servers
+     * @param hotKeys The top hot keys by cache name, for the caches tracking their hot keys
+     */
+    public record CacheManagerDescriptor(MemcachedServerStatistics.Snapshot servers,
+                                         Map<String, List<MemcachedHotKeys.HotKey>> hotKeys) {
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Configuration for the {@link MemcachedEndpoint} bean, registered when the endpoint is enabled and exposed.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBean(MemcachedCacheManager.class)
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnAvailableEndpoint(MemcachedEndpoint.class)
+public class MemcachedEndpointConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MemcachedEndpoint memcachedEndpoint(Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedEndpoint(cacheManagers);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.health.autoconfigure.contributor.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Configuration for the {@link MemcachedHealthIndicator} bean, registered when the circuit breakers are enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBean(MemcachedCacheManager.class)
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnEnabledHealthIndicator("memcached")
+@ConditionalOnProperty(prefix = "memcached.cache.circuit-breaker", name = "enabled", havingValue = "true")
+public class MemcachedHealthConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "memcachedHealthIndicator")
+    public MemcachedHealthIndicator memcachedHealthIndicator(Map<String, MemcachedCacheManager> cacheManagers) {
+        return new MemcachedHealthIndicator(cacheManagers);
+    }
+}
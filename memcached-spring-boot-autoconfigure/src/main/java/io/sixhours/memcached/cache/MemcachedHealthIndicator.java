@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Health indicator reporting the state of the circuit breakers of every {@link MemcachedCacheManager}.
+ * <p>
+ * The indicator is {@code UP} while all breakers are closed, and reports {@link #CIRCUIT_OPEN} or
+ * {@link #CIRCUIT_HALF_OPEN} otherwise. Since the breakers turn a memcached outage into cache misses, these statuses
+ * are not part of the default status order and do not take the application down. Add them to
+ * {@code management.endpoint.health.status.order} to have them reflected in the aggregated health.
+ */
+public class MemcachedHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status CIRCUIT_OPEN = new Status("CIRCUIT_OPEN", "A memcached circuit breaker is open");
+
+    public static final Status CIRCUIT_HALF_OPEN = new Status("CIRCUIT_HALF_OPEN",
+            "A memcached circuit breaker is half-open");
+
+    private final Map<String, MemcachedCacheManager> cacheManagers;
+
+    public MemcachedHealthIndicator(Map<String, MemcachedCacheManager> cacheManagers) {
+        super("Memcached health check failed");
+        this.cacheManagers = cacheManagers;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        Map<String, Map<String, String>> breakers = new TreeMap<>();
+        Status status = Status.UP;
+        for (Map.Entry<String, MemcachedCacheManager> entry : this.cacheManagers.entrySet()) {
+            if (!(entry.getValue().client() instanceof CircuitBreakingMemcachedClient client)) {
+                continue;
+            }
+            Map<String, String> states = new LinkedHashMap<>();
+            for (MemcachedCircuitBreaker breaker : client.breakers()) {
+                MemcachedCircuitBreaker.State state = breaker.state();
+                states.put(breaker.name(), state.tagValue());
+                if (state == MemcachedCircuitBreaker.State.OPEN) {
+                    status = CIRCUIT_OPEN;
+                } else if (state == MemcachedCircuitBreaker.State.HALF_OPEN && status == Status.UP) {
+                    status = CIRCUIT_HALF_OPEN;
+                }
+            }
+            breakers.put(MemcachedCacheManager.cacheManagerName(entry.getKey()), states);
+        }
+        builder.status(status).withDetail("circuitBreakers", breakers);
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hot keys of a single cache, i.e. the keys read from memcached most often, tracked with the Space-Saving algorithm.
+ * <p>
+ * At most capacity keys are counted. A sampled read of a key not counted yet replaces the key with the lowest count,
+ * taking over its count as the possible overestimation, so any key read more often than the reads divided by the
+ * capacity is guaranteed to be counted. The counters are kept in a min-heap, so the key with the lowest count is
+ * replaced in logarithmic time. Only a fraction of the reads, the sample rate, is counted, and the counts are
+ * halved every decay interval so that the keys reflect the recent reads. The reported counts are estimates of the
+ * reads within the decay interval, scaled up by the sample rate.
+ */
+public class MemcachedHotKeys {
+
+    private final int capacity;
+    private final int top;
+    private final double sampleRate;
+    private final long decayInterval;
+    private final Clock clock;
+    private final Function<String, String> serverLocator;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Counter[] heap;
+
+    private long decayedAt;
+    private volatile Map<String, Long> decayedCounts = Map.of();
+    private volatile Listener listener = Listener.NONE;
+
+    /**
+     * Creates the hot keys tracker.
+     *
+     * @param hotKeys       The hot keys configuration
+     * @param clock         The clock used to decay the counts
+     * @param serverLocator Returns the address of the server a memcached key hashes to, or {@code null} if not known
+     */
+    MemcachedHotKeys(MemcachedCacheProperties.HotKeys hotKeys, Clock clock, Function<String, String> serverLocator) {
+        this.capacity = hotKeys.getCapacity();
+        this.top = Math.min(hotKeys.getTop(), hotKeys.getCapacity());
+        this.sampleRate = hotKeys.getSampleRate();
+        this.decayInterval = hotKeys.getDecayInterval().toMillis();
+        this.clock = clock;
+        this.serverLocator = serverLocator;
+        this.heap = new Counter[this.capacity];
+        this.decayedAt = clock.millis();
+    }
+
+    /**
+     * Records a read of the memcached key, counted at the sample rate.
+     *
+     * @param memcachedKey The memcached key
+     */
+    void record(String memcachedKey) {
+        if (this.sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+            return;
+        }
+        List<HotKey> decayed;
+        synchronized (this) {
+            decayed = decayIfDue();
+            Counter counter = this.counters.get(memcachedKey);
+            if (counter != null) {
+                counter.count++;
+                siftDown(counter.index);
+            } else if (this.counters.size() < this.capacity) {
+                add(new Counter(memcachedKey, 1, 0));
+            } else {
+                replaceMin(memcachedKey);
+            }
+        }
+        if (decayed != null) {
+            this.listener.hotKeysDecayed(withServers(decayed));
+        }
+    }
+
+    /**
+     * Returns the top hot keys, i.e. those with the highest estimated read counts, along with the server each key
+     * hashes to.
+     *
+     * @return The hot keys, most read first
+     */
+    public List<HotKey> top() {
+        List<HotKey> decayed;
+        List<HotKey> top;
+        synchronized (this) {
+            decayed = decayIfDue();
+            top = topCounted();
+        }
+        if (decayed != null) {
+            this.listener.hotKeysDecayed(withServers(decayed));
+        }
+        return withServers(top);
+    }
+
+    /**
+     * Returns the estimated read count of the memcached key within the last completed decay interval, {@code 0} if
+     * it was not among the top hot keys. Does not lock, so it can be called on every read.
+     *
+     * @param memcachedKey The memcached key
+     * @return The estimated read count
+     */
+    long lastCount(String memcachedKey) {
+        return this.decayedCounts.getOrDefault(memcachedKey, 0L);
+    }
+
+    /**
+     * Sets the listener notified with the hot keys before every decay of the counts, e.g. to publish them as meters.
+     *
+     * @param listener The listener, {@code null} to remove it
+     */
+    public void setListener(Listener listener) {
+        this.listener = (listener != null) ? listener : Listener.NONE;
+    }
+
+    private void add(Counter counter) {
+        int index = this.counters.size();
+        this.counters.put(counter.key, counter);
+        place(counter, index);
+        siftUp(index);
+    }
+
+    private void replaceMin(String memcachedKey) {
+        Counter min = this.heap[0];
+        this.counters.remove(min.key);
+        min.key = memcachedKey;
+        min.error = min.count;
+        min.count++;
+        this.counters.put(memcachedKey, min);
+        siftDown(0);
+    }
+
+    private void siftUp(int index) {
+        Counter counter = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (this.heap[parent].count <= counter.count) {
+                break;
+            }
+            place(this.heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = this.heap[index];
+        int size = this.counters.size();
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && this.heap[child + 1].count < this.heap[child].count) {
+                child++;
+            }
+            if (counter.count <= this.heap[child].count) {
+                break;
+            }
+            place(this.heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        this.heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * Halves the counts for every decay interval elapsed, dropping the keys no longer counted.
+     *
+     * @return The top hot keys before the decay, {@code null} if the counts were not decayed
+     */
+    private List<HotKey> decayIfDue() {
+        long intervals = (this.clock.millis() - this.decayedAt) / this.decayInterval;
+        if (intervals <= 0) {
+            return null;
+        }
+        List<HotKey> top = topCounted();
+        this.decayedCounts = (intervals == 1)
+                ? top.stream().collect(Collectors.toUnmodifiableMap(HotKey::key, HotKey::count))
+                : Map.of();
+        this.decayedAt += intervals * this.decayInterval;
+        int shift = (int) Math.min(intervals, Long.SIZE - 1);
+        Iterator<Counter> iterator = this.counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count >>= shift;
+            counter.error >>= shift;
+            if (counter.count == 0) {
+                iterator.remove();
+            }
+        }
+        int size = this.counters.size();
+        Arrays.fill(this.heap, null);
+        int index = 0;
+        for (Counter counter : this.counters.values()) {
+            place(counter, index++);
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        return top;
+    }
+
+    private List<HotKey> topCounted() {
+        return this.counters.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Counter> entry) -> entry.getValue().count)
+                        .reversed())
+                .limit(this.top)
+                .map(entry -> new HotKey(entry.getKey(), estimate(entry.getValue().count),
+                        estimate(entry.getValue().error), null))
+                .toList();
+    }
+
+    private List<HotKey> withServers(List<HotKey> hotKeys) {
+        List<HotKey> result = new ArrayList<>(hotKeys.size());
+        for (HotKey hotKey : hotKeys) {
+            result.add(new HotKey(hotKey.key(), hotKey.count(), hotKey.error(),
+                    this.serverLocator.apply(hotKey.key())));
+        }
+        return result;
+    }
+
+    private long estimate(long sampledCount) {
+        return Math.round(sampledCount / this.sampleRate);
+    }
+
+    private static final class Counter {
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * A hot key of the cache.
+     *
+     * @param key    The memcached key
+     * @param count  The estimated number of reads, at most {@code error} higher than the actual number
+     * @param error  The maximum overestimation of the count
+     * @param server The address of the server the key hashes to, {@code null} if not known
+     */
+    public record HotKey(String key, long count, long error, String server) {
+    }
+
+    /**
+     * Listener notified about the hot keys, e.g. to publish them as meters.
+     */
+    public interface Listener {
+
+        Listener NONE = hotKeys -> {
+        };
+
+        /**
+         * Called with the top hot keys at the end of every decay interval, before the counts are halved.
+         *
+         * @param hotKeys The top hot keys, most read first
+         */
+        void hotKeysDecayed(List<HotKey> hotKeys);
+    }
+}
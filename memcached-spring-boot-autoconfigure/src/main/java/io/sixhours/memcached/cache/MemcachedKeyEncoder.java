@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Builds the memcached keys of a cache from the cache key prefix, a key segment and the cache key.
+ * <p>
+ * Whitespace is stripped from the cache key in a single scan, while the key is appended to the precomputed prefix.
+ * Keys exceeding the memcached key length limit, or containing control or non-ASCII characters, are replaced with
+ * their SHA-1 hash, preceded by the readable beginning of the key.
+ */
+final class MemcachedKeyEncoder {
+
+    /**
+     * Maximum length of the memcached key, in bytes.
+     */
+    static final int MAX_KEY_LENGTH = 250;
+
+    private static final char DELIMITER = ':';
+    private static final char HASH_DELIMITER = '#';
+    private static final int HASH_LENGTH = 40;
+    private static final int READABLE_PREFIX_LENGTH = 32;
+
+    private final String keyPrefix;
+
+    MemcachedKeyEncoder(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Returns the memcached key.
+     *
+     * @param segment The key segment following the prefix, e.g. the namespace value
+     * @param key     The cache key
+     * @return The memcached key
+     */
+    String encode(String segment, Object key) {
+        String value = String.valueOf(key);
+        int fixedLength = this.keyPrefix.length() + segment.length() + 1;
+        StringBuilder sb = new StringBuilder(fixedLength + value.length())
+                .append(this.keyPrefix)
+                .append(segment)
+                .append(DELIMITER);
+
+        boolean safe = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isWhitespace(c)) {
+                continue;
+            }
+            if (c <= ' ' || c >= 0x7f) {
+                safe = false;
+            }
+            sb.append(c);
+        }
+
+        if (safe && sb.length() <= MAX_KEY_LENGTH) {
+            return sb.toString();
+        }
+        return hashed(sb, fixedLength);
+    }
+
+    /**
+     * Replaces the key following the fixed part of the builder with its readable beginning and hash.
+     */
+    private static String hashed(StringBuilder sb, int fixedLength) {
+        String key = sb.substring(fixedLength);
+        sb.setLength(fixedLength);
+
+        int readableLength = Math.min(READABLE_PREFIX_LENGTH, MAX_KEY_LENGTH - fixedLength - HASH_LENGTH - 1);
+        for (int i = 0; i < key.length() && readableLength > 0; i++) {
+            char c = key.charAt(i);
+            if (c > ' ' && c < 0x7f) {
+                sb.append(c);
+                readableLength--;
+            }
+        }
+        return sb.append(HASH_DELIMITER)
+                .append(HexFormat.of().formatHex(sha1(key)))
+                .toString();
+    }
+
+    /**
+     * Matches the whitespace characters of the regular expression {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static byte[] sha1(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * {@link KeyGenerator} building compact string keys from the method arguments, as an alternative to the
+ * {@link SimpleKeyGenerator} keys rendered as {@code SimpleKey [123,EUR,de-DE]} in memcached.
+ * <p>
+ * Strings, enums, primitives and their wrappers are appended as they are, separated with {@code ','}, e.g.
+ * {@code 123,EUR,de-DE}. Other arguments, such as arrays, collections and objects, are replaced with the hash of
+ * their content; objects are hashed by their {@code toString} representation, which therefore has to be stable.
+ * Keys longer than the configured maximum length are replaced with the hash of the whole key.
+ * <p>
+ * Like the other memcached keys, the generated keys don't distinguish the argument types: {@code 1} and
+ * {@code "1"} result in the same key.
+ */
+public class MemcachedKeyGenerator implements KeyGenerator {
+
+    private static final char DELIMITER = ',';
+    private static final char ESCAPE = '\\';
+    private static final String NULL = "\\0";
+    private static final String HASHED_ARGUMENT = "\\#";
+    private static final String HASHED_KEY = "\\*";
+    private static final Base64.Encoder HASH_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final int maxLength;
+
+    public MemcachedKeyGenerator() {
+        this(Default.KEY_GENERATOR_MAX_LENGTH);
+    }
+
+    /**
+     * Creates the key generator.
+     *
+     * @param maxLength Maximum length of the generated key before it gets hashed
+     */
+    public MemcachedKeyGenerator(int maxLength) {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("Key generator max length must be greater then zero");
+        }
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return generateKey(params);
+    }
+
+    /**
+     * Generates the key of the given arguments.
+     *
+     * @param params The method arguments
+     * @return The generated key
+     */
+    public String generateKey(Object... params) {
+        if (params.length == 1 && params[0] instanceof String value && value.length() <= maxLength && !needsEscape(value)) {
+            return value;
+        }
+
+        StringBuilder sb = new StringBuilder(32);
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append(DELIMITER);
+            }
+            Object param = params[i];
+            if (!appendSimple(sb, param)) {
+                StringBuilder content = new StringBuilder(64);
+                appendComposite(content, param);
+                sb.append(HASHED_ARGUMENT).append(hash(content));
+            }
+        }
+
+        return sb.length() <= maxLength ? sb.toString() : HASHED_KEY + hash(sb);
+    }
+
+    /**
+     * Appends the argument if it has a compact representation.
+     *
+     * @return {@code false} if the argument has to be hashed
+     */
+    private static boolean appendSimple(StringBuilder sb, Object param) {
+        if (param == null) {
+            sb.append(NULL);
+        } else if (param instanceof String value) {
+            appendEscaped(sb, value);
+        } else if (param instanceof Integer || param instanceof Long || param instanceof Short || param instanceof Byte
+                || param instanceof Boolean || param instanceof Double || param instanceof Float) {
+            sb.append(param);
+        } else if (param instanceof Character value) {
+            appendEscaped(sb, String.valueOf(value.charValue()));
+        } else if (param instanceof Enum<?> value) {
+            sb.append(value.name());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void appendComposite(StringBuilder sb, Object param) {
+        if (appendSimple(sb, param)) {
+            return;
+        }
+        sb.append('[');
+        if (param instanceof Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                appendElement(sb, i, values[i]);
+            }
+        } else if (param.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(param); i++) {
+                appendElement(sb, i, Array.get(param, i));
+            }
+        } else if (param instanceof Iterable<?> values) {
+            int i = 0;
+            for (Object value : values) {
+                appendElement(sb, i++, value);
+            }
+        } else if (param instanceof Map<?, ?> values) {
+            int i = 0;
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                appendElement(sb, i++, entry.getKey());
+                sb.append('=');
+                appendComposite(sb, entry.getValue());
+            }
+        } else {
+            sb.append(param.getClass().getName()).append(':');
+            appendEscaped(sb, param.toString());
+        }
+        sb.append(']');
+    }
+
+    private static void appendElement(StringBuilder sb, int index, Object value) {
+        if (index > 0) {
+            sb.append(DELIMITER);
+        }
+        appendComposite(sb, value);
+    }
+
+    private static void appendEscaped(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isEscaped(c)) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+    }
+
+    private static boolean needsEscape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isEscaped(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEscaped(char c) {
+        return c == ESCAPE || c == DELIMITER || c == '[' || c == ']' || c == '=';
+    }
+
+    private static String hash(CharSequence value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest(value.toString().getBytes(StandardCharsets.UTF_8));
+            return HASH_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the {@link MemcachedKeyGenerator} bean, registered as the default key generator of the cache
+ * annotations unless the application provides its own {@link CachingConfigurer}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "memcached.cache.key-generator", name = "enabled", havingValue = "true")
+public class MemcachedKeyGeneratorConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MemcachedKeyGenerator memcachedKeyGenerator(MemcachedCacheProperties properties) {
+        return new MemcachedKeyGenerator(properties.getKeyGenerator().getMaxLength());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CachingConfigurer.class)
+    public CachingConfigurer memcachedCachingConfigurer(MemcachedKeyGenerator memcachedKeyGenerator) {
+        return new CachingConfigurer() {
+            @Override
+            public KeyGenerator keyGenerator() {
+                return memcachedKeyGenerator;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Replication of the hot keys of a single cache across several copies.
+ * <p>
+ * A key is replicated if it is configured, or if its estimated read count in the last hot keys decay interval
+ * reached the threshold. The copies are stored under their own memcached keys, so the session locator spreads them
+ * across the servers like any other key. Reads pick a random copy, the original key included, and fall back to the
+ * original key if the copy is missing.
+ */
+class MemcachedKeyReplication {
+
+    private final int copies;
+    private final long threshold;
+    private final int copyExpiration;
+    private final Set<String> keys;
+    private final Supplier<MemcachedHotKeys> hotKeys;
+
+    /**
+     * Creates the replication.
+     *
+     * @param replication The hot key replication configuration
+     * @param keys        The keys of the cache always replicated
+     * @param hotKeys     Returns the hot keys of the cache, or {@code null} if the cache does not track them
+     */
+    MemcachedKeyReplication(MemcachedCacheProperties.HotKeyReplication replication, Set<String> keys,
+                            Supplier<MemcachedHotKeys> hotKeys) {
+        this.copies = replication.getCopies();
+        this.threshold = replication.getThreshold();
+        this.copyExpiration = (int) replication.getCopyExpiration().getSeconds();
+        this.keys = (keys != null) ? Set.copyOf(keys) : Set.of();
+        this.hotKeys = hotKeys;
+    }
+
+    /**
+     * Returns whether the key is currently replicated.
+     *
+     * @param key          The cache key
+     * @param memcachedKey The memcached key of the original
+     * @return {@code true} if the key is replicated
+     */
+    boolean isReplicated(Object key, String memcachedKey) {
+        if (this.keys.contains(String.valueOf(key))) {
+            return true;
+        }
+        MemcachedHotKeys cacheHotKeys = (this.threshold > 0) ? this.hotKeys.get() : null;
+        return cacheHotKeys != null && cacheHotKeys.lastCount(memcachedKey) >= this.threshold;
+    }
+
+    /**
+     * Returns whether copies of the key may exist, i.e. whether they have to be removed on evict. Keys replicated
+     * automatically may have copies written by any application instance, which may count different hot keys than
+     * this one, so with a threshold set every key is considered to have copies.
+     *
+     * @param key The cache key
+     * @return {@code true} if copies of the key may exist
+     */
+    boolean mayHaveCopies(Object key) {
+        return this.threshold > 0 || this.keys.contains(String.valueOf(key));
+    }
+
+    /**
+     * Returns a random copy number, {@code 0} for the original key.
+     *
+     * @return The copy number
+     */
+    int randomCopy() {
+        return ThreadLocalRandom.current().nextInt(this.copies);
+    }
+
+    /**
+     * The number of copies, including the original key.
+     *
+     * @return The number of copies
+     */
+    int copies() {
+        return this.copies;
+    }
+
+    /**
+     * The expiration of the copies, in seconds.
+     *
+     * @return The copy expiration
+     */
+    int copyExpiration() {
+        return this.copyExpiration;
+    }
+}
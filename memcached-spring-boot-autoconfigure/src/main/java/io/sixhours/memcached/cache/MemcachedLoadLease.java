@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Distributed lease for cache loads, backed by the memcached {@code add} operation.
+ * <p>
+ * The {@code add} succeeds only for the first client, so across all application instances sharing the memcached
+ * servers a single one holds the lease for a given key and loads the value. The lease expires after its ttl in case
+ * the holder dies before releasing it. The lease uses the current client of the cache, so its operations are reported
+ * to the operation listener set after the lease.
+ */
+class MemcachedLoadLease {
+
+    private static final String LEASE_VALUE = "1";
+
+    private final Supplier<IMemcachedClient> memcachedClient;
+    private final int ttl;
+    private final long waitTimeout;
+    private final long pollInterval;
+    private final MemcachedCacheProperties.Lease.Fallback fallback;
+
+    MemcachedLoadLease(Supplier<IMemcachedClient> memcachedClient, MemcachedCacheProperties.Lease lease) {
+        this.memcachedClient = memcachedClient;
+        this.ttl = (int) lease.getTtl().getSeconds();
+        this.waitTimeout = lease.getWaitTimeout().toMillis();
+        this.pollInterval = lease.getPollInterval().toMillis();
+        this.fallback = lease.getFallback();
+    }
+
+    boolean tryAcquire(String leaseKey) {
+        return this.memcachedClient.get().add(leaseKey, this.ttl, LEASE_VALUE);
+    }
+
+    void release(String leaseKey) {
+        this.memcachedClient.get().delete(leaseKey);
+    }
+
+    /**
+     * Polls the cache until the value loaded by the lease holder appears, or the wait timeout elapses.
+     *
+     * @param lookup The cache lookup
+     * @return The value, or {@code null} if it did not appear within the wait timeout
+     */
+    Object awaitValue(Supplier<Object> lookup) {
+        final long deadline = System.nanoTime() + this.waitTimeout * 1_000_000L;
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(this.pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Object value = lookup.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    boolean isLoadOnTimeout() {
+        return this.fallback != MemcachedCacheProperties.Lease.Fallback.FAIL;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process near cache kept in front of memcached, holding the most recently used entries of a single cache.
+ * <p>
+ * Entries expire after the near cache ttl, which bounds the time changes made by other application instances stay
+ * invisible. Once the max size is exceeded, the least recently used entries are evicted. Reads do not lock: each
+ * entry records its last access time, and the put exceeding the max size evicts a batch of the entries accessed
+ * least recently, so the eviction order is approximate. Values are kept by reference, so they should not be
+ * modified after they are cached.
+ */
+class MemcachedNearCache {
+
+    private final long ttl;
+    private final int maxSize;
+    private final int evictionTarget;
+    private final Clock clock;
+    private final Map<Object, NearEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    MemcachedNearCache(MemcachedCacheProperties.NearCache nearCache, Clock clock) {
+        this.ttl = nearCache.getTtl().toMillis();
+        this.clock = clock;
+        this.maxSize = nearCache.getMaxSize();
+        // evicts a tenth of the entries at once, so the entries are not sorted on every put once the cache is full
+        this.evictionTarget = this.maxSize - this.maxSize / 10;
+    }
+
+    MemcachedCacheEntry get(Object key) {
+        NearEntry entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = this.clock.millis();
+        if (now >= entry.expiresAt) {
+            this.entries.remove(key, entry);
+            return null;
+        }
+        if (entry.accessedAt != now) {
+            entry.accessedAt = now;
+        }
+        return entry.value;
+    }
+
+    void put(Object key, MemcachedCacheEntry value) {
+        long now = this.clock.millis();
+        this.entries.put(key, new NearEntry(value, now, now + this.ttl));
+        if (this.entries.size() > this.maxSize) {
+            evict(key, now);
+        }
+    }
+
+    /**
+     * Caches the value read from memcached, unless the near cache was invalidated since the read started. The
+     * version is checked again after the put, since an invalidation may have removed the key in between.
+     *
+     * @param key     The key
+     * @param value   The value read from memcached
+     * @param version The near cache version at the start of the read
+     */
+    void putIfNotInvalidated(Object key, MemcachedCacheEntry value, long version) {
+        if (this.version.get() != version) {
+            return;
+        }
+        long now = this.clock.millis();
+        NearEntry entry = new NearEntry(value, now, now + this.ttl);
+        this.entries.put(key, entry);
+        if (this.version.get() != version) {
+            this.entries.remove(key, entry);
+        } else if (this.entries.size() > this.maxSize) {
+            evict(key, now);
+        }
+    }
+
+    void invalidate(Object key) {
+        this.version.incrementAndGet();
+        this.entries.remove(key);
+    }
+
+    void clear() {
+        this.version.incrementAndGet();
+        this.entries.clear();
+    }
+
+    long version() {
+        return this.version.get();
+    }
+
+    int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Removes the expired entries and then the least recently used ones, down to the eviction target. The key just
+     * put is kept. Only one thread evicts at a time, the others leave the cache above the max size meanwhile.
+     */
+    private void evict(Object putKey, long now) {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Map.Entry<Object, NearEntry>> candidates = new ArrayList<>(this.entries.size());
+            for (Map.Entry<Object, NearEntry> entry : this.entries.entrySet()) {
+                if (now >= entry.getValue().expiresAt) {
+                    this.entries.remove(entry.getKey(), entry.getValue());
+                } else if (!entry.getKey().equals(putKey)) {
+                    candidates.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            if (this.entries.size() <= this.maxSize) {
+                return;
+            }
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().accessedAt));
+            int excess = this.entries.size() - this.evictionTarget;
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                this.entries.remove(candidates.get(i).getKey(), candidates.get(i).getValue());
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private static final class NearEntry {
+        private final MemcachedCacheEntry value;
+        private final long expiresAt;
+        private volatile long accessedAt;
+
+        private NearEntry(MemcachedCacheEntry value, long accessedAt, long expiresAt) {
+            this.value = value;
+            this.accessedAt = accessedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.util.Locale;
+
+/**
+ * Listener notified about the memcached operations of a {@link MemcachedCache} and the value loads, e.g. to record
+ * metrics.
+ */
+public interface MemcachedOperationListener {
+
+    MemcachedOperationListener NONE = new MemcachedOperationListener() {
+    };
+
+    /**
+     * Called for every timed operation sent to the memcached client, whether it succeeded or failed.
+     *
+     * @param operation     The operation
+     * @param durationNanos Time in nanoseconds the operation took
+     */
+    default void operationCompleted(Operation operation, long durationNanos) {
+    }
+
+    /**
+     * Called for every call of the {@code valueLoader} on a cache miss or refresh.
+     *
+     * @param durationNanos Time in nanoseconds the value loader took
+     * @param success       Whether the value loader returned a value
+     */
+    default void valueLoaded(long durationNanos, boolean success) {
+    }
+
+    /**
+     * Memcached operation. Multi-key and asynchronous variants are reported as the matching single-key operation,
+     * while {@code add} is reported as {@link #SET}.
+     */
+    enum Operation {
+        GET, SET, DELETE, INCR, TOUCH;
+
+        /**
+         * Returns the lower case name of the operation, used as the metric tag value.
+         *
+         * @return The tag value
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Statistics of the memcached servers used by a client, collected with the {@code stats}, {@code stats slabs} and
+ * {@code stats items} commands.
+ * <p>
+ * Reads never wait for the servers: {@link #snapshot()} returns the last collected statistics and, once they are
+ * older than the min interval, queries the servers again on the executor. At most one query runs at a time, so
+ * frequent reads, e.g. by the actuator endpoint and a meter registry, do not add load to the servers.
+ */
+public class MemcachedServerStatistics {
+    private static final Log log = LogFactory.getLog(MemcachedServerStatistics.class);
+
+    private final IMemcachedClient memcachedClient;
+    private final Duration minInterval;
+    private final Executor executor;
+    private final Clock clock;
+    private final AtomicBoolean collecting = new AtomicBoolean();
+
+    private volatile Instant lastQueried;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile Listener listener = Listener.NONE;
+
+    public MemcachedServerStatistics(IMemcachedClient memcachedClient, Duration minInterval, Executor executor) {
+        this(memcachedClient, minInterval, executor, Clock.systemUTC());
+    }
+
+    MemcachedServerStatistics(IMemcachedClient memcachedClient, Duration minInterval, Executor executor, Clock clock) {
+        this.memcachedClient = memcachedClient;
+        this.minInterval = minInterval;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the last collected statistics, querying the servers in the background if they are older than the min
+     * interval. Returns {@link Snapshot#EMPTY} until the first query completes.
+     *
+     * @return The last collected statistics
+     */
+    public Snapshot snapshot() {
+        refreshIfStale();
+        return this.snapshot;
+    }
+
+    /**
+     * Sets the listener notified about the servers found in the statistics, including the servers already known.
+     *
+     * @param listener The listener
+     */
+    public void setListener(Listener listener) {
+        this.listener = (listener != null) ? listener : Listener.NONE;
+        this.snapshot.servers().keySet().forEach(this.listener::serverAdded);
+    }
+
+    private void refreshIfStale() {
+        Instant now = this.clock.instant();
+        Instant last = this.lastQueried;
+        if (last != null && now.isBefore(last.plus(this.minInterval))) {
+            return;
+        }
+        if (!this.collecting.compareAndSet(false, true)) {
+            return;
+        }
+        this.lastQueried = now;
+        try {
+            this.executor.execute(this::collect);
+        } catch (RejectedExecutionException e) {
+            this.collecting.set(false);
+            log.warn("Memcached server stats query rejected", e);
+        }
+    }
+
+    private void collect() {
+        try {
+            Map<String, Map<String, String>> general = this.memcachedClient.stats(null);
+            Map<String, Map<String, String>> slabs = this.memcachedClient.stats("slabs");
+            Map<String, Map<String, String>> items = this.memcachedClient.stats("items");
+
+            Map<String, Server> servers = new TreeMap<>();
+            general.forEach((address, stats) -> servers.put(address, Server.of(stats,
+                    slabs.getOrDefault(address, Map.of()), items.getOrDefault(address, Map.of()))));
+
+            Snapshot previous = this.snapshot;
+            this.snapshot = new Snapshot(this.clock.instant(), Collections.unmodifiableMap(servers), null);
+            servers.keySet().stream()
+                    .filter(address -> !previous.servers().containsKey(address))
+                    .forEach(this.listener::serverAdded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to query memcached server stats", e);
+            Snapshot previous = this.snapshot;
+            this.snapshot = new Snapshot(previous.collectedAt(), previous.servers(), String.valueOf(e.getMessage()));
+        } finally {
+            this.collecting.set(false);
+        }
+    }
+
+    /**
+     * Splits per-slab statistics keyed as {@code <slab id>:<name>}, optionally preceded by the prefix, by slab id.
+     * Keys without a slab id, such as {@code total_malloced}, are skipped.
+     */
+    static Map<Integer, Map<String, String>> bySlab(Map<String, String> stats, String prefix) {
+        Map<Integer, Map<String, String>> result = new TreeMap<>();
+        stats.forEach((key, value) -> {
+            String name = key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+            int separator = name.indexOf(':');
+            if (separator <= 0) {
+                return;
+            }
+            try {
+                int slabId = Integer.parseInt(name.substring(0, separator));
+                result.computeIfAbsent(slabId, id -> new TreeMap<>()).put(name.substring(separator + 1), value);
+            } catch (NumberFormatException e) {
+                // not a per-slab statistic
+            }
+        });
+        return result;
+    }
+
+    private static long longValue(Map<String, String> stats, String name) {
+        String value = stats.get(name);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Double ratio(long value, long total) {
+        return (total > 0) ? (double) value / total : null;
+    }
+
+    /**
+     * Statistics of all servers collected by a single query.
+     *
+     * @param collectedAt Time the statistics were collected, {@code null} if never
+     * @param servers     The statistics per server address
+     * @param error       The error of the last query if it failed, in which case the previous statistics are kept
+     */
+    public record Snapshot(Instant collectedAt, Map<String, Server> servers, String error) {
+
+        public static final Snapshot EMPTY = new Snapshot(null, Map.of(), null);
+    }
+
+    /**
+     * Statistics of a single memcached server.
+     *
+     * @param summary The key statistics derived from the general stats
+     * @param slabs   The statistics per slab class
+     * @param stats   The general stats as reported by the server
+     */
+    public record Server(Summary summary, Map<Integer, Slab> slabs, Map<String, String> stats) {
+
+        static Server of(Map<String, String> stats, Map<String, String> slabStats, Map<String, String> itemStats) {
+            long hits = longValue(stats, "get_hits");
+            long misses = longValue(stats, "get_misses");
+            long bytes = longValue(stats, "bytes");
+            long maxBytes = longValue(stats, "limit_maxbytes");
+            Summary summary = new Summary(longValue(stats, "curr_items"), longValue(stats, "evictions"), hits, misses,
+                    ratio(hits, hits + misses), bytes, maxBytes, ratio(bytes, maxBytes),
+                    longValue(stats, "curr_connections"));
+
+            Map<Integer, Map<String, String>> slabsById = bySlab(slabStats, "");
+            Map<Integer, Map<String, String>> itemsById = bySlab(itemStats, "items:");
+            Map<Integer, Slab> slabs = new TreeMap<>();
+            slabsById.forEach((id, values) -> slabs.put(id, Slab.of(values, itemsById.getOrDefault(id, Map.of()))));
+            itemsById.forEach((id, values) -> slabs.computeIfAbsent(id, key -> Slab.of(Map.of(), values)));
+
+            return new Server(summary, Collections.unmodifiableMap(slabs), Map.copyOf(stats));
+        }
+    }
+
+    /**
+     * Key statistics of a memcached server.
+     *
+     * @param items       The number of items stored
+     * @param evictions   The number of valid items evicted to free memory
+     * @param hits        The number of get hits
+     * @param misses      The number of get misses
+     * @param hitRate     The ratio of get hits to all gets, {@code null} before the first get
+     * @param bytes       The memory used to store the items
+     * @param maxBytes    The memory the server is allowed to use for storage
+     * @param memoryUsage The ratio of used to allowed memory
+     * @param connections The number of open connections
+     */
+    public record Summary(long items, long evictions, long hits, long misses, Double hitRate, long bytes,
+                          long maxBytes, Double memoryUsage, long connections) {
+    }
+
+    /**
+     * Statistics of a single slab class, from {@code stats slabs} and {@code stats items}.
+     *
+     * @param chunkSize   The size of the chunks of the slab class
+     * @param totalChunks The number of chunks allocated to the slab class
+     * @param usedChunks  The number of chunks storing an item
+     * @param fill        The ratio of used to allocated chunks
+     * @param items       The number of items stored in the slab class
+     * @param evicted     The number of items evicted from the slab class
+     * @param slabStats   The slab statistics as reported by the server
+     * @param itemStats   The item statistics as reported by the server
+     */
+    public record Slab(long chunkSize, long totalChunks, long usedChunks, Double fill, long items, long evicted,
+                       Map<String, String> slabStats, Map<String, String> itemStats) {
+
+        static Slab of(Map<String, String> slabStats, Map<String, String> itemStats) {
+            long totalChunks = longValue(slabStats, "total_chunks");
+            long usedChunks = longValue(slabStats, "used_chunks");
+            return new Slab(longValue(slabStats, "chunk_size"), totalChunks, usedChunks, ratio(usedChunks, totalChunks),
+                    longValue(itemStats, "number"), longValue(itemStats, "evicted"), slabStats, itemStats);
+        }
+    }
+
+    /**
+     * Listener notified about the servers found in the statistics, e.g. to register their meters.
+     */
+    public interface Listener {
+
+        Listener NONE = address -> {
+        };
+
+        /**
+         * Called once for every server found in the statistics.
+         *
+         * @param address The server address in the {@code host:port} form
+         */
+        void serverAdded(String address);
+    }
+}
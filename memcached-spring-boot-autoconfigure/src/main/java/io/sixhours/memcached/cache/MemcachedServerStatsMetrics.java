@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Collect the key statistics reported by the memcached servers: items, evictions, hits, misses and memory use,
+ * tagged by the server address. Reading the meters never waits for the servers, the values are those of the last
+ * {@link MemcachedServerStatistics} snapshot. The meters of the cache manager servers are also tagged with the
+ * cache manager name.
+ */
+public class MemcachedServerStatsMetrics implements MeterBinder {
+
+    private final Map<MemcachedServerStatistics, Tags> serverStatistics;
+
+    public MemcachedServerStatsMetrics(MemcachedServerStatistics serverStatistics) {
+        this.serverStatistics = Map.of(serverStatistics, Tags.empty());
+    }
+
+    public MemcachedServerStatsMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        this.serverStatistics = MemcachedCacheMetricsBinder.byCacheManager(cacheManagers,
+                MemcachedCacheManager::serverStatistics);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.serverStatistics.forEach((statistics, tags) -> {
+            statistics.setListener(address -> bindServer(registry, statistics, address, tags));
+            statistics.snapshot();
+        });
+    }
+
+    private static void bindServer(MeterRegistry registry, MemcachedServerStatistics serverStatistics,
+                                   String address, Tags tags) {
+        FunctionCounter.builder("memcached.server.evictions", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::evictions))
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of valid items evicted by the memcached server to free memory")
+                .register(registry);
+
+        FunctionCounter.builder("memcached.server.hits", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::hits))
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of get hits reported by the memcached server")
+                .register(registry);
+
+        FunctionCounter.builder("memcached.server.misses", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::misses))
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of get misses reported by the memcached server")
+                .register(registry);
+
+        Gauge.builder("memcached.server.items", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::items))
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of items stored by the memcached server")
+                .register(registry);
+
+        Gauge.builder("memcached.server.memory.used", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::bytes))
+                .tags(tags)
+                .tag("server", address)
+                .baseUnit("bytes")
+                .description("The memory used by the memcached server to store the items")
+                .register(registry);
+
+        Gauge.builder("memcached.server.memory.max", serverStatistics,
+                        summary(address, MemcachedServerStatistics.Summary::maxBytes))
+                .tags(tags)
+                .tag("server", address)
+                .baseUnit("bytes")
+                .description("The memory the memcached server is allowed to use for storage")
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<MemcachedServerStatistics> summary(
+            String address, ToDoubleFunction<MemcachedServerStatistics.Summary> value) {
+        return statistics -> {
+            MemcachedServerStatistics.Server server = statistics.snapshot().servers().get(address);
+            return (server != null) ? value.applyAsDouble(server.summary()) : Double.NaN;
+        };
+    }
+}
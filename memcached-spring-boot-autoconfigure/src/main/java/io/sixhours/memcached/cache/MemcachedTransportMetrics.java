@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect per-server transport metrics of the memcached client: connection state, in-flight operations, pending
+ * writes, operation latency, timeouts and reconnects, tagged by the server address. Binds no metrics if the client
+ * does not collect {@link MemcachedTransportStatistics}. The meters of the cache manager clients are also tagged
+ * with the cache manager name.
+ */
+public class MemcachedTransportMetrics implements MeterBinder {
+
+    private final Map<Client, Tags> clients;
+
+    public MemcachedTransportMetrics(IMemcachedClient memcachedClient, MemcachedCacheProperties.Metrics metrics) {
+        this.clients = Map.of(new Client(memcachedClient, metrics), Tags.empty());
+    }
+
+    public MemcachedTransportMetrics(Map<String, MemcachedCacheManager> cacheManagers) {
+        this.clients = MemcachedCacheMetricsBinder.byCacheManager(cacheManagers,
+                cacheManager -> new Client(cacheManager.client(), cacheManager.metrics()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.clients.forEach((client, tags) -> bindClient(registry, client, tags));
+    }
+
+    private static void bindClient(MeterRegistry registry, Client client, Tags tags) {
+        final MemcachedTransportStatistics statistics = client.memcachedClient().transportStatistics();
+        if (statistics == null) {
+            return;
+        }
+
+        Gauge.builder("memcached.servers.available", statistics,
+                        s -> s.servers().stream().filter(MemcachedTransportStatistics.Server::isConnected).count())
+                .tags(tags)
+                .description("The number of memcached servers the client is connected to")
+                .register(registry);
+
+        final Map<MemcachedTransportStatistics.Server, Timer> operationTimers = new ConcurrentHashMap<>();
+        statistics.setListener(new MemcachedTransportStatistics.Listener() {
+            @Override
+            public void serverAdded(MemcachedTransportStatistics.Server server) {
+                operationTimers.computeIfAbsent(server, s -> bindServer(registry, s, client.metrics(), tags));
+            }
+
+            @Override
+            public void operationCompleted(MemcachedTransportStatistics.Server server, long durationNanos) {
+                Timer timer = operationTimers.get(server);
+                if (timer != null) {
+                    timer.record(durationNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private static Timer bindServer(MeterRegistry registry, MemcachedTransportStatistics.Server server,
+                                    MemcachedCacheProperties.Metrics metrics, Tags tags) {
+        final String address = server.address();
+
+        Gauge.builder("memcached.server.connected", server, s -> s.isConnected() ? 1 : 0)
+                .tags(tags)
+                .tag("server", address)
+                .description("Whether the client is connected to the memcached server")
+                .register(registry);
+
+        Gauge.builder("memcached.server.inflight", server, MemcachedTransportStatistics.Server::inFlight)
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of operations sent to the memcached server and waiting for the response")
+                .register(registry);
+
+        Gauge.builder("memcached.server.write.queue", server, MemcachedTransportStatistics.Server::writeQueueBytes)
+                .tags(tags)
+                .tag("server", address)
+                .baseUnit("bytes")
+                .description("The number of bytes waiting to be written to the memcached server")
+                .register(registry);
+
+        FunctionCounter.builder("memcached.server.timeouts", server, MemcachedTransportStatistics.Server::timeouts)
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of operations that timed out waiting for the memcached server")
+                .register(registry);
+
+        FunctionCounter.builder("memcached.server.reconnects", server, MemcachedTransportStatistics.Server::reconnects)
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of times the connection to the memcached server was re-established")
+                .register(registry);
+
+        FunctionCounter.builder("memcached.server.disconnects", server, MemcachedTransportStatistics.Server::disconnects)
+                .tags(tags)
+                .tag("server", address)
+                .description("The number of times the connection to the memcached server was lost")
+                .register(registry);
+
+        return MemcachedCacheMetrics.distribution(Timer.builder("memcached.server.operations"), metrics)
+                .tags(tags)
+                .tag("server", address)
+                .description("The time from sending an operation to the memcached server to its completion")
+                .register(registry);
+    }
+
+    private record Client(IMemcachedClient memcachedClient, MemcachedCacheProperties.Metrics metrics) {
+    }
+}
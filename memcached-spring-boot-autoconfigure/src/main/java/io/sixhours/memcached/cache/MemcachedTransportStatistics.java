@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transport statistics of the memcached servers used by a client: connection state, reconnects, in-flight operations,
+ * timeouts and pending writes per server. The connection state and the pending writes are read from the native
+ * client through the {@link Transport}, while the client implementations report the operations and the connection
+ * events.
+ * <p>
+ * The statistics are collected only once a {@link Listener} is set, e.g. when the client is bound to a meter registry.
+ * Until then no connection listeners are registered on the native client and the operations are not attributed to
+ * their server.
+ */
+public class MemcachedTransportStatistics {
+
+    private final Transport transport;
+    private final ConcurrentMap<InetSocketAddress, Server> servers = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile Listener listener = Listener.NONE;
+
+    public MemcachedTransportStatistics(Transport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Sets the listener notified about the servers and their operations, starting the collection of the statistics.
+     *
+     * @param listener The listener
+     */
+    public void setListener(Listener listener) {
+        if (listener == null) {
+            this.listener = Listener.NONE;
+            return;
+        }
+        this.listener = listener;
+        this.servers.values().forEach(listener::serverAdded);
+        if (this.started.compareAndSet(false, true)) {
+            this.transport.start(this);
+            this.transport.servers().forEach(address -> server(address).established.set(true));
+        }
+    }
+
+    /**
+     * Returns the servers seen by the client so far. Servers removed from the client are kept, reported as
+     * disconnected.
+     *
+     * @return The servers
+     */
+    public Collection<Server> servers() {
+        return List.copyOf(this.servers.values());
+    }
+
+    /**
+     * Returns the statistics of the server with the given address, registering the server on first use.
+     *
+     * @param address The server address
+     * @return The server statistics
+     */
+    public Server server(InetSocketAddress address) {
+        Server server = this.servers.get(address);
+        if (server != null) {
+            return server;
+        }
+        Server added = new Server(address);
+        server = this.servers.putIfAbsent(address, added);
+        if (server == null) {
+            this.listener.serverAdded(added);
+            return added;
+        }
+        return server;
+    }
+
+    /**
+     * Starts tracking an operation on the server owning the key. Returns {@link ServerOperation#NONE} if the
+     * statistics are not collected or the server of the key is not known.
+     *
+     * @param key The memcached key
+     * @return The tracked operation, to be completed once the server responds or the operation fails
+     */
+    public ServerOperation start(String key) {
+        if (this.listener == Listener.NONE) {
+            return ServerOperation.NONE;
+        }
+        InetSocketAddress address = this.transport.locate(key);
+        if (address == null) {
+            return ServerOperation.NONE;
+        }
+        Server server = server(address);
+        server.inFlight.incrementAndGet();
+        return new TrackedOperation(server, System.nanoTime());
+    }
+
+    /**
+     * Returns the address of the server owning the key in the {@code host:port} form, whether or not the statistics
+     * are collected.
+     *
+     * @param key The memcached key
+     * @return The server address, {@code null} if it can not be determined
+     */
+    public String locate(String key) {
+        InetSocketAddress address = this.transport.locate(key);
+        return (address != null) ? address(address) : null;
+    }
+
+    /**
+     * Called by the client once the connection to the server is established.
+     *
+     * @param address The server address
+     */
+    public void connectionEstablished(InetSocketAddress address) {
+        Server server = server(address);
+        if (!server.established.compareAndSet(false, true)) {
+            server.reconnects.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called by the client once the connection to the server is lost.
+     *
+     * @param address The server address
+     */
+    public void connectionLost(InetSocketAddress address) {
+        Server server = server(address);
+        server.established.set(true);
+        server.disconnects.incrementAndGet();
+    }
+
+    static String address(java.net.SocketAddress address) {
+        if (address instanceof InetSocketAddress inetAddress) {
+            return inetAddress.getHostString() + ":" + inetAddress.getPort();
+        }
+        return String.valueOf(address);
+    }
+
+    static Map<String, Map<String, String>> byAddress(Map<? extends java.net.SocketAddress, Map<String, String>> stats) {
+        Map<String, Map<String, String>> result = new TreeMap<>();
+        stats.forEach((address, values) -> result.put(address(address), values));
+        return result;
+    }
+
+    /**
+     * Statistics of a single memcached server.
+     */
+    public final class Server {
+        private final InetSocketAddress address;
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong reconnects = new AtomicLong();
+        private final AtomicLong disconnects = new AtomicLong();
+        private final AtomicBoolean established = new AtomicBoolean();
+
+        private Server(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        /**
+         * The server address in the {@code host:port} form, as configured or discovered.
+         *
+         * @return The server address
+         */
+        public String address() {
+            return address(this.address);
+        }
+
+        public boolean isConnected() {
+            return transport.isConnected(this.address);
+        }
+
+        /**
+         * The number of bytes written by the client but not yet sent to the server.
+         *
+         * @return The pending write bytes
+         */
+        public long writeQueueBytes() {
+            return transport.writeQueueBytes(this.address);
+        }
+
+        public long inFlight() {
+            return this.inFlight.get();
+        }
+
+        public long timeouts() {
+            return this.timeouts.get();
+        }
+
+        public long reconnects() {
+            return this.reconnects.get();
+        }
+
+        public long disconnects() {
+            return this.disconnects.get();
+        }
+    }
+
+    /**
+     * Operation sent to a memcached server.
+     */
+    public interface ServerOperation {
+
+        ServerOperation NONE = error -> {
+        };
+
+        /**
+         * Completes the operation.
+         *
+         * @param error The error the operation failed with, {@code null} if it succeeded
+         */
+        void completed(Throwable error);
+    }
+
+    private final class TrackedOperation implements ServerOperation {
+        private final Server server;
+        private final long startedAt;
+
+        private TrackedOperation(Server server, long startedAt) {
+            this.server = server;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void completed(Throwable error) {
+            long duration = System.nanoTime() - this.startedAt;
+            this.server.inFlight.decrementAndGet();
+            if (error != null && transport.isTimeout(error)) {
+                this.server.timeouts.incrementAndGet();
+            }
+            listener.operationCompleted(this.server, duration);
+        }
+    }
+
+    /**
+     * Access to the transport of the native memcached client.
+     */
+    public interface Transport {
+
+        /**
+         * Called once the statistics are first used, e.g. to register connection listeners on the native client.
+         *
+         * @param statistics The statistics to report the connection events to
+         */
+        default void start(MemcachedTransportStatistics statistics) {
+        }
+
+        /**
+         * Returns the addresses of the servers currently used by the client.
+         *
+         * @return The server addresses
+         */
+        Collection<InetSocketAddress> servers();
+
+        /**
+         * Returns the address of the server owning the key, or {@code null} if it can not be determined.
+         *
+         * @param key The memcached key
+         * @return The server address
+         */
+        InetSocketAddress locate(String key);
+
+        boolean isConnected(InetSocketAddress address);
+
+        long writeQueueBytes(InetSocketAddress address);
+
+        /**
+         * Returns whether the operation failed because the server did not respond in time.
+         *
+         * @param error The operation error
+         * @return {@code true} for a timeout
+         */
+        boolean isTimeout(Throwable error);
+    }
+
+    /**
+     * Listener notified about the servers and their operations, e.g. to record metrics.
+     */
+    public interface Listener {
+
+        Listener NONE = new Listener() {
+        };
+
+        /**
+         * Called for every server seen by the client, including the servers known when the listener is set.
+         *
+         * @param server The server
+         */
+        default void serverAdded(Server server) {
+        }
+
+        /**
+         * Called for every completed operation attributed to a server, whether it succeeded or failed.
+         *
+         * @param server        The server
+         * @param durationNanos Time in nanoseconds from sending the operation to its completion
+         */
+        default void operationCompleted(Server server, long durationNanos) {
+        }
+    }
+}
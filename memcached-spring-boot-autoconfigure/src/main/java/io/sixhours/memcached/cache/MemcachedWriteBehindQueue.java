@@ -0,0 +1,300 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of cache writes, written to memcached in batches by a background worker.
+ * <p>
+ * Writes are keyed by the memcached key, so repeated writes of the same key while it is queued are collapsed into a
+ * single write of the latest value. When the queue is full, the write is dropped, the caller waits for free space,
+ * or the caller writes the value itself, depending on the {@link MemcachedCacheProperties.WriteBehind.FullPolicy}.
+ * <p>
+ * Values stay visible to the reads until their batch is written, and removing a key waits for the batch writing it,
+ * so the delete that follows is not overwritten by the late write.
+ */
+class MemcachedWriteBehindQueue {
+    private static final Log log = LogFactory.getLog(MemcachedWriteBehindQueue.class);
+
+    private final int capacity;
+    private final int batchSize;
+    private final MemcachedCacheProperties.WriteBehind.FullPolicy fullPolicy;
+    private final Consumer<Map<String, Object>> writer;
+
+    private final Map<String, Object> pendingWrites = new LinkedHashMap<>();
+    private final Map<String, Object> inFlightWrites = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private boolean closed;
+    private final Thread worker;
+
+    private final AtomicLong drops = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchWriteTime = new AtomicLong();
+
+    /**
+     * Creates the queue and starts its worker.
+     *
+     * @param name        Name of the cache, used in the worker thread name
+     * @param writeBehind The write-behind configuration
+     * @param writer      Writes a batch of values, by memcached key, to memcached
+     */
+    MemcachedWriteBehindQueue(String name, MemcachedCacheProperties.WriteBehind writeBehind,
+                              Consumer<Map<String, Object>> writer) {
+        this.capacity = writeBehind.getCapacity();
+        this.batchSize = writeBehind.getBatchSize();
+        this.fullPolicy = writeBehind.getFullPolicy();
+        this.writer = writer;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("memcached-write-behind-" + name + "-");
+        threadFactory.setDaemon(true);
+        this.worker = threadFactory.newThread(this::drain);
+        this.worker.start();
+    }
+
+    /**
+     * Queues the write of the value, or applies the full policy if the queue is full.
+     *
+     * @param memcachedKey   The memcached key
+     * @param memcachedValue The value to be written to memcached
+     */
+    void enqueue(String memcachedKey, Object memcachedValue) {
+        lock.lock();
+        try {
+            if (pendingWrites.containsKey(memcachedKey) || pendingWrites.size() < capacity) {
+                pendingWrites.put(memcachedKey, memcachedValue);
+                notEmpty.signal();
+                return;
+            }
+
+            switch (fullPolicy) {
+                case DROP -> {
+                    drops.incrementAndGet();
+                    return;
+                }
+                case BLOCK -> {
+                    while (pendingWrites.size() >= capacity && !pendingWrites.containsKey(memcachedKey)) {
+                        notFull.await();
+                    }
+                    pendingWrites.put(memcachedKey, memcachedValue);
+                    notEmpty.signal();
+                    return;
+                }
+                default -> {
+                    // write synchronously below, outside the lock
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drops.incrementAndGet();
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        write(Map.of(memcachedKey, memcachedValue));
+    }
+
+    /**
+     * Returns the value queued for the given key, so that reads observe the writes not yet sent to memcached.
+     *
+     * @param memcachedKey The memcached key
+     * @return The queued value, or {@code null} if none
+     */
+    Object pending(String memcachedKey) {
+        lock.lock();
+        try {
+            Object pendingValue = pendingWrites.get(memcachedKey);
+            return (pendingValue != null) ? pendingValue : inFlightWrites.get(memcachedKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the queued write of the key, and waits for the batch writing the key, if any, so that the delete sent
+     * by the caller afterwards is not overwritten.
+     *
+     * @param memcachedKey The memcached key
+     */
+    void remove(String memcachedKey) {
+        lock.lock();
+        try {
+            if (pendingWrites.remove(memcachedKey) != null) {
+                notFull.signalAll();
+            }
+            while (inFlightWrites.containsKey(memcachedKey)) {
+                batchWritten.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            pendingWrites.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all queued values in the caller thread, and waits for the batch being written by the worker, if any.
+     */
+    void flush() {
+        Map<String, Object> batch;
+        while (!(batch = nextBatch(false)).isEmpty()) {
+            writeInFlight(batch);
+        }
+
+        lock.lock();
+        try {
+            while (!inFlightWrites.isEmpty()) {
+                batchWritten.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the worker once it has written the queued values. Values queued afterwards are written only by
+     * {@link #flush()}.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return pendingWrites.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long drops() {
+        return drops.get();
+    }
+
+    long failures() {
+        return failures.get();
+    }
+
+    long batches() {
+        return batches.get();
+    }
+
+    long batchWriteTime() {
+        return batchWriteTime.get();
+    }
+
+    private void drain() {
+        Map<String, Object> batch;
+        while (!(batch = nextBatch(true)).isEmpty()) {
+            writeInFlight(batch);
+        }
+    }
+
+    /**
+     * Moves up to batch size of the oldest queued writes to the in-flight writes, which stay visible to the reads
+     * until written.
+     *
+     * @param wait Whether to wait for a write to be queued, unless the queue is closed
+     * @return The batch of values, by memcached key, empty if none is queued
+     */
+    private Map<String, Object> nextBatch(boolean wait) {
+        lock.lock();
+        try {
+            while (wait && pendingWrites.isEmpty() && !closed) {
+                notEmpty.awaitUninterruptibly();
+            }
+
+            Map<String, Object> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, Object>> iterator = pendingWrites.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Map.Entry<String, Object> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            if (!batch.isEmpty()) {
+                inFlightWrites.putAll(batch);
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeInFlight(Map<String, Object> batch) {
+        try {
+            write(batch);
+        } finally {
+            lock.lock();
+            try {
+                batch.forEach(inFlightWrites::remove);
+                batchWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void write(Map<String, Object> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            failures.addAndGet(batch.size());
+            log.warn(String.format("Failed to write %d queued cache values", batch.size()), e);
+        } finally {
+            batches.incrementAndGet();
+            batchWriteTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.ObjectProvider;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -52,7 +53,8 @@ public class SpyMemcachedCacheManagerFactory extends MemcachedCacheManagerFactor
                 .setLocatorType(hashStrategyToLocator(hashStrategy))
                 .setClientMode(clientMode(provider))
                 .setOpTimeout(properties.getOperationTimeout().toMillis())
-                .setProtocol(connectionProtocol(protocol));
+                .setProtocol(connectionProtocol(protocol))
+                .setTranscoder(new SpyMemcachedCodecTranscoder());
 
         if (!authentication.isEmpty()) {
             connectionFactoryBuilder.setAuthDescriptor(
@@ -67,7 +69,8 @@ public class SpyMemcachedCacheManagerFactory extends MemcachedCacheManagerFactor
 
         customizers.orderedStream().forEach(customizer -> customizer.customize(connectionFactoryBuilder));
 
-        return new SpyMemcachedClient(new MemcachedClient(connectionFactoryBuilder.build(), servers));
+        final MemcachedClient memcachedClient = new MemcachedClient(connectionFactoryBuilder.build(), servers);
+        return new SpyMemcachedClient(memcachedClient, Duration.ofMillis(memcachedClient.getOperationTimeout()));
     }
 
     private ClientMode clientMode(MemcachedCacheProperties.Provider provider) {
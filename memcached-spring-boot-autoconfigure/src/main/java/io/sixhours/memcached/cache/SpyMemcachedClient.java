@@ -15,10 +15,29 @@
  */
 package io.sixhours.memcached.cache;
 
+import io.sixhours.memcached.cache.MemcachedTransportStatistics.ServerOperation;
+import net.spy.memcached.ConnectionObserver;
 import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.MemcachedNode;
+import net.spy.memcached.NodeLocator;
+import net.spy.memcached.OperationTimeoutException;
+import net.spy.memcached.internal.OperationFuture;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
 /**
  * {@code SpyMemcached} memcached client implementation.
  *
@@ -28,10 +47,24 @@ public class SpyMemcachedClient implements IMemcachedClient {
     private static final Log log = LogFactory.getLog(SpyMemcachedClient.class);
 
     private final MemcachedClient memcachedClient;
+    private final Duration operationTimeout;
+    private final MemcachedTransportStatistics transportStatistics;
 
     public SpyMemcachedClient(MemcachedClient memcachedClient) {
+        this(memcachedClient, Duration.ofMillis(Default.OPERATION_TIMEOUT));
+    }
+
+    /**
+     * Creates the client with the operation timeout used by the native client.
+     *
+     * @param memcachedClient  The native client
+     * @param operationTimeout The time after which the async operations fail if the server did not respond
+     */
+    public SpyMemcachedClient(MemcachedClient memcachedClient, Duration operationTimeout) {
         log.info("SpyMemcached client initialized.");
         this.memcachedClient = memcachedClient;
+        this.operationTimeout = operationTimeout;
+        this.transportStatistics = new MemcachedTransportStatistics(new SpyMemcachedTransport(memcachedClient));
     }
 
     @Override
@@ -41,22 +74,45 @@ public class SpyMemcachedClient implements IMemcachedClient {
 
     @Override
     public Object get(String key) {
-        return this.memcachedClient.get(key);
+        return execute(key, () -> this.memcachedClient.get(key));
     }
 
     @Override
     public void set(String key, int exp, Object value) {
-        this.memcachedClient.set(key, exp, value);
+        final ServerOperation operation = this.transportStatistics.start(key);
+        completeOn(operation, this.memcachedClient.set(key, exp, value));
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        try {
+            Boolean added = this.memcachedClient.add(key, exp, value).get();
+            operation.completed(null);
+            return added;
+        } catch (InterruptedException e) {
+            operation.completed(e);
+            Thread.currentThread().interrupt();
+            throw new MemcachedOperationException("Failed to add key", e);
+        } catch (ExecutionException e) {
+            operation.completed(e.getCause());
+            throw new MemcachedOperationException("Failed to add key", e);
+        } catch (RuntimeException e) {
+            operation.completed(e);
+            throw new MemcachedOperationException("Failed to add key", e);
+        }
     }
 
     @Override
     public void touch(String key, int exp) {
-        this.memcachedClient.touch(key, exp);
+        final ServerOperation operation = this.transportStatistics.start(key);
+        completeOn(operation, this.memcachedClient.touch(key, exp));
     }
 
     @Override
     public void delete(String key) {
-        this.memcachedClient.delete(key);
+        final ServerOperation operation = this.transportStatistics.start(key);
+        completeOn(operation, this.memcachedClient.delete(key));
     }
 
     @Override
@@ -66,11 +122,254 @@ public class SpyMemcachedClient implements IMemcachedClient {
 
     @Override
     public long incr(String key, int by) {
-        return this.memcachedClient.incr(key, by);
+        return execute(key, () -> this.memcachedClient.incr(key, by));
+    }
+
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
+        return this.memcachedClient.getBulk(keys);
+    }
+
+    @Override
+    public void setMulti(Map<String, Object> values, int exp) {
+        values.forEach((key, value) -> set(key, exp, value));
+    }
+
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        keys.forEach(this::delete);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        this.memcachedClient.asyncGet(key)
+                .addListener(future -> complete(result, operation, future::get, "Failed to get key"));
+        return withTimeout(result);
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        return toCompletableFuture(operation, this.memcachedClient.set(key, exp, value), "Failed to set key");
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        this.memcachedClient.add(key, exp, value)
+                .addListener(future -> complete(result, operation, () -> (Boolean) future.get(),
+                        "Failed to add key"));
+        return withTimeout(result);
+    }
+
+    /**
+     * Sends the add without waiting for the reply; spymemcached has no noreply add, so the lost add is reported as a
+     * completed future as well.
+     */
+    @Override
+    public CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        return toCompletableFuture(operation, this.memcachedClient.add(key, exp, value), "Failed to add key");
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        return toCompletableFuture(operation, this.memcachedClient.touch(key, exp), "Failed to touch key");
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        return toCompletableFuture(operation, this.memcachedClient.delete(key), "Failed to delete key");
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        final ServerOperation operation = this.transportStatistics.start(key);
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        this.memcachedClient.asyncIncr(key, by)
+                .addListener(future -> complete(result, operation, () -> (Long) future.get(),
+                        "Failed to increment key"));
+        return withTimeout(result);
+    }
+
+    @Override
+    public MemcachedTransportStatistics transportStatistics() {
+        return this.transportStatistics;
+    }
+
+    @Override
+    public Map<String, Map<String, String>> stats(String group) {
+        Map<SocketAddress, Map<String, String>> stats = (group == null)
+                ? this.memcachedClient.getStats()
+                : this.memcachedClient.getStats(group);
+        return MemcachedTransportStatistics.byAddress(stats);
+    }
+
+    @Override
+    public boolean supportsCodecs() {
+        return this.memcachedClient.getTranscoder() instanceof SpyMemcachedCodecTranscoder;
     }
 
     @Override
     public void shutdown() {
         this.memcachedClient.shutdown();
     }
+
+    /**
+     * Executes the blocking single-key operation, attributing it to the server owning the key.
+     */
+    private <T> T execute(String key, Supplier<T> operation) {
+        final ServerOperation serverOperation = this.transportStatistics.start(key);
+        try {
+            T result = operation.get();
+            serverOperation.completed(null);
+            return result;
+        } catch (RuntimeException e) {
+            serverOperation.completed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Completes the tracked operation once the server responds to the command sent without waiting for the result.
+     */
+    private static void completeOn(ServerOperation operation, OperationFuture<Boolean> future) {
+        if (operation == ServerOperation.NONE) {
+            return;
+        }
+        future.addListener(completed -> complete(new CompletableFuture<>(), operation, completed::get, null));
+    }
+
+    private CompletableFuture<Void> toCompletableFuture(ServerOperation serverOperation,
+                                                        OperationFuture<Boolean> operation, String errorMessage) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        operation.addListener(future -> complete(result, serverOperation, () -> {
+            future.get();
+            return null;
+        }, errorMessage));
+        return withTimeout(result);
+    }
+
+    /**
+     * Completes the future and the tracked operation from the result of the completed native future. Any failure,
+     * including a cancelled command or an unexpected error, fails the future, so callers are never left waiting.
+     */
+    private static <T> void complete(CompletableFuture<T> result, ServerOperation operation, Callable<T> value,
+                                     String errorMessage) {
+        try {
+            T completed = value.call();
+            operation.completed(null);
+            result.complete(completed);
+        } catch (ExecutionException e) {
+            operation.completed(e.getCause());
+            result.completeExceptionally(new MemcachedOperationException(errorMessage, e.getCause()));
+        } catch (Throwable e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            operation.completed(e);
+            result.completeExceptionally(new MemcachedOperationException(errorMessage, e));
+        }
+    }
+
+    /**
+     * Fails the future if the listener is not called within the operation timeout.
+     */
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> result) {
+        return result.orTimeout(this.operationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the transport state from the Spymemcached nodes. The node locator is a read-only copy taken by the client
+     * on every call, so it is cached until the next connection event, which also follows a change of the cluster
+     * nodes.
+     */
+    private static final class SpyMemcachedTransport implements MemcachedTransportStatistics.Transport {
+        private final MemcachedClient memcachedClient;
+        private volatile NodeLocator nodeLocator;
+
+        private SpyMemcachedTransport(MemcachedClient memcachedClient) {
+            this.memcachedClient = memcachedClient;
+        }
+
+        @Override
+        public void start(MemcachedTransportStatistics statistics) {
+            this.memcachedClient.addObserver(new ConnectionObserver() {
+                @Override
+                public void connectionEstablished(SocketAddress address, int reconnectCount) {
+                    nodeLocator = null;
+                    if (address instanceof InetSocketAddress inetAddress) {
+                        statistics.connectionEstablished(inetAddress);
+                    }
+                }
+
+                @Override
+                public void connectionLost(SocketAddress address) {
+                    nodeLocator = null;
+                    if (address instanceof InetSocketAddress inetAddress) {
+                        statistics.connectionLost(inetAddress);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Collection<InetSocketAddress> servers() {
+            return nodeLocator().getAll().stream()
+                    .map(MemcachedNode::getSocketAddress)
+                    .filter(InetSocketAddress.class::isInstance)
+                    .map(InetSocketAddress.class::cast)
+                    .toList();
+        }
+
+        @Override
+        public InetSocketAddress locate(String key) {
+            MemcachedNode node = nodeLocator().getPrimary(key);
+            return (node != null && node.getSocketAddress() instanceof InetSocketAddress address) ? address : null;
+        }
+
+        @Override
+        public boolean isConnected(InetSocketAddress address) {
+            return node(address).map(MemcachedNode::isActive).orElse(false);
+        }
+
+        @Override
+        public long writeQueueBytes(InetSocketAddress address) {
+            try {
+                return node(address).map(node -> (long) node.getBytesRemainingToWrite()).orElse(0L);
+            } catch (UnsupportedOperationException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public boolean isTimeout(Throwable error) {
+            for (Throwable e = error; e != null; e = e.getCause()) {
+                if (e instanceof TimeoutException || e instanceof OperationTimeoutException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Optional<MemcachedNode> node(InetSocketAddress address) {
+            return nodeLocator().getAll().stream()
+                    .filter(node -> address.equals(node.getSocketAddress()))
+                    .findFirst();
+        }
+
+        private NodeLocator nodeLocator() {
+            NodeLocator locator = this.nodeLocator;
+            if (locator == null) {
+                locator = this.memcachedClient.getNodeLocator();
+                this.nodeLocator = locator;
+            }
+            return locator;
+        }
+    }
 }
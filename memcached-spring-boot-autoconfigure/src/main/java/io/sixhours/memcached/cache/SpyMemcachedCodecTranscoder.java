@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * Spymemcached {@link Transcoder} encoding the {@link MemcachedCodecValue} values with their codec. Other values are
+ * encoded by the delegate transcoder.
+ */
+public class SpyMemcachedCodecTranscoder implements Transcoder<Object> {
+
+    private final Transcoder<Object> delegate;
+
+    public SpyMemcachedCodecTranscoder() {
+        this(new SerializingTranscoder());
+    }
+
+    public SpyMemcachedCodecTranscoder(Transcoder<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean asyncDecode(CachedData d) {
+        return (d.getFlags() & MemcachedCodecs.CODEC_FLAG) == 0 && this.delegate.asyncDecode(d);
+    }
+
+    @Override
+    public CachedData encode(Object o) {
+        if (o instanceof MemcachedCodecValue codecValue) {
+            MemcachedCodecs.EncodedValue encoded = MemcachedCodecs.encodeValue(codecValue);
+            return new CachedData(encoded.flags(), encoded.data(), getMaxSize());
+        }
+        return this.delegate.encode(o);
+    }
+
+    @Override
+    public Object decode(CachedData d) {
+        if ((d.getFlags() & MemcachedCodecs.CODEC_FLAG) != 0) {
+            return MemcachedCodecs.decodeValue(d.getFlags(), d.getData());
+        }
+        return this.delegate.decode(d);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.delegate.getMaxSize();
+    }
+}
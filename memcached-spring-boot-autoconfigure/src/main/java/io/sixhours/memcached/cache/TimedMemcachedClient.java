@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.sixhours.memcached.cache.MemcachedOperationListener.Operation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link IMemcachedClient} decorator reporting the duration of the operations to a
+ * {@link MemcachedOperationListener}.
+ * <p>
+ * With a sample rate below one, only the given fraction of the operations is timed, so the sampled durations keep the
+ * latency distribution while the operation counts are scaled down by the sample rate. Asynchronous operations are
+ * timed until their future completes. {@code flush} and {@code shutdown} are passed to the delegate client untimed.
+ */
+final class TimedMemcachedClient implements IMemcachedClient {
+
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final IMemcachedClient delegate;
+    private final MemcachedOperationListener listener;
+    private final double sampleRate;
+
+    TimedMemcachedClient(IMemcachedClient delegate, MemcachedOperationListener listener, double sampleRate) {
+        this.delegate = delegate;
+        this.listener = listener;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object nativeClient() {
+        return this.delegate.nativeClient();
+    }
+
+    @Override
+    public Object get(String key) {
+        long start = start();
+        try {
+            return this.delegate.get(key);
+        } finally {
+            completed(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public void set(String key, int exp, Object value) {
+        long start = start();
+        try {
+            this.delegate.set(key, exp, value);
+        } finally {
+            completed(Operation.SET, start);
+        }
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        long start = start();
+        try {
+            return this.delegate.add(key, exp, value);
+        } finally {
+            completed(Operation.SET, start);
+        }
+    }
+
+    @Override
+    public void touch(String key, int exp) {
+        long start = start();
+        try {
+            this.delegate.touch(key, exp);
+        } finally {
+            completed(Operation.TOUCH, start);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        long start = start();
+        try {
+            this.delegate.delete(key);
+        } finally {
+            completed(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public long incr(String key, int by) {
+        long start = start();
+        try {
+            return this.delegate.incr(key, by);
+        } finally {
+            completed(Operation.INCR, start);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
+        long start = start();
+        try {
+            return this.delegate.getMulti(keys);
+        } finally {
+            completed(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public void setMulti(Map<String, Object> values, int exp) {
+        long start = start();
+        try {
+            this.delegate.setMulti(values, exp);
+        } finally {
+            completed(Operation.SET, start);
+        }
+    }
+
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        long start = start();
+        try {
+            this.delegate.deleteMulti(keys);
+        } finally {
+            completed(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        long start = start();
+        return timed(Operation.GET, start, this.delegate.getAsync(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        long start = start();
+        return timed(Operation.SET, start, this.delegate.setAsync(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        long start = start();
+        return timed(Operation.SET, start, this.delegate.addAsync(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        long start = start();
+        return timed(Operation.TOUCH, start, this.delegate.touchAsync(key, exp));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        long start = start();
+        return timed(Operation.DELETE, start, this.delegate.deleteAsync(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        long start = start();
+        return timed(Operation.INCR, start, this.delegate.incrAsync(key, by));
+    }
+
+    @Override
+    public CompletableFuture<Void> setNoReply(String key, int exp, Object value) {
+        long start = start();
+        return timed(Operation.SET, start, this.delegate.setNoReply(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
+        long start = start();
+        return timed(Operation.SET, start, this.delegate.addNoReply(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteNoReply(String key) {
+        long start = start();
+        return timed(Operation.DELETE, start, this.delegate.deleteNoReply(key));
+    }
+
+    @Override
+    public MemcachedTransportStatistics transportStatistics() {
+        return this.delegate.transportStatistics();
+    }
+
+    @Override
+    public Map<String, Map<String, String>> stats(String group) {
+        return this.delegate.stats(group);
+    }
+
+    @Override
+    public boolean supportsCodecs() {
+        return this.delegate.supportsCodecs();
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    /**
+     * Returns the start time of the operation, or {@link #NOT_SAMPLED} if the operation is not timed.
+     */
+    private long start() {
+        if (this.sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    private void completed(Operation operation, long start) {
+        if (start != NOT_SAMPLED) {
+            this.listener.operationCompleted(operation, System.nanoTime() - start);
+        }
+    }
+
+    private <T> CompletableFuture<T> timed(Operation operation, long start, CompletableFuture<T> future) {
+        if (start == NOT_SAMPLED) {
+            return future;
+        }
+        return future.whenComplete((result, e) -> completed(operation, start));
+    }
+}
@@ -16,6 +16,7 @@
 package io.sixhours.memcached.cache;
 
 import net.rubyeye.xmemcached.CommandFactory;
+import net.rubyeye.xmemcached.MemcachedClient;
 import net.rubyeye.xmemcached.MemcachedClientBuilder;
 import net.rubyeye.xmemcached.MemcachedSessionLocator;
 import net.rubyeye.xmemcached.XMemcachedClientBuilder;
@@ -35,6 +36,7 @@ import org.springframework.beans.factory.ObjectProvider;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -86,10 +88,13 @@ public class XMemcachedCacheManagerFactory extends MemcachedCacheManagerFactory
         builder.setSessionLocator(hashStrategyToLocator(hashStrategy));
         builder.setOpTimeout(properties.getOperationTimeout().toMillis());
         builder.setCommandFactory(commandFactory(protocol));
+        builder.setTranscoder(new XMemcachedCodecTranscoder());
 
         customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
 
-        return new XMemcachedClient(builder.build());
+        final MemcachedClient memcachedClient = builder.build();
+        return new XMemcachedClient(memcachedClient, builder.getSessionLocator(),
+                Duration.ofMillis(memcachedClient.getOpTimeout()));
     }
 
     private MemcachedClientBuilder builder(MemcachedCacheProperties.Provider provider, List<InetSocketAddress> servers) {
@@ -15,27 +15,99 @@
  */
 package io.sixhours.memcached.cache;
 
+import com.google.code.yanf4j.core.Session;
 import net.rubyeye.xmemcached.MemcachedClient;
+import net.rubyeye.xmemcached.MemcachedClientStateListener;
+import net.rubyeye.xmemcached.MemcachedSessionLocator;
 import net.rubyeye.xmemcached.exception.MemcachedException;
+import net.rubyeye.xmemcached.impl.RandomMemcachedSessionLocaltor;
+import net.rubyeye.xmemcached.impl.RoundRobinMemcachedSessionLocator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * {@code XMemcached} memcached client implementation.
+ * <p>
+ * XMemcached does not expose a completion callback for its commands, so the async operations are run on a
+ * dedicated executor, keeping the caller thread free while the command waits for the server response. The default
+ * executor is bounded and rejects the operations once its queue is full, and the async operations fail if not
+ * completed within the operation timeout, including the time spent in the queue.
  *
  * @author Igor Bolic
  */
 public class XMemcachedClient implements IMemcachedClient {
     private static final Log log = LogFactory.getLog(XMemcachedClient.class);
 
+    private static final int ASYNC_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final int ASYNC_QUEUE_CAPACITY = 10_000;
+
     private final MemcachedClient memcachedClient;
+    private final ExecutorService asyncExecutor;
+    private final Duration operationTimeout;
+    private final MemcachedTransportStatistics transportStatistics;
 
     public XMemcachedClient(MemcachedClient memcachedClient) {
+        this(memcachedClient, (MemcachedSessionLocator) null);
+    }
+
+    /**
+     * Creates the client with the session locator used by the native client, so the per-server statistics can
+     * attribute the operations to the server owning the key.
+     *
+     * @param memcachedClient The native client
+     * @param sessionLocator  The session locator of the native client, or {@code null} if not known
+     */
+    public XMemcachedClient(MemcachedClient memcachedClient, MemcachedSessionLocator sessionLocator) {
+        this(memcachedClient, sessionLocator, Duration.ofMillis(Default.OPERATION_TIMEOUT));
+    }
+
+    /**
+     * Creates the client with the session locator and the operation timeout used by the native client.
+     *
+     * @param memcachedClient  The native client
+     * @param sessionLocator   The session locator of the native client, or {@code null} if not known
+     * @param operationTimeout The time the async operations may take, including the time waiting for a thread
+     */
+    public XMemcachedClient(MemcachedClient memcachedClient, MemcachedSessionLocator sessionLocator,
+                            Duration operationTimeout) {
+        this(memcachedClient, asyncExecutor(), sessionLocator, operationTimeout);
+    }
+
+    public XMemcachedClient(MemcachedClient memcachedClient, ExecutorService asyncExecutor) {
+        this(memcachedClient, asyncExecutor, null);
+    }
+
+    public XMemcachedClient(MemcachedClient memcachedClient, ExecutorService asyncExecutor,
+                            MemcachedSessionLocator sessionLocator) {
+        this(memcachedClient, asyncExecutor, sessionLocator, Duration.ofMillis(Default.OPERATION_TIMEOUT));
+    }
+
+    public XMemcachedClient(MemcachedClient memcachedClient, ExecutorService asyncExecutor,
+                            MemcachedSessionLocator sessionLocator, Duration operationTimeout) {
         log.info("XMemcachedClient client initialized.");
         this.memcachedClient = memcachedClient;
+        this.asyncExecutor = asyncExecutor;
+        this.operationTimeout = operationTimeout;
+        this.transportStatistics = new MemcachedTransportStatistics(
+                new XMemcachedTransport(memcachedClient, sessionLocator));
     }
 
     @Override
@@ -45,82 +117,325 @@ public class XMemcachedClient implements IMemcachedClient {
 
     @Override
     public Object get(String key) {
+        return execute(key, "Failed to get key", () -> this.memcachedClient.get(key));
+    }
+
+    @Override
+    public void set(String key, int exp, Object value) {
+        execute(key, "Failed to set key", () -> this.memcachedClient.set(key, exp, value));
+    }
+
+    @Override
+    public boolean add(String key, int exp, Object value) {
+        return execute(key, "Failed to add key", () -> this.memcachedClient.add(key, exp, value));
+    }
+
+    @Override
+    public void touch(String key, int exp) {
+        execute(key, "Failed to touch key", () -> this.memcachedClient.touch(key, exp));
+    }
+
+    @Override
+    public void delete(String key) {
+        execute(key, "Failed to delete key", () -> this.memcachedClient.delete(key));
+    }
+
+    @Override
+    public void flush() {
         try {
-            return this.memcachedClient.get(key);
+            this.memcachedClient.flushAll();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to get key", e);
+            throw new MemcachedOperationException("Failed to flush all keys", e);
         } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to get key", e);
+            throw new MemcachedOperationException("Failed to flush all keys", e);
         }
     }
 
     @Override
-    public void set(String key, int exp, Object value) {
+    public long incr(String key, int by) {
+        return execute(key, "Failed to increment key", () -> this.memcachedClient.incr(key, by));
+    }
+
+    @Override
+    public Map<String, Object> getMulti(Collection<String> keys) {
         try {
-            this.memcachedClient.set(key, exp, value);
+            return this.memcachedClient.get(keys);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to set key", e);
+            throw new MemcachedOperationException("Failed to get keys", e);
         } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to set key", e);
+            throw new MemcachedOperationException("Failed to get keys", e);
         }
     }
 
+    /**
+     * Sets the values concurrently. XMemcached has no multi-set command, so every value is set with an acknowledged
+     * command on the async executor, and the call returns once all of them are acknowledged. The first failure is
+     * rethrown after all the commands completed.
+     */
     @Override
-    public void touch(String key, int exp) {
+    public void setMulti(Map<String, Object> values, int exp) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(values.size());
+        values.forEach((key, value) -> futures.add(setAsync(key, exp, value)));
+        awaitAll(futures, "Failed to set keys");
+    }
+
+    /**
+     * Deletes the keys concurrently, the same way as {@link #setMulti(Map, int)} sets the values.
+     */
+    @Override
+    public void deleteMulti(Collection<String> keys) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(keys.size());
+        keys.forEach(key -> futures.add(deleteAsync(key)));
+        awaitAll(futures, "Failed to delete keys");
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return supplyAsync(() -> get(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> setAsync(String key, int exp, Object value) {
+        return runAsync(() -> set(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addAsync(String key, int exp, Object value) {
+        return supplyAsync(() -> add(key, exp, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> touchAsync(String key, int exp) {
+        return runAsync(() -> touch(key, exp));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String key) {
+        return runAsync(() -> delete(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, int by) {
+        return supplyAsync(() -> incr(key, by));
+    }
+
+    @Override
+    public CompletableFuture<Void> setNoReply(String key, int exp, Object value) {
         try {
-            this.memcachedClient.touch(key, exp);
+            this.memcachedClient.setWithNoReply(key, exp, value);
+            return CompletableFuture.completedFuture(null);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to touch key", e);
-        } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to touch key", e);
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to set key", e));
+        } catch (MemcachedException e) {
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to set key", e));
         }
     }
 
     @Override
-    public void delete(String key) {
+    public CompletableFuture<Void> addNoReply(String key, int exp, Object value) {
         try {
-            this.memcachedClient.delete(key);
+            this.memcachedClient.addWithNoReply(key, exp, value);
+            return CompletableFuture.completedFuture(null);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to delete key", e);
-        } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to delete key", e);
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to add key", e));
+        } catch (MemcachedException e) {
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to add key", e));
         }
     }
 
     @Override
-    public void flush() {
+    public CompletableFuture<Void> deleteNoReply(String key) {
         try {
-            this.memcachedClient.flushAll();
+            this.memcachedClient.deleteWithNoReply(key);
+            return CompletableFuture.completedFuture(null);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to flush all keys", e);
-        } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to flush all keys", e);
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to delete key", e));
+        } catch (MemcachedException e) {
+            return CompletableFuture.failedFuture(new MemcachedOperationException("Failed to delete key", e));
         }
     }
 
     @Override
-    public long incr(String key, int by) {
+    public MemcachedTransportStatistics transportStatistics() {
+        return this.transportStatistics;
+    }
+
+    @Override
+    public Map<String, Map<String, String>> stats(String group) {
         try {
-            return this.memcachedClient.incr(key, by);
+            Map<InetSocketAddress, Map<String, String>> stats = (group == null)
+                    ? this.memcachedClient.getStats()
+                    : this.memcachedClient.getStatsByItem(group);
+            return MemcachedTransportStatistics.byAddress(stats);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new MemcachedOperationException("Failed to increment key", e);
+            throw new MemcachedOperationException("Failed to get server stats", e);
         } catch (TimeoutException | MemcachedException e) {
-            throw new MemcachedOperationException("Failed to increment key", e);
+            throw new MemcachedOperationException("Failed to get server stats", e);
         }
     }
 
+    @Override
+    public boolean supportsCodecs() {
+        return this.memcachedClient.getTranscoder() instanceof XMemcachedCodecTranscoder;
+    }
+
     @Override
     public void shutdown() {
         try {
             this.memcachedClient.shutdown();
         } catch (IOException e) {
             throw new MemcachedOperationException("Failed to shutdown client", e);
+        } finally {
+            this.asyncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes the single-key operation, attributing it to the server owning the key.
+     */
+    private <T> T execute(String key, String errorMessage, Operation<T> operation) {
+        final MemcachedTransportStatistics.ServerOperation serverOperation = this.transportStatistics.start(key);
+        try {
+            T result = operation.execute();
+            serverOperation.completed(null);
+            return result;
+        } catch (InterruptedException e) {
+            serverOperation.completed(e);
+            Thread.currentThread().interrupt();
+            throw new MemcachedOperationException(errorMessage, e);
+        } catch (TimeoutException | MemcachedException e) {
+            serverOperation.completed(e);
+            throw new MemcachedOperationException(errorMessage, e);
+        } catch (RuntimeException e) {
+            serverOperation.completed(e);
+            throw e;
+        }
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures, String errorMessage) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MemcachedOperationException cause) {
+                throw cause;
+            }
+            throw new MemcachedOperationException(errorMessage, e.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, this.asyncExecutor)
+                    .orTimeout(this.operationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> runAsync(Runnable operation) {
+        return supplyAsync(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Creates the executor of the async operations. The threads block on the server responses, so their number is
+     * bounded, and the operations queued beyond the queue capacity are rejected.
+     */
+    private static ExecutorService asyncExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("xmemcached-async-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(ASYNC_THREADS, ASYNC_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(ASYNC_QUEUE_CAPACITY), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @FunctionalInterface
+    private interface Operation<T> {
+        T execute() throws InterruptedException, TimeoutException, MemcachedException;
+    }
+
+    /**
+     * Reads the transport state from the XMemcached sessions. The operations are attributed to the session chosen by
+     * the session locator, so they are tracked only with a locator that always maps a key to the same server.
+     */
+    private static final class XMemcachedTransport implements MemcachedTransportStatistics.Transport {
+        private final MemcachedClient memcachedClient;
+        private final MemcachedSessionLocator sessionLocator;
+
+        private XMemcachedTransport(MemcachedClient memcachedClient, MemcachedSessionLocator sessionLocator) {
+            this.memcachedClient = memcachedClient;
+            this.sessionLocator = (sessionLocator instanceof RandomMemcachedSessionLocaltor
+                    || sessionLocator instanceof RoundRobinMemcachedSessionLocator) ? null : sessionLocator;
+        }
+
+        @Override
+        public void start(MemcachedTransportStatistics statistics) {
+            this.memcachedClient.addStateListener(new MemcachedClientStateListener() {
+                @Override
+                public void onStarted(MemcachedClient memcachedClient) {
+                }
+
+                @Override
+                public void onShutDown(MemcachedClient memcachedClient) {
+                }
+
+                @Override
+                public void onConnected(MemcachedClient memcachedClient, InetSocketAddress address) {
+                    statistics.connectionEstablished(address);
+                }
+
+                @Override
+                public void onDisconnected(MemcachedClient memcachedClient, InetSocketAddress address) {
+                    statistics.connectionLost(address);
+                }
+
+                @Override
+                public void onException(MemcachedClient memcachedClient, Throwable throwable) {
+                }
+            });
+        }
+
+        @Override
+        public Collection<InetSocketAddress> servers() {
+            return this.memcachedClient.getAvailableServers();
+        }
+
+        @Override
+        public InetSocketAddress locate(String key) {
+            if (this.sessionLocator == null) {
+                return null;
+            }
+            Session session = this.sessionLocator.getSessionByKey(key);
+            return (session != null) ? session.getRemoteSocketAddress() : null;
+        }
+
+        @Override
+        public boolean isConnected(InetSocketAddress address) {
+            return sessions(address).stream().anyMatch(session -> !session.isClosed());
+        }
+
+        @Override
+        public long writeQueueBytes(InetSocketAddress address) {
+            return sessions(address).stream().mapToLong(Session::getScheduleWritenBytes).sum();
+        }
+
+        @Override
+        public boolean isTimeout(Throwable error) {
+            return error instanceof TimeoutException;
+        }
+
+        private Collection<Session> sessions(InetSocketAddress address) {
+            Queue<Session> sessions = this.memcachedClient.getConnector().getSessionByAddress(address);
+            return (sessions != null) ? sessions : List.of();
         }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import net.rubyeye.xmemcached.transcoders.CachedData;
+import net.rubyeye.xmemcached.transcoders.CompressionMode;
+import net.rubyeye.xmemcached.transcoders.SerializingTranscoder;
+import net.rubyeye.xmemcached.transcoders.Transcoder;
+
+/**
+ * XMemcached {@link Transcoder} encoding the {@link MemcachedCodecValue} values with their codec. Other values are
+ * encoded by the delegate transcoder.
+ */
+public class XMemcachedCodecTranscoder implements Transcoder<Object> {
+
+    private final Transcoder<Object> delegate;
+
+    public XMemcachedCodecTranscoder() {
+        this(new SerializingTranscoder());
+    }
+
+    public XMemcachedCodecTranscoder(Transcoder<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CachedData encode(Object o) {
+        if (o instanceof MemcachedCodecValue codecValue) {
+            MemcachedCodecs.EncodedValue encoded = MemcachedCodecs.encodeValue(codecValue);
+            return new CachedData(encoded.flags(), encoded.data());
+        }
+        return this.delegate.encode(o);
+    }
+
+    @Override
+    public Object decode(CachedData d) {
+        if ((d.getFlag() & MemcachedCodecs.CODEC_FLAG) != 0) {
+            return MemcachedCodecs.decodeValue(d.getFlag(), d.getData());
+        }
+        return this.delegate.decode(d);
+    }
+
+    @Override
+    public void setPrimitiveAsString(boolean primitiveAsString) {
+        this.delegate.setPrimitiveAsString(primitiveAsString);
+    }
+
+    @Override
+    public void setPackZeros(boolean packZeros) {
+        this.delegate.setPackZeros(packZeros);
+    }
+
+    @Override
+    public void setCompressionThreshold(int to) {
+        this.delegate.setCompressionThreshold(to);
+    }
+
+    @Override
+    public boolean isPrimitiveAsString() {
+        return this.delegate.isPrimitiveAsString();
+    }
+
+    @Override
+    public boolean isPackZeros() {
+        return this.delegate.isPackZeros();
+    }
+
+    @Override
+    public void setCompressionMode(CompressionMode compressMode) {
+        this.delegate.setCompressionMode(compressMode);
+    }
+}
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -76,6 +78,17 @@ class AppEngineMemcachedClientTest {
         verify(service).put("my-key", "my-value", Expiration.byDeltaSeconds(12000));
     }
 
+    @Test
+    void whenAdd_thenCorrectMethodInvoked() {
+        given(service.put("my-key", "my-value", Expiration.byDeltaSeconds(12000), MemcacheService.SetPolicy.ADD_ONLY_IF_NOT_PRESENT))
+                .willReturn(true);
+
+        boolean result = memcachedClient.add("my-key", 12000, "my-value");
+
+        assertThat(result).isTrue();
+        verify(service).put("my-key", "my-value", Expiration.byDeltaSeconds(12000), MemcacheService.SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+    }
+
     @Test
     void whenTouch_thenCorrectMethodInvoked() {
         memcachedClient.touch("my-key", 700);
@@ -105,10 +118,73 @@ class AppEngineMemcachedClientTest {
         verify(service).increment("my-key", 2);
     }
 
+    @Test
+    void whenGetMulti_thenCorrectMethodInvoked() {
+        List<String> keys = List.of("my-key", "other-key");
+        given(service.getAll(keys)).willReturn(Map.of("my-key", "my-value"));
+
+        Map<String, Object> result = memcachedClient.getMulti(keys);
+
+        assertThat(result).containsOnly(Map.entry("my-key", "my-value"));
+        verify(service).getAll(keys);
+    }
+
+    @Test
+    void whenSetMulti_thenCorrectMethodInvoked() {
+        Map<String, Object> values = Map.of("my-key", "my-value", "other-key", "other-value");
+
+        memcachedClient.setMulti(values, 12000);
+
+        verify(service).putAll(values, Expiration.byDeltaSeconds(12000));
+    }
+
+    @Test
+    void whenDeleteMulti_thenCorrectMethodInvoked() {
+        List<String> keys = List.of("my-key", "other-key");
+
+        memcachedClient.deleteMulti(keys);
+
+        verify(service).deleteAll(keys);
+    }
+
     @Test
     void whenShutdown_thenCorrectMethodInvoked() {
         memcachedClient.shutdown();
 
         verifyNoInteractions(service);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenGetAsync_thenCompletedWithValue() {
+        Object result = memcachedClient.getAsync("my-key").join();
+
+        assertThat(result).isNotNull();
+        verify(service).get("my-key");
+    }
+
+    @Test
+    void whenSetAsync_thenCorrectMethodInvoked() {
+        memcachedClient.setAsync("my-key", 12000, "my-value").join();
+
+        verify(service).put("my-key", "my-value", Expiration.byDeltaSeconds(12000));
+    }
+
+    @Test
+    void whenAddAsync_thenCompletedWithValue() {
+        given(service.put("my-key", "my-value", Expiration.byDeltaSeconds(12000), MemcacheService.SetPolicy.ADD_ONLY_IF_NOT_PRESENT))
+                .willReturn(true);
+
+        Boolean result = memcachedClient.addAsync("my-key", 12000, "my-value").join();
+
+        assertThat(result).isTrue();
+        verify(service).put("my-key", "my-value", Expiration.byDeltaSeconds(12000), MemcacheService.SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+    }
+
+    @Test
+    void whenIncrAsync_thenCompletedWithValue() {
+        Long result = memcachedClient.incrAsync("my-key", 2).join();
+
+        assertThat(result).isEqualTo(123L);
+        verify(service).increment("my-key", 2);
+    }
+}
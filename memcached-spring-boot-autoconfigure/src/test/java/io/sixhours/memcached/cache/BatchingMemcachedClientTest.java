@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class BatchingMemcachedClientTest {
+
+    private final IMemcachedClient delegate = mock(IMemcachedClient.class);
+    private final MemcachedTransportStatistics statistics = mock(MemcachedTransportStatistics.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private BatchingMemcachedClient memcachedClient;
+
+    @BeforeEach
+    void setUp() {
+        MemcachedCacheProperties.Batching batching = new MemcachedCacheProperties.Batching();
+        batching.setEnabled(true);
+        batching.setMaxBatchSize(10);
+        batching.setMaxDelay(Duration.ZERO);
+        given(delegate.transportStatistics()).willReturn(statistics);
+
+        this.memcachedClient = new BatchingMemcachedClient(delegate, batching);
+        this.memcachedClient.setBatchListener(new BatchingMemcachedClient.BatchListener() {
+            @Override
+            public void batchSent(int batchSize) {
+                batchSizes.add(batchSize);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        memcachedClient.shutdown();
+    }
+
+    @Test
+    void whenGetOnIdleClient_thenSingleGetSent() {
+        given(delegate.get("my-key")).willReturn("my-value");
+
+        Object result = memcachedClient.get("my-key");
+
+        assertThat(result).isEqualTo("my-value");
+        assertThat(batchSizes).containsExactly(1);
+        verify(delegate).get("my-key");
+    }
+
+    @Test
+    void whenGetsQueuedDuringRunningGet_thenMergedIntoMultiGet() throws Exception {
+        CountDownLatch getStarted = new CountDownLatch(1);
+        CountDownLatch releaseGet = new CountDownLatch(1);
+        given(delegate.get("first-key")).willAnswer(invocation -> {
+            getStarted.countDown();
+            releaseGet.await();
+            return "first-value";
+        });
+        given(delegate.getMulti(anyCollection())).willReturn(Map.of("my-key", "my-value"));
+
+        CompletableFuture<Object> first = memcachedClient.getAsync("first-key");
+        getStarted.await();
+        CompletableFuture<Object> second = memcachedClient.getAsync("my-key");
+        CompletableFuture<Object> third = memcachedClient.getAsync("other-key");
+        CompletableFuture<Object> fourth = memcachedClient.getAsync("my-key");
+        releaseGet.countDown();
+
+        assertThat(first.join()).isEqualTo("first-value");
+        assertThat(second.join()).isEqualTo("my-value");
+        assertThat(third.join()).isNull();
+        assertThat(fourth.join()).isEqualTo("my-value");
+        await().untilAsserted(() -> assertThat(batchSizes).containsExactly(1, 3));
+        verify(delegate).getMulti(Set.of("my-key", "other-key"));
+    }
+
+    @Test
+    void whenMultiGetFails_thenAllBatchedGetsFail() throws Exception {
+        CountDownLatch getStarted = new CountDownLatch(1);
+        CountDownLatch releaseGet = new CountDownLatch(1);
+        given(delegate.get("first-key")).willAnswer(invocation -> {
+            getStarted.countDown();
+            releaseGet.await();
+            return "first-value";
+        });
+        given(delegate.getMulti(anyCollection())).willThrow(new MemcachedOperationException("Failed to get keys", null));
+
+        memcachedClient.getAsync("first-key");
+        getStarted.await();
+        CompletableFuture<Object> second = memcachedClient.getAsync("my-key");
+        CompletableFuture<Object> third = memcachedClient.getAsync("other-key");
+        releaseGet.countDown();
+
+        assertThatThrownBy(second::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MemcachedOperationException.class);
+        assertThatThrownBy(third::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MemcachedOperationException.class);
+    }
+
+    @Test
+    void whenGetsForDifferentServers_thenSlowServerDoesNotBlockOtherServer() throws Exception {
+        given(statistics.locate("slow-key")).willReturn("memcached-1:11211");
+        given(statistics.locate("my-key")).willReturn("memcached-2:11211");
+        CountDownLatch getStarted = new CountDownLatch(1);
+        CountDownLatch releaseGet = new CountDownLatch(1);
+        given(delegate.get("slow-key")).willAnswer(invocation -> {
+            getStarted.countDown();
+            releaseGet.await();
+            return "slow-value";
+        });
+        given(delegate.get("my-key")).willReturn("my-value");
+
+        CompletableFuture<Object> slow = memcachedClient.getAsync("slow-key");
+        getStarted.await();
+        Object result = memcachedClient.get("my-key");
+        releaseGet.countDown();
+
+        assertThat(result).isEqualTo("my-value");
+        assertThat(slow.join()).isEqualTo("slow-value");
+    }
+
+    @Test
+    void whenGetFailsWithError_thenGetFailsAndNextGetSent() {
+        given(delegate.get("my-key")).willThrow(new LinkageError("Test error"));
+        given(delegate.get("other-key")).willReturn("other-value");
+
+        assertThatThrownBy(() -> memcachedClient.get("my-key"))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasCauseInstanceOf(LinkageError.class);
+        assertThat(memcachedClient.get("other-key")).isEqualTo("other-value");
+    }
+
+    @Test
+    void whenGetExceedsOperationTimeout_thenGetFails() throws Exception {
+        MemcachedCacheProperties.Batching batching = new MemcachedCacheProperties.Batching();
+        batching.setEnabled(true);
+        batching.setMaxDelay(Duration.ZERO);
+        BatchingMemcachedClient timedClient = new BatchingMemcachedClient(delegate, batching, Duration.ofMillis(50));
+        CountDownLatch releaseGet = new CountDownLatch(1);
+        given(delegate.get("my-key")).willAnswer(invocation -> {
+            releaseGet.await();
+            return "my-value";
+        });
+
+        try {
+            assertThatThrownBy(() -> timedClient.get("my-key"))
+                    .isInstanceOf(MemcachedOperationException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+        } finally {
+            releaseGet.countDown();
+            timedClient.shutdown();
+        }
+    }
+
+    @Test
+    void whenSet_thenDelegateInvoked() {
+        memcachedClient.set("my-key", 12000, "my-value");
+
+        verify(delegate).set("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenShutdown_thenDelegateShutdownAndGetFails() {
+        memcachedClient.shutdown();
+
+        assertThatThrownBy(() -> memcachedClient.get("my-key"))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to get key");
+        verify(delegate, timeout(1000).times(1)).shutdown();
+    }
+}
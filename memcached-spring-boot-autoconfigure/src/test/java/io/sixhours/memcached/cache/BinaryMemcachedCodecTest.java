@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryMemcachedCodecTest {
+
+    private final BinaryMemcachedCodec codec = new BinaryMemcachedCodec();
+
+    @Test
+    void whenEncodePrimitives_thenDecodedToSameValues() {
+        List<Object> values = List.of("text \u2603", 42, 42L, 4.2d, 4.2f, (short) 7, (byte) 1, true, 'c');
+
+        for (Object value : values) {
+            assertThat(codec.decode(codec.encode(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void whenEncodeByteArray_thenDecodedToSameBytes() {
+        byte[] value = {1, 2, 3};
+
+        assertThat((byte[]) codec.decode(codec.encode(value))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void whenEncodeCollections_thenDecodedToSameTypes() {
+        ArrayList<Object> list = new ArrayList<>(Arrays.asList("a", 1, null));
+        HashSet<Object> set = new HashSet<>(Set.of("a", "b"));
+        LinkedHashSet<Object> linkedSet = new LinkedHashSet<>(List.of(3L, 1L, 2L));
+        HashMap<Object, Object> map = new HashMap<>(Map.of("a", list));
+        LinkedHashMap<Object, Object> linkedMap = new LinkedHashMap<>();
+        linkedMap.put("z", set);
+        linkedMap.put("a", linkedSet);
+
+        assertThat(codec.decode(codec.encode(list))).isInstanceOf(ArrayList.class).isEqualTo(list);
+        assertThat(codec.decode(codec.encode(set))).isInstanceOf(HashSet.class).isEqualTo(set);
+        assertThat(codec.decode(codec.encode(linkedSet))).isInstanceOf(LinkedHashSet.class).isEqualTo(linkedSet);
+        assertThat(codec.decode(codec.encode(map))).isInstanceOf(HashMap.class).isEqualTo(map);
+        assertThat((Map<?, ?>) codec.decode(codec.encode(linkedMap)))
+                .isInstanceOf(LinkedHashMap.class)
+                .containsExactly(Map.entry("z", set), Map.entry("a", linkedSet));
+    }
+
+    @Test
+    void whenEncodeOtherSerializable_thenJavaSerializationUsed() {
+        Book book = new Book("Kotlin in Action", Instant.parse("2017-02-01T00:00:00Z"));
+
+        assertThat(codec.decode(codec.encode(book))).isEqualTo(book);
+    }
+
+    @Test
+    void whenEncodeString_thenSmallerThanJavaSerialization() throws IOException {
+        String value = "value";
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(value);
+        }
+
+        assertThat(codec.encode(value)).hasSize(1 + Integer.BYTES + value.length());
+        assertThat(codec.encode(value).length).isLessThan(serialized.size());
+    }
+
+    record Book(String title, Instant published) implements Serializable {
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CircuitBreakingMemcachedClientTest {
+
+    private static final String KEY_1 = "memcached-1:11211/key";
+    private static final String KEY_2 = "memcached-2:11211/key";
+
+    private final IMemcachedClient delegate = mock(IMemcachedClient.class);
+    private final MemcachedTransportStatistics statistics = mock(MemcachedTransportStatistics.class);
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final List<String> breakersAdded = new ArrayList<>();
+
+    private CircuitBreakingMemcachedClient memcachedClient;
+
+    @BeforeEach
+    void setUp() {
+        given(delegate.transportStatistics()).willReturn(statistics);
+        given(statistics.locate(anyString())).willAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            return key.contains("/") ? key.substring(0, key.indexOf('/')) : null;
+        });
+
+        memcachedClient = new CircuitBreakingMemcachedClient(delegate, MemcachedCircuitBreakerTest.properties(), clock);
+        memcachedClient.setListener(breaker -> breakersAdded.add(breaker.name()));
+    }
+
+    @Test
+    void whenServerTimesOut_thenOnlyItsBreakerOpens() {
+        given(delegate.get(KEY_1)).willThrow(timeout());
+        given(delegate.get(KEY_2)).willReturn("value");
+
+        fail(4, () -> memcachedClient.get(KEY_1));
+        memcachedClient.get(KEY_2);
+
+        assertThat(breakerStates()).containsExactly(
+                Map.entry("client", MemcachedCircuitBreaker.State.CLOSED),
+                Map.entry("memcached-1:11211", MemcachedCircuitBreaker.State.OPEN),
+                Map.entry("memcached-2:11211", MemcachedCircuitBreaker.State.CLOSED));
+        assertThat(breakersAdded).containsExactly("client", "memcached-1:11211", "memcached-2:11211");
+    }
+
+    @Test
+    void whenServerBreakerOpen_thenReadsMissAndWritesSkipped() {
+        given(delegate.get(KEY_1)).willThrow(timeout());
+        fail(4, () -> memcachedClient.get(KEY_1));
+
+        assertThat(memcachedClient.get(KEY_1)).isNull();
+        assertThat(memcachedClient.getAsync(KEY_1)).isCompletedWithValue(null);
+        assertThat(memcachedClient.add(KEY_1, 10, "value")).isTrue();
+        assertThat(memcachedClient.addAsync(KEY_1, 10, "value")).isCompletedWithValue(false);
+        memcachedClient.set(KEY_1, 10, "value");
+        memcachedClient.delete(KEY_1);
+        assertThat(memcachedClient.setNoReply(KEY_1, 10, "value")).isCompletedWithValue(null);
+
+        verify(delegate, times(4)).get(KEY_1);
+        verify(delegate, never()).getAsync(KEY_1);
+        verify(delegate, never()).add(KEY_1, 10, "value");
+        verify(delegate, never()).addAsync(KEY_1, 10, "value");
+        verify(delegate, never()).set(KEY_1, 10, "value");
+        verify(delegate, never()).delete(KEY_1);
+        verify(delegate, never()).setNoReply(KEY_1, 10, "value");
+    }
+
+    @Test
+    void whenServerBreakerOpen_thenItsKeysSkippedByMultiKeyOperations() {
+        given(delegate.get(KEY_1)).willThrow(timeout());
+        given(delegate.getMulti(List.of(KEY_2))).willReturn(Map.of(KEY_2, "value"));
+        fail(4, () -> memcachedClient.get(KEY_1));
+
+        assertThat(memcachedClient.getMulti(List.of(KEY_1, KEY_2))).containsExactly(Map.entry(KEY_2, "value"));
+        memcachedClient.setMulti(Map.of(KEY_1, "value"), 10);
+        memcachedClient.deleteMulti(List.of(KEY_1, KEY_2));
+
+        verify(delegate).getMulti(List.of(KEY_2));
+        verify(delegate, never()).setMulti(Map.of(KEY_1, "value"), 10);
+        verify(delegate).deleteMulti(List.of(KEY_2));
+    }
+
+    @Test
+    void whenAsyncOperationsFail_thenClientBreakerOpensForUnlocatedKeys() {
+        given(delegate.getAsync("key")).willReturn(CompletableFuture.failedFuture(timeout()));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(memcachedClient.getAsync("key")).isCompletedWithValue(null);
+        }
+
+        assertThat(memcachedClient.getAsync("key")).isCompletedWithValue(null);
+        assertThat(memcachedClient.breakers().get(0).state()).isEqualTo(MemcachedCircuitBreaker.State.OPEN);
+        verify(delegate, times(4)).getAsync("key");
+    }
+
+    @Test
+    void whenOperationsFailBeforeBreakerOpens_thenReadsMissAndWritesSkipped() {
+        given(delegate.add(KEY_1, 10, "value")).willThrow(timeout());
+        given(delegate.incr(KEY_1, 1)).willThrow(timeout());
+        given(delegate.setNoReply(KEY_1, 10, "value")).willThrow(timeout());
+
+        assertThat(memcachedClient.add(KEY_1, 10, "value")).isTrue();
+        assertThat(memcachedClient.incr(KEY_1, 1)).isEqualTo(-1L);
+        assertThat(memcachedClient.setNoReply(KEY_1, 10, "value")).isCompletedWithValue(null);
+
+        assertThat(breakerStates()).containsEntry("memcached-1:11211", MemcachedCircuitBreaker.State.CLOSED);
+        verify(delegate).add(KEY_1, 10, "value");
+        verify(delegate).incr(KEY_1, 1);
+        verify(delegate).setNoReply(KEY_1, 10, "value");
+    }
+
+    @Test
+    void whenOperationsFailOutsideTransport_thenRethrownAndNotCounted() {
+        IllegalArgumentException encodingError = new IllegalArgumentException("Failed to encode value");
+        willThrow(encodingError).given(delegate).set(KEY_1, 10, "value");
+        given(delegate.setAsync(KEY_1, 10, "value")).willReturn(CompletableFuture.failedFuture(encodingError));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> memcachedClient.set(KEY_1, 10, "value")).isSameAs(encodingError);
+            assertThatThrownBy(() -> memcachedClient.setAsync(KEY_1, 10, "value").join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCause(encodingError);
+        }
+
+        MemcachedCircuitBreaker breaker = memcachedClient.breakers().get(1);
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+        assertThat(breaker.errors()).isZero();
+        verify(delegate, times(4)).set(KEY_1, 10, "value");
+        verify(delegate, times(4)).setAsync(KEY_1, 10, "value");
+    }
+
+    @Test
+    void whenOpenDurationElapsedAndTrialsSucceed_thenServerUsedAgain() {
+        given(delegate.get(KEY_1)).willThrow(timeout()).willThrow(timeout()).willThrow(timeout())
+                .willThrow(timeout()).willReturn("value");
+        fail(4, () -> memcachedClient.get(KEY_1));
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(memcachedClient.get(KEY_1)).isEqualTo("value");
+        assertThat(memcachedClient.get(KEY_1)).isEqualTo("value");
+
+        assertThat(breakerStates()).containsEntry("memcached-1:11211", MemcachedCircuitBreaker.State.CLOSED);
+        verify(delegate, times(6)).get(KEY_1);
+    }
+
+    private Map<String, MemcachedCircuitBreaker.State> breakerStates() {
+        Map<String, MemcachedCircuitBreaker.State> states = new LinkedHashMap<>();
+        memcachedClient.breakers().forEach(breaker -> states.put(breaker.name(), breaker.state()));
+        return states;
+    }
+
+    private static void fail(int times, Supplier<Object> operation) {
+        for (int i = 0; i < times; i++) {
+            assertThat(operation.get()).isNull();
+        }
+    }
+
+    private static MemcachedOperationException timeout() {
+        return new MemcachedOperationException("Failed to get key", new TimeoutException("Timed out"));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JacksonMemcachedCodecTest {
+
+    private final JacksonMemcachedCodec codec = new JacksonMemcachedCodec(List.of(Book.class.getName()));
+
+    @Test
+    void whenEncodeRecord_thenDecodedToSameType() {
+        Book book = new Book("Kotlin in Action", List.of("Dmitry Jemerov", "Svetlana Isakova"));
+
+        assertThat(codec.decode(codec.encode(book))).isEqualTo(book);
+    }
+
+    @Test
+    void whenEncodeString_thenJsonStoredAfterTypeName() {
+        byte[] data = codec.encode("value");
+
+        assertThat(new String(data, StandardCharsets.UTF_8)).endsWith("java.lang.String\"value\"");
+        assertThat(codec.decode(data)).isEqualTo("value");
+    }
+
+    @Test
+    void whenDecodeUnknownType_thenFails() {
+        byte[] data = codec.encode("value");
+        data[Short.BYTES] = 'x';
+
+        assertThatThrownBy(() -> codec.decode(data))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed to decode value of type xava.lang.String");
+    }
+
+    @Test
+    void whenDecodeTypeNotAllowed_thenFails() {
+        JacksonMemcachedCodec defaultCodec = new JacksonMemcachedCodec();
+        byte[] data = defaultCodec.encode(new Book("Kotlin in Action", List.of("Dmitry Jemerov")));
+
+        assertThatThrownBy(() -> defaultCodec.decode(data))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(String.format("Type %s is not allowed to be decoded", Book.class.getName()));
+    }
+
+    @Test
+    void whenDecodeJdkCollection_thenDecodedWithoutAllowedTypes() {
+        JacksonMemcachedCodec defaultCodec = new JacksonMemcachedCodec();
+
+        assertThat(defaultCodec.decode(defaultCodec.encode(new ArrayList<>(List.of("value")))))
+                .isEqualTo(List.of("value"));
+    }
+
+    record Book(String title, List<String> authors) {
+    }
+}
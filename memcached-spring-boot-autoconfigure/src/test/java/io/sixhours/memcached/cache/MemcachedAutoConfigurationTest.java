@@ -37,8 +37,12 @@ import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -156,6 +160,36 @@ class MemcachedAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void whenKeyGeneratorNotEnabledThenSimpleKeyGeneratorUsed() {
+        this.contextRunner.withUserConfiguration(CacheConfiguration.class)
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(MemcachedKeyGenerator.class);
+                    assertThat(context.getBean(CacheInterceptor.class).getKeyGenerator()).isInstanceOf(SimpleKeyGenerator.class);
+                });
+    }
+
+    @Test
+    void whenKeyGeneratorEnabledThenMemcachedKeyGeneratorUsed() {
+        this.contextRunner.withUserConfiguration(CacheConfiguration.class)
+                .withPropertyValues("memcached.cache.key-generator.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(MemcachedKeyGenerator.class);
+                    assertThat(context.getBean(CacheInterceptor.class).getKeyGenerator())
+                            .isSameAs(context.getBean(MemcachedKeyGenerator.class));
+                });
+    }
+
+    @Test
+    void whenKeyGeneratorEnabledAndCustomCachingConfigurerThenCustomKeyGeneratorUsed() {
+        this.contextRunner.withUserConfiguration(CacheWithCachingConfigurerConfiguration.class)
+                .withPropertyValues("memcached.cache.key-generator.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(CachingConfigurer.class);
+                    assertThat(context.getBean(CacheInterceptor.class).getKeyGenerator()).isInstanceOf(SimpleKeyGenerator.class);
+                });
+    }
+
     @Test
     void whenAwsProviderAndMultipleServerListThenMemcachedNotLoaded() {
         this.contextRunner.withUserConfiguration(CacheConfiguration.class)
@@ -441,6 +475,15 @@ class MemcachedAutoConfigurationTest {
         }
     }
 
+    @Configuration
+    static class CacheWithCachingConfigurerConfiguration extends CacheConfiguration implements CachingConfigurer {
+
+        @Override
+        public KeyGenerator keyGenerator() {
+            return new SimpleKeyGenerator();
+        }
+    }
+
     @Configuration
     static class CacheWithSpyMemcachedClientCustomizerConfiguration extends CacheConfiguration {
 
@@ -16,13 +16,19 @@
 package io.sixhours.memcached.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -102,4 +108,39 @@ class MemcachedCacheManagerTest {
         Object actual = result.toArray()[0];
         assertThat(actual).isInstanceOfSatisfying(MemcachedCache.class, (MemcachedCache cache) -> assertThat(cache.getName()).isEqualTo(EXISTING_CACHE));
     }
+
+    @Test
+    void whenDestroyThenShutdownClientAndKeepCustomRefreshExecutor() {
+        IMemcachedClient memcachedClient = mock(IMemcachedClient.class);
+        ExecutorService refreshExecutor = mock(ExecutorService.class);
+        DisposableMemcachedCacheManager disposableCacheManager = new DisposableMemcachedCacheManager(memcachedClient);
+        disposableCacheManager.setRefreshExecutor(refreshExecutor);
+
+        disposableCacheManager.destroy();
+
+        verify(memcachedClient).shutdown();
+        verifyNoInteractions(refreshExecutor);
+    }
+
+    @Test
+    void whenCodecAndClientWithoutCodecSupportThenFail() {
+        assertThatThrownBy(() -> cacheManager.setCodec(BinaryMemcachedCodec.NAME))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Codec 'binary' requires the memcached client to use the XMemcachedCodecTranscoder or "
+                        + "SpyMemcachedCodecTranscoder");
+        assertThatThrownBy(() -> cacheManager.setCodecPerCache(Map.of(EXISTING_CACHE, BinaryMemcachedCodec.NAME)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void whenCodecAndClientWithCodecSupportThenCacheEncodesWithCodec() {
+        IMemcachedClient memcachedClient = mock(IMemcachedClient.class);
+        when(memcachedClient.supportsCodecs()).thenReturn(true);
+        MemcachedCacheManager codecCacheManager = new MemcachedCacheManager(memcachedClient);
+
+        codecCacheManager.setCodec(BinaryMemcachedCodec.NAME);
+        codecCacheManager.setCodecPerCache(Map.of(EXISTING_CACHE, MemcachedCodecs.JAVA));
+
+        assertThat(codecCacheManager.getCache(NON_EXISTING_CACHE)).isNotNull();
+    }
 }
@@ -18,9 +18,12 @@ package io.sixhours.memcached.cache;
 import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
-import net.rubyeye.xmemcached.MemcachedClient;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -33,9 +36,10 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
-import java.net.InetSocketAddress;
-import java.util.Collections;
+import java.time.Duration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -110,19 +114,108 @@ class MemcachedCacheMeterBinderProviderConfigurationTest {
         FunctionCounter hits = registry.get("cache.gets").tags(expectedTag).tag("result", "hit").functionCounter();
         FunctionCounter misses = registry.get("cache.gets").tags(expectedTag).tag("result", "miss").functionCounter();
         FunctionCounter puts = registry.get("cache.puts").tags(expectedTag).functionCounter();
-        double availableServersCount = registry.get("available_servers_count").gauge().value();
+        FunctionCounter coalescedLoads = registry.get("cache.loads.coalesced").tags(expectedTag).functionCounter();
+        FunctionCounter refreshes = registry.get("cache.refreshes").tags(expectedTag).functionCounter();
+        FunctionCounter failedWrites = registry.get("cache.writes.failed").tags(expectedTag).functionCounter();
+        FunctionCounter nearHits = registry.get("cache.near.gets").tags(expectedTag).tag("result", "hit").functionCounter();
+        FunctionCounter memcachedHits = registry.get("cache.memcached.gets").tags(expectedTag).tag("result", "hit").functionCounter();
+        Timer memcachedGets = registry.get("cache.memcached.operations").tags(expectedTag).tag("operation", "get").timer();
+        Timer memcachedSets = registry.get("cache.memcached.operations").tags(expectedTag).tag("operation", "set").timer();
+        Timer loads = registry.get("cache.loads").tags(expectedTag).tag("result", "success").timer();
 
         assertThat(hits.count()).isZero();
         assertThat(misses.count()).isZero();
         assertThat(puts.count()).isZero();
-        assertThat(availableServersCount).isEqualTo(1.0);
+        assertThat(coalescedLoads.count()).isZero();
+        assertThat(refreshes.count()).isZero();
+        assertThat(failedWrites.count()).isZero();
+        assertThat(nearHits.count()).isZero();
+        assertThat(memcachedHits.count()).isZero();
+        assertThat(registry.find("cache.write.queue.size").gauge()).isNull();
 
         getCacheKeyValues(books, "a", "b", "b", "c", "d", "c", "a", "a", "a", "d");
 
         assertThat(hits.count()).isEqualTo(6);
         assertThat(misses.count()).isEqualTo(4);
+        assertThat(memcachedHits.count()).isEqualTo(6);
         assertThat(puts.count()).isZero();
-        assertThat(availableServersCount).isEqualTo(1.0);
+        assertThat(memcachedGets.count()).isEqualTo(20);
+        assertThat(memcachedSets.count()).isZero();
+        assertThat(loads.count()).isZero();
+    }
+
+    @Test
+    void whenOperationTimersDisabledThenTimersNotBound() {
+        loadContext(CacheWithMemcachedCacheManagerConfiguration.class);
+
+        CacheMeterBinderProvider provider = this.context.getBean(
+                "memcachedCacheMeterBinderProvider", CacheMeterBinderProvider.class);
+        MemcachedCache books = (MemcachedCache) this.context.getBean(CacheManager.class).getCache("books");
+        MemcachedCacheProperties.Metrics metricsProperties = new MemcachedCacheProperties.Metrics();
+        metricsProperties.setOperationTimers(false);
+        books.setMetrics(metricsProperties);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        provider.getMeterBinder(books, expectedTag).bindTo(registry);
+
+        assertThat(registry.find("cache.memcached.operations").timer()).isNull();
+        assertThat(registry.find("cache.loads").timer()).isNull();
+        assertThat(registry.get("cache.gets").tags(expectedTag).tag("result", "hit").functionCounter()).isNotNull();
+    }
+
+    @Test
+    void whenPercentilesAndSloConfiguredThenPublishedByOperationTimers() {
+        loadContext(CacheWithMemcachedCacheManagerConfiguration.class);
+
+        CacheMeterBinderProvider provider = this.context.getBean(
+                "memcachedCacheMeterBinderProvider", CacheMeterBinderProvider.class);
+        MemcachedCache books = (MemcachedCache) this.context.getBean(CacheManager.class).getCache("books");
+        MemcachedCacheProperties.Metrics metricsProperties = new MemcachedCacheProperties.Metrics();
+        metricsProperties.setPercentiles(List.of(0.99));
+        metricsProperties.setSlo(List.of(Duration.ofMillis(5)));
+        books.setMetrics(metricsProperties);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        provider.getMeterBinder(books, expectedTag).bindTo(registry);
+        books.get("a");
+
+        HistogramSnapshot snapshot = registry.get("cache.memcached.operations").tag("operation", "get").timer()
+                .takeSnapshot();
+
+        assertThat(snapshot.percentileValues()).extracting(ValueAtPercentile::percentile).containsExactly(0.99);
+        assertThat(snapshot.histogramCounts()).extracting(CountAtBucket::bucket)
+                .containsExactly((double) Duration.ofMillis(5).toNanos());
+        assertThat(snapshot.count()).isEqualTo(2);
+    }
+
+    @Test
+    void whenServerStatsMetricsEnabledThenServerStatsMetricsLoaded() {
+        loadContext(CacheWithMemcachedCacheManagerConfiguration.class, "memcached.cache.server-stats.metrics=true");
+
+        assertThat(this.context.getBeansOfType(MemcachedServerStatsMetrics.class)).hasSize(1);
+    }
+
+    @Test
+    void whenServerStatsMetricsNotEnabledThenServerStatsMetricsNotLoaded() {
+        loadContext(CacheWithMemcachedCacheManagerConfiguration.class);
+
+        assertThat(this.context.getBeansOfType(MemcachedServerStatsMetrics.class)).isEmpty();
+    }
+
+    @Test
+    void whenMultipleMemcachedCacheManagersThenClientMetricsBoundPerCacheManager() {
+        loadContext(MultipleMemcachedCacheManagersConfiguration.class, "memcached.cache.server-stats.metrics=true");
+
+        assertThat(this.context.getBeansOfType(MemcachedBatchingMetrics.class)).hasSize(1);
+        assertThat(this.context.getBeansOfType(MemcachedTransportMetrics.class)).hasSize(1);
+        assertThat(this.context.getBeansOfType(MemcachedServerStatsMetrics.class)).hasSize(1);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        this.context.getBean(MemcachedCircuitBreakerMetrics.class).bindTo(registry);
+
+        assertThat(registry.find("memcached.circuit.breaker.state").tag("state", "closed").gauges())
+                .extracting(gauge -> gauge.getId().getTag("cache.manager"))
+                .containsExactlyInAnyOrder("books", "authors");
     }
 
     private void getCacheKeyValues(Cache cache, String... keys) {
@@ -156,8 +249,6 @@ class MemcachedCacheMeterBinderProviderConfigurationTest {
         @Bean
         public MemcachedCacheManager cacheManager() {
             final XMemcachedClient memcachedClient = mock(XMemcachedClient.class);
-            final MemcachedClient client = mock(MemcachedClient.class);
-
 
             given(memcachedClient.get(any()))
                     .willReturn("namespace").willReturn(null)
@@ -170,12 +261,26 @@ class MemcachedCacheMeterBinderProviderConfigurationTest {
                     .willReturn("namespace").willReturn("a")
                     .willReturn("namespace").willReturn("a")
                     .willReturn("namespace").willReturn("d");
-            given(memcachedClient.nativeClient()).willReturn(client);
-            given(client.getAvailableServers())
-                    .willReturn(Collections.singletonList(new InetSocketAddress("127.0.0.1", 11222)));
 
             return new MemcachedCacheManager(memcachedClient);
         }
     }
 
+    @Configuration
+    static class MultipleMemcachedCacheManagersConfiguration extends CacheConfiguration {
+
+        @Bean
+        @Primary
+        public MemcachedCacheManager booksCacheManager() {
+            return new MemcachedCacheManager(new CircuitBreakingMemcachedClient(mock(XMemcachedClient.class),
+                    MemcachedCircuitBreakerTest.properties()));
+        }
+
+        @Bean
+        public MemcachedCacheManager authorsCacheManager() {
+            return new MemcachedCacheManager(new CircuitBreakingMemcachedClient(mock(XMemcachedClient.class),
+                    MemcachedCircuitBreakerTest.properties()));
+        }
+    }
+
 }
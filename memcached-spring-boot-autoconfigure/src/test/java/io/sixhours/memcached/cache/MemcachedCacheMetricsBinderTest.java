@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.cache.metrics.CacheMetricsRegistrar;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MemcachedCacheMetricsBinderTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MemcachedCacheManager cacheManager = new MemcachedCacheManager(mock(IMemcachedClient.class));
+    private final MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+
+    private ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheMetricsRegistrar",
+                new CacheMetricsRegistrar(registry, List.of(new MemcachedCacheMeterBinderProvider())));
+        cacheMetricsRegistrar = beanFactory.getBeanProvider(CacheMetricsRegistrar.class);
+
+        cacheManager.setMetrics(metrics);
+    }
+
+    @Test
+    void whenCacheCreatedOnFirstUse_thenBoundWithCacheManagerTag() {
+        bindCacheManager("memcachedCacheManager");
+
+        cacheManager.getCache("books");
+
+        assertThat(registry.get("cache.gets").tag("cache", "books").tag("cache.manager", "memcached")
+                .tag("result", "hit").functionCounter()).isNotNull();
+    }
+
+    @Test
+    void whenCacheNameExcluded_thenNotBound() {
+        metrics.setInclude(List.of("book*"));
+        metrics.setExclude(List.of("books-draft"));
+        bindCacheManager("cacheManager");
+
+        cacheManager.getCache("books");
+        cacheManager.getCache("books-draft");
+        cacheManager.getCache("authors");
+
+        assertThat(registry.find("cache.gets").tag("cache", "books").tag("cache.manager", "cacheManager")
+                .functionCounters()).isNotEmpty();
+        assertThat(registry.find("cache.gets").tag("cache", "books-draft").functionCounters()).isEmpty();
+        assertThat(registry.find("cache.gets").tag("cache", "authors").functionCounters()).isEmpty();
+    }
+
+    @Test
+    void whenMaxCachesReached_thenLaterCachesNotBound() {
+        metrics.setMaxCaches(2);
+        bindCacheManager("cacheManager");
+
+        cacheManager.getCache("cache-1");
+        cacheManager.getCache("cache-2");
+        cacheManager.getCache("cache-3");
+        cacheManager.getCache("cache-1");
+
+        assertThat(registry.find("cache.gets").tag("cache", "cache-1").functionCounters()).isNotEmpty();
+        assertThat(registry.find("cache.gets").tag("cache", "cache-2").functionCounters()).isNotEmpty();
+        assertThat(registry.find("cache.gets").tag("cache", "cache-3").functionCounters()).isEmpty();
+    }
+
+    @Test
+    void whenCacheListedInMetricsCacheNames_thenNotBoundAgain() {
+        cacheManager.setMetricsCacheNames(List.of("books"));
+        cacheManager.afterPropertiesSet();
+        bindCacheManager("cacheManager");
+
+        cacheManager.getCache("books");
+
+        assertThat(registry.find("cache.gets").tag("cache", "books").functionCounters()).isEmpty();
+    }
+
+    @Test
+    void whenNoCacheMetricsRegistrar_thenCacheNotBound() {
+        new MemcachedCacheMetricsBinder(Map.of("cacheManager", cacheManager),
+                new StaticListableBeanFactory().getBeanProvider(CacheMetricsRegistrar.class))
+                .afterSingletonsInstantiated();
+
+        assertThat(cacheManager.getCache("books")).isInstanceOf(MemcachedCache.class);
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private void bindCacheManager(String beanName) {
+        new MemcachedCacheMetricsBinder(Map.of(beanName, cacheManager), cacheMetricsRegistrar)
+                .afterSingletonsInstantiated();
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -145,4 +146,173 @@ class MemcachedCachePropertiesDefaultValuesTest {
                 .isNotNull()
                 .isEqualTo(MemcachedCacheProperties.HashStrategy.STANDARD);
     }
+
+    @Test
+    void whenGetNamespaceRefreshInterval_thenCorrectValue() {
+        Duration result = memcachedCacheProperties.getNamespaceRefreshInterval();
+
+        assertThat(result)
+                .isNotNull()
+                .isZero();
+    }
+
+    @Test
+    void whenGetInvalidationStrategy_thenCorrectValue() {
+        MemcachedCacheProperties.InvalidationStrategy result = memcachedCacheProperties.getInvalidationStrategy();
+
+        assertThat(result)
+                .isNotNull()
+                .isEqualTo(MemcachedCacheProperties.InvalidationStrategy.NAMESPACE);
+    }
+
+    @Test
+    void whenGetLease_thenCorrectValue() {
+        MemcachedCacheProperties.Lease result = memcachedCacheProperties.getLease();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getTtl()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(result.getWaitTimeout()).isEqualTo(Duration.ofMillis(2000));
+        assertThat(result.getPollInterval()).isEqualTo(Duration.ofMillis(50));
+        assertThat(result.getFallback()).isEqualTo(MemcachedCacheProperties.Lease.Fallback.LOAD);
+        assertThat(memcachedCacheProperties.getLeasePerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetRefresh_thenCorrectValue() {
+        MemcachedCacheProperties.Refresh result = memcachedCacheProperties.getRefresh();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getSoftTtl()).isZero();
+        assertThat(result.getEarlyRefreshBeta()).isZero();
+        assertThat(memcachedCacheProperties.getRefreshPerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetNearCache_thenCorrectValue() {
+        MemcachedCacheProperties.NearCache result = memcachedCacheProperties.getNearCache();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getMaxSize()).isEqualTo(1000);
+        assertThat(result.getTtl()).isEqualTo(Duration.ofMillis(5000));
+        assertThat(memcachedCacheProperties.getNearCachePerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetWriteMode_thenCorrectValue() {
+        assertThat(memcachedCacheProperties.getWriteMode()).isEqualTo(MemcachedCacheProperties.WriteMode.ACKNOWLEDGED);
+        assertThat(memcachedCacheProperties.getWriteModePerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetBatching_thenCorrectValue() {
+        MemcachedCacheProperties.Batching result = memcachedCacheProperties.getBatching();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getMaxBatchSize()).isEqualTo(64);
+        assertThat(result.getMaxDelay()).isEqualTo(Duration.ofMillis(2));
+    }
+
+    @Test
+    void whenGetWriteBehind_thenCorrectValue() {
+        MemcachedCacheProperties.WriteBehind result = memcachedCacheProperties.getWriteBehind();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getCapacity()).isEqualTo(10000);
+        assertThat(result.getBatchSize()).isEqualTo(100);
+        assertThat(result.getFullPolicy()).isEqualTo(MemcachedCacheProperties.WriteBehind.FullPolicy.WRITE);
+        assertThat(memcachedCacheProperties.getWriteBehindPerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetCompression_thenCorrectValue() {
+        MemcachedCacheProperties.Compression result = memcachedCacheProperties.getCompression();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getThreshold()).isEqualTo(DataSize.ofBytes(1024));
+        assertThat(result.getAlgorithm()).isEqualTo("deflate");
+        assertThat(result.getLevel()).isEqualTo(-1);
+        assertThat(result.getMaxRatio()).isEqualTo(0.9);
+        assertThat(memcachedCacheProperties.getCompressionPerCache()).isEmpty();
+    }
+
+    @Test
+    void whenGetKeyGenerator_thenCorrectValue() {
+        MemcachedCacheProperties.KeyGenerator result = memcachedCacheProperties.getKeyGenerator();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getMaxLength()).isEqualTo(100);
+    }
+
+    @Test
+    void whenGetMetrics_thenCorrectValue() {
+        MemcachedCacheProperties.Metrics result = memcachedCacheProperties.getMetrics();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isOperationTimers()).isTrue();
+        assertThat(result.getPercentiles()).isEmpty();
+        assertThat(result.isPercentileHistogram()).isFalse();
+        assertThat(result.getSlo()).isEmpty();
+        assertThat(result.getSampleRate()).isEqualTo(1.0);
+        assertThat(result.getInclude()).containsExactly("*");
+        assertThat(result.getExclude()).isEmpty();
+        assertThat(result.getMaxCaches()).isEqualTo(100);
+    }
+
+    @Test
+    void whenGetServerStats_thenCorrectValue() {
+        MemcachedCacheProperties.ServerStats result = memcachedCacheProperties.getServerStats();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getMinInterval()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(result.isMetrics()).isFalse();
+    }
+
+    @Test
+    void whenGetHotKeys_thenCorrectValue() {
+        MemcachedCacheProperties.HotKeys result = memcachedCacheProperties.getHotKeys();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getCapacity()).isEqualTo(100);
+        assertThat(result.getTop()).isEqualTo(10);
+        assertThat(result.getSampleRate()).isEqualTo(0.01);
+        assertThat(result.getDecayInterval()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void whenGetHotKeyReplication_thenCorrectValue() {
+        MemcachedCacheProperties.HotKeyReplication result = memcachedCacheProperties.getHotKeyReplication();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getCopies()).isEqualTo(3);
+        assertThat(result.getThreshold()).isEqualTo(10000);
+        assertThat(result.getCopyExpiration()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(result.getKeys()).isEmpty();
+    }
+
+    @Test
+    void whenGetCircuitBreaker_thenCorrectValue() {
+        MemcachedCacheProperties.CircuitBreaker result = memcachedCacheProperties.getCircuitBreaker();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getFailureRateThreshold()).isEqualTo(0.5);
+        assertThat(result.getWindowSize()).isEqualTo(20);
+        assertThat(result.getMinimumCalls()).isEqualTo(10);
+        assertThat(result.getOpenDuration()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(result.getHalfOpenTrials()).isEqualTo(3);
+    }
+
+    @Test
+    void whenGetCodec_thenCorrectValue() {
+        assertThat(memcachedCacheProperties.getCodec()).isEqualTo("java");
+        assertThat(memcachedCacheProperties.getCodecPerCache()).isEmpty();
+    }
 }
@@ -23,6 +23,7 @@ import org.springframework.boot.test.context.ConfigDataApplicationContextInitial
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -174,6 +175,228 @@ class MemcachedCachePropertiesTest {
                 .isEqualTo(MemcachedCacheProperties.HashStrategy.KETAMA);
     }
 
+    @Test
+    void whenGetNamespaceRefreshInterval_thenCorrectValue() {
+        Duration result = memcachedCacheProperties.getNamespaceRefreshInterval();
+
+        assertThat(result)
+                .isNotNull()
+                .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void whenGetInvalidationStrategy_thenCorrectValue() {
+        MemcachedCacheProperties.InvalidationStrategy result = memcachedCacheProperties.getInvalidationStrategy();
+
+        assertThat(result)
+                .isNotNull()
+                .isEqualTo(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+    }
+
+    @Test
+    void whenGetLease_thenCorrectValue() {
+        MemcachedCacheProperties.Lease result = memcachedCacheProperties.getLease();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getTtl()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(result.getWaitTimeout()).isEqualTo(Duration.ofMillis(1500));
+        assertThat(result.getPollInterval()).isEqualTo(Duration.ofMillis(25));
+        assertThat(result.getFallback()).isEqualTo(MemcachedCacheProperties.Lease.Fallback.FAIL);
+    }
+
+    @Test
+    void whenGetLeasePerCache_thenCorrectValue() {
+        Map<String, MemcachedCacheProperties.Lease> result = memcachedCacheProperties.getLeasePerCache();
+
+        assertThat(result)
+                .isNotNull()
+                .hasSize(1)
+                .containsKey("cache_name1");
+        assertThat(result.get("cache_name1").isEnabled()).isFalse();
+        assertThat(result.get("cache_name1").getTtl()).isEqualTo(Default.LEASE_TTL);
+    }
+
+    @Test
+    void whenGetRefresh_thenCorrectValue() {
+        MemcachedCacheProperties.Refresh result = memcachedCacheProperties.getRefresh();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getSoftTtl()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(result.getEarlyRefreshBeta()).isEqualTo(1.5);
+    }
+
+    @Test
+    void whenGetRefreshPerCache_thenCorrectValue() {
+        Map<String, MemcachedCacheProperties.Refresh> result = memcachedCacheProperties.getRefreshPerCache();
+
+        assertThat(result)
+                .isNotNull()
+                .hasSize(1)
+                .containsKey("cache_name2");
+        assertThat(result.get("cache_name2").getSoftTtl()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(result.get("cache_name2").getEarlyRefreshBeta()).isZero();
+    }
+
+    @Test
+    void whenGetNearCache_thenCorrectValue() {
+        MemcachedCacheProperties.NearCache result = memcachedCacheProperties.getNearCache();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getMaxSize()).isEqualTo(500);
+        assertThat(result.getTtl()).isEqualTo(Duration.ofMillis(2000));
+    }
+
+    @Test
+    void whenGetNearCachePerCache_thenCorrectValue() {
+        Map<String, MemcachedCacheProperties.NearCache> result = memcachedCacheProperties.getNearCachePerCache();
+
+        assertThat(result)
+                .isNotNull()
+                .hasSize(1)
+                .containsKey("cache_name3");
+        assertThat(result.get("cache_name3").isEnabled()).isFalse();
+        assertThat(result.get("cache_name3").getMaxSize()).isEqualTo(50);
+        assertThat(result.get("cache_name3").getTtl()).isEqualTo(Default.NEAR_CACHE_TTL);
+    }
+
+    @Test
+    void whenGetWriteMode_thenCorrectValue() {
+        assertThat(memcachedCacheProperties.getWriteMode()).isEqualTo(MemcachedCacheProperties.WriteMode.NOREPLY);
+        assertThat(memcachedCacheProperties.getWriteModePerCache())
+                .containsOnly(entry("cache_name1", MemcachedCacheProperties.WriteMode.ACKNOWLEDGED));
+    }
+
+    @Test
+    void whenGetBatching_thenCorrectValue() {
+        MemcachedCacheProperties.Batching result = memcachedCacheProperties.getBatching();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getMaxBatchSize()).isEqualTo(32);
+        assertThat(result.getMaxDelay()).isEqualTo(Duration.ofMillis(5));
+    }
+
+    @Test
+    void whenGetWriteBehind_thenCorrectValue() {
+        MemcachedCacheProperties.WriteBehind result = memcachedCacheProperties.getWriteBehind();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getCapacity()).isEqualTo(2000);
+        assertThat(result.getBatchSize()).isEqualTo(50);
+        assertThat(result.getFullPolicy()).isEqualTo(MemcachedCacheProperties.WriteBehind.FullPolicy.DROP);
+    }
+
+    @Test
+    void whenGetCodec_thenCorrectValue() {
+        assertThat(memcachedCacheProperties.getCodec()).isEqualTo("binary");
+        assertThat(memcachedCacheProperties.getCodecPerCache()).containsOnly(entry("cache_name1", "json"));
+        assertThat(memcachedCacheProperties.getJsonAllowedTypes()).containsExactly("com.example.model.", "com.example.Book");
+    }
+
+    @Test
+    void whenGetCompression_thenCorrectValue() {
+        MemcachedCacheProperties.Compression result = memcachedCacheProperties.getCompression();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getThreshold()).isEqualTo(DataSize.ofKilobytes(2));
+        assertThat(result.getAlgorithm()).isEqualTo("deflate");
+        assertThat(result.getLevel()).isEqualTo(9);
+        assertThat(result.getMaxRatio()).isEqualTo(0.8);
+    }
+
+    @Test
+    void whenGetCompressionPerCache_thenCorrectValue() {
+        Map<String, MemcachedCacheProperties.Compression> result = memcachedCacheProperties.getCompressionPerCache();
+
+        assertThat(result).containsOnlyKeys("cache_name1");
+        assertThat(result.get("cache_name1").isEnabled()).isFalse();
+        assertThat(result.get("cache_name1").getThreshold()).isEqualTo(DataSize.ofBytes(512));
+    }
+
+    @Test
+    void whenGetKeyGenerator_thenCorrectValue() {
+        MemcachedCacheProperties.KeyGenerator result = memcachedCacheProperties.getKeyGenerator();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getMaxLength()).isEqualTo(64);
+    }
+
+    @Test
+    void whenGetMetrics_thenCorrectValue() {
+        MemcachedCacheProperties.Metrics result = memcachedCacheProperties.getMetrics();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isOperationTimers()).isFalse();
+        assertThat(result.getPercentiles()).containsExactly(0.5, 0.99);
+        assertThat(result.isPercentileHistogram()).isTrue();
+        assertThat(result.getSlo()).containsExactly(Duration.ofMillis(1), Duration.ofMillis(5));
+        assertThat(result.getSampleRate()).isEqualTo(0.25);
+        assertThat(result.getInclude()).containsExactly("books*", "authors");
+        assertThat(result.getExclude()).containsExactly("books-draft");
+        assertThat(result.getMaxCaches()).isEqualTo(20);
+    }
+
+    @Test
+    void whenGetServerStats_thenCorrectValue() {
+        MemcachedCacheProperties.ServerStats result = memcachedCacheProperties.getServerStats();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getMinInterval()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(result.isMetrics()).isTrue();
+    }
+
+    @Test
+    void whenGetHotKeys_thenCorrectValue() {
+        MemcachedCacheProperties.HotKeys result = memcachedCacheProperties.getHotKeys();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getCapacity()).isEqualTo(50);
+        assertThat(result.getTop()).isEqualTo(5);
+        assertThat(result.getSampleRate()).isEqualTo(0.1);
+        assertThat(result.getDecayInterval()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void whenGetHotKeyReplication_thenCorrectValue() {
+        MemcachedCacheProperties.HotKeyReplication result = memcachedCacheProperties.getHotKeyReplication();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getCopies()).isEqualTo(4);
+        assertThat(result.getThreshold()).isEqualTo(500);
+        assertThat(result.getCopyExpiration()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(result.getKeys()).containsExactly(entry("books", Set.of("isbn-123", "isbn-456")));
+    }
+
+    @Test
+    void whenGetCircuitBreaker_thenCorrectValue() {
+        MemcachedCacheProperties.CircuitBreaker result = memcachedCacheProperties.getCircuitBreaker();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getFailureRateThreshold()).isEqualTo(0.25);
+        assertThat(result.getWindowSize()).isEqualTo(50);
+        assertThat(result.getMinimumCalls()).isEqualTo(20);
+        assertThat(result.getOpenDuration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(result.getHalfOpenTrials()).isEqualTo(5);
+    }
+
+    @Test
+    void whenGetWriteBehindPerCache_thenCorrectValue() {
+        Map<String, MemcachedCacheProperties.WriteBehind> result = memcachedCacheProperties.getWriteBehindPerCache();
+
+        assertThat(result).containsOnlyKeys("cache_name2");
+        assertThat(result.get("cache_name2").isEnabled()).isFalse();
+        assertThat(result.get("cache_name2").getFullPolicy())
+                .isEqualTo(MemcachedCacheProperties.WriteBehind.FullPolicy.BLOCK);
+    }
+
     @Test
     void whenGetMetricsCacheName_thenCorrectValue() {
         List<String> result = memcachedCacheProperties.getMetricsCacheNames();
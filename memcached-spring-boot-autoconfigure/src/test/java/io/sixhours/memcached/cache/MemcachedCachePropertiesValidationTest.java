@@ -17,6 +17,7 @@ package io.sixhours.memcached.cache;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -310,6 +311,313 @@ class MemcachedCachePropertiesValidationTest {
                 .hasMessage("Servers refresh interval must be greater then zero");
     }
 
+    @Test
+    void whenSetNamespaceRefreshIntervalThenValidationOk() {
+        properties.setNamespaceRefreshInterval(Duration.ofSeconds(5));
+
+        assertThat(properties.getNamespaceRefreshInterval()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void whenSetNullNamespaceRefreshIntervalThenValidationFails() {
+        assertThatThrownBy(() -> properties.setNamespaceRefreshInterval(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Namespace refresh interval must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetNegativeNamespaceRefreshIntervalThenValidationFails() {
+        Duration negativeInterval = Duration.ofSeconds(-1);
+
+        assertThatThrownBy(() -> properties.setNamespaceRefreshInterval(negativeInterval))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Namespace refresh interval must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetLeaseThenValidationOk() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        lease.setTtl(Duration.ofSeconds(30));
+        lease.setWaitTimeout(Duration.ZERO);
+        lease.setPollInterval(Duration.ofMillis(10));
+
+        assertThat(lease.getTtl()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(lease.getWaitTimeout()).isZero();
+        assertThat(lease.getPollInterval()).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    void whenSetSubSecondLeaseTtlThenValidationFails() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        Duration ttl = Duration.ofMillis(500);
+
+        assertThatThrownBy(() -> lease.setTtl(ttl))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lease ttl must be at least one second");
+    }
+
+    @Test
+    void whenSetNegativeLeaseWaitTimeoutThenValidationFails() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        Duration waitTimeout = Duration.ofMillis(-1);
+
+        assertThatThrownBy(() -> lease.setWaitTimeout(waitTimeout))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lease wait timeout must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetZeroLeasePollIntervalThenValidationFails() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+
+        assertThatThrownBy(() -> lease.setPollInterval(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lease poll interval must be greater then zero");
+    }
+
+    @Test
+    void whenSetRefreshThenValidationOk() {
+        MemcachedCacheProperties.Refresh refresh = new MemcachedCacheProperties.Refresh();
+        refresh.setSoftTtl(Duration.ofMinutes(5));
+        refresh.setEarlyRefreshBeta(1.0);
+
+        assertThat(refresh.getSoftTtl()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(refresh.getEarlyRefreshBeta()).isEqualTo(1.0);
+    }
+
+    @Test
+    void whenSetNegativeRefreshSoftTtlThenValidationFails() {
+        MemcachedCacheProperties.Refresh refresh = new MemcachedCacheProperties.Refresh();
+        Duration softTtl = Duration.ofSeconds(-1);
+
+        assertThatThrownBy(() -> refresh.setSoftTtl(softTtl))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh soft ttl must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetNegativeEarlyRefreshBetaThenValidationFails() {
+        MemcachedCacheProperties.Refresh refresh = new MemcachedCacheProperties.Refresh();
+
+        assertThatThrownBy(() -> refresh.setEarlyRefreshBeta(-0.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Early refresh beta must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetNearCacheThenValidationOk() {
+        MemcachedCacheProperties.NearCache nearCache = new MemcachedCacheProperties.NearCache();
+        nearCache.setMaxSize(10);
+        nearCache.setTtl(Duration.ofMillis(100));
+
+        assertThat(nearCache.getMaxSize()).isEqualTo(10);
+        assertThat(nearCache.getTtl()).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void whenSetZeroNearCacheMaxSizeThenValidationFails() {
+        MemcachedCacheProperties.NearCache nearCache = new MemcachedCacheProperties.NearCache();
+
+        assertThatThrownBy(() -> nearCache.setMaxSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Near cache max size must be greater then zero");
+    }
+
+    @Test
+    void whenSetZeroNearCacheTtlThenValidationFails() {
+        MemcachedCacheProperties.NearCache nearCache = new MemcachedCacheProperties.NearCache();
+
+        assertThatThrownBy(() -> nearCache.setTtl(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Near cache ttl must be greater then zero");
+    }
+
+    @Test
+    void whenSetZeroBatchingMaxBatchSizeThenValidationFails() {
+        MemcachedCacheProperties.Batching batching = new MemcachedCacheProperties.Batching();
+
+        assertThatThrownBy(() -> batching.setMaxBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batching max batch size must be greater then zero");
+    }
+
+    @Test
+    void whenSetNegativeBatchingMaxDelayThenValidationFails() {
+        MemcachedCacheProperties.Batching batching = new MemcachedCacheProperties.Batching();
+        Duration maxDelay = Duration.ofMillis(-1);
+
+        assertThatThrownBy(() -> batching.setMaxDelay(maxDelay))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batching max delay must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetZeroWriteBehindCapacityThenValidationFails() {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+
+        assertThatThrownBy(() -> writeBehind.setCapacity(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Write-behind capacity must be greater then zero");
+    }
+
+    @Test
+    void whenSetZeroWriteBehindBatchSizeThenValidationFails() {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+
+        assertThatThrownBy(() -> writeBehind.setBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Write-behind batch size must be greater then zero");
+    }
+
+    @Test
+    void whenSetNegativeCompressionThresholdThenValidationFails() {
+        MemcachedCacheProperties.Compression compression = new MemcachedCacheProperties.Compression();
+        DataSize threshold = DataSize.ofBytes(-1);
+
+        assertThatThrownBy(() -> compression.setThreshold(threshold))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Compression threshold must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetInvalidCompressionMaxRatioThenValidationFails() {
+        MemcachedCacheProperties.Compression compression = new MemcachedCacheProperties.Compression();
+
+        assertThatThrownBy(() -> compression.setMaxRatio(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Compression max ratio must be greater then zero and at most one");
+    }
+
+    @Test
+    void whenSetUnknownCompressionAlgorithmThenValidationFails() {
+        MemcachedCacheProperties.Compression compression = new MemcachedCacheProperties.Compression();
+
+        assertThatThrownBy(() -> compression.setAlgorithm("lz4"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown compression algorithm 'lz4'");
+    }
+
+    @Test
+    void whenSetZeroKeyGeneratorMaxLengthThenValidationFails() {
+        MemcachedCacheProperties.KeyGenerator keyGenerator = new MemcachedCacheProperties.KeyGenerator();
+
+        assertThatThrownBy(() -> keyGenerator.setMaxLength(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Key generator max length must be greater then zero");
+    }
+
+    @Test
+    void whenSetInvalidMetricsSampleRateThenValidationFails() {
+        MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+
+        assertThatThrownBy(() -> metrics.setSampleRate(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metrics sample rate must be greater then zero and at most one");
+        assertThatThrownBy(() -> metrics.setSampleRate(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metrics sample rate must be greater then zero and at most one");
+    }
+
+    @Test
+    void whenSetInvalidMetricsPercentilesThenValidationFails() {
+        MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+
+        assertThatThrownBy(() -> metrics.setPercentiles(List.of(0.5, 99.0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metrics percentiles must be between zero and one");
+    }
+
+    @Test
+    void whenSetZeroMetricsSloThenValidationFails() {
+        MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+
+        assertThatThrownBy(() -> metrics.setSlo(List.of(Duration.ZERO)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metrics slo must be greater then zero");
+    }
+
+    @Test
+    void whenSetNegativeMetricsMaxCachesThenValidationFails() {
+        MemcachedCacheProperties.Metrics metrics = new MemcachedCacheProperties.Metrics();
+
+        assertThatThrownBy(() -> metrics.setMaxCaches(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metrics max caches must be greater than or equal to zero");
+    }
+
+    @Test
+    void whenSetInvalidServerStatsMinIntervalThenValidationFails() {
+        MemcachedCacheProperties.ServerStats serverStats = new MemcachedCacheProperties.ServerStats();
+
+        assertThatThrownBy(() -> serverStats.setMinInterval(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Server stats min interval must be greater then zero");
+        assertThatThrownBy(() -> serverStats.setMinInterval(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Server stats min interval must be greater then zero");
+    }
+
+    @Test
+    void whenSetInvalidHotKeysThenValidationFails() {
+        MemcachedCacheProperties.HotKeys hotKeys = new MemcachedCacheProperties.HotKeys();
+
+        assertThatThrownBy(() -> hotKeys.setCapacity(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot keys capacity must be greater then zero");
+        assertThatThrownBy(() -> hotKeys.setTop(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot keys top must be greater then zero");
+        assertThatThrownBy(() -> hotKeys.setSampleRate(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot keys sample rate must be greater then zero and at most one");
+        assertThatThrownBy(() -> hotKeys.setDecayInterval(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot keys decay interval must be greater then zero");
+    }
+
+    @Test
+    void whenSetInvalidHotKeyReplicationThenValidationFails() {
+        MemcachedCacheProperties.HotKeyReplication replication = new MemcachedCacheProperties.HotKeyReplication();
+
+        assertThatThrownBy(() -> replication.setCopies(1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot key replication copies must be greater then one");
+        assertThatThrownBy(() -> replication.setThreshold(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot key replication threshold must be greater than or equal to zero");
+        assertThatThrownBy(() -> replication.setCopyExpiration(Duration.ofMillis(500)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hot key replication copy expiration must be at least one second");
+    }
+
+    @Test
+    void whenSetInvalidCircuitBreakerThenValidationFails() {
+        MemcachedCacheProperties.CircuitBreaker circuitBreaker = new MemcachedCacheProperties.CircuitBreaker();
+
+        assertThatThrownBy(() -> circuitBreaker.setFailureRateThreshold(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circuit breaker failure rate threshold must be greater then zero and at most one");
+        assertThatThrownBy(() -> circuitBreaker.setWindowSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circuit breaker window size must be greater then zero");
+        assertThatThrownBy(() -> circuitBreaker.setMinimumCalls(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circuit breaker minimum calls must be greater then zero");
+        assertThatThrownBy(() -> circuitBreaker.setOpenDuration(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circuit breaker open duration must be greater then zero");
+        assertThatThrownBy(() -> circuitBreaker.setHalfOpenTrials(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Circuit breaker half-open trials must be greater then zero");
+    }
+
+    @Test
+    void whenSetUnknownCodecThenValidationFails() {
+        assertThatThrownBy(() -> properties.setCodec("unknown"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown codec 'unknown'");
+    }
+
     @Test
     void whenSetHashStrategyThenValidationOk() {
         properties.setHashStrategy(MemcachedCacheProperties.HashStrategy.KETAMA);
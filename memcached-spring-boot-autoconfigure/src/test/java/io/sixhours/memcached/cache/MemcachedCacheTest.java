@@ -26,13 +26,30 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.endsWith;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.matches;
@@ -173,32 +190,6 @@ class MemcachedCacheTest {
         verify(memcachedClient).get(memcachedKey);
     }
 
-    @Test
-    void whenGetWithValueLoaderAndCachedValueFromSecondLookupThenReturnCachedValue() {
-        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
-        when(memcachedClient.get(memcachedKey)).thenReturn(null).thenReturn(cachedValue);
-
-        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
-
-        assertThat(actual).isEqualTo(cachedValue);
-
-        verify(memcachedClient, times(2)).get(namespaceKey);
-        verify(memcachedClient, times(2)).get(memcachedKey);
-    }
-
-    @Test
-    void whenGetWithValueLoaderAndNullCachedValueFromSecondLookupThenReturnNull() {
-        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
-        when(memcachedClient.get(memcachedKey)).thenReturn(null).thenReturn(nullCachedValue);
-
-        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
-
-        assertThat(actual).isNull();
-
-        verify(memcachedClient, times(2)).get(namespaceKey);
-        verify(memcachedClient, times(2)).get(memcachedKey);
-    }
-
     @Test
     void whenGetWithValueLoaderAndCachedValueMissingThenReturnValueLoaderNull() {
         when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
@@ -208,8 +199,8 @@ class MemcachedCacheTest {
 
         assertThat(actual).isNull();
 
-        verify(memcachedClient, times(3)).get(namespaceKey);
-        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
         verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderNullValue);
         verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
     }
@@ -223,17 +214,15 @@ class MemcachedCacheTest {
 
         assertThat(actual).isEqualTo(valueLoaderValue);
 
-        verify(memcachedClient, times(3)).get(namespaceKey);
-        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
         verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
         verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
     }
 
     @Test
     void whenGetWithValueLoaderThrowsExceptionThenValueRetrievalException() {
-        when(memcachedClient.get(namespaceKey))
-                .thenReturn(NAMESPACE_KEY_VALUE)
-                .thenReturn(null);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
 
         assertThatThrownBy(() ->
                 memcachedCache.get(CACHED_OBJECT_KEY, () -> {
@@ -242,9 +231,45 @@ class MemcachedCacheTest {
                 .isInstanceOf(Cache.ValueRetrievalException.class)
                 .hasFieldOrPropertyWithValue("key", CACHED_OBJECT_KEY);
 
-        verify(memcachedClient, times(2)).get(namespaceKey);
-        verify(memcachedClient, times(2)).get(matches(CACHED_KEY_REGEX));
-        verify(memcachedClient).set(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(matches(CACHED_KEY_REGEX));
+    }
+
+    @Test
+    void whenOperationListenerSetThenOperationsAndLoadsReported() {
+        List<String> events = new ArrayList<>();
+        memcachedCache.setOperationListener(new MemcachedOperationListener() {
+            @Override
+            public void operationCompleted(Operation operation, long durationNanos) {
+                events.add(operation.tagValue());
+            }
+
+            @Override
+            public void valueLoaded(long durationNanos, boolean success) {
+                events.add(success ? "load" : "load-failure");
+            }
+        });
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThatThrownBy(() ->
+                memcachedCache.get(CACHED_OBJECT_KEY, () -> {
+                    throw new Exception("exception to be wrapped");
+                }))
+                .isInstanceOf(Cache.ValueRetrievalException.class);
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.getNativeCache()).isSameAs(memcachedClient);
+        assertThat(events).containsExactly(
+                "get", "get", "load", "get", "set", "touch",
+                "get", "get", "load-failure");
+
+        verify(memcachedClient, times(3)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
     }
 
     @Test
@@ -415,43 +440,194 @@ class MemcachedCacheTest {
     }
 
     @Test
-    void whenPutAndNamespaceMissingThenSetNamespace() {
+    void whenPutAndNamespaceMissingThenAddNamespace() {
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(Long.parseLong(NAMESPACE_KEY_VALUE)));
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        when(memcachedClient.get(namespaceKey)).thenReturn(null);
+        when(memcachedClient.addAsync(namespaceKey, CACHE_EXPIRATION, NAMESPACE_KEY_VALUE))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).addAsync(namespaceKey, CACHE_EXPIRATION, NAMESPACE_KEY_VALUE);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenPutAndNamespaceAddedConcurrentlyThenReadAddedNamespace() {
         when(memcachedClient.get(namespaceKey)).thenReturn(null);
+        when(memcachedClient.addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
 
         memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
 
         verify(memcachedClient).get(namespaceKey);
-        verify(memcachedClient).set(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
-        verify(memcachedClient).set(endsWith(CACHED_OBJECT_KEY), eq(CACHE_EXPIRATION), eq(cachedValue));
+        verify(memcachedClient).addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
+        verify(memcachedClient).getAsync(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
         verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
     }
 
+    @Test
+    void whenNamespaceNotStoredThenCacheBypassed() {
+        memcachedCache.setNamespaceRefreshInterval(Duration.ofMinutes(1));
+        when(memcachedClient.get(namespaceKey)).thenReturn(null);
+        when(memcachedClient.addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+        Object loaded = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isNull();
+        assertThat(loaded).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.puts()).isZero();
+
+        verify(memcachedClient, times(5)).get(namespaceKey);
+        verify(memcachedClient, times(5)).addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
+        verify(memcachedClient, times(5)).getAsync(namespaceKey);
+    }
+
+    @Test
+    void whenGenerationStrategyAndNamespaceNotStoredThenCacheBypassedAndEvictDeletes() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(null);
+        when(memcachedClient.addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.put(CACHED_OBJECT_KEY, newCachedValue);
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isNull();
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
+        verify(memcachedClient, times(2)).getAsync(namespaceKey);
+        verify(memcachedClient).delete(stableKey);
+    }
+
+    @Test
+    void whenRetrieveAndNamespaceMissingThenAddNamespace() {
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(Long.parseLong(NAMESPACE_KEY_VALUE)));
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.addAsync(namespaceKey, CACHE_EXPIRATION, NAMESPACE_KEY_VALUE))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(cachedValue));
+
+        Cache.ValueWrapper actual = memcachedCache.retrieve(CACHED_OBJECT_KEY).join();
+
+        assertThat(actual.get()).isEqualTo(cachedValue);
+
+        verify(memcachedClient).getAsync(namespaceKey);
+        verify(memcachedClient).addAsync(namespaceKey, CACHE_EXPIRATION, NAMESPACE_KEY_VALUE);
+        verify(memcachedClient).getAsync(memcachedKey);
+    }
+
+    @Test
+    void whenRetrieveWithValueLoaderAndNamespaceNotStoredThenLoadedValueNotCached() {
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY, () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.puts()).isZero();
+
+        verify(memcachedClient, times(4)).getAsync(namespaceKey);
+        verify(memcachedClient, times(2)).addAsync(eq(namespaceKey), eq(CACHE_EXPIRATION), anyString());
+    }
+
     @Test
     void whenPutIfAbsentThenReturnExistingValue() {
         when(memcachedClient.get(anyString())).thenReturn(NAMESPACE_KEY_VALUE).thenReturn(cachedValue);
+        when(memcachedClient.add(memcachedKey, CACHE_EXPIRATION, newCachedValue)).thenReturn(false);
 
         Cache.ValueWrapper actual = memcachedCache.putIfAbsent(CACHED_OBJECT_KEY, newCachedValue);
 
         assertThat(actual.get()).isEqualTo(cachedValue);
+        assertThat(memcachedCache.hits()).isEqualTo(1);
+        assertThat(memcachedCache.puts()).isZero();
 
         verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).add(memcachedKey, CACHE_EXPIRATION, newCachedValue);
         verify(memcachedClient).get(memcachedKey);
     }
 
     @Test
-    void whenPutIfAbsentAndNoCachedValueThenReturnNewValue() {
-        when(memcachedClient.get(anyString()))
-                .thenReturn(NAMESPACE_KEY_VALUE)
-                .thenReturn(null)
-                .thenReturn(NAMESPACE_KEY_VALUE);
+    void whenPutIfAbsentAndNoCachedValueThenAddWithoutGet() {
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.add(memcachedKey, CACHE_EXPIRATION, newCachedValue)).thenReturn(true);
 
         Cache.ValueWrapper actual = memcachedCache.putIfAbsent(CACHED_OBJECT_KEY, newCachedValue);
 
         assertThat(actual.get()).isEqualTo(newCachedValue);
+        assertThat(memcachedCache.misses()).isEqualTo(1);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
 
-        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).add(memcachedKey, CACHE_EXPIRATION, newCachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenPutIfAbsentAndAddLosesToEvictedValueThenAddAgain() {
+        when(memcachedClient.get(anyString())).thenReturn(NAMESPACE_KEY_VALUE).thenReturn(null);
+        when(memcachedClient.add(memcachedKey, CACHE_EXPIRATION, newCachedValue)).thenReturn(false).thenReturn(true);
+
+        Cache.ValueWrapper actual = memcachedCache.putIfAbsent(CACHED_OBJECT_KEY, newCachedValue);
+
+        assertThat(actual.get()).isEqualTo(newCachedValue);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient, times(2)).add(memcachedKey, CACHE_EXPIRATION, newCachedValue);
         verify(memcachedClient).get(memcachedKey);
-        verify(memcachedClient).set(eq(memcachedKey), anyInt(), eq(newCachedValue));
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenPutIfAbsentAndEveryAddLostThenValueNotCached() {
+        when(memcachedClient.get(anyString())).thenReturn(NAMESPACE_KEY_VALUE).thenReturn(null);
+        when(memcachedClient.add(memcachedKey, CACHE_EXPIRATION, newCachedValue)).thenReturn(false);
+
+        Cache.ValueWrapper actual = memcachedCache.putIfAbsent(CACHED_OBJECT_KEY, newCachedValue);
+
+        assertThat(actual.get()).isEqualTo(newCachedValue);
+        assertThat(memcachedCache.puts()).isZero();
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient, times(3)).add(memcachedKey, CACHE_EXPIRATION, newCachedValue);
+        verify(memcachedClient, times(3)).get(memcachedKey);
+    }
+
+    @Test
+    void whenGenerationStrategyAndPutIfAbsentOverOlderGenerationThenDeleteAndAdd() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        MemcachedCacheEntry newEntry = new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE), newCachedValue);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(stableKey))
+                .thenReturn(new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE) - 1, cachedValue));
+        when(memcachedClient.add(stableKey, CACHE_EXPIRATION, newEntry)).thenReturn(false).thenReturn(true);
+
+        Cache.ValueWrapper actual = memcachedCache.putIfAbsent(CACHED_OBJECT_KEY, newCachedValue);
+
+        assertThat(actual.get()).isEqualTo(newCachedValue);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient, times(2)).add(stableKey, CACHE_EXPIRATION, newEntry);
+        verify(memcachedClient).get(stableKey);
+        verify(memcachedClient).delete(stableKey);
         verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
     }
 
@@ -467,8 +643,1117 @@ class MemcachedCacheTest {
 
     @Test
     void whenClearThenMemcachedClientIncrNamespace() {
+        when(memcachedClient.incr(namespaceKey, 1)).thenReturn(Long.parseLong(NAMESPACE_KEY_VALUE) + 1);
+
+        memcachedCache.clear();
+
+        verify(memcachedClient).incr(namespaceKey, 1);
+    }
+
+    @Test
+    void whenGenerationStrategyAndClearEvictedNamespaceThenOlderGenerationInvalid() {
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(Long.parseLong(NAMESPACE_KEY_VALUE)));
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        String clearedNamespace = String.valueOf(Long.parseLong(NAMESPACE_KEY_VALUE) + 1000);
+        when(memcachedClient.incr(namespaceKey, 1)).thenReturn(0L);
+        when(memcachedClient.get(namespaceKey)).thenReturn(clearedNamespace);
+        when(memcachedClient.get(stableKey))
+                .thenReturn(new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE), cachedValue));
+
+        clock.advance(Duration.ofSeconds(1));
+        memcachedCache.clear();
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isNull();
+
+        verify(memcachedClient).incr(namespaceKey, 1);
+        verify(memcachedClient).set(namespaceKey, CACHE_EXPIRATION, clearedNamespace);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(stableKey);
+    }
+
+    @Test
+    void whenClearRejectedThenFail() {
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(Long.parseLong(NAMESPACE_KEY_VALUE)));
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        when(memcachedClient.incr(namespaceKey, 1)).thenReturn(-1L);
+
+        assertThatThrownBy(() -> memcachedCache.clear())
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to clear cache '%s'", CACHE_NAME);
+
+        verify(memcachedClient).incr(namespaceKey, 1);
+        verify(memcachedClient).set(namespaceKey, CACHE_EXPIRATION, NAMESPACE_KEY_VALUE);
+        verify(memcachedClient).get(namespaceKey);
+    }
+
+    @Test
+    void whenRetrieveThenReturnCachedValueWrapper() {
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(cachedValue));
+
+        Cache.ValueWrapper actual = memcachedCache.retrieve(CACHED_OBJECT_KEY).join();
+
+        assertThat(actual).isNotNull();
+        assertThat(actual.get()).isEqualTo(cachedValue);
+        assertThat(memcachedCache.hits()).isEqualTo(1);
+
+        verify(memcachedClient).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+    }
+
+    @Test
+    void whenRetrieveAndCacheValueMissingThenReturnNull() {
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Cache.ValueWrapper actual = memcachedCache.retrieve(CACHED_OBJECT_KEY).join();
+
+        assertThat(actual).isNull();
+        assertThat(memcachedCache.misses()).isEqualTo(1);
+
+        verify(memcachedClient).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+    }
+
+    @Test
+    void whenRetrieveWithValueLoaderAndCachedValueMissingThenStoreLoadedValue() {
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.setAsync(memcachedKey, CACHE_EXPIRATION, valueLoaderValue)).thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY, () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+
+        verify(memcachedClient, times(2)).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+        verify(memcachedClient).setAsync(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenRetrieveWithValueLoaderAndCachedValueThenSkipValueLoader() {
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(nullCachedValue));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY, () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+
+        assertThat(actual).isNull();
+
+        verify(memcachedClient).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+    }
+
+    @Test
+    void whenNamespaceRefreshIntervalThenReuseLocalNamespaceValue() {
+        memcachedCache.setNamespaceRefreshInterval(Duration.ofMinutes(1));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+    }
+
+    @Test
+    void whenNamespaceRefreshIntervalAndClearThenReadNamespaceValue() {
+        memcachedCache.setNamespaceRefreshInterval(Duration.ofMinutes(1));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        when(memcachedClient.incr(namespaceKey, 1)).thenReturn(Long.parseLong(NAMESPACE_KEY_VALUE) + 1);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
         memcachedCache.clear();
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
 
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
         verify(memcachedClient).incr(namespaceKey, 1);
     }
+
+    @Test
+    void whenNamespaceRefreshIntervalElapsedThenReadNamespaceValue() {
+        MutableClock clock = new MutableClock(Instant.now());
+
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setNamespaceRefreshInterval(Duration.ofMinutes(1));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        clock.advance(Duration.ofSeconds(61));
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+    }
+
+    @Test
+    void whenGenerationStrategyAndLookupCurrentGenerationThenReturnValue() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(stableKey))
+                .thenReturn(new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE), cachedValue));
+
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(memcachedCache.hits()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(stableKey);
+    }
+
+    @Test
+    void whenGenerationStrategyAndLookupOlderGenerationThenReturnNull() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(stableKey))
+                .thenReturn(new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE) - 1, cachedValue));
+
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isNull();
+        assertThat(memcachedCache.misses()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(stableKey);
+    }
+
+    @Test
+    void whenGenerationStrategyAndPutThenStoreStampedValue() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).set(stableKey, CACHE_EXPIRATION,
+                new MemcachedCacheEntry(Long.parseLong(NAMESPACE_KEY_VALUE), cachedValue));
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenGenerationStrategyAndEvictThenDeleteWithoutNamespaceLookup() {
+        memcachedCache.setInvalidationStrategy(MemcachedCacheProperties.InvalidationStrategy.GENERATION);
+        String stableKey = String.format("%s:%s::%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        verify(memcachedClient).delete(stableKey);
+    }
+
+    @Test
+    void whenConcurrentGetWithValueLoaderOnSameKeyThenLoadOnce() throws Exception {
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> memcachedCache.get(CACHED_OBJECT_KEY, () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await();
+                return valueLoaderValue;
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Object> second = executor.submit(() -> memcachedCache.get(CACHED_OBJECT_KEY, () -> {
+                loaderCalls.incrementAndGet();
+                return newCachedValue;
+            }));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> memcachedCache.coalescedLoads() == 1);
+            releaseLoader.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(valueLoaderValue);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(valueLoaderValue);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loaderCalls).hasValue(1);
+
+        verify(memcachedClient, times(3)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenValueLoaderGetsSameKeyThenLoadDirectly() {
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY,
+                () -> memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue));
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.coalescedLoads()).isZero();
+
+        verify(memcachedClient, times(4)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient, times(2)).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient, times(2)).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenConcurrentGetWithValueLoaderErrorThenCoalescedGetFails() throws Exception {
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> memcachedCache.get(CACHED_OBJECT_KEY, () -> {
+                loaderStarted.countDown();
+                releaseLoader.await();
+                throw new LinkageError("Loader error");
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Object> second = executor.submit(() -> memcachedCache.get(CACHED_OBJECT_KEY, () -> newCachedValue));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> memcachedCache.coalescedLoads() == 1);
+            releaseLoader.countDown();
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+    }
+
+    @Test
+    void whenConcurrentGetWithValueLoaderOnDifferentKeysThenLoadInParallel() throws Exception {
+        when(memcachedClient.get(anyString())).thenReturn(null);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        CountDownLatch bothLoadersStarted = new CountDownLatch(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> memcachedCache.get("first", () -> {
+                bothLoadersStarted.countDown();
+                assertThat(bothLoadersStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return valueLoaderValue;
+            }));
+            Future<Object> second = executor.submit(() -> memcachedCache.get("second", () -> {
+                bothLoadersStarted.countDown();
+                assertThat(bothLoadersStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return newCachedValue;
+            }));
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(valueLoaderValue);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(newCachedValue);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(memcachedCache.coalescedLoads()).isZero();
+
+        verify(memcachedClient, times(4)).get(namespaceKey);
+        verify(memcachedClient).get(endsWith(":first"));
+        verify(memcachedClient).get(endsWith(":second"));
+        verify(memcachedClient).set(endsWith(":first"), eq(CACHE_EXPIRATION), eq(valueLoaderValue));
+        verify(memcachedClient).set(endsWith(":second"), eq(CACHE_EXPIRATION), eq(newCachedValue));
+        verify(memcachedClient, times(2)).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenLeaseAcquiredThenLoadValueAndReleaseLease() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        lease.setEnabled(true);
+        memcachedCache.setLease(lease);
+        String leaseKey = String.format("%s:%s:lease:%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+        when(memcachedClient.add(leaseKey, 10, "1")).thenReturn(true);
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+        verify(memcachedClient).add(leaseKey, 10, "1");
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).delete(leaseKey);
+    }
+
+    @Test
+    void whenLeaseSetBeforeOperationListenerThenLeaseOperationsReported() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        lease.setEnabled(true);
+        memcachedCache.setLease(lease);
+        List<String> events = new ArrayList<>();
+        memcachedCache.setOperationListener(new MemcachedOperationListener() {
+            @Override
+            public void operationCompleted(Operation operation, long durationNanos) {
+                events.add(operation.tagValue());
+            }
+        });
+        String leaseKey = String.format("%s:%s:lease:%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+        when(memcachedClient.add(leaseKey, 10, "1")).thenReturn(true);
+
+        memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(events).filteredOn("set"::equals).hasSize(2);
+        assertThat(events).containsOnlyOnce("delete");
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+        verify(memcachedClient).add(leaseKey, 10, "1");
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).delete(leaseKey);
+    }
+
+    @Test
+    void whenLeaseHeldByOtherInstanceThenWaitForLoadedValue() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        lease.setEnabled(true);
+        lease.setPollInterval(Duration.ofMillis(10));
+        memcachedCache.setLease(lease);
+        String leaseKey = String.format("%s:%s:lease:%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null).thenReturn(null).thenReturn(cachedValue);
+        when(memcachedClient.add(leaseKey, 10, "1")).thenReturn(false);
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(actual).isEqualTo(cachedValue);
+
+        verify(memcachedClient, times(3)).get(namespaceKey);
+        verify(memcachedClient, times(3)).get(memcachedKey);
+        verify(memcachedClient).add(leaseKey, 10, "1");
+    }
+
+    @Test
+    void whenLeaseWaitTimeoutAndFailFallbackThenValueRetrievalException() {
+        MemcachedCacheProperties.Lease lease = new MemcachedCacheProperties.Lease();
+        lease.setEnabled(true);
+        lease.setWaitTimeout(Duration.ZERO);
+        lease.setFallback(MemcachedCacheProperties.Lease.Fallback.FAIL);
+        memcachedCache.setLease(lease);
+        String leaseKey = String.format("%s:%s:lease:%s", CACHE_PREFIX, CACHE_NAME, CACHED_OBJECT_KEY);
+
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(null);
+        when(memcachedClient.add(leaseKey, 10, "1")).thenReturn(false);
+
+        assertThatThrownBy(() -> memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasFieldOrPropertyWithValue("key", CACHED_OBJECT_KEY);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+        verify(memcachedClient).add(leaseKey, 10, "1");
+    }
+
+    @Test
+    void whenRefreshAndPutThenStoreSoftExpiration() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 0));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION,
+                new MemcachedCacheEntry(0, cachedValue, clock.millis() + 60_000, 0));
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenRefreshAndSoftTtlElapsedThenReturnStaleValueAndReloadInBackground() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 0));
+        memcachedCache.setRefreshExecutor(Runnable::run);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(new MemcachedCacheEntry(0, cachedValue, clock.millis() - 1, 0));
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(memcachedCache.hits()).isEqualTo(1);
+        assertThat(memcachedCache.refreshes()).isEqualTo(1);
+
+        ArgumentCaptor<Object> storedValue = ArgumentCaptor.forClass(Object.class);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+        verify(memcachedClient).set(eq(memcachedKey), eq(CACHE_EXPIRATION), storedValue.capture());
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+
+        assertThat(storedValue.getValue()).isInstanceOfSatisfying(MemcachedCacheEntry.class, entry -> {
+            assertThat(entry.value()).isEqualTo(valueLoaderValue);
+            assertThat(entry.softExpiresAt()).isEqualTo(clock.millis() + 60_000);
+        });
+    }
+
+    @Test
+    void whenRefreshAndSoftTtlNotElapsedThenSkipReload() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 0));
+        memcachedCache.setRefreshExecutor(Runnable::run);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(new MemcachedCacheEntry(0, cachedValue, clock.millis() + 1, 0));
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(memcachedCache.refreshes()).isZero();
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+    }
+
+    @Test
+    void whenRefreshInProgressThenSkipAnotherRefreshOfSameKey() {
+        MutableClock clock = new MutableClock(Instant.now());
+        List<Runnable> scheduledRefreshes = new ArrayList<>();
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 0));
+        memcachedCache.setRefreshExecutor(scheduledRefreshes::add);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(new MemcachedCacheEntry(0, cachedValue, clock.millis() - 1, 0));
+
+        memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+        memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(scheduledRefreshes).hasSize(1);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+    }
+
+    @Test
+    void whenEarlyRefreshBetaAndSlowLoadThenReloadBeforeSoftTtl() {
+        MutableClock clock = new MutableClock(Instant.now());
+        List<Runnable> scheduledRefreshes = new ArrayList<>();
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 1.0));
+        memcachedCache.setRefreshExecutor(scheduledRefreshes::add);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(new MemcachedCacheEntry(0, cachedValue,
+                clock.millis() + 1_000, TimeUnit.DAYS.toMillis(36_500)));
+
+        Object actual = memcachedCache.get(CACHED_OBJECT_KEY, () -> valueLoaderValue);
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(scheduledRefreshes).hasSize(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+    }
+
+    @Test
+    void whenRefreshAndSoftTtlElapsedThenRetrieveStaleValueAndReloadInBackground() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setRefresh(refresh(Duration.ofMinutes(1), 0));
+        memcachedCache.setRefreshExecutor(Runnable::run);
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(
+                CompletableFuture.completedFuture(new MemcachedCacheEntry(0, cachedValue, clock.millis() - 1, 0)));
+        when(memcachedClient.setAsync(eq(memcachedKey), eq(CACHE_EXPIRATION), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY,
+                () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(memcachedCache.refreshes()).isEqualTo(1);
+
+        verify(memcachedClient, times(2)).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+        verify(memcachedClient).setAsync(eq(memcachedKey), eq(CACHE_EXPIRATION), any());
+        verify(memcachedClient).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenHotKeysEnabledThenMemcachedReadsTracked() {
+        MemcachedCacheProperties.HotKeys hotKeys = new MemcachedCacheProperties.HotKeys();
+        hotKeys.setEnabled(true);
+        hotKeys.setSampleRate(1);
+        memcachedCache.setHotKeys(hotKeys);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(memcachedCache.hotKeys().top())
+                .containsExactly(new MemcachedHotKeys.HotKey(memcachedKey, 2, 0, null));
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient).transportStatistics();
+    }
+
+    @Test
+    void whenHotKeysDisabledThenNoHotKeys() {
+        memcachedCache.setHotKeys(new MemcachedCacheProperties.HotKeys());
+
+        assertThat(memcachedCache.hotKeys()).isNull();
+    }
+
+    @Test
+    void whenConfiguredKeyReplicatedAndPutThenCopiesWritten() {
+        memcachedCache.setHotKeyReplication(hotKeyReplication(3));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.setNoReply(anyString(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        assertThat(memcachedCache.failedWrites()).isZero();
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).setNoReply(copyKey(1), 10, cachedValue);
+        verify(memcachedClient).setNoReply(copyKey(2), 10, cachedValue);
+    }
+
+    @Test
+    void whenConfiguredKeyReplicatedAndCopyMissingThenOriginalReadAndCopyAdded() {
+        memcachedCache.setHotKeyReplication(hotKeyReplication(2));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+        when(memcachedClient.addNoReply(anyString(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        for (int i = 0; i < 32; i++) {
+            assertThat(memcachedCache.lookup(CACHED_OBJECT_KEY)).isEqualTo(cachedValue);
+        }
+
+        verify(memcachedClient, times(32)).get(namespaceKey);
+        verify(memcachedClient, times(32)).get(memcachedKey);
+        verify(memcachedClient, atLeastOnce()).get(copyKey(1));
+        verify(memcachedClient, atLeastOnce()).addNoReply(copyKey(1), 10, cachedValue);
+    }
+
+    @Test
+    void whenConfiguredKeyReplicatedAndCopyExpiredThenCopyAddedAndReadsSpreadAgain() {
+        memcachedCache.setHotKeyReplication(hotKeyReplication(2));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+        // the copy written by the put expired after the copy expiration, and is found again once added back
+        when(memcachedClient.get(copyKey(1))).thenReturn(null).thenReturn(cachedValue);
+        when(memcachedClient.addNoReply(anyString(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        for (int i = 0; i < 64; i++) {
+            assertThat(memcachedCache.lookup(CACHED_OBJECT_KEY)).isEqualTo(cachedValue);
+        }
+
+        verify(memcachedClient, times(64)).get(namespaceKey);
+        verify(memcachedClient, atLeast(2)).get(copyKey(1));
+        verify(memcachedClient, atMost(63)).get(memcachedKey);
+        verify(memcachedClient).addNoReply(copyKey(1), 10, cachedValue);
+    }
+
+    @Test
+    void whenKeyReplicatedAndEvictThenCopiesDeleted() {
+        memcachedCache.setHotKeyReplication(hotKeyReplication(3));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).delete(memcachedKey);
+        verify(memcachedClient).deleteMulti(List.of(copyKey(1), copyKey(2)));
+    }
+
+    @Test
+    void whenHotKeyReplicationDisabledThenCopiesNotWritten() {
+        MemcachedCacheProperties.HotKeyReplication replication = hotKeyReplication(3);
+        replication.setEnabled(false);
+        memcachedCache.setHotKeyReplication(replication);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).delete(memcachedKey);
+    }
+
+    @Test
+    void whenNearCacheThenRepeatedLookupServedFromNearCache() {
+        memcachedCache.setNearCache(nearCache(10, Duration.ofMinutes(1)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        assertThat(memcachedCache.lookup(CACHED_OBJECT_KEY)).isEqualTo(cachedValue);
+        assertThat(memcachedCache.lookup(CACHED_OBJECT_KEY)).isEqualTo(cachedValue);
+
+        assertThat(memcachedCache.hits()).isEqualTo(2);
+        assertThat(memcachedCache.nearHits()).isEqualTo(1);
+        assertThat(memcachedCache.nearMisses()).isEqualTo(1);
+        assertThat(memcachedCache.memcachedHits()).isEqualTo(1);
+        assertThat(memcachedCache.nearCacheSize()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).get(memcachedKey);
+    }
+
+    @Test
+    void whenNearCacheAndPutThenLookupServedFromNearCache() {
+        memcachedCache.setNearCache(nearCache(10, Duration.ofMinutes(1)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isEqualTo(cachedValue);
+        assertThat(memcachedCache.nearHits()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenNearCacheAndEvictThenLookupReadsMemcached() {
+        memcachedCache.setNearCache(nearCache(10, Duration.ofMinutes(1)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue).thenReturn(null);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+        Object actual = memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(actual).isNull();
+        assertThat(memcachedCache.nearMisses()).isEqualTo(2);
+
+        verify(memcachedClient, times(3)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient).delete(memcachedKey);
+    }
+
+    @Test
+    void whenNearCacheAndClearThenLookupReadsMemcached() {
+        memcachedCache.setNearCache(nearCache(10, Duration.ofMinutes(1)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        when(memcachedClient.incr(namespaceKey, 1)).thenReturn(Long.parseLong(NAMESPACE_KEY_VALUE) + 1);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.clear();
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(memcachedCache.nearHits()).isZero();
+        assertThat(memcachedCache.nearMisses()).isEqualTo(2);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+        verify(memcachedClient).incr(namespaceKey, 1);
+    }
+
+    @Test
+    void whenNearCacheTtlElapsedThenLookupReadsMemcached() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setNearCache(nearCache(10, Duration.ofSeconds(5)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        clock.advance(Duration.ofSeconds(5));
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(memcachedCache.nearHits()).isZero();
+        assertThat(memcachedCache.nearMisses()).isEqualTo(2);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, times(2)).get(memcachedKey);
+    }
+
+    @Test
+    void whenNearCacheMaxSizeReachedThenEvictLeastRecentlyUsedEntry() {
+        memcachedCache.setNearCache(nearCache(1, Duration.ofMinutes(1)));
+        String otherKey = "other_key";
+        String otherMemcachedKey = String.format("%s:%s:%s:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, otherKey);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.get(memcachedKey)).thenReturn(cachedValue);
+
+        memcachedCache.put(otherKey, newCachedValue);
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+        memcachedCache.lookup(CACHED_OBJECT_KEY);
+
+        assertThat(memcachedCache.nearCacheSize()).isEqualTo(1);
+        assertThat(memcachedCache.nearHits()).isEqualTo(1);
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).set(otherMemcachedKey, CACHE_EXPIRATION, newCachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).get(memcachedKey);
+    }
+
+    private static MemcachedCacheProperties.HotKeyReplication hotKeyReplication(int copies) {
+        MemcachedCacheProperties.HotKeyReplication replication = new MemcachedCacheProperties.HotKeyReplication();
+        replication.setEnabled(true);
+        replication.setCopies(copies);
+        replication.setThreshold(0);
+        replication.setKeys(Map.of(CACHE_NAME, Set.of(CACHED_OBJECT_KEY)));
+        return replication;
+    }
+
+    private String copyKey(int copy) {
+        return String.format("%s:%s:%s:copy%d:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, copy, CACHED_OBJECT_KEY);
+    }
+
+    private static MemcachedCacheProperties.NearCache nearCache(int maxSize, Duration ttl) {
+        MemcachedCacheProperties.NearCache nearCache = new MemcachedCacheProperties.NearCache();
+        nearCache.setEnabled(true);
+        nearCache.setMaxSize(maxSize);
+        nearCache.setTtl(ttl);
+        return nearCache;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetAllThenReturnHitsAndMisses() {
+        String otherKey = "other_key";
+        String otherMemcachedKey = String.format("%s:%s:%s:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, otherKey);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.getMulti(any())).thenReturn(Map.of(memcachedKey, cachedValue));
+
+        MemcachedBulkResult actual = memcachedCache.getAll(List.of(CACHED_OBJECT_KEY, otherKey));
+
+        assertThat(actual.hits()).containsOnly(Map.entry(CACHED_OBJECT_KEY, cachedValue));
+        assertThat(actual.misses()).containsOnly(otherKey);
+        assertThat(memcachedCache.hits()).isEqualTo(1);
+        assertThat(memcachedCache.misses()).isEqualTo(1);
+
+        ArgumentCaptor<Collection<String>> memcachedKeys = ArgumentCaptor.forClass(Collection.class);
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).getMulti(memcachedKeys.capture());
+        assertThat(memcachedKeys.getValue()).containsExactly(memcachedKey, otherMemcachedKey);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenNearCacheAndGetAllThenReadOnlyMissingKeysFromMemcached() {
+        String otherKey = "other_key";
+        String otherMemcachedKey = String.format("%s:%s:%s:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, otherKey);
+        memcachedCache.setNearCache(nearCache(10, Duration.ofMinutes(1)));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.getMulti(any())).thenReturn(Map.of(otherMemcachedKey, newCachedValue));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        MemcachedBulkResult actual = memcachedCache.getAll(List.of(CACHED_OBJECT_KEY, otherKey));
+
+        assertThat(actual.hits()).containsOnly(Map.entry(CACHED_OBJECT_KEY, cachedValue), Map.entry(otherKey, newCachedValue));
+        assertThat(actual.misses()).isEmpty();
+        assertThat(memcachedCache.nearHits()).isEqualTo(1);
+
+        ArgumentCaptor<Collection<String>> memcachedKeys = ArgumentCaptor.forClass(Collection.class);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        verify(memcachedClient).getMulti(memcachedKeys.capture());
+        assertThat(memcachedKeys.getValue()).containsExactly(otherMemcachedKey);
+    }
+
+    @Test
+    void whenPutAllThenSetMultiAndTouchNamespaceOnce() {
+        String otherKey = "other_key";
+        String otherMemcachedKey = String.format("%s:%s:%s:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, otherKey);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        Map<Object, Object> values = new LinkedHashMap<>();
+        values.put(CACHED_OBJECT_KEY, cachedValue);
+        values.put(otherKey, null);
+        memcachedCache.putAll(values);
+
+        assertThat(memcachedCache.puts()).isEqualTo(2);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put(memcachedKey, cachedValue);
+        expected.put(otherMemcachedKey, NullValue.INSTANCE);
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).setMulti(expected, CACHE_EXPIRATION);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenEvictAllThenDeleteMulti() {
+        String otherKey = "other_key";
+        String otherMemcachedKey = String.format("%s:%s:%s:%s", CACHE_PREFIX, CACHE_NAME, NAMESPACE_KEY_VALUE, otherKey);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.evictAll(List.of(CACHED_OBJECT_KEY, otherKey));
+
+        assertThat(memcachedCache.evictions()).isEqualTo(2);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).deleteMulti(List.of(memcachedKey, otherMemcachedKey));
+    }
+
+    @Test
+    void whenNoReplyWriteModeAndPutThenSetWithoutAcknowledgment() {
+        memcachedCache.setWriteMode(MemcachedCacheProperties.WriteMode.NOREPLY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenReturn(CompletableFuture.completedFuture(null));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+        assertThat(memcachedCache.failedWrites()).isZero();
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenNoReplyWriteModeAndRetrieveWithValueLoaderThenSetWithoutAcknowledgment() {
+        memcachedCache.setWriteMode(MemcachedCacheProperties.WriteMode.NOREPLY);
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.setNoReply(memcachedKey, CACHE_EXPIRATION, valueLoaderValue))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY, () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+
+        verify(memcachedClient, times(2)).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+        verify(memcachedClient).setNoReply(memcachedKey, CACHE_EXPIRATION, valueLoaderValue);
+        verify(memcachedClient).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenNoReplyWriteModeAndRepeatedPutThenTouchNamespaceOncePerInterval() {
+        MutableClock clock = new MutableClock(Instant.now());
+        memcachedCache = new MemcachedCache(CACHE_NAME, memcachedClient, CACHE_EXPIRATION, CACHE_PREFIX, NAMESPACE_KEY, clock);
+        memcachedCache.setWriteMode(MemcachedCacheProperties.WriteMode.NOREPLY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenReturn(CompletableFuture.completedFuture(null));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        clock.advance(Duration.ofSeconds(1));
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        verify(memcachedClient, times(3)).get(namespaceKey);
+        verify(memcachedClient, times(3)).setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient, times(2)).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenNoReplyWriteModeAndWriteFailsThenCountFailedWrite() {
+        memcachedCache.setWriteMode(MemcachedCacheProperties.WriteMode.NOREPLY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue))
+                .thenReturn(CompletableFuture.failedFuture(new MemcachedOperationException("Failed to set key", null)));
+        when(memcachedClient.touchAsync(namespaceKey, CACHE_EXPIRATION)).thenThrow(new IllegalStateException("Queue full"));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        assertThat(memcachedCache.failedWrites()).isEqualTo(2);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).setNoReply(memcachedKey, CACHE_EXPIRATION, cachedValue);
+        verify(memcachedClient).touchAsync(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenNoReplyWriteModeAndEvictThenDeleteWithoutAcknowledgment() {
+        memcachedCache.setWriteMode(MemcachedCacheProperties.WriteMode.NOREPLY);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.deleteNoReply(memcachedKey)).thenReturn(CompletableFuture.completedFuture(null));
+
+        memcachedCache.evict(CACHED_OBJECT_KEY);
+
+        assertThat(memcachedCache.evictions()).isEqualTo(1);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).deleteNoReply(memcachedKey);
+    }
+
+    @Test
+    void whenWriteBehindAndPutThenWrittenInBatchOnFlush() {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+        writeBehind.setEnabled(true);
+        memcachedCache.setWriteBehind(writeBehind);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, "first");
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        memcachedCache.flush();
+
+        assertThat(memcachedCache.puts()).isEqualTo(2);
+        assertThat(memcachedCache.writeQueueSize()).isZero();
+        assertThat(memcachedCache.writeQueueDrops()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> written = ArgumentCaptor.forClass(Map.class);
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient, atLeastOnce()).setMulti(written.capture(), eq(CACHE_EXPIRATION));
+        verify(memcachedClient, times(written.getAllValues().size())).touch(namespaceKey, CACHE_EXPIRATION);
+        assertThat(written.getValue()).containsExactly(Map.entry(memcachedKey, cachedValue));
+    }
+
+    @Test
+    void whenWriteBehindAndRetrieveWithValueLoaderThenLoadedValueWrittenInBatchOnFlush() {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+        writeBehind.setEnabled(true);
+        memcachedCache.setWriteBehind(writeBehind);
+        when(memcachedClient.getAsync(namespaceKey)).thenReturn(CompletableFuture.completedFuture(NAMESPACE_KEY_VALUE));
+        when(memcachedClient.getAsync(memcachedKey)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Object actual = memcachedCache.retrieve(CACHED_OBJECT_KEY, () -> CompletableFuture.completedFuture(valueLoaderValue)).join();
+        memcachedCache.flush();
+
+        assertThat(actual).isEqualTo(valueLoaderValue);
+        assertThat(memcachedCache.puts()).isEqualTo(1);
+
+        verify(memcachedClient, times(2)).getAsync(namespaceKey);
+        verify(memcachedClient).getAsync(memcachedKey);
+        verify(memcachedClient).setMulti(Map.of(memcachedKey, valueLoaderValue), CACHE_EXPIRATION);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenWriteBehindAndConfiguredKeyReplicatedThenCopiesWrittenInBatchWithCopyExpiration() {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+        writeBehind.setEnabled(true);
+        memcachedCache.setWriteBehind(writeBehind);
+        memcachedCache.setHotKeyReplication(hotKeyReplication(3));
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        memcachedCache.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> originals = ArgumentCaptor.forClass(Map.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> copies = ArgumentCaptor.forClass(Map.class);
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).setMulti(originals.capture(), eq(CACHE_EXPIRATION));
+        verify(memcachedClient, atLeastOnce()).setMulti(copies.capture(), eq(10));
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+        assertThat(originals.getValue()).containsExactly(Map.entry(memcachedKey, cachedValue));
+        assertThat(copies.getAllValues().stream().flatMap(written -> written.entrySet().stream()))
+                .containsExactlyInAnyOrder(Map.entry(copyKey(1), cachedValue), Map.entry(copyKey(2), cachedValue));
+    }
+
+    @Test
+    void whenWriteBehindBatchInFlightAndGetAllThenReturnQueuedValue() throws Exception {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+        writeBehind.setEnabled(true);
+        memcachedCache.setWriteBehind(writeBehind);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+        when(memcachedClient.getMulti(any())).thenReturn(Map.of(memcachedKey, "stale"));
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            releaseWrite.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(memcachedClient).setMulti(any(), eq(CACHE_EXPIRATION));
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+        assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        MemcachedBulkResult actual = memcachedCache.getAll(List.of(CACHED_OBJECT_KEY));
+        releaseWrite.countDown();
+        memcachedCache.flush();
+
+        assertThat(actual.hits()).containsOnly(Map.entry(CACHED_OBJECT_KEY, cachedValue));
+
+        verify(memcachedClient, times(2)).get(namespaceKey);
+        verify(memcachedClient).getMulti(any());
+        verify(memcachedClient).setMulti(Map.of(memcachedKey, cachedValue), CACHE_EXPIRATION);
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    @Test
+    void whenCodecAndPutThenValueWrappedForCodec() {
+        MemcachedCodec codec = MemcachedCodecs.forName(BinaryMemcachedCodec.NAME);
+        memcachedCache.setCodec(codec);
+        when(memcachedClient.get(namespaceKey)).thenReturn(NAMESPACE_KEY_VALUE);
+
+        memcachedCache.put(CACHED_OBJECT_KEY, cachedValue);
+
+        verify(memcachedClient).get(namespaceKey);
+        verify(memcachedClient).set(memcachedKey, CACHE_EXPIRATION, new MemcachedCodecValue(codec, cachedValue));
+        verify(memcachedClient).touch(namespaceKey, CACHE_EXPIRATION);
+    }
+
+    private static MemcachedCacheProperties.Refresh refresh(Duration softTtl, double earlyRefreshBeta) {
+        MemcachedCacheProperties.Refresh refresh = new MemcachedCacheProperties.Refresh();
+        refresh.setSoftTtl(softTtl);
+        refresh.setEarlyRefreshBeta(earlyRefreshBeta);
+        return refresh;
+    }
+
+    /**
+     * Clock which can be moved forward by the tests.
+     */
+    static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
 }
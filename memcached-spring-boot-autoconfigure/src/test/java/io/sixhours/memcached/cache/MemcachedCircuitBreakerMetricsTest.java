@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MemcachedCircuitBreakerMetricsTest {
+
+    private final IMemcachedClient delegate = mock(IMemcachedClient.class);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void whenCircuitBreakersDisabled_thenNoMetricsBound() {
+        new MemcachedCircuitBreakerMetrics(delegate).bindTo(registry);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    @Test
+    void whenBound_thenStateAndOperationsOfEveryBreakerRegistered() {
+        CircuitBreakingMemcachedClient memcachedClient = new CircuitBreakingMemcachedClient(delegate,
+                MemcachedCircuitBreakerTest.properties(),
+                new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z")));
+        given(delegate.get("key")).willThrow(
+                new MemcachedOperationException("Failed to get key", new TimeoutException("Timed out")));
+        given(delegate.getMulti(List.of("key"))).willReturn(Map.of());
+
+        new MemcachedCircuitBreakerMetrics(memcachedClient).bindTo(registry);
+        memcachedClient.getMulti(List.of("key"));
+        for (int i = 0; i < 4; i++) {
+            assertThat(memcachedClient.get("key")).isNull();
+        }
+        memcachedClient.get("key");
+
+        assertThat(registry.get("memcached.circuit.breaker.state").tags("breaker", "client", "state", "open")
+                .gauge().value()).isEqualTo(1);
+        assertThat(registry.get("memcached.circuit.breaker.state").tags("breaker", "client", "state", "closed")
+                .gauge().value()).isZero();
+        assertThat(registry.get("memcached.circuit.breaker.operations").tags("breaker", "client", "outcome", "success")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("memcached.circuit.breaker.operations").tags("breaker", "client", "outcome", "timeout")
+                .functionCounter().count()).isEqualTo(4);
+        assertThat(registry.get("memcached.circuit.breaker.operations").tags("breaker", "client", "outcome", "error")
+                .functionCounter().count()).isZero();
+        assertThat(registry.get("memcached.circuit.breaker.operations").tags("breaker", "client", "outcome", "rejected")
+                .functionCounter().count()).isEqualTo(1);
+    }
+}
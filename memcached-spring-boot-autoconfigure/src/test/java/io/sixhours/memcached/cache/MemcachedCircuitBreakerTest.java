@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedCircuitBreakerTest {
+
+    private static final MemcachedOperationException ERROR = new MemcachedOperationException("Failed to get key", null);
+    private static final MemcachedOperationException TIMEOUT =
+            new MemcachedOperationException("Failed to get key", new TimeoutException("Timed out"));
+
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final MemcachedCircuitBreaker breaker = new MemcachedCircuitBreaker("memcached-1:11211", properties(), clock);
+
+    @Test
+    void whenFailureRateBelowThreshold_thenClosed() {
+        complete(6, null);
+        complete(3, ERROR);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void whenFailuresBelowMinimumCalls_thenClosed() {
+        complete(3, ERROR);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void whenFailureRateReachesThreshold_thenOpenAndOperationsRejected() {
+        complete(2, null);
+        complete(1, ERROR);
+        complete(1, TIMEOUT);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.permitsMultiKey()).isFalse();
+        assertThat(breaker.successes()).isEqualTo(2);
+        assertThat(breaker.errors()).isEqualTo(1);
+        assertThat(breaker.timeouts()).isEqualTo(1);
+        assertThat(breaker.rejections()).isEqualTo(2);
+    }
+
+    @Test
+    void whenOldFailuresLeaveWindow_thenNotCounted() {
+        complete(2, ERROR);
+        complete(8, null);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+
+        complete(2, ERROR);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void whenOpenDurationElapsed_thenTrialOperationsLetThrough() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.permitsMultiKey()).isFalse();
+    }
+
+    @Test
+    void whenAllTrialOperationsSucceed_thenClosed() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        complete(2, null);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.CLOSED);
+        assertThat(breaker.permitsMultiKey()).isTrue();
+    }
+
+    @Test
+    void whenTrialOperationFails_thenOpenAgain() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        complete(1, null);
+        complete(1, ERROR);
+
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void whenTrialOperationReleased_thenTrialLetThroughAgain() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.released();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void open() {
+        complete(4, TIMEOUT);
+        assertThat(breaker.state()).isEqualTo(MemcachedCircuitBreaker.State.OPEN);
+    }
+
+    private void complete(int times, RuntimeException error) {
+        for (int i = 0; i < times; i++) {
+            if (!breaker.tryAcquire()) {
+                continue;
+            }
+            if (error != null) {
+                breaker.failed(error);
+            } else {
+                breaker.succeeded();
+            }
+        }
+    }
+
+    static MemcachedCacheProperties.CircuitBreaker properties() {
+        MemcachedCacheProperties.CircuitBreaker properties = new MemcachedCacheProperties.CircuitBreaker();
+        properties.setEnabled(true);
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenTrials(2);
+        return properties;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemcachedCodecsTest {
+
+    private final MemcachedCodec codec = MemcachedCodecs.forName(BinaryMemcachedCodec.NAME);
+
+    @Test
+    void whenForJavaName_thenNoCodec() {
+        assertThat(MemcachedCodecs.forName(MemcachedCodecs.JAVA)).isNull();
+        assertThat(MemcachedCodecs.forName(null)).isNull();
+    }
+
+    @Test
+    void whenForBuiltInName_thenCodecReturned() {
+        assertThat(codec).isInstanceOf(BinaryMemcachedCodec.class);
+        assertThat(MemcachedCodecs.forName(JacksonMemcachedCodec.NAME)).isInstanceOf(JacksonMemcachedCodec.class);
+    }
+
+    @Test
+    void whenForUnknownName_thenFails() {
+        assertThatThrownBy(() -> MemcachedCodecs.forName("unknown"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown codec 'unknown'");
+    }
+
+    @Test
+    void whenRegisterCodecWithUsedId_thenFails() {
+        MemcachedCodec other = new BinaryMemcachedCodec() {
+            @Override
+            public String name() {
+                return "other";
+            }
+        };
+
+        assertThatThrownBy(() -> MemcachedCodecs.register(other))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Codec id 1 is already used by codec 'binary'");
+    }
+
+    @Test
+    void whenEncodeValue_thenDecodedWithCodecFromData() {
+        byte[] data = MemcachedCodecs.encode(new MemcachedCodecValue(codec, "value"));
+
+        assertThat(data[0]).isEqualTo((byte) codec.id());
+        assertThat(MemcachedCodecs.decode(data)).isEqualTo("value");
+    }
+
+    @Test
+    void whenEncodeNullValue_thenDecodedToNullValue() {
+        byte[] data = MemcachedCodecs.encode(new MemcachedCodecValue(codec, NullValue.INSTANCE));
+
+        assertThat(MemcachedCodecs.decode(data)).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void whenEncodeCacheEntry_thenDecodedToSameEntry() {
+        MemcachedCacheEntry entry = new MemcachedCacheEntry(3, "value", 1000, 25);
+        MemcachedCacheEntry nullEntry = new MemcachedCacheEntry(3, NullValue.INSTANCE);
+
+        assertThat(MemcachedCodecs.decode(MemcachedCodecs.encode(new MemcachedCodecValue(codec, entry))))
+                .isEqualTo(entry);
+        assertThat(MemcachedCodecs.decode(MemcachedCodecs.encode(new MemcachedCodecValue(codec, nullEntry))))
+                .isEqualTo(nullEntry);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedCompressionTest {
+
+    private final MemcachedCodec codec = MemcachedCodecs.forName(BinaryMemcachedCodec.NAME);
+    private final MemcachedCompression compression = new MemcachedCompression(compression(100));
+
+    @Test
+    void whenValueAboveThreshold_thenStoredCompressed() {
+        String value = "value ".repeat(100);
+
+        MemcachedCodecs.EncodedValue encoded = MemcachedCodecs.encodeValue(
+                new MemcachedCodecValue(codec, value, compression));
+
+        assertThat(encoded.flags()).isEqualTo(MemcachedCodecs.CODEC_FLAG | MemcachedCodecs.COMPRESSED_FLAG);
+        assertThat(encoded.data().length).isLessThan(value.length() / 2);
+        assertThat(MemcachedCodecs.decodeValue(encoded.flags(), encoded.data())).isEqualTo(value);
+        assertThat(compression.compressed()).isEqualTo(1);
+        assertThat(compression.ratio()).isLessThan(0.5);
+        assertThat(compression.compressionTime()).isPositive();
+    }
+
+    @Test
+    void whenValueBelowThreshold_thenStoredUncompressed() {
+        MemcachedCodecs.EncodedValue encoded = MemcachedCodecs.encodeValue(
+                new MemcachedCodecValue(codec, "value", compression));
+
+        assertThat(encoded.flags()).isEqualTo(MemcachedCodecs.CODEC_FLAG);
+        assertThat(MemcachedCodecs.decodeValue(encoded.flags(), encoded.data())).isEqualTo("value");
+        assertThat(compression.compressions()).isZero();
+    }
+
+    @Test
+    void whenValueCompressesPoorly_thenStoredUncompressed() {
+        byte[] value = new byte[1000];
+        new Random(42).nextBytes(value);
+
+        MemcachedCodecs.EncodedValue encoded = MemcachedCodecs.encodeValue(
+                new MemcachedCodecValue(codec, value, compression));
+
+        assertThat(encoded.flags()).isEqualTo(MemcachedCodecs.CODEC_FLAG);
+        assertThat((byte[]) MemcachedCodecs.decodeValue(encoded.flags(), encoded.data())).isEqualTo(value);
+        assertThat(compression.skipped()).isEqualTo(1);
+        assertThat(compression.compressed()).isZero();
+        assertThat(compression.ratio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void whenDeflateCompress_thenDecompressedToSameData() {
+        DeflateMemcachedCompressor compressor = new DeflateMemcachedCompressor();
+        byte[] data = "data ".repeat(5000).getBytes();
+
+        byte[] compressed = compressor.compress(data, 9);
+
+        assertThat(compressed.length).isLessThan(data.length);
+        assertThat(compressor.decompress(compressed, data.length)).isEqualTo(data);
+    }
+
+    private static MemcachedCacheProperties.Compression compression(long threshold) {
+        MemcachedCacheProperties.Compression compression = new MemcachedCacheProperties.Compression();
+        compression.setEnabled(true);
+        compression.setThreshold(DataSize.ofBytes(threshold));
+        return compression;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MemcachedEndpointTest {
+
+    @Test
+    void whenStats_thenStatisticsPerCacheManagerReturned() {
+        MemcachedServerStatistics.Snapshot snapshot = MemcachedServerStatistics.Snapshot.EMPTY;
+        Map<String, List<MemcachedHotKeys.HotKey>> hotKeys =
+                Map.of("books", List.of(new MemcachedHotKeys.HotKey("books:isbn-123", 100, 0, "memcached-1:11211")));
+        MemcachedCacheManager cacheManager = mock(MemcachedCacheManager.class);
+        MemcachedServerStatistics serverStatistics = mock(MemcachedServerStatistics.class);
+        given(cacheManager.serverStatistics()).willReturn(serverStatistics);
+        given(cacheManager.hotKeys()).willReturn(hotKeys);
+        given(serverStatistics.snapshot()).willReturn(snapshot);
+
+        MemcachedEndpoint.MemcachedDescriptor result =
+                new MemcachedEndpoint(Map.of("cacheManager", cacheManager, "booksCacheManager", cacheManager)).stats();
+
+        assertThat(result.cacheManagers())
+                .containsOnlyKeys("cacheManager", "books")
+                .containsEntry("books", new MemcachedEndpoint.CacheManagerDescriptor(snapshot, hotKeys));
+    }
+}
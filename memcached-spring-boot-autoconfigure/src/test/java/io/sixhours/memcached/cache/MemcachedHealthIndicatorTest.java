@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MemcachedHealthIndicatorTest {
+
+    private final IMemcachedClient delegate = mock(IMemcachedClient.class);
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final CircuitBreakingMemcachedClient memcachedClient =
+            new CircuitBreakingMemcachedClient(delegate, MemcachedCircuitBreakerTest.properties(), clock);
+    private final MemcachedCacheManager cacheManager = mock(MemcachedCacheManager.class);
+    private final MemcachedHealthIndicator healthIndicator =
+            new MemcachedHealthIndicator(Map.of("booksCacheManager", cacheManager));
+
+    @Test
+    void whenBreakersClosed_thenUp() {
+        given(cacheManager.client()).willReturn(memcachedClient);
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("circuitBreakers", Map.of("books", Map.of("client", "closed")));
+    }
+
+    @Test
+    void whenBreakerOpen_thenCircuitOpen() {
+        given(cacheManager.client()).willReturn(memcachedClient);
+        openClientBreaker();
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(MemcachedHealthIndicator.CIRCUIT_OPEN);
+        assertThat(health.getDetails()).containsEntry("circuitBreakers", Map.of("books", Map.of("client", "open")));
+    }
+
+    @Test
+    void whenOpenDurationElapsed_thenCircuitHalfOpen() {
+        given(cacheManager.client()).willReturn(memcachedClient);
+        openClientBreaker();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(MemcachedHealthIndicator.CIRCUIT_HALF_OPEN);
+    }
+
+    @Test
+    void whenCircuitBreakersDisabled_thenUpWithoutBreakers() {
+        given(cacheManager.client()).willReturn(delegate);
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("circuitBreakers", Map.of());
+    }
+
+    private void openClientBreaker() {
+        given(delegate.get("key")).willThrow(
+                new MemcachedOperationException("Failed to get key", new TimeoutException("Timed out")));
+        for (int i = 0; i < 4; i++) {
+            assertThat(memcachedClient.get("key")).isNull();
+        }
+    }
+}
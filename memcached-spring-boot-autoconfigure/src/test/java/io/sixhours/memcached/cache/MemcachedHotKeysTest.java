@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedHotKeysTest {
+
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void whenKeysRecorded_thenMostReadKeysReturnedFirst() {
+        MemcachedHotKeys hotKeys = hotKeys(10, 2);
+
+        record(hotKeys, "a", 3);
+        record(hotKeys, "b", 5);
+        record(hotKeys, "c", 1);
+
+        assertThat(hotKeys.top()).containsExactly(
+                new MemcachedHotKeys.HotKey("b", 5, 0, "server-b"),
+                new MemcachedHotKeys.HotKey("a", 3, 0, "server-a"));
+    }
+
+    @Test
+    void whenCapacityReached_thenLeastCountedKeyReplaced() {
+        MemcachedHotKeys hotKeys = hotKeys(2, 2);
+
+        record(hotKeys, "a", 5);
+        record(hotKeys, "b", 2);
+        record(hotKeys, "c", 1);
+
+        assertThat(hotKeys.top()).containsExactly(
+                new MemcachedHotKeys.HotKey("a", 5, 0, "server-a"),
+                new MemcachedHotKeys.HotKey("c", 3, 2, "server-c"));
+    }
+
+    @Test
+    void whenFrequentKeyReadAfterManyRareKeys_thenTracked() {
+        MemcachedHotKeys hotKeys = hotKeys(4, 1);
+
+        for (int i = 0; i < 100; i++) {
+            record(hotKeys, "rare-" + i, 1);
+            record(hotKeys, "hot", 1);
+        }
+
+        assertThat(hotKeys.top()).extracting(MemcachedHotKeys.HotKey::key).containsExactly("hot");
+    }
+
+    @Test
+    void whenDecayIntervalElapsed_thenCountsHalvedAndListenerNotified() {
+        MemcachedHotKeys hotKeys = hotKeys(10, 10);
+        List<List<MemcachedHotKeys.HotKey>> decayed = new ArrayList<>();
+        hotKeys.setListener(decayed::add);
+
+        record(hotKeys, "a", 8);
+        record(hotKeys, "b", 1);
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(hotKeys.top()).containsExactly(new MemcachedHotKeys.HotKey("a", 4, 0, "server-a"));
+        assertThat(decayed).containsExactly(List.of(
+                new MemcachedHotKeys.HotKey("a", 8, 0, "server-a"),
+                new MemcachedHotKeys.HotKey("b", 1, 0, "server-b")));
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(hotKeys.top()).containsExactly(new MemcachedHotKeys.HotKey("a", 1, 0, "server-a"));
+        assertThat(decayed).hasSize(2);
+    }
+
+    @Test
+    void whenKeysDroppedOnDecay_thenLeastCountedKeyReplacedAfterwards() {
+        MemcachedHotKeys hotKeys = hotKeys(3, 3);
+
+        record(hotKeys, "a", 8);
+        record(hotKeys, "b", 1);
+        record(hotKeys, "c", 6);
+        clock.advance(Duration.ofMinutes(1));
+        record(hotKeys, "d", 1);
+        record(hotKeys, "e", 1);
+
+        assertThat(hotKeys.top()).containsExactly(
+                new MemcachedHotKeys.HotKey("a", 4, 0, "server-a"),
+                new MemcachedHotKeys.HotKey("c", 3, 0, "server-c"),
+                new MemcachedHotKeys.HotKey("e", 2, 1, "server-e"));
+    }
+
+    @Test
+    void whenTopGreaterThanCapacity_thenCapacityKeysReturned() {
+        MemcachedHotKeys hotKeys = hotKeys(2, 10);
+
+        record(hotKeys, "a", 1);
+        record(hotKeys, "b", 1);
+        record(hotKeys, "c", 1);
+
+        assertThat(hotKeys.top()).hasSize(2);
+    }
+
+    private MemcachedHotKeys hotKeys(int capacity, int top) {
+        MemcachedCacheProperties.HotKeys properties = new MemcachedCacheProperties.HotKeys();
+        properties.setEnabled(true);
+        properties.setCapacity(capacity);
+        properties.setTop(top);
+        properties.setSampleRate(1);
+        return new MemcachedHotKeys(properties, clock, key -> "server-" + key);
+    }
+
+    private static void record(MemcachedHotKeys hotKeys, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeys.record(key);
+        }
+    }
+}
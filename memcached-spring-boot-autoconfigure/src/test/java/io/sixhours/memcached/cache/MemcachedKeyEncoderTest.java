@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedKeyEncoderTest {
+
+    private static final String PREFIX = "memcached:books:";
+
+    private final MemcachedKeyEncoder keyEncoder = new MemcachedKeyEncoder(PREFIX);
+
+    @Test
+    void whenEncodeKey_thenPrefixAndSegmentPrepended() {
+        assertThat(keyEncoder.encode("42", "key")).isEqualTo("memcached:books:42:key");
+        assertThat(keyEncoder.encode("", 7L)).isEqualTo("memcached:books::7");
+    }
+
+    @Test
+    void whenEncodeKeyWithWhitespace_thenWhitespaceStripped() {
+        String key = " a b\tc\nd\u000Be\ff\rg ";
+
+        assertThat(keyEncoder.encode("42", key))
+                .isEqualTo("memcached:books:42:" + key.replaceAll("\\s", ""))
+                .isEqualTo("memcached:books:42:abcdefg");
+    }
+
+    @Test
+    void whenEncodeTooLongKey_thenHashedWithReadablePrefix() {
+        String key = "k".repeat(300);
+
+        String result = keyEncoder.encode("42", key);
+
+        assertThat(result).hasSizeLessThanOrEqualTo(MemcachedKeyEncoder.MAX_KEY_LENGTH)
+                .startsWith("memcached:books:42:" + "k".repeat(32) + "#")
+                .matches(".*#[0-9a-f]{40}");
+        assertThat(keyEncoder.encode("42", key)).isEqualTo(result);
+        assertThat(keyEncoder.encode("42", key + "k")).isNotEqualTo(result);
+    }
+
+    @Test
+    void whenEncodeKeyOfMaxLength_thenNotHashed() {
+        String key = "k".repeat(MemcachedKeyEncoder.MAX_KEY_LENGTH - "memcached:books:42:".length());
+
+        assertThat(keyEncoder.encode("42", key)).isEqualTo("memcached:books:42:" + key);
+    }
+
+    @Test
+    void whenEncodeNonAsciiKey_thenHashed() {
+        String result = keyEncoder.encode("42", "caf\u00e9-1");
+
+        assertThat(result).startsWith("memcached:books:42:caf-1#").matches(".*#[0-9a-f]{40}");
+        assertThat(keyEncoder.encode("42", "caf\u00e8-1")).isNotEqualTo(result);
+    }
+
+    @Test
+    void whenEncodeKeyWithControlCharacter_thenHashed() {
+        assertThat(keyEncoder.encode("42", "a\u0000b")).startsWith("memcached:books:42:ab#");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemcachedKeyGeneratorTest {
+
+    private final MemcachedKeyGenerator keyGenerator = new MemcachedKeyGenerator();
+
+    @Test
+    void whenSingleStringArgument_thenSameStringReturned() {
+        String key = "isbn-123";
+
+        assertThat(keyGenerator.generateKey(key)).isSameAs(key);
+    }
+
+    @Test
+    void whenSimpleArguments_thenCompactKey() {
+        assertThat(keyGenerator.generateKey(123, "EUR", "de-DE")).isEqualTo("123,EUR,de-DE");
+        assertThat(keyGenerator.generateKey(1L, (short) 2, (byte) 3, true, 1.5d, 2.5f, 'c'))
+                .isEqualTo("1,2,3,true,1.5,2.5,c");
+        assertThat(keyGenerator.generateKey(TimeUnit.SECONDS, 7)).isEqualTo("SECONDS,7");
+        assertThat(keyGenerator.generateKey()).isEmpty();
+    }
+
+    @Test
+    void whenNullArgument_thenDistinctFromString() {
+        assertThat(keyGenerator.generateKey((Object) null)).isEqualTo("\\0");
+        assertThat(keyGenerator.generateKey("\\0")).isNotEqualTo(keyGenerator.generateKey((Object) null));
+        assertThat(keyGenerator.generateKey("null")).isNotEqualTo(keyGenerator.generateKey((Object) null));
+    }
+
+    @Test
+    void whenArgumentsContainDelimiter_thenEscaped() {
+        assertThat(keyGenerator.generateKey("a,b", "c")).isEqualTo("a\\,b,c");
+        assertThat(keyGenerator.generateKey("a,b", "c")).isNotEqualTo(keyGenerator.generateKey("a", "b,c"));
+        assertThat(keyGenerator.generateKey("a\\")).isEqualTo("a\\\\");
+    }
+
+    @Test
+    void whenCompositeArgument_thenHashed() {
+        String result = keyGenerator.generateKey(1, List.of("a", "b"));
+
+        assertThat(result).matches("1,\\\\#[A-Za-z0-9_-]{27}");
+        assertThat(keyGenerator.generateKey(1, List.of("a", "b"))).isEqualTo(result);
+        assertThat(keyGenerator.generateKey(1, new String[]{"a", "b"})).isEqualTo(result);
+        assertThat(keyGenerator.generateKey(1, List.of("a,b"))).isNotEqualTo(result);
+        assertThat(keyGenerator.generateKey(1, List.of("b", "a"))).isNotEqualTo(result);
+    }
+
+    @Test
+    void whenNestedCompositeArgument_thenHashed() {
+        String result = keyGenerator.generateKey(Map.of("k", List.of(1, 2)), new int[]{1, 2});
+
+        assertThat(result).matches("\\\\#[A-Za-z0-9_-]{27},\\\\#[A-Za-z0-9_-]{27}");
+        assertThat(keyGenerator.generateKey(Map.of("k", List.of(1, 2)), new int[]{1, 2})).isEqualTo(result);
+        assertThat(keyGenerator.generateKey(Map.of("k", List.of(1, 3)), new int[]{1, 2})).isNotEqualTo(result);
+    }
+
+    @Test
+    void whenObjectArgument_thenHashedByToString() {
+        String result = keyGenerator.generateKey(new Book("isbn-123"));
+
+        assertThat(result).matches("\\\\#[A-Za-z0-9_-]{27}");
+        assertThat(keyGenerator.generateKey(new Book("isbn-123"))).isEqualTo(result);
+        assertThat(keyGenerator.generateKey(new Book("isbn-456"))).isNotEqualTo(result);
+    }
+
+    @Test
+    void whenKeyExceedsMaxLength_thenWholeKeyHashed() {
+        MemcachedKeyGenerator generator = new MemcachedKeyGenerator(10);
+
+        assertThat(generator.generateKey("abc", "defghi")).isEqualTo("abc,defghi");
+        assertThat(generator.generateKey("abc", "defghij")).matches("\\\\\\*[A-Za-z0-9_-]{27}");
+        assertThat(generator.generateKey("abcdefghijk")).matches("\\\\\\*[A-Za-z0-9_-]{27}");
+        assertThat(generator.generateKey("abc", "defghij")).isNotEqualTo(generator.generateKey("abc", "defghik"));
+    }
+
+    @Test
+    void whenZeroMaxLength_thenIllegalArgumentException() {
+        assertThatThrownBy(() -> new MemcachedKeyGenerator(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Key generator max length must be greater then zero");
+    }
+
+    private record Book(String isbn) {
+    }
+}
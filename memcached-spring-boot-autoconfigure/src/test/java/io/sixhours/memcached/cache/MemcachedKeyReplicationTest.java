@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedKeyReplicationTest {
+
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void whenKeyConfigured_thenReplicated() {
+        MemcachedKeyReplication replication = replication(0, Set.of("a"), () -> null);
+
+        assertThat(replication.isReplicated("a", "memcached:a")).isTrue();
+        assertThat(replication.isReplicated("b", "memcached:b")).isFalse();
+        assertThat(replication.mayHaveCopies("a")).isTrue();
+        assertThat(replication.mayHaveCopies("b")).isFalse();
+    }
+
+    @Test
+    void whenLastCountReachesThreshold_thenReplicated() {
+        MemcachedHotKeys hotKeys = hotKeys();
+        MemcachedKeyReplication replication = replication(4, null, () -> hotKeys);
+        record(hotKeys, "memcached:a", 4);
+        record(hotKeys, "memcached:b", 3);
+
+        assertThat(replication.isReplicated("a", "memcached:a")).isFalse();
+
+        clock.advance(Duration.ofMinutes(1));
+        hotKeys.top();
+
+        assertThat(replication.isReplicated("a", "memcached:a")).isTrue();
+        assertThat(replication.isReplicated("b", "memcached:b")).isFalse();
+        assertThat(replication.mayHaveCopies("b")).isTrue();
+    }
+
+    @Test
+    void whenHotKeysNotTracked_thenOnlyConfiguredKeysReplicated() {
+        MemcachedKeyReplication replication = replication(1, Set.of("a"), () -> null);
+
+        assertThat(replication.isReplicated("a", "memcached:a")).isTrue();
+        assertThat(replication.isReplicated("b", "memcached:b")).isFalse();
+    }
+
+    @Test
+    void whenRandomCopy_thenWithinCopies() {
+        MemcachedKeyReplication replication = replication(0, null, () -> null);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(replication.randomCopy()).isBetween(0, 2);
+        }
+        assertThat(replication.copies()).isEqualTo(3);
+        assertThat(replication.copyExpiration()).isEqualTo(10);
+    }
+
+    private static MemcachedKeyReplication replication(long threshold, Set<String> keys,
+                                                       Supplier<MemcachedHotKeys> hotKeys) {
+        MemcachedCacheProperties.HotKeyReplication properties = new MemcachedCacheProperties.HotKeyReplication();
+        properties.setEnabled(true);
+        properties.setThreshold(threshold);
+        return new MemcachedKeyReplication(properties, keys, hotKeys);
+    }
+
+    private MemcachedHotKeys hotKeys() {
+        MemcachedCacheProperties.HotKeys properties = new MemcachedCacheProperties.HotKeys();
+        properties.setEnabled(true);
+        properties.setSampleRate(1);
+        return new MemcachedHotKeys(properties, clock, key -> null);
+    }
+
+    private static void record(MemcachedHotKeys hotKeys, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeys.record(key);
+        }
+    }
+}
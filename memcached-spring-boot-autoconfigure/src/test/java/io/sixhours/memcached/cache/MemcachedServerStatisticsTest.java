@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MemcachedServerStatisticsTest {
+
+    private static final String SERVER = "memcached-1:11211";
+
+    private final IMemcachedClient memcachedClient = mock(IMemcachedClient.class);
+    private final MemcachedCacheTest.MutableClock clock =
+            new MemcachedCacheTest.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final MemcachedServerStatistics serverStatistics =
+            new MemcachedServerStatistics(memcachedClient, Duration.ofSeconds(10), Runnable::run, clock);
+
+    @BeforeEach
+    void setUp() {
+        given(memcachedClient.stats(null)).willReturn(Map.of(SERVER, Map.of(
+                "curr_items", "120",
+                "evictions", "7",
+                "get_hits", "75",
+                "get_misses", "25",
+                "bytes", "1024",
+                "limit_maxbytes", "4096",
+                "curr_connections", "10")));
+        given(memcachedClient.stats("slabs")).willReturn(Map.of(SERVER, Map.of(
+                "1:chunk_size", "96",
+                "1:total_chunks", "100",
+                "1:used_chunks", "25",
+                "2:chunk_size", "120",
+                "active_slabs", "2",
+                "total_malloced", "2097152")));
+        given(memcachedClient.stats("items")).willReturn(Map.of(SERVER, Map.of(
+                "items:1:number", "25",
+                "items:1:evicted", "3",
+                "items:3:number", "1")));
+    }
+
+    @Test
+    void whenSnapshot_thenServerStatsCollected() {
+        MemcachedServerStatistics.Snapshot snapshot = serverStatistics.snapshot();
+
+        assertThat(snapshot.collectedAt()).isEqualTo(clock.instant());
+        assertThat(snapshot.error()).isNull();
+        assertThat(snapshot.servers()).containsOnlyKeys(SERVER);
+
+        MemcachedServerStatistics.Server server = snapshot.servers().get(SERVER);
+        assertThat(server.summary()).isEqualTo(
+                new MemcachedServerStatistics.Summary(120, 7, 75, 25, 0.75, 1024, 4096, 0.25, 10));
+        assertThat(server.stats()).containsEntry("curr_items", "120");
+    }
+
+    @Test
+    void whenSnapshot_thenSlabsCollected() {
+        Map<Integer, MemcachedServerStatistics.Slab> slabs = serverStatistics.snapshot().servers().get(SERVER).slabs();
+
+        assertThat(slabs).containsOnlyKeys(1, 2, 3);
+        assertThat(slabs.get(1).chunkSize()).isEqualTo(96);
+        assertThat(slabs.get(1).fill()).isEqualTo(0.25);
+        assertThat(slabs.get(1).items()).isEqualTo(25);
+        assertThat(slabs.get(1).evicted()).isEqualTo(3);
+        assertThat(slabs.get(1).itemStats()).containsEntry("number", "25");
+        assertThat(slabs.get(2).fill()).isNull();
+        assertThat(slabs.get(3).items()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSnapshotWithinMinInterval_thenServersNotQueriedAgain() {
+        serverStatistics.snapshot();
+        clock.advance(Duration.ofSeconds(9));
+        serverStatistics.snapshot();
+
+        verify(memcachedClient, times(1)).stats(null);
+
+        clock.advance(Duration.ofSeconds(1));
+        serverStatistics.snapshot();
+
+        verify(memcachedClient, times(2)).stats(null);
+    }
+
+    @Test
+    void whenQueryInProgress_thenSnapshotReturnedWithoutWaiting() {
+        List<Runnable> queued = new ArrayList<>();
+        Executor executor = queued::add;
+        MemcachedServerStatistics statistics =
+                new MemcachedServerStatistics(memcachedClient, Duration.ofSeconds(10), executor, clock);
+
+        assertThat(statistics.snapshot()).isSameAs(MemcachedServerStatistics.Snapshot.EMPTY);
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(statistics.snapshot()).isSameAs(MemcachedServerStatistics.Snapshot.EMPTY);
+        assertThat(queued).hasSize(1);
+        verify(memcachedClient, never()).stats(null);
+
+        queued.get(0).run();
+
+        assertThat(statistics.snapshot().servers()).containsOnlyKeys(SERVER);
+    }
+
+    @Test
+    void whenQueryFails_thenPreviousStatsKeptWithError() {
+        MemcachedServerStatistics.Snapshot previous = serverStatistics.snapshot();
+        given(memcachedClient.stats(null)).willThrow(new MemcachedOperationException("Failed to get server stats",
+                new RuntimeException()));
+        clock.advance(Duration.ofSeconds(10));
+
+        MemcachedServerStatistics.Snapshot snapshot = serverStatistics.snapshot();
+
+        assertThat(snapshot.error()).isEqualTo("Failed to get server stats");
+        assertThat(snapshot.collectedAt()).isEqualTo(previous.collectedAt());
+        assertThat(snapshot.servers()).isEqualTo(previous.servers());
+    }
+
+    @Test
+    void whenListenerSet_thenNotifiedOncePerServer() {
+        List<String> added = new ArrayList<>();
+        serverStatistics.setListener(added::add);
+
+        serverStatistics.snapshot();
+        clock.advance(Duration.ofSeconds(10));
+        serverStatistics.snapshot();
+
+        assertThat(added).containsExactly(SERVER);
+
+        List<String> addedLater = new ArrayList<>();
+        serverStatistics.setListener(addedLater::add);
+
+        assertThat(addedLater).containsExactly(SERVER);
+    }
+}
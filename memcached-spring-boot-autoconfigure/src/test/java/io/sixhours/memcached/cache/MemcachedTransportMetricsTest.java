@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MemcachedTransportMetricsTest {
+
+    private static final InetSocketAddress SERVER_1 = InetSocketAddress.createUnresolved("memcached-1", 11211);
+    private static final InetSocketAddress SERVER_2 = InetSocketAddress.createUnresolved("memcached-2", 11211);
+    private static final InetSocketAddress SERVER_3 = InetSocketAddress.createUnresolved("memcached-3", 11211);
+
+    private final FakeTransport transport = new FakeTransport();
+    private final MemcachedTransportStatistics statistics = new MemcachedTransportStatistics(transport);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void whenNotBound_thenOperationsNotTracked() {
+        MemcachedTransportStatistics.ServerOperation operation = statistics.start("memcached-1:key");
+
+        assertThat(operation).isSameAs(MemcachedTransportStatistics.ServerOperation.NONE);
+        assertThat(transport.started).isFalse();
+        assertThat(statistics.servers()).isEmpty();
+    }
+
+    @Test
+    void whenBound_thenServerMetricsRegistered() {
+        transport.connected.remove(SERVER_2);
+        transport.writeQueueBytes.put(SERVER_1, 512L);
+
+        bind();
+
+        assertThat(transport.started).isTrue();
+        assertThat(registry.get("memcached.servers.available").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("memcached.server.connected").tag("server", "memcached-1:11211").gauge().value())
+                .isEqualTo(1);
+        assertThat(registry.get("memcached.server.connected").tag("server", "memcached-2:11211").gauge().value())
+                .isZero();
+        assertThat(registry.get("memcached.server.write.queue").tag("server", "memcached-1:11211").gauge().value())
+                .isEqualTo(512);
+        assertThat(registry.get("memcached.server.inflight").tag("server", "memcached-2:11211").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void whenOperationCompleted_thenRecordedForItsServer() {
+        bind();
+
+        MemcachedTransportStatistics.ServerOperation get = statistics.start("memcached-1:key");
+        MemcachedTransportStatistics.ServerOperation set = statistics.start("memcached-1:other");
+
+        assertThat(registry.get("memcached.server.inflight").tag("server", "memcached-1:11211").gauge().value())
+                .isEqualTo(2);
+
+        get.completed(null);
+        set.completed(new MemcachedOperationException("Failed to set key", new TimeoutException()));
+
+        assertThat(registry.get("memcached.server.inflight").tag("server", "memcached-1:11211").gauge().value())
+                .isZero();
+        assertThat(registry.get("memcached.server.operations").tag("server", "memcached-1:11211").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("memcached.server.operations").tag("server", "memcached-2:11211").timer().count())
+                .isZero();
+        assertThat(registry.get("memcached.server.timeouts").tag("server", "memcached-1:11211").functionCounter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenConnectionLostAndEstablished_thenReconnectCounted() {
+        bind();
+
+        statistics.connectionEstablished(SERVER_1);
+        statistics.connectionLost(SERVER_2);
+        statistics.connectionEstablished(SERVER_2);
+
+        assertThat(registry.get("memcached.server.reconnects").tag("server", "memcached-1:11211").functionCounter()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("memcached.server.reconnects").tag("server", "memcached-2:11211").functionCounter()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("memcached.server.disconnects").tag("server", "memcached-2:11211").functionCounter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenServerDiscoveredAfterBinding_thenItsMetricsRegistered() {
+        bind();
+
+        statistics.connectionEstablished(SERVER_3);
+        transport.connected.add(SERVER_3);
+
+        assertThat(registry.get("memcached.server.reconnects").tag("server", "memcached-3:11211").functionCounter()
+                .count()).isZero();
+        assertThat(registry.get("memcached.server.connected").tag("server", "memcached-3:11211").gauge().value())
+                .isEqualTo(1);
+        assertThat(registry.get("memcached.servers.available").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void whenClientWithoutStatistics_thenNoMetricsRegistered() {
+        new MemcachedTransportMetrics(mock(IMemcachedClient.class), new MemcachedCacheProperties.Metrics())
+                .bindTo(registry);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private void bind() {
+        IMemcachedClient memcachedClient = mock(IMemcachedClient.class);
+        given(memcachedClient.transportStatistics()).willReturn(statistics);
+
+        new MemcachedTransportMetrics(memcachedClient, new MemcachedCacheProperties.Metrics()).bindTo(registry);
+    }
+
+    private static class FakeTransport implements MemcachedTransportStatistics.Transport {
+        private final Set<InetSocketAddress> connected = ConcurrentHashMap.newKeySet();
+        private final Map<InetSocketAddress, Long> writeQueueBytes = new ConcurrentHashMap<>();
+        private volatile boolean started;
+
+        FakeTransport() {
+            connected.add(SERVER_1);
+            connected.add(SERVER_2);
+        }
+
+        @Override
+        public void start(MemcachedTransportStatistics statistics) {
+            this.started = true;
+        }
+
+        @Override
+        public Collection<InetSocketAddress> servers() {
+            return List.of(SERVER_1, SERVER_2);
+        }
+
+        @Override
+        public InetSocketAddress locate(String key) {
+            return key.startsWith("memcached-1") ? SERVER_1 : SERVER_2;
+        }
+
+        @Override
+        public boolean isConnected(InetSocketAddress address) {
+            return connected.contains(address);
+        }
+
+        @Override
+        public long writeQueueBytes(InetSocketAddress address) {
+            return writeQueueBytes.getOrDefault(address, 0L);
+        }
+
+        @Override
+        public boolean isTimeout(Throwable error) {
+            return error.getCause() instanceof TimeoutException;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class MemcachedWriteBehindQueueTest {
+
+    private final List<Map<String, Object>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+
+    private MemcachedWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        this.queue = queue(2, MemcachedCacheProperties.WriteBehind.FullPolicy.DROP);
+    }
+
+    @Test
+    void whenSameKeyQueuedTwice_thenSingleWriteOfLatestValue() throws Exception {
+        queueWhileWorkerBlocked();
+
+        queue.enqueue("key-b", "value-1");
+        queue.enqueue("key-b", "value-2");
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.pending("key-b")).isEqualTo("value-2");
+
+        releaseFirstBatch.countDown();
+        queue.flush();
+
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"), Map.of("key-b", "value-2"));
+        assertThat(queue.size()).isZero();
+        assertThat(queue.pending("key-b")).isNull();
+    }
+
+    @Test
+    void whenQueueFullAndDropPolicy_thenWriteDropped() throws Exception {
+        queueWhileWorkerBlocked();
+
+        queue.enqueue("key-b", "value-b");
+        queue.enqueue("key-c", "value-c");
+        queue.enqueue("key-d", "value-d");
+
+        assertThat(queue.drops()).isEqualTo(1);
+
+        releaseFirstBatch.countDown();
+        queue.flush();
+
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"), Map.of("key-b", "value-b", "key-c", "value-c"));
+    }
+
+    @Test
+    void whenQueueFullAndWritePolicy_thenWrittenInCallerThread() throws Exception {
+        this.queue = queue(1, MemcachedCacheProperties.WriteBehind.FullPolicy.WRITE);
+        queueWhileWorkerBlocked();
+
+        queue.enqueue("key-b", "value-b");
+        queue.enqueue("key-c", "value-c");
+
+        assertThat(queue.drops()).isZero();
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"), Map.of("key-c", "value-c"));
+
+        releaseFirstBatch.countDown();
+        queue.flush();
+
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"), Map.of("key-c", "value-c"),
+                Map.of("key-b", "value-b"));
+    }
+
+    @Test
+    void whenQueueFullAndBlockPolicy_thenWaitsForFreeSpace() throws Exception {
+        this.queue = queue(1, MemcachedCacheProperties.WriteBehind.FullPolicy.BLOCK);
+        queueWhileWorkerBlocked();
+        queue.enqueue("key-b", "value-b");
+
+        Thread blocked = new Thread(() -> queue.enqueue("key-c", "value-c"));
+        blocked.start();
+        await().until(() -> blocked.getState() == Thread.State.WAITING);
+
+        releaseFirstBatch.countDown();
+        blocked.join(TimeUnit.SECONDS.toMillis(5));
+        queue.flush();
+
+        assertThat(queue.drops()).isZero();
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"), Map.of("key-b", "value-b"),
+                Map.of("key-c", "value-c"));
+    }
+
+    @Test
+    void whenKeyRemoved_thenQueuedWriteDiscarded() throws Exception {
+        queueWhileWorkerBlocked();
+        queue.enqueue("key-b", "value-b");
+
+        queue.remove("key-b");
+
+        releaseFirstBatch.countDown();
+        queue.flush();
+
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"));
+    }
+
+    @Test
+    void whenBatchInFlight_thenValueVisibleAndRemoveWaitsForWrite() throws Exception {
+        queueWhileWorkerBlocked();
+
+        assertThat(queue.pending("key-a")).isEqualTo("value-a");
+
+        Thread remove = new Thread(() -> queue.remove("key-a"));
+        remove.start();
+        await().until(() -> remove.getState() == Thread.State.WAITING);
+
+        releaseFirstBatch.countDown();
+        remove.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(remove.isAlive()).isFalse();
+        assertThat(queue.pending("key-a")).isNull();
+    }
+
+    @Test
+    void whenClosed_thenWorkerStopsAndQueuedValuesWrittenOnFlush() {
+        queue.close();
+
+        queue.enqueue("key-a", "value-a");
+
+        await().during(Duration.ofMillis(200)).until(() -> batches.isEmpty());
+        queue.flush();
+
+        assertThat(batches).containsExactly(Map.of("key-a", "value-a"));
+    }
+
+    @Test
+    void whenWriteFails_thenFailuresCounted() {
+        this.queue = new MemcachedWriteBehindQueue("test", writeBehind(10,
+                MemcachedCacheProperties.WriteBehind.FullPolicy.DROP), values -> {
+            throw new MemcachedOperationException("Failed to set key", null);
+        });
+
+        queue.enqueue("key-a", "value-a");
+        queue.flush();
+
+        assertThat(queue.failures()).isEqualTo(1);
+        assertThat(queue.batches()).isEqualTo(1);
+    }
+
+    /**
+     * Queues the first write and waits for the worker to start writing it, keeping the worker busy until
+     * {@code releaseFirstBatch} is counted down.
+     */
+    private void queueWhileWorkerBlocked() throws InterruptedException {
+        queue.enqueue("key-a", "value-a");
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private MemcachedWriteBehindQueue queue(int capacity, MemcachedCacheProperties.WriteBehind.FullPolicy fullPolicy) {
+        return new MemcachedWriteBehindQueue("test", writeBehind(capacity, fullPolicy), values -> {
+            batches.add(Map.copyOf(values));
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                try {
+                    releaseFirstBatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    private static MemcachedCacheProperties.WriteBehind writeBehind(int capacity,
+                                                                    MemcachedCacheProperties.WriteBehind.FullPolicy fullPolicy) {
+        MemcachedCacheProperties.WriteBehind writeBehind = new MemcachedCacheProperties.WriteBehind();
+        writeBehind.setEnabled(true);
+        writeBehind.setCapacity(capacity);
+        writeBehind.setBatchSize(10);
+        writeBehind.setFullPolicy(fullPolicy);
+        return writeBehind;
+    }
+}
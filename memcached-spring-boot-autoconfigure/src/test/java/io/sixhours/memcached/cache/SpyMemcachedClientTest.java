@@ -16,11 +16,26 @@
 package io.sixhours.memcached.cache;
 
 import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.internal.GetCompletionListener;
+import net.spy.memcached.internal.GetFuture;
+import net.spy.memcached.internal.OperationCompletionListener;
+import net.spy.memcached.internal.OperationFuture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.anyString;
@@ -69,6 +84,17 @@ class SpyMemcachedClientTest {
         verify(client).set("my-key", 12000, "my-value");
     }
 
+    @Test
+    void whenAdd_thenCorrectMethodInvoked() throws Exception {
+        OperationFuture<Boolean> operationFuture = completedOperationFuture(Boolean.TRUE);
+        given(client.add("my-key", 12000, "my-value")).willReturn(operationFuture);
+
+        boolean result = memcachedClient.add("my-key", 12000, "my-value");
+
+        assertThat(result).isTrue();
+        verify(client).add("my-key", 12000, "my-value");
+    }
+
     @Test
     void whenTouch_thenCorrectMethodInvoked() {
         memcachedClient.touch("my-key", 700);
@@ -97,10 +123,151 @@ class SpyMemcachedClientTest {
         verify(client).incr("my-key", 2);
     }
 
+    @Test
+    void whenGetMulti_thenCorrectMethodInvoked() {
+        List<String> keys = List.of("my-key", "other-key");
+        given(client.getBulk(keys)).willReturn(Map.of("my-key", "my-value"));
+
+        Map<String, Object> result = memcachedClient.getMulti(keys);
+
+        assertThat(result).containsOnly(Map.entry("my-key", "my-value"));
+        verify(client).getBulk(keys);
+    }
+
+    @Test
+    void whenSetMulti_thenCorrectMethodInvoked() {
+        memcachedClient.setMulti(Map.of("my-key", "my-value", "other-key", "other-value"), 12000);
+
+        verify(client).set("my-key", 12000, "my-value");
+        verify(client).set("other-key", 12000, "other-value");
+    }
+
+    @Test
+    void whenDeleteMulti_thenCorrectMethodInvoked() {
+        memcachedClient.deleteMulti(List.of("my-key", "other-key"));
+
+        verify(client).delete("my-key");
+        verify(client).delete("other-key");
+    }
+
     @Test
     void whenShutdown_thenCorrectMethodInvoked() {
         memcachedClient.shutdown();
 
         verify(client).shutdown();
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetAsync_thenCompleteWithListenerResult() throws Exception {
+        GetFuture<Object> getFuture = mock(GetFuture.class);
+        given(getFuture.get()).willReturn("result");
+        given(getFuture.addListener(any())).willAnswer(invocation -> {
+            invocation.<GetCompletionListener>getArgument(0).onComplete(getFuture);
+            return getFuture;
+        });
+        given(client.asyncGet("my-key")).willReturn(getFuture);
+
+        Object result = memcachedClient.getAsync("my-key").join();
+
+        assertThat(result).isEqualTo("result");
+        verify(client).asyncGet("my-key");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetAsyncCancelled_thenCompleteExceptionally() throws Exception {
+        GetFuture<Object> getFuture = mock(GetFuture.class);
+        given(getFuture.get()).willThrow(new CancellationException("Cancelled"));
+        given(getFuture.addListener(any())).willAnswer(invocation -> {
+            invocation.<GetCompletionListener>getArgument(0).onComplete(getFuture);
+            return getFuture;
+        });
+        given(client.asyncGet("my-key")).willReturn(getFuture);
+
+        assertThatThrownBy(() -> memcachedClient.getAsync("my-key").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MemcachedOperationException.class)
+                .hasRootCauseInstanceOf(CancellationException.class);
+
+        verify(client).asyncGet("my-key");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetAsyncListenerNotCalled_thenCompleteExceptionallyAfterOperationTimeout() {
+        SpyMemcachedClient timedClient = new SpyMemcachedClient(client, Duration.ofMillis(50));
+        GetFuture<Object> getFuture = mock(GetFuture.class);
+        given(client.asyncGet("my-key")).willReturn(getFuture);
+
+        assertThatThrownBy(() -> timedClient.getAsync("my-key").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        verify(client).asyncGet("my-key");
+    }
+
+    @Test
+    void whenSetAsync_thenCompleteWithListenerResult() throws Exception {
+        OperationFuture<Boolean> operationFuture = completedOperationFuture(Boolean.TRUE);
+        given(client.set("my-key", 12000, "my-value")).willReturn(operationFuture);
+
+        memcachedClient.setAsync("my-key", 12000, "my-value").join();
+
+        verify(client).set("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenAddAsync_thenCompleteWithListenerResult() throws Exception {
+        OperationFuture<Boolean> operationFuture = completedOperationFuture(Boolean.FALSE);
+        given(client.add("my-key", 12000, "my-value")).willReturn(operationFuture);
+
+        Boolean result = memcachedClient.addAsync("my-key", 12000, "my-value").join();
+
+        assertThat(result).isFalse();
+        verify(client).add("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenDeleteAsync_thenCompleteWithListenerResult() throws Exception {
+        OperationFuture<Boolean> operationFuture = completedOperationFuture(Boolean.TRUE);
+        given(client.delete("my-key")).willReturn(operationFuture);
+
+        memcachedClient.deleteAsync("my-key").join();
+
+        verify(client).delete("my-key");
+    }
+
+    @Test
+    void whenIncrAsync_thenCompleteWithListenerResult() throws Exception {
+        OperationFuture<Long> operationFuture = completedOperationFuture(123L);
+        given(client.asyncIncr("my-key", 2)).willReturn(operationFuture);
+
+        Long result = memcachedClient.incrAsync("my-key", 2).join();
+
+        assertThat(result).isEqualTo(123L);
+        verify(client).asyncIncr("my-key", 2);
+    }
+
+    @Test
+    void whenStats_thenServersKeyedByAddress() {
+        given(client.getStats()).willReturn(Map.<java.net.SocketAddress, Map<String, String>>of(
+                InetSocketAddress.createUnresolved("memcached-1", 11211), Map.of("evictions", "7")));
+
+        Map<String, Map<String, String>> result = memcachedClient.stats(null);
+
+        assertThat(result).containsOnly(entry("memcached-1:11211", Map.of("evictions", "7")));
+        verify(client).getStats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> OperationFuture<T> completedOperationFuture(T value) throws Exception {
+        OperationFuture<T> operationFuture = mock(OperationFuture.class);
+        given(operationFuture.get()).willReturn(value);
+        given(operationFuture.addListener(any())).willAnswer(invocation -> {
+            invocation.<OperationCompletionListener>getArgument(0).onComplete(operationFuture);
+            return operationFuture;
+        });
+        return operationFuture;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.sixhours.memcached.cache.MemcachedOperationListener.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TimedMemcachedClientTest {
+
+    private final IMemcachedClient delegate = mock(IMemcachedClient.class);
+    private final List<Operation> operations = new CopyOnWriteArrayList<>();
+    private final MemcachedOperationListener listener = new MemcachedOperationListener() {
+        @Override
+        public void operationCompleted(Operation operation, long durationNanos) {
+            assertThat(durationNanos).isNotNegative();
+            operations.add(operation);
+        }
+    };
+
+    private final TimedMemcachedClient memcachedClient = new TimedMemcachedClient(delegate, listener, 1.0);
+
+    @Test
+    void whenSyncOperations_thenTimedByOperation() {
+        given(delegate.get("my-key")).willReturn("my-value");
+        given(delegate.incr("counter", 1)).willReturn(2L);
+
+        assertThat(memcachedClient.get("my-key")).isEqualTo("my-value");
+        memcachedClient.set("my-key", 60, "my-value");
+        memcachedClient.add("my-key", 60, "my-value");
+        memcachedClient.touch("my-key", 60);
+        memcachedClient.delete("my-key");
+        assertThat(memcachedClient.incr("counter", 1)).isEqualTo(2L);
+        memcachedClient.getMulti(List.of("my-key"));
+        memcachedClient.setMulti(Map.of("my-key", "my-value"), 60);
+        memcachedClient.deleteMulti(List.of("my-key"));
+
+        assertThat(operations).containsExactly(Operation.GET, Operation.SET, Operation.SET, Operation.TOUCH,
+                Operation.DELETE, Operation.INCR, Operation.GET, Operation.SET, Operation.DELETE);
+        verify(delegate).set("my-key", 60, "my-value");
+        verify(delegate).add("my-key", 60, "my-value");
+        verify(delegate).touch("my-key", 60);
+        verify(delegate).delete("my-key");
+    }
+
+    @Test
+    void whenSyncOperationFails_thenStillTimed() {
+        given(delegate.get("my-key")).willThrow(new MemcachedOperationException("Failed to get key", null));
+
+        assertThatThrownBy(() -> memcachedClient.get("my-key")).isInstanceOf(MemcachedOperationException.class);
+
+        assertThat(operations).containsExactly(Operation.GET);
+    }
+
+    @Test
+    void whenAsyncOperation_thenTimedOnCompletion() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        given(delegate.getAsync("my-key")).willReturn(pending);
+
+        CompletableFuture<Object> result = memcachedClient.getAsync("my-key");
+
+        assertThat(operations).isEmpty();
+
+        pending.complete("my-value");
+
+        assertThat(result.join()).isEqualTo("my-value");
+        assertThat(operations).containsExactly(Operation.GET);
+    }
+
+    @Test
+    void whenNoReplyOperations_thenTimedAsSetAndDelete() {
+        given(delegate.setNoReply("my-key", 60, "my-value")).willReturn(CompletableFuture.completedFuture(null));
+        given(delegate.deleteNoReply("my-key")).willReturn(CompletableFuture.completedFuture(null));
+
+        memcachedClient.setNoReply("my-key", 60, "my-value").join();
+        memcachedClient.deleteNoReply("my-key").join();
+
+        assertThat(operations).containsExactly(Operation.SET, Operation.DELETE);
+    }
+
+    @Test
+    void whenFlushAndShutdown_thenNotTimed() {
+        memcachedClient.flush();
+        memcachedClient.shutdown();
+
+        assertThat(operations).isEmpty();
+        verify(delegate).flush();
+        verify(delegate).shutdown();
+    }
+
+    @Test
+    void whenSampleRateBelowOne_thenOnlyFractionTimed() {
+        TimedMemcachedClient sampledClient = new TimedMemcachedClient(delegate, listener, 0.1);
+
+        for (int i = 0; i < 10000; i++) {
+            sampledClient.delete("my-key");
+        }
+
+        assertThat(operations).hasSizeBetween(500, 1500);
+    }
+}
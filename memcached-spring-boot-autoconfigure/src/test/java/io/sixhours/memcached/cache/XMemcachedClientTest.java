@@ -22,10 +22,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.any;
@@ -33,6 +39,7 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -125,6 +132,28 @@ class XMemcachedClientTest {
         verify(client).set("my-key", 12000, "my-value");
     }
 
+    @Test
+    void whenAdd_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.add(anyString(), anyInt(), any())).willReturn(true);
+
+        boolean result = memcachedClient.add("my-key", 12000, "my-value");
+
+        assertThat(result).isTrue();
+        verify(client).add("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenAddWithError_thenThrowException() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.add(anyString(), anyInt(), any())).willThrow(new TimeoutException("Test timeout error"));
+
+        assertThatThrownBy(() -> memcachedClient.add("my-key", 12000, "my-value"))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to add key")
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        verify(client).add("my-key", 12000, "my-value");
+    }
+
     @Test
     void whenTouch_thenCorrectMethodInvoked() throws InterruptedException, TimeoutException, MemcachedException {
         memcachedClient.touch("my-key", 700);
@@ -249,6 +278,104 @@ class XMemcachedClientTest {
         verify(client).incr("my-key", 2);
     }
 
+    @Test
+    void whenGetMulti_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        List<String> keys = List.of("my-key", "other-key");
+        given(client.<Object>get(keys)).willReturn(Map.of("my-key", "my-value"));
+
+        Map<String, Object> result = memcachedClient.getMulti(keys);
+
+        assertThat(result).containsOnly(Map.entry("my-key", "my-value"));
+        verify(client).get(keys);
+    }
+
+    @Test
+    void whenGetMultiWithError_thenThrowException() throws InterruptedException, MemcachedException, TimeoutException {
+        List<String> keys = List.of("my-key", "other-key");
+        given(client.<Object>get(keys)).willThrow(new TimeoutException("Test timeout error"));
+
+        assertThatThrownBy(() -> memcachedClient.getMulti(keys))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to get keys")
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        verify(client).get(keys);
+    }
+
+    @Test
+    void whenSetMulti_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        memcachedClient.setMulti(Map.of("my-key", "my-value", "other-key", "other-value"), 12000);
+
+        verify(client).set("my-key", 12000, "my-value");
+        verify(client).set("other-key", 12000, "other-value");
+    }
+
+    @Test
+    void whenSetMultiWithError_thenThrowExceptionAfterAllValuesSet() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.set("my-key", 12000, "my-value")).willThrow(new MemcachedException("Test error"));
+
+        assertThatThrownBy(() -> memcachedClient.setMulti(Map.of("my-key", "my-value", "other-key", "other-value"), 12000))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to set key")
+                .hasCauseInstanceOf(MemcachedException.class);
+
+        verify(client).set("my-key", 12000, "my-value");
+        verify(client).set("other-key", 12000, "other-value");
+    }
+
+    @Test
+    void whenDeleteMultiWithError_thenThrowException() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.delete("my-key")).willThrow(new TimeoutException("Test timeout error"));
+
+        assertThatThrownBy(() -> memcachedClient.deleteMulti(List.of("my-key", "other-key")))
+                .isInstanceOf(MemcachedOperationException.class)
+                .hasMessage("Failed to delete key")
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        verify(client).delete("my-key");
+        verify(client).delete("other-key");
+    }
+
+    @Test
+    void whenDeleteMulti_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        memcachedClient.deleteMulti(List.of("my-key", "other-key"));
+
+        verify(client).delete("my-key");
+        verify(client).delete("other-key");
+    }
+
+    @Test
+    void whenSetNoReply_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException {
+        memcachedClient.setNoReply("my-key", 12000, "my-value").join();
+
+        verify(client).setWithNoReply("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenSetNoReplyWithError_thenCompleteExceptionally() throws InterruptedException, MemcachedException {
+        doThrow(new MemcachedException("Test error")).when(client).setWithNoReply(anyString(), anyInt(), any());
+
+        assertThatThrownBy(() -> memcachedClient.setNoReply("my-key", 12000, "my-value").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MemcachedOperationException.class);
+
+        verify(client).setWithNoReply("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenAddNoReply_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException {
+        memcachedClient.addNoReply("my-key", 12000, "my-value").join();
+
+        verify(client).addWithNoReply("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenDeleteNoReply_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException {
+        memcachedClient.deleteNoReply("my-key").join();
+
+        verify(client).deleteWithNoReply("my-key");
+    }
+
     @Test
     void whenShutdown_thenCorrectMethodInvoked() throws IOException {
         memcachedClient.shutdown();
@@ -268,4 +395,87 @@ class XMemcachedClientTest {
         verify(client).shutdown();
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenGetAsync_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        Object result = memcachedClient.getAsync("my-key").join();
+
+        assertThat(result).isEqualTo("result");
+        verify(client).get("my-key");
+    }
+
+    @Test
+    void whenGetAsyncWithError_thenCompleteExceptionally() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.get(anyString())).willThrow(new TimeoutException("Test timeout error"));
+
+        assertThatThrownBy(() -> memcachedClient.getAsync("my-key").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MemcachedOperationException.class);
+
+        verify(client).get("my-key");
+    }
+
+    @Test
+    void whenGetAsyncExceedsOperationTimeout_thenCompleteExceptionally() throws InterruptedException, MemcachedException, TimeoutException {
+        XMemcachedClient timedClient = new XMemcachedClient(client, null, Duration.ofMillis(50));
+        given(client.get("my-key")).willAnswer(invocation -> {
+            Thread.sleep(500);
+            return "result";
+        });
+
+        assertThatThrownBy(() -> timedClient.getAsync("my-key").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        verify(client, timeout(1000)).get("my-key");
+    }
+
+    @Test
+    void whenSetAsync_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        memcachedClient.setAsync("my-key", 12000, "my-value").join();
+
+        verify(client).set("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenAddAsync_thenCompletedWithResult() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.add(anyString(), anyInt(), any())).willReturn(true);
+
+        Boolean result = memcachedClient.addAsync("my-key", 12000, "my-value").join();
+
+        assertThat(result).isTrue();
+        verify(client).add("my-key", 12000, "my-value");
+    }
+
+    @Test
+    void whenTouchAsync_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        memcachedClient.touchAsync("my-key", 700).join();
+
+        verify(client).touch("my-key", 700);
+    }
+
+    @Test
+    void whenDeleteAsync_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        memcachedClient.deleteAsync("my-key").join();
+
+        verify(client).delete("my-key");
+    }
+
+    @Test
+    void whenIncrAsync_thenCorrectMethodInvoked() throws InterruptedException, MemcachedException, TimeoutException {
+        Long result = memcachedClient.incrAsync("my-key", 2).join();
+
+        assertThat(result).isEqualTo(123L);
+        verify(client).incr("my-key", 2);
+    }
+
+    @Test
+    void whenStats_thenServersKeyedByAddress() throws InterruptedException, MemcachedException, TimeoutException {
+        given(client.getStatsByItem("slabs")).willReturn(
+                Map.of(InetSocketAddress.createUnresolved("memcached-1", 11211), Map.of("1:chunk_size", "96")));
+
+        Map<String, Map<String, String>> result = memcachedClient.stats("slabs");
+
+        assertThat(result).containsOnly(entry("memcached-1:11211", Map.of("1:chunk_size", "96")));
+        verify(client).getStatsByItem("slabs");
+    }
+}
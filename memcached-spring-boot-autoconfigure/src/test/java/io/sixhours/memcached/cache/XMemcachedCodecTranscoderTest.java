@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import net.rubyeye.xmemcached.transcoders.CachedData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XMemcachedCodecTranscoderTest {
+
+    private final XMemcachedCodecTranscoder transcoder = new XMemcachedCodecTranscoder();
+    private final MemcachedCodec codec = MemcachedCodecs.forName(BinaryMemcachedCodec.NAME);
+
+    @Test
+    void whenEncodeCodecValue_thenEncodedWithCodec() {
+        CachedData data = transcoder.encode(new MemcachedCodecValue(codec, "value"));
+
+        assertThat(data.getFlag()).isEqualTo(MemcachedCodecs.CODEC_FLAG);
+        assertThat(transcoder.decode(data)).isEqualTo("value");
+    }
+
+    @Test
+    void whenEncodeOtherValue_thenEncodedWithDelegate() {
+        CachedData data = transcoder.encode("value");
+
+        assertThat(data.getFlag() & MemcachedCodecs.CODEC_FLAG).isZero();
+        assertThat(transcoder.decode(data)).isEqualTo("value");
+    }
+}
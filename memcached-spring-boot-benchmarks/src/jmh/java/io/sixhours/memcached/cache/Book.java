@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Cached value of the benchmarks.
+ */
+public record Book(String isbn, String title, List<String> authors, int pages, double price) implements Serializable {
+
+    static Book of(int index) {
+        return new Book("978-0-" + index, "Title of the book number " + index,
+                List.of("First Author", "Second Author"), 100 + index % 400, 9.99 + index % 50);
+    }
+}
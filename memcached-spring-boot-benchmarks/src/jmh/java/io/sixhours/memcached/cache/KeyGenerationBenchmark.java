@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning method arguments into the memcached key, with the Spring {@link SimpleKeyGenerator} and with
+ * {@link MemcachedKeyGenerator}, and of building the memcached key from the cache key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class KeyGenerationBenchmark {
+
+    private static final String PREFIX = "memcached:spring-boot:books:";
+
+    private static final String NAMESPACE = "1718112345678";
+
+    @Param({"string", "simple", "composite"})
+    public String arguments;
+
+    private Object[] params;
+
+    private final MemcachedKeyGenerator memcachedKeyGenerator = new MemcachedKeyGenerator();
+
+    private final MemcachedKeyEncoder keyEncoder = new MemcachedKeyEncoder(PREFIX);
+
+    @Setup
+    public void setUp() {
+        this.params = switch (arguments) {
+            case "string" -> new Object[]{"978-0-321-35668-0"};
+            case "simple" -> new Object[]{123, "EUR", "de-DE"};
+            case "composite" -> new Object[]{123, List.of("EUR", "USD", "CHF"), new int[]{2024, 2025}};
+            default -> throw new IllegalArgumentException("Unknown arguments '" + arguments + "'");
+        };
+    }
+
+    @Benchmark
+    public Object simpleKey() {
+        return SimpleKeyGenerator.generateKey(params);
+    }
+
+    @Benchmark
+    public Object memcachedKey() {
+        return memcachedKeyGenerator.generateKey(params);
+    }
+
+    @Benchmark
+    public String simpleKeyEncoded() {
+        return keyEncoder.encode(NAMESPACE, SimpleKeyGenerator.generateKey(params));
+    }
+
+    @Benchmark
+    public String memcachedKeyEncoded() {
+        return keyEncoder.encode(NAMESPACE, memcachedKeyGenerator.generateKey(params));
+    }
+
+    /**
+     * Key building replaced by {@link MemcachedKeyEncoder}, kept as the baseline.
+     */
+    @Benchmark
+    public String memcachedKeyEncodedWithRegex() {
+        return (PREFIX + NAMESPACE + ":" + memcachedKeyGenerator.generateKey(params)).replaceAll("\\s", "");
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the single-key {@link MemcachedCache} operations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class MemcachedCacheBenchmark {
+
+    @Benchmark
+    public Cache.ValueWrapper getHit(MemcachedCacheState state) {
+        return state.cache.get(state.keys[index()]);
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper getMiss(MemcachedCacheState state) {
+        return state.cache.get(state.missingKeys[index()]);
+    }
+
+    @Benchmark
+    public void put(MemcachedCacheState state) {
+        int index = index();
+        state.cache.put(state.keys[index], state.values[index]);
+    }
+
+    private static int index() {
+        return ThreadLocalRandom.current().nextInt(MemcachedCacheState.KEYS);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@link MemcachedCache#get(Object, java.util.concurrent.Callable)} under contention: the threads
+ * request a new key every few calls, so concurrent calls mostly miss and load the same key at the same time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class MemcachedCacheLoaderBenchmark {
+
+    private static final int CALLS_PER_KEY = 16;
+
+    @State(Scope.Benchmark)
+    public static class Sequence {
+
+        final AtomicLong calls = new AtomicLong();
+    }
+
+    @Benchmark
+    public Book getWithLoader(MemcachedCacheState state, Sequence sequence) {
+        long key = sequence.calls.getAndIncrement() / CALLS_PER_KEY;
+        return state.cache.get(key, () -> state.values[(int) (key % MemcachedCacheState.KEYS)]);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import io.sixhours.memcached.test.EmbeddedMemcachedServer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Memcached cache of the benchmarks, created by the auto-configuration factory of the benchmarked client.
+ * <p>
+ * Connects to the memcached servers given by the {@code memcached.servers} system property, or to an
+ * {@link EmbeddedMemcachedServer} started for the benchmark, responding with the configured latency.
+ */
+@State(Scope.Benchmark)
+public class MemcachedCacheState {
+
+    static final int KEYS = 1024;
+
+    @Param({"xmemcached", "spymemcached"})
+    public String client;
+
+    @Param({"0"})
+    public int latencyMicros;
+
+    EmbeddedMemcachedServer server;
+
+    MemcachedCacheManager cacheManager;
+
+    Cache cache;
+
+    String[] keys;
+
+    String[] missingKeys;
+
+    Book[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String servers = System.getProperty("memcached.servers");
+        if (servers == null) {
+            this.server = new EmbeddedMemcachedServer();
+            this.server.setMaxMemory(1024L * 1024 * 1024);
+            this.server.setLatency(Duration.ofNanos(latencyMicros * 1000L));
+            this.server.start();
+            servers = server.getAddress();
+        }
+
+        MemcachedCacheProperties properties = new MemcachedCacheProperties();
+        properties.setServers(servers);
+        properties.setExpiration(Duration.ofMinutes(10));
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        this.cacheManager = switch (client) {
+            case "xmemcached" -> new XMemcachedCacheManagerFactory(properties,
+                    beanFactory.getBeanProvider(XMemcachedClientCustomizer.class)).create();
+            case "spymemcached" -> new SpyMemcachedCacheManagerFactory(properties,
+                    beanFactory.getBeanProvider(SpyMemcachedConnectionFactoryCustomizer.class)).create();
+            default -> throw new IllegalArgumentException("Unknown client '" + client + "'");
+        };
+        this.cache = cacheManager.getCache("benchmark");
+        this.cache.clear();
+
+        this.keys = new String[KEYS];
+        this.missingKeys = new String[KEYS];
+        this.values = new Book[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "book-" + i;
+            missingKeys[i] = "missing-" + i;
+            values[i] = Book.of(i);
+            cache.put(keys[i], values[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        cache.clear();
+        if (cacheManager instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cost of encoding and decoding a cached value by the transcoder of each client, for each codec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"xmemcached", "spymemcached"})
+    public String client;
+
+    @Param({MemcachedCodecs.JAVA, BinaryMemcachedCodec.NAME, JacksonMemcachedCodec.NAME})
+    public String codec;
+
+    private Object value;
+
+    private Object encoded;
+
+    private UnaryOperator<Object> encoder;
+
+    private UnaryOperator<Object> decoder;
+
+    @Setup
+    public void setUp() {
+        switch (client) {
+            case "xmemcached" -> {
+                XMemcachedCodecTranscoder transcoder = new XMemcachedCodecTranscoder();
+                this.encoder = transcoder::encode;
+                this.decoder = data -> transcoder.decode((net.rubyeye.xmemcached.transcoders.CachedData) data);
+            }
+            case "spymemcached" -> {
+                SpyMemcachedCodecTranscoder transcoder = new SpyMemcachedCodecTranscoder();
+                this.encoder = transcoder::encode;
+                this.decoder = data -> transcoder.decode((net.spy.memcached.CachedData) data);
+            }
+            default -> throw new IllegalArgumentException("Unknown client '" + client + "'");
+        }
+
+        MemcachedCodecs.setJsonAllowedTypes(List.of(Book.class.getName()));
+        MemcachedCodec memcachedCodec = MemcachedCodecs.forName(codec);
+        Book book = Book.of(42);
+        this.value = memcachedCodec != null ? new MemcachedCodecValue(memcachedCodec, book) : book;
+        this.encoded = encoder.apply(value);
+    }
+
+    @Benchmark
+    public Object encode() {
+        return encoder.apply(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decoder.apply(encoded);
+    }
+}
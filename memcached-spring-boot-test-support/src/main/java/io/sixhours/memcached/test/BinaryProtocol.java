@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Memcached binary protocol.
+ */
+final class BinaryProtocol implements MemcachedProtocol {
+
+    static final byte REQUEST_MAGIC = (byte) 0x80;
+    static final byte RESPONSE_MAGIC = (byte) 0x81;
+
+    static final byte GET = 0x00;
+    static final byte SET = 0x01;
+    static final byte ADD = 0x02;
+    static final byte REPLACE = 0x03;
+    static final byte DELETE = 0x04;
+    static final byte INCREMENT = 0x05;
+    static final byte DECREMENT = 0x06;
+    static final byte QUIT = 0x07;
+    static final byte FLUSH = 0x08;
+    static final byte GETQ = 0x09;
+    static final byte NOOP = 0x0a;
+    static final byte VERSION = 0x0b;
+    static final byte GETK = 0x0c;
+    static final byte GETKQ = 0x0d;
+    static final byte APPEND = 0x0e;
+    static final byte PREPEND = 0x0f;
+    static final byte STAT = 0x10;
+    static final byte SETQ = 0x11;
+    static final byte ADDQ = 0x12;
+    static final byte REPLACEQ = 0x13;
+    static final byte DELETEQ = 0x14;
+    static final byte INCREMENTQ = 0x15;
+    static final byte DECREMENTQ = 0x16;
+    static final byte QUITQ = 0x17;
+    static final byte FLUSHQ = 0x18;
+    static final byte APPENDQ = 0x19;
+    static final byte PREPENDQ = 0x1a;
+    static final byte TOUCH = 0x1c;
+    static final byte GAT = 0x1d;
+    static final byte GATQ = 0x1e;
+
+    static final short SUCCESS = 0x0000;
+    static final short KEY_NOT_FOUND = 0x0001;
+    static final short KEY_EXISTS = 0x0002;
+    static final short VALUE_TOO_LARGE = 0x0003;
+    static final short INVALID_ARGUMENTS = 0x0004;
+    static final short ITEM_NOT_STORED = 0x0005;
+    static final short NON_NUMERIC_VALUE = 0x0006;
+    static final short UNKNOWN_COMMAND = 0x0081;
+    static final short OUT_OF_MEMORY = 0x0082;
+    static final short INTERNAL_ERROR = 0x0084;
+
+    static final int HEADER_LENGTH = 24;
+
+    private static final int MAX_BODY_LENGTH = MemcachedStore.MAX_ITEM_SIZE + 1024;
+    private static final int NO_INITIAL_VALUE = 0xffffffff;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final MemcachedStore store;
+    private final Supplier<Map<String, String>> stats;
+
+    BinaryProtocol(MemcachedStore store, Supplier<Map<String, String>> stats) {
+        this.store = store;
+        this.stats = stats;
+    }
+
+    @Override
+    public Command parse(ByteBuffer buffer) throws ProtocolException {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            return null;
+        }
+        int start = buffer.position();
+        if (buffer.get(start) != REQUEST_MAGIC) {
+            throw new ProtocolException("Invalid request magic " + buffer.get(start));
+        }
+        int bodyLength = buffer.getInt(start + 8);
+        int keyLength = Short.toUnsignedInt(buffer.getShort(start + 2));
+        int extrasLength = Byte.toUnsignedInt(buffer.get(start + 4));
+        if (bodyLength < 0 || bodyLength > MAX_BODY_LENGTH || keyLength + extrasLength > bodyLength) {
+            throw new ProtocolException("Invalid request body length " + bodyLength);
+        }
+        if (buffer.remaining() < HEADER_LENGTH + bodyLength) {
+            return null;
+        }
+
+        byte opcode = buffer.get(start + 1);
+        int opaque = buffer.getInt(start + 12);
+        long cas = buffer.getLong(start + 16);
+
+        int offset = start + HEADER_LENGTH;
+        ByteBuffer extras = buffer.slice(offset, extrasLength);
+        byte[] key = new byte[keyLength];
+        buffer.get(offset + extrasLength, key);
+        byte[] value = new byte[bodyLength - extrasLength - keyLength];
+        buffer.get(offset + extrasLength + keyLength, value);
+        buffer.position(offset + bodyLength);
+
+        return new BinaryCommand(opcode, opaque, cas, extras, new String(key, StandardCharsets.ISO_8859_1), value);
+    }
+
+    private final class BinaryCommand implements Command {
+
+        private final byte opcode;
+        private final int opaque;
+        private final long cas;
+        private final ByteBuffer extras;
+        private final String key;
+        private final byte[] value;
+
+        private BinaryCommand(byte opcode, int opaque, long cas, ByteBuffer extras, String key, byte[] value) {
+            this.opcode = opcode;
+            this.opaque = opaque;
+            this.cas = cas;
+            this.extras = extras;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public ByteBuffer execute() {
+            try {
+                return switch (opcode) {
+                    case GET, GETQ, GETK, GETKQ -> get(store.get(key));
+                    case GAT, GATQ -> get(store.touch(key, extras.getInt(0)));
+                    case SET, SETQ -> store(MemcachedStore.Mode.SET, extras.getInt(0), extras.getInt(4));
+                    case ADD, ADDQ -> store(MemcachedStore.Mode.ADD, extras.getInt(0), extras.getInt(4));
+                    case REPLACE, REPLACEQ -> store(MemcachedStore.Mode.REPLACE, extras.getInt(0), extras.getInt(4));
+                    case APPEND, APPENDQ -> store(MemcachedStore.Mode.APPEND, 0, 0);
+                    case PREPEND, PREPENDQ -> store(MemcachedStore.Mode.PREPEND, 0, 0);
+                    case TOUCH -> status(store.touch(key, extras.getInt(0)) != null ? SUCCESS : KEY_NOT_FOUND);
+                    case DELETE, DELETEQ -> status(store.delete(key) ? SUCCESS : KEY_NOT_FOUND);
+                    case INCREMENT, INCREMENTQ -> incr(false);
+                    case DECREMENT, DECREMENTQ -> incr(true);
+                    case FLUSH, FLUSHQ -> {
+                        store.flushAll(extras.remaining() >= 4 ? extras.getInt(0) : 0);
+                        yield status(SUCCESS);
+                    }
+                    case NOOP, QUIT, QUITQ -> status(SUCCESS);
+                    case VERSION -> response(SUCCESS, 0, EMPTY, EMPTY,
+                            EmbeddedMemcachedServer.VERSION.getBytes(StandardCharsets.US_ASCII));
+                    case STAT -> stats();
+                    default -> response(UNKNOWN_COMMAND, 0, EMPTY, EMPTY, EMPTY);
+                };
+            } catch (IndexOutOfBoundsException e) {
+                return response(INVALID_ARGUMENTS, 0, EMPTY, EMPTY, EMPTY);
+            }
+        }
+
+        @Override
+        public ByteBuffer error() {
+            return response(INTERNAL_ERROR, 0, EMPTY, EMPTY, EMPTY);
+        }
+
+        @Override
+        public boolean quit() {
+            return opcode == QUIT || opcode == QUITQ;
+        }
+
+        private ByteBuffer get(MemcachedStore.Item item) {
+            boolean withKey = opcode == GETK || opcode == GETKQ;
+            if (item == null) {
+                return isQuiet() ? null : response(KEY_NOT_FOUND, 0, EMPTY, withKey ? keyBytes() : EMPTY, EMPTY);
+            }
+            byte[] flags = ByteBuffer.allocate(4).putInt(item.flags()).array();
+            return response(SUCCESS, item.cas(), flags, withKey ? keyBytes() : EMPTY, item.data());
+        }
+
+        private ByteBuffer store(MemcachedStore.Mode mode, int flags, int exptime) {
+            MemcachedStore.Result result = store.store(mode, key, flags, exptime, value, cas);
+            return switch (result.status()) {
+                case STORED -> isQuiet() ? null : response(SUCCESS, result.cas(), EMPTY, EMPTY, EMPTY);
+                case NOT_STORED -> status(switch (mode) {
+                    case ADD -> KEY_EXISTS;
+                    case REPLACE -> KEY_NOT_FOUND;
+                    default -> ITEM_NOT_STORED;
+                });
+                case EXISTS -> status(KEY_EXISTS);
+                case NOT_FOUND -> status(KEY_NOT_FOUND);
+                case TOO_LARGE -> status(VALUE_TOO_LARGE);
+                case OUT_OF_MEMORY -> status(OUT_OF_MEMORY);
+            };
+        }
+
+        private ByteBuffer incr(boolean decrement) {
+            long delta = extras.getLong(0);
+            long initial = extras.getLong(8);
+            int exptime = extras.getInt(16);
+
+            MemcachedStore.Counter counter;
+            try {
+                counter = store.incr(key, delta, decrement);
+            } catch (IllegalArgumentException e) {
+                return status(NON_NUMERIC_VALUE);
+            }
+            if (counter == null) {
+                if (exptime == NO_INITIAL_VALUE) {
+                    return status(KEY_NOT_FOUND);
+                }
+                MemcachedStore.Result result = store.store(MemcachedStore.Mode.ADD, key, 0, exptime,
+                        Long.toUnsignedString(initial).getBytes(StandardCharsets.US_ASCII), 0);
+                if (result.status() != MemcachedStore.Status.STORED) {
+                    return status(KEY_EXISTS);
+                }
+                counter = new MemcachedStore.Counter(initial, result.cas());
+            }
+            if (isQuiet()) {
+                return null;
+            }
+            return response(SUCCESS, counter.cas(), EMPTY, EMPTY, ByteBuffer.allocate(8).putLong(counter.value()).array());
+        }
+
+        private ByteBuffer stats() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            stats.get().forEach((name, statValue) -> out.writeBytes(response(SUCCESS, 0, EMPTY,
+                    name.getBytes(StandardCharsets.US_ASCII), statValue.getBytes(StandardCharsets.US_ASCII)).array()));
+            out.writeBytes(response(SUCCESS, 0, EMPTY, EMPTY, EMPTY).array());
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+
+        /**
+         * Returns the response with the given status. Quiet commands respond to errors only.
+         */
+        private ByteBuffer status(short status) {
+            return status == SUCCESS && isQuiet() ? null : response(status, 0, EMPTY, EMPTY, EMPTY);
+        }
+
+        private boolean isQuiet() {
+            return switch (opcode) {
+                case GETQ, GETKQ, GATQ, SETQ, ADDQ, REPLACEQ, APPENDQ, PREPENDQ, DELETEQ, INCREMENTQ, DECREMENTQ,
+                     FLUSHQ, QUITQ -> true;
+                default -> false;
+            };
+        }
+
+        private byte[] keyBytes() {
+            return key.getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        private ByteBuffer response(short status, long responseCas, byte[] responseExtras, byte[] responseKey,
+                                    byte[] responseValue) {
+            int bodyLength = responseExtras.length + responseKey.length + responseValue.length;
+            return ByteBuffer.allocate(HEADER_LENGTH + bodyLength)
+                    .put(RESPONSE_MAGIC)
+                    .put(opcode)
+                    .putShort((short) responseKey.length)
+                    .put((byte) responseExtras.length)
+                    .put((byte) 0)
+                    .putShort(status)
+                    .putInt(bodyLength)
+                    .putInt(opaque)
+                    .putLong(responseCas)
+                    .put(responseExtras)
+                    .put(responseKey)
+                    .put(responseValue)
+                    .flip();
+        }
+    }
+}
@@ -0,0 +1,541 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process memcached server for tests and benchmarks, speaking the memcached text and binary protocols on the
+ * loopback interface.
+ * <p>
+ * Supports the get, gets, get-and-touch, set, add, replace, append, prepend, cas, touch, incr, decr, delete,
+ * flush_all, stats, version, verbosity, noop and quit commands. Items expire according to their expiration time and
+ * the least recently used items are evicted when the memory limit is reached.
+ * <p>
+ * The responses can be delayed by a fixed latency and an optional random jitter, and commands can fail with an
+ * injected fault: a server error response, a missing response (timeout) or a closed connection. Faults are injected
+ * either for the next given number of commands, or randomly with the given probability; the random faults and the
+ * jitter are drawn from a seeded generator, so runs are repeatable. Faulted commands are not executed.
+ * <pre>{@code
+ * try (EmbeddedMemcachedServer server = new EmbeddedMemcachedServer()) {
+ *     server.setLatency(Duration.ofMillis(5));
+ *     server.start();
+ *     // connect the client to server.getHost() and server.getPort()
+ * }
+ * }</pre>
+ */
+public class EmbeddedMemcachedServer implements AutoCloseable {
+
+    /**
+     * Version reported by the server.
+     */
+    public static final String VERSION = "1.6.0-embedded";
+
+    /**
+     * Default memory limit of the stored items, in bytes.
+     */
+    public static final long DEFAULT_MAX_MEMORY = 64L * 1024 * 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final ByteBuffer CLOSE = ByteBuffer.allocate(0);
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong totalConnections = new AtomicLong();
+    private final AtomicInteger scheduledFaults = new AtomicInteger();
+
+    private int port;
+    private long maxMemory = DEFAULT_MAX_MEMORY;
+    private Clock clock = Clock.systemUTC();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration latencyJitter = Duration.ZERO;
+    private volatile Fault scheduledFault;
+    private volatile Fault fault;
+    private volatile double faultProbability;
+    private volatile Random random = new Random(0);
+
+    private MemcachedStore store;
+    private MemcachedProtocol textProtocol;
+    private MemcachedProtocol binaryProtocol;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ScheduledExecutorService responseScheduler;
+    private Thread thread;
+    private volatile boolean running;
+    private long startedAt;
+
+    /**
+     * Creates the server listening on a random free port.
+     */
+    public EmbeddedMemcachedServer() {
+        this(0);
+    }
+
+    /**
+     * Creates the server listening on the given port.
+     *
+     * @param port The port, or 0 (zero) for a random free port
+     */
+    public EmbeddedMemcachedServer(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Starts the server. A stopped server can be started again; it listens on the same port, with no items, like a
+     * restarted memcached.
+     *
+     * @throws IOException If the server cannot listen on the port
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Server already started");
+        }
+
+        this.store = new MemcachedStore(maxMemory, clock);
+        this.textProtocol = new TextProtocol(store, this::stats);
+        this.binaryProtocol = new BinaryProtocol(store, this::stats);
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.port = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+
+        this.responseScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread responseThread = new Thread(runnable, "embedded-memcached-response-" + port);
+            responseThread.setDaemon(true);
+            return responseThread;
+        });
+
+        this.startedAt = clock.millis();
+        this.running = true;
+        this.thread = new Thread(this::run, "embedded-memcached-" + port);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the server, closing all client connections.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        responseScheduler.shutdownNow();
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getHost() {
+        return InetAddress.getLoopbackAddress().getHostAddress();
+    }
+
+    /**
+     * Returns the port the server listens on. For a random port, the port is known once the server is started.
+     *
+     * @return The port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns the server address in the {@code host:port} format of the {@code memcached.cache.servers} property.
+     *
+     * @return The server address
+     */
+    public String getAddress() {
+        return getHost() + ":" + port;
+    }
+
+    /**
+     * Sets the memory limit of the stored items, applied when the server is started.
+     *
+     * @param maxMemory The memory limit in bytes
+     */
+    public void setMaxMemory(long maxMemory) {
+        if (maxMemory <= 0) {
+            throw new IllegalArgumentException("Max memory must be greater then zero");
+        }
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Sets the clock of the item expiration, applied when the server is started.
+     *
+     * @param clock The clock
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the delay of every response. Responses of the connection are always sent in the order of the commands.
+     *
+     * @param latency The response delay
+     */
+    public void setLatency(Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            throw new IllegalArgumentException("Latency must be greater than or equal to zero");
+        }
+        this.latency = latency;
+    }
+
+    /**
+     * Sets the maximum random delay added to the latency of every response.
+     *
+     * @param latencyJitter The maximum additional response delay
+     */
+    public void setLatencyJitter(Duration latencyJitter) {
+        if (latencyJitter == null || latencyJitter.isNegative()) {
+            throw new IllegalArgumentException("Latency jitter must be greater than or equal to zero");
+        }
+        this.latencyJitter = latencyJitter;
+    }
+
+    /**
+     * Injects the fault into the commands randomly, with the given probability.
+     *
+     * @param fault       The fault, or {@code null} to disable the random faults
+     * @param probability The probability of the fault, from 0 to 1
+     */
+    public void setFault(Fault fault, double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Fault probability must be between zero and one");
+        }
+        this.fault = fault;
+        this.faultProbability = probability;
+    }
+
+    /**
+     * Sets the seed of the random faults and latency jitter.
+     *
+     * @param seed The seed
+     */
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Injects the fault into the given number of the next commands received by the server.
+     *
+     * @param fault    The fault
+     * @param commands The number of commands
+     */
+    public void failNext(Fault fault, int commands) {
+        this.scheduledFault = fault;
+        this.scheduledFaults.set(commands);
+    }
+
+    /**
+     * Removes all injected faults and latency.
+     */
+    public void reset() {
+        this.scheduledFaults.set(0);
+        this.fault = null;
+        this.faultProbability = 0;
+        this.latency = Duration.ZERO;
+        this.latencyJitter = Duration.ZERO;
+    }
+
+    /**
+     * Returns the number of items stored by the server.
+     *
+     * @return The number of items
+     */
+    public int itemCount() {
+        return store != null ? store.size() : 0;
+    }
+
+    /**
+     * Returns the server statistics, as reported by the {@code stats} command.
+     *
+     * @return The statistics
+     */
+    public Map<String, String> stats() {
+        Map<String, String> stats = new LinkedHashMap<>();
+        long now = clock.millis();
+        stats.put("pid", String.valueOf(ProcessHandle.current().pid()));
+        stats.put("uptime", String.valueOf((now - startedAt) / 1000));
+        stats.put("time", String.valueOf(now / 1000));
+        stats.put("version", VERSION);
+        stats.put("curr_connections", String.valueOf(connections.size()));
+        stats.put("total_connections", String.valueOf(totalConnections.get()));
+        if (store != null) {
+            stats.putAll(store.stats());
+        }
+        return stats;
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException e) {
+            running = false;
+        } finally {
+            new ArrayList<>(connections).forEach(Connection::close);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isValid() && key.isAcceptable()) {
+                accept();
+            }
+            if (connection != null && key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+            if (connection != null && key.isValid() && key.isWritable()) {
+                connection.write();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        Connection connection = new Connection(channel, key);
+        key.attach(connection);
+        connections.add(connection);
+        totalConnections.incrementAndGet();
+    }
+
+    private Fault nextFault() {
+        if (scheduledFaults.get() > 0 && scheduledFaults.getAndDecrement() > 0) {
+            return scheduledFault;
+        }
+        Fault randomFault = fault;
+        if (randomFault != null && random.nextDouble() < faultProbability) {
+            return randomFault;
+        }
+        return null;
+    }
+
+    private long responseDelay() {
+        long delay = latency.toNanos();
+        long jitter = latencyJitter.toNanos();
+        if (jitter > 0) {
+            delay += (long) (random.nextDouble() * jitter);
+        }
+        return delay;
+    }
+
+    /**
+     * Fault injected into a command.
+     */
+    public enum Fault {
+
+        /**
+         * The server responds with a server error.
+         */
+        ERROR,
+
+        /**
+         * The server does not respond, so the client operation times out.
+         */
+        TIMEOUT,
+
+        /**
+         * The server closes the client connection.
+         */
+        DISCONNECT
+    }
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final Deque<ByteBuffer> output = new ArrayDeque<>();
+        private ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        private long lastResponseAt;
+
+        private Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+            this.lastResponseAt = System.nanoTime();
+        }
+
+        private void read() throws IOException {
+            if (!input.hasRemaining()) {
+                if (input.capacity() >= MAX_BUFFER_SIZE) {
+                    throw new IOException("Command exceeds " + MAX_BUFFER_SIZE + " bytes");
+                }
+                input = ByteBuffer.allocate(input.capacity() * 2).put(input.flip());
+            }
+            if (channel.read(input) < 0) {
+                close();
+                return;
+            }
+
+            input.flip();
+            try {
+                while (input.hasRemaining() && key.isValid()) {
+                    MemcachedProtocol protocol = input.get(input.position()) == BinaryProtocol.REQUEST_MAGIC
+                            ? binaryProtocol : textProtocol;
+                    MemcachedProtocol.Command command = protocol.parse(input);
+                    if (command == null) {
+                        break;
+                    }
+                    dispatch(command);
+                }
+            } finally {
+                input.compact();
+            }
+        }
+
+        private void dispatch(MemcachedProtocol.Command command) {
+            Fault injected = nextFault();
+            if (injected == Fault.DISCONNECT) {
+                close();
+                return;
+            }
+            if (injected == Fault.TIMEOUT) {
+                return;
+            }
+
+            ByteBuffer response = injected == Fault.ERROR ? command.error() : command.execute();
+            if (response != null) {
+                respond(response);
+            }
+            if (command.quit()) {
+                respond(CLOSE);
+            }
+        }
+
+        /**
+         * Sends the response after the response delay, keeping the order of the responses.
+         */
+        private void respond(ByteBuffer response) {
+            long now = System.nanoTime();
+            long delay = responseDelay();
+            if (delay == 0 && lastResponseAt - now <= 0) {
+                send(response);
+                return;
+            }
+            long sendAt = Math.max(now + delay, lastResponseAt);
+            lastResponseAt = sendAt;
+            responseScheduler.schedule(() -> send(response), sendAt - now, TimeUnit.NANOSECONDS);
+        }
+
+        private void send(ByteBuffer response) {
+            synchronized (output) {
+                output.add(response);
+            }
+            try {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                if (Thread.currentThread() != thread) {
+                    selector.wakeup();
+                }
+            } catch (CancelledKeyException e) {
+                // connection closed before the response was sent
+            }
+        }
+
+        private void write() throws IOException {
+            synchronized (output) {
+                ByteBuffer buffer;
+                while ((buffer = output.peek()) != null) {
+                    if (buffer == CLOSE) {
+                        close();
+                        return;
+                    }
+                    channel.write(buffer);
+                    if (buffer.hasRemaining()) {
+                        return;
+                    }
+                    output.poll();
+                }
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        }
+
+        private void close() {
+            connections.remove(this);
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+}
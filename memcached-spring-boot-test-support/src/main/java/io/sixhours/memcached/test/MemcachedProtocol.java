@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * Memcached protocol of the embedded memcached server.
+ */
+interface MemcachedProtocol {
+
+    /**
+     * Parses the next command from the buffer, consuming its bytes.
+     *
+     * @param buffer The received bytes
+     * @return The parsed command, or {@code null} if the buffer does not contain the whole command yet
+     * @throws ProtocolException If the received bytes are not a valid command
+     */
+    Command parse(ByteBuffer buffer) throws ProtocolException;
+
+    /**
+     * Parsed memcached command.
+     */
+    interface Command {
+
+        /**
+         * Executes the command.
+         *
+         * @return The response, or {@code null} if the command does not respond
+         */
+        ByteBuffer execute();
+
+        /**
+         * Returns the server error response, sent instead of executing the command when an error is injected.
+         *
+         * @return The error response
+         */
+        ByteBuffer error();
+
+        /**
+         * Whether the connection is closed after the command.
+         *
+         * @return {@code true} for the quit commands
+         */
+        boolean quit();
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Item storage of the embedded memcached server.
+ * <p>
+ * Items are kept in least recently used order and evicted when storing an item would exceed the memory limit.
+ * Expired items are removed when accessed.
+ */
+final class MemcachedStore {
+
+    /**
+     * Maximum size of the item value, in bytes.
+     */
+    static final int MAX_ITEM_SIZE = 1024 * 1024;
+
+    /**
+     * Memory accounted for every item in addition to its key and value.
+     */
+    private static final int ITEM_OVERHEAD = 48;
+
+    /**
+     * Expiration times above 30 days are absolute unix times, as in memcached.
+     */
+    private static final int RELATIVE_EXPIRATION_LIMIT = 60 * 60 * 24 * 30;
+
+    private final LinkedHashMap<String, Item> items = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxMemory;
+    private final Clock clock;
+
+    private long usedMemory;
+    private long casSequence;
+
+    private long totalItems;
+    private long getHits;
+    private long getMisses;
+    private long sets;
+    private long touchHits;
+    private long touchMisses;
+    private long deleteHits;
+    private long deleteMisses;
+    private long incrHits;
+    private long incrMisses;
+    private long decrHits;
+    private long decrMisses;
+    private long evictions;
+    private long reclaimed;
+
+    MemcachedStore(long maxMemory, Clock clock) {
+        this.maxMemory = maxMemory;
+        this.clock = clock;
+    }
+
+    synchronized Item get(String key) {
+        Item item = live(key);
+        if (item == null) {
+            getMisses++;
+        } else {
+            getHits++;
+        }
+        return item;
+    }
+
+    synchronized Result store(Mode mode, String key, int flags, int exptime, byte[] data, long cas) {
+        sets++;
+        Item item = live(key);
+
+        if (cas != 0) {
+            if (item == null) {
+                return Result.of(Status.NOT_FOUND);
+            }
+            if (item.cas() != cas) {
+                return Result.of(Status.EXISTS);
+            }
+        }
+
+        return switch (mode) {
+            case SET -> put(key, flags, expiresAt(exptime), data);
+            case ADD -> item != null ? Result.of(Status.NOT_STORED) : put(key, flags, expiresAt(exptime), data);
+            case REPLACE -> item == null ? Result.of(Status.NOT_STORED) : put(key, flags, expiresAt(exptime), data);
+            case APPEND -> item == null ? Result.of(Status.NOT_STORED)
+                    : put(key, item.flags(), item.expiresAt(), concat(item.data(), data));
+            case PREPEND -> item == null ? Result.of(Status.NOT_STORED)
+                    : put(key, item.flags(), item.expiresAt(), concat(data, item.data()));
+        };
+    }
+
+    synchronized Item touch(String key, int exptime) {
+        Item item = live(key);
+        if (item == null) {
+            touchMisses++;
+            return null;
+        }
+        touchHits++;
+        Item touched = new Item(item.data(), item.flags(), expiresAt(exptime), item.cas());
+        items.put(key, touched);
+        return touched;
+    }
+
+    synchronized boolean delete(String key) {
+        Item item = live(key);
+        if (item == null) {
+            deleteMisses++;
+            return false;
+        }
+        deleteHits++;
+        remove(key, item);
+        return true;
+    }
+
+    /**
+     * Increments or decrements the numeric value of the item. Increments wrap around at 2^64, decrements stop at zero.
+     *
+     * @return The new value, or {@code null} if the item does not exist
+     * @throws IllegalArgumentException If the item value is not a number
+     */
+    synchronized Counter incr(String key, long delta, boolean decrement) {
+        Item item = live(key);
+        if (item == null) {
+            if (decrement) {
+                decrMisses++;
+            } else {
+                incrMisses++;
+            }
+            return null;
+        }
+
+        long value;
+        try {
+            value = Long.parseUnsignedLong(new String(item.data(), StandardCharsets.US_ASCII).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cannot increment or decrement non-numeric value", e);
+        }
+        if (decrement) {
+            decrHits++;
+            value = Long.compareUnsigned(value, delta) < 0 ? 0 : value - delta;
+        } else {
+            incrHits++;
+            value += delta;
+        }
+
+        Result result = put(key, item.flags(), item.expiresAt(),
+                Long.toUnsignedString(value).getBytes(StandardCharsets.US_ASCII));
+        return new Counter(value, result.cas());
+    }
+
+    /**
+     * Invalidates all items, immediately or after the given delay.
+     *
+     * @param delay Delay in seconds, or 0 (zero) to invalidate the items immediately
+     */
+    synchronized void flushAll(int delay) {
+        if (delay <= 0) {
+            items.clear();
+            usedMemory = 0;
+            return;
+        }
+        long flushAt = clock.millis() + delay * 1000L;
+        items.replaceAll((key, item) -> item.expiresAt() == 0 || item.expiresAt() > flushAt
+                ? new Item(item.data(), item.flags(), flushAt, item.cas())
+                : item);
+    }
+
+    synchronized int size() {
+        return items.size();
+    }
+
+    synchronized Map<String, String> stats() {
+        Map<String, String> stats = new LinkedHashMap<>();
+        stats.put("curr_items", String.valueOf(items.size()));
+        stats.put("total_items", String.valueOf(totalItems));
+        stats.put("bytes", String.valueOf(usedMemory));
+        stats.put("limit_maxbytes", String.valueOf(maxMemory));
+        stats.put("cmd_get", String.valueOf(getHits + getMisses));
+        stats.put("cmd_set", String.valueOf(sets));
+        stats.put("cmd_touch", String.valueOf(touchHits + touchMisses));
+        stats.put("get_hits", String.valueOf(getHits));
+        stats.put("get_misses", String.valueOf(getMisses));
+        stats.put("touch_hits", String.valueOf(touchHits));
+        stats.put("touch_misses", String.valueOf(touchMisses));
+        stats.put("delete_hits", String.valueOf(deleteHits));
+        stats.put("delete_misses", String.valueOf(deleteMisses));
+        stats.put("incr_hits", String.valueOf(incrHits));
+        stats.put("incr_misses", String.valueOf(incrMisses));
+        stats.put("decr_hits", String.valueOf(decrHits));
+        stats.put("decr_misses", String.valueOf(decrMisses));
+        stats.put("reclaimed", String.valueOf(reclaimed));
+        stats.put("evictions", String.valueOf(evictions));
+        return stats;
+    }
+
+    private Result put(String key, int flags, long expiresAt, byte[] data) {
+        if (data.length > MAX_ITEM_SIZE) {
+            return Result.of(Status.TOO_LARGE);
+        }
+        long size = size(key, data);
+        if (size > maxMemory) {
+            return Result.of(Status.OUT_OF_MEMORY);
+        }
+
+        Item previous = items.remove(key);
+        if (previous != null) {
+            usedMemory -= size(key, previous.data());
+        }
+
+        Iterator<Map.Entry<String, Item>> eldest = items.entrySet().iterator();
+        while (usedMemory + size > maxMemory && eldest.hasNext()) {
+            Map.Entry<String, Item> entry = eldest.next();
+            if (isExpired(entry.getValue())) {
+                reclaimed++;
+            } else {
+                evictions++;
+            }
+            usedMemory -= size(entry.getKey(), entry.getValue().data());
+            eldest.remove();
+        }
+
+        Item item = new Item(data, flags, expiresAt, ++casSequence);
+        items.put(key, item);
+        usedMemory += size;
+        totalItems++;
+        return new Result(Status.STORED, item.cas());
+    }
+
+    private Item live(String key) {
+        Item item = items.get(key);
+        if (item != null && isExpired(item)) {
+            reclaimed++;
+            remove(key, item);
+            return null;
+        }
+        return item;
+    }
+
+    private void remove(String key, Item item) {
+        items.remove(key);
+        usedMemory -= size(key, item.data());
+    }
+
+    private boolean isExpired(Item item) {
+        return item.expiresAt() != 0 && item.expiresAt() <= clock.millis();
+    }
+
+    private long expiresAt(int exptime) {
+        if (exptime == 0) {
+            return 0;
+        }
+        if (exptime < 0) {
+            return clock.millis();
+        }
+        if (exptime > RELATIVE_EXPIRATION_LIMIT) {
+            return exptime * 1000L;
+        }
+        return clock.millis() + exptime * 1000L;
+    }
+
+    private static long size(String key, byte[] data) {
+        return (long) key.length() + data.length + ITEM_OVERHEAD;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Stored item.
+     *
+     * @param data      The item value
+     * @param flags     The client flags
+     * @param expiresAt The expiration time in epoch milliseconds, or 0 (zero) if the item does not expire
+     * @param cas       The unique value of the compare-and-swap operations
+     */
+    record Item(byte[] data, int flags, long expiresAt, long cas) {
+    }
+
+    /**
+     * Value of the incremented or decremented item.
+     */
+    record Counter(long value, long cas) {
+    }
+
+    /**
+     * Result of the storage command.
+     */
+    record Result(Status status, long cas) {
+
+        static Result of(Status status) {
+            return new Result(status, 0);
+        }
+    }
+
+    enum Mode {
+        SET, ADD, REPLACE, APPEND, PREPEND
+    }
+
+    enum Status {
+        STORED, NOT_STORED, EXISTS, NOT_FOUND, TOO_LARGE, OUT_OF_MEMORY
+    }
+}
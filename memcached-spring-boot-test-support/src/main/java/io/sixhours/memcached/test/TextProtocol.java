@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Memcached text protocol.
+ */
+final class TextProtocol implements MemcachedProtocol {
+
+    private static final int MAX_LINE_LENGTH = 2048;
+    private static final int MAX_KEY_LENGTH = 250;
+    private static final Set<String> STORAGE_COMMANDS = Set.of("set", "add", "replace", "append", "prepend", "cas");
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final MemcachedStore store;
+    private final Supplier<Map<String, String>> stats;
+
+    TextProtocol(MemcachedStore store, Supplier<Map<String, String>> stats) {
+        this.store = store;
+        this.stats = stats;
+    }
+
+    @Override
+    public Command parse(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = lineEnd(buffer, start);
+        if (end < 0) {
+            if (buffer.remaining() > MAX_LINE_LENGTH) {
+                buffer.position(buffer.limit());
+                return new TextCommand(new String[]{""}, null, "CLIENT_ERROR line too long");
+            }
+            return null;
+        }
+
+        byte[] line = new byte[end - start];
+        buffer.get(start, line);
+        String[] args = new String(line, StandardCharsets.ISO_8859_1).trim().split(" +");
+
+        if (!STORAGE_COMMANDS.contains(args[0])) {
+            buffer.position(end + CRLF.length);
+            return new TextCommand(args, null, null);
+        }
+
+        int length = args.length > 4 ? parseLength(args[4]) : -1;
+        if (length < 0) {
+            buffer.position(end + CRLF.length);
+            return new TextCommand(args, null, "CLIENT_ERROR bad command line format");
+        }
+        int dataStart = end + CRLF.length;
+        if (buffer.limit() < dataStart + length + CRLF.length) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        buffer.get(dataStart, data);
+        buffer.position(dataStart + length + CRLF.length);
+        if (buffer.get(dataStart + length) != '\r' || buffer.get(dataStart + length + 1) != '\n') {
+            return new TextCommand(args, null, "CLIENT_ERROR bad data chunk");
+        }
+        return new TextCommand(args, data, null);
+    }
+
+    private static int lineEnd(ByteBuffer buffer, int start) {
+        for (int i = start; i < buffer.limit() - 1; i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseLength(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private final class TextCommand implements Command {
+
+        private final String[] args;
+        private final byte[] data;
+        private final String failure;
+
+        private TextCommand(String[] args, byte[] data, String failure) {
+            this.args = args;
+            this.data = data;
+            this.failure = failure;
+        }
+
+        @Override
+        public ByteBuffer execute() {
+            if (failure != null) {
+                return line(failure);
+            }
+            try {
+                return switch (args[0]) {
+                    case "get" -> get(false);
+                    case "gets" -> get(true);
+                    case "set", "add", "replace", "append", "prepend", "cas" -> store();
+                    case "touch" -> touch();
+                    case "incr" -> incr(false);
+                    case "decr" -> incr(true);
+                    case "delete" -> delete();
+                    case "flush_all" -> flushAll();
+                    case "stats" -> stats();
+                    case "version" -> line("VERSION " + EmbeddedMemcachedServer.VERSION);
+                    case "verbosity" -> reply("OK");
+                    case "quit" -> null;
+                    default -> line("ERROR");
+                };
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                return line("CLIENT_ERROR bad command line format");
+            }
+        }
+
+        @Override
+        public ByteBuffer error() {
+            return line("SERVER_ERROR injected fault");
+        }
+
+        @Override
+        public boolean quit() {
+            return "quit".equals(args[0]);
+        }
+
+        private ByteBuffer get(boolean withCas) {
+            if (args.length < 2) {
+                return line("ERROR");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 1; i < args.length; i++) {
+                MemcachedStore.Item item = store.get(key(args[i]));
+                if (item != null) {
+                    String header = "VALUE " + args[i] + " " + Integer.toUnsignedString(item.flags()) + " " + item.data().length
+                            + (withCas ? " " + Long.toUnsignedString(item.cas()) : "");
+                    out.writeBytes(header.getBytes(StandardCharsets.ISO_8859_1));
+                    out.writeBytes(CRLF);
+                    out.writeBytes(item.data());
+                    out.writeBytes(CRLF);
+                }
+            }
+            out.writeBytes("END".getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(CRLF);
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+
+        private ByteBuffer store() {
+            boolean cas = "cas".equals(args[0]);
+            MemcachedStore.Mode mode = cas ? MemcachedStore.Mode.SET : MemcachedStore.Mode.valueOf(args[0].toUpperCase(Locale.ROOT));
+            long casUnique = cas ? Long.parseUnsignedLong(args[5]) : 0;
+
+            MemcachedStore.Result result = store.store(mode, key(args[1]), Integer.parseUnsignedInt(args[2]),
+                    Integer.parseInt(args[3]), data, casUnique);
+
+            return reply(switch (result.status()) {
+                case STORED -> "STORED";
+                case NOT_STORED -> "NOT_STORED";
+                case EXISTS -> "EXISTS";
+                case NOT_FOUND -> "NOT_FOUND";
+                case TOO_LARGE -> "SERVER_ERROR object too large for cache";
+                case OUT_OF_MEMORY -> "SERVER_ERROR out of memory storing object";
+            });
+        }
+
+        private ByteBuffer touch() {
+            MemcachedStore.Item item = store.touch(key(args[1]), Integer.parseInt(args[2]));
+            return reply(item != null ? "TOUCHED" : "NOT_FOUND");
+        }
+
+        private ByteBuffer incr(boolean decrement) {
+            MemcachedStore.Counter counter;
+            try {
+                counter = store.incr(key(args[1]), Long.parseUnsignedLong(args[2]), decrement);
+            } catch (IllegalArgumentException e) {
+                return reply("CLIENT_ERROR cannot increment or decrement non-numeric value");
+            }
+            return reply(counter != null ? Long.toUnsignedString(counter.value()) : "NOT_FOUND");
+        }
+
+        private ByteBuffer delete() {
+            return reply(store.delete(key(args[1])) ? "DELETED" : "NOT_FOUND");
+        }
+
+        private ByteBuffer flushAll() {
+            int delay = args.length > 1 && !"noreply".equals(args[1]) ? Integer.parseInt(args[1]) : 0;
+            store.flushAll(delay);
+            return reply("OK");
+        }
+
+        private ByteBuffer stats() {
+            StringBuilder sb = new StringBuilder();
+            stats.get().forEach((name, value) -> sb.append("STAT ").append(name).append(' ').append(value).append("\r\n"));
+            return ByteBuffer.wrap(sb.append("END\r\n").toString().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private String key(String key) {
+            if (key.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Key too long");
+            }
+            return key;
+        }
+
+        /**
+         * Returns the response line, unless the command was sent with the {@code noreply} option.
+         */
+        private ByteBuffer reply(String response) {
+            return "noreply".equals(args[args.length - 1]) ? null : line(response);
+        }
+
+        private ByteBuffer line(String response) {
+            return ByteBuffer.wrap((response + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedMemcachedServerTest {
+
+    private final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer();
+
+    private Socket socket;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+        socket = connect();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        socket.close();
+        server.stop();
+    }
+
+    @Test
+    void whenTextStorageAndRetrievalCommands_thenMemcachedResponses() throws IOException {
+        assertThat(text("set key 5 0 5\r\nvalue\r\n")).isEqualTo("STORED\r\n");
+        assertThat(text("add key 0 0 1\r\nx\r\n")).isEqualTo("NOT_STORED\r\n");
+        assertThat(text("get key missing\r\n")).isEqualTo("VALUE key 5 5\r\nvalue\r\nEND\r\n");
+        assertThat(text("touch key 100\r\n")).isEqualTo("TOUCHED\r\n");
+        assertThat(text("delete key\r\n")).isEqualTo("DELETED\r\n");
+        assertThat(text("get key\r\n")).isEqualTo("END\r\n");
+        assertThat(text("unknown\r\n")).isEqualTo("ERROR\r\n");
+    }
+
+    @Test
+    void whenTextGetsAndCas_thenCasChecked() throws IOException {
+        text("set key 0 0 1\r\na\r\n");
+        String gets = text("gets key\r\n");
+        String cas = gets.substring("VALUE key 0 1 ".length(), gets.indexOf("\r\n"));
+
+        assertThat(text("cas key 0 0 1 " + (Long.parseLong(cas) + 1) + "\r\nb\r\n")).isEqualTo("EXISTS\r\n");
+        assertThat(text("cas key 0 0 1 " + cas + "\r\nb\r\n")).isEqualTo("STORED\r\n");
+    }
+
+    @Test
+    void whenTextIncrDecr_thenCounterUpdated() throws IOException {
+        text("set counter 0 0 2\r\n10\r\n");
+
+        assertThat(text("incr counter 5\r\n")).isEqualTo("15\r\n");
+        assertThat(text("decr counter 3\r\n")).isEqualTo("12\r\n");
+        assertThat(text("incr missing 1\r\n")).isEqualTo("NOT_FOUND\r\n");
+    }
+
+    @Test
+    void whenTextNoreply_thenNoResponse() throws IOException {
+        send("set key 0 0 1 noreply\r\na\r\n");
+
+        assertThat(text("get key\r\n")).isEqualTo("VALUE key 0 1\r\na\r\nEND\r\n");
+    }
+
+    @Test
+    void whenTextCommandSentInParts_thenCommandExecutedWhenComplete() throws IOException {
+        send("set key 0 0 5\r\nva");
+        send("lue\r\n");
+
+        assertThat(read("STORED\r\n".length())).isEqualTo("STORED\r\n");
+    }
+
+    @Test
+    void whenTextFlushAllAndStats_thenItemsRemoved() throws IOException {
+        text("set key 0 0 1\r\na\r\n");
+
+        assertThat(text("flush_all\r\n")).isEqualTo("OK\r\n");
+        assertThat(server.itemCount()).isZero();
+        assertThat(server.stats()).containsEntry("curr_items", "0").containsEntry("cmd_set", "1");
+
+        send("stats\r\n");
+        String stats = readUntil("END\r\n");
+        assertThat(stats).contains("STAT version " + EmbeddedMemcachedServer.VERSION + "\r\n", "STAT curr_connections 1\r\n");
+    }
+
+    @Test
+    void whenBinaryCommands_thenMemcachedResponses() throws IOException {
+        byte[] setExtras = ByteBuffer.allocate(8).putInt(3).putInt(0).array();
+
+        BinaryResponse set = binary(BinaryProtocol.SET, setExtras, "key", "value");
+        assertThat(set.status()).isEqualTo(BinaryProtocol.SUCCESS);
+        assertThat(set.cas()).isPositive();
+
+        BinaryResponse add = binary(BinaryProtocol.ADD, setExtras, "key", "value");
+        assertThat(add.status()).isEqualTo(BinaryProtocol.KEY_EXISTS);
+
+        BinaryResponse get = binary(BinaryProtocol.GET, new byte[0], "key", "");
+        assertThat(get.status()).isEqualTo(BinaryProtocol.SUCCESS);
+        assertThat(ByteBuffer.wrap(get.extras()).getInt()).isEqualTo(3);
+        assertThat(get.value()).isEqualTo("value");
+        assertThat(get.cas()).isEqualTo(set.cas());
+
+        BinaryResponse delete = binary(BinaryProtocol.DELETE, new byte[0], "key", "");
+        assertThat(delete.status()).isEqualTo(BinaryProtocol.SUCCESS);
+
+        BinaryResponse miss = binary(BinaryProtocol.GET, new byte[0], "key", "");
+        assertThat(miss.status()).isEqualTo(BinaryProtocol.KEY_NOT_FOUND);
+    }
+
+    @Test
+    void whenBinaryQuietGets_thenOnlyHitsAndNoopReturned() throws IOException {
+        binary(BinaryProtocol.SET, ByteBuffer.allocate(8).array(), "key1", "value1");
+
+        send(request(BinaryProtocol.GETKQ, new byte[0], "key1", ""));
+        send(request(BinaryProtocol.GETKQ, new byte[0], "missing", ""));
+        send(request(BinaryProtocol.NOOP, new byte[0], "", ""));
+
+        BinaryResponse hit = readBinary();
+        assertThat(hit.opcode()).isEqualTo(BinaryProtocol.GETKQ);
+        assertThat(hit.key()).isEqualTo("key1");
+        assertThat(hit.value()).isEqualTo("value1");
+        assertThat(readBinary().opcode()).isEqualTo(BinaryProtocol.NOOP);
+    }
+
+    @Test
+    void whenBinaryIncrementMissingKeyWithInitialValue_thenInitialValueStored() throws IOException {
+        byte[] extras = ByteBuffer.allocate(20).putLong(5).putLong(42).putInt(0).array();
+
+        BinaryResponse first = binary(BinaryProtocol.INCREMENT, extras, "counter", "");
+        BinaryResponse second = binary(BinaryProtocol.INCREMENT, extras, "counter", "");
+
+        assertThat(first.body().getLong(0)).isEqualTo(42);
+        assertThat(second.body().getLong(0)).isEqualTo(47);
+    }
+
+    @Test
+    void whenLatency_thenResponseDelayed() throws IOException {
+        server.setLatency(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        assertThat(text("version\r\n")).isEqualTo("VERSION " + EmbeddedMemcachedServer.VERSION + "\r\n");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void whenLatencyJitter_thenResponsesKeepOrder() throws IOException {
+        server.setLatencyJitter(Duration.ofMillis(20));
+
+        StringBuilder commands = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            commands.append("incr counter").append(i).append(" 1\r\n");
+            expected.append("NOT_FOUND\r\n");
+            commands.append("set counter").append(i).append(" 0 0 1\r\n").append(i % 10).append("\r\n");
+            expected.append("STORED\r\n");
+        }
+        send(commands.toString());
+
+        assertThat(read(expected.length())).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void whenFailNextWithError_thenServerErrorAndCommandNotExecuted() throws IOException {
+        server.failNext(EmbeddedMemcachedServer.Fault.ERROR, 1);
+
+        assertThat(text("set key 0 0 1\r\na\r\n")).isEqualTo("SERVER_ERROR injected fault\r\n");
+        assertThat(text("get key\r\n")).isEqualTo("END\r\n");
+    }
+
+    @Test
+    void whenFailNextWithTimeout_thenNoResponse() throws IOException {
+        server.failNext(EmbeddedMemcachedServer.Fault.TIMEOUT, 1);
+        socket.setSoTimeout(200);
+
+        send("version\r\n");
+
+        assertThatThrownBy(() -> socket.getInputStream().read()).isInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    void whenFailNextWithDisconnect_thenConnectionClosed() throws IOException {
+        server.failNext(EmbeddedMemcachedServer.Fault.DISCONNECT, 1);
+
+        send("version\r\n");
+
+        assertThat(socket.getInputStream().read()).isEqualTo(-1);
+    }
+
+    @Test
+    void whenRandomFaultWithSeed_thenSameCommandsFail() throws IOException {
+        String first = randomFaults(42);
+        String second = randomFaults(42);
+
+        assertThat(first).isEqualTo(second).contains("SERVER_ERROR").contains("VERSION");
+    }
+
+    @Test
+    void whenServerRestarted_thenSamePortAndNoItems() throws IOException {
+        text("set key 0 0 1\r\na\r\n");
+        int port = server.getPort();
+
+        socket.close();
+        server.stop();
+        server.start();
+        socket = connect();
+
+        assertThat(server.getPort()).isEqualTo(port);
+        assertThat(text("get key\r\n")).isEqualTo("END\r\n");
+    }
+
+    private String randomFaults(long seed) throws IOException {
+        server.setSeed(seed);
+        server.setFault(EmbeddedMemcachedServer.Fault.ERROR, 0.5);
+
+        StringBuilder responses = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            responses.append(text("version\r\n"));
+        }
+        server.reset();
+        return responses.toString();
+    }
+
+    private Socket connect() throws IOException {
+        Socket client = new Socket(server.getHost(), server.getPort());
+        client.setSoTimeout(5000);
+        return client;
+    }
+
+    private void send(String command) throws IOException {
+        send(command.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void send(byte[] command) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(command);
+        out.flush();
+    }
+
+    /**
+     * Sends the text command and reads its single line response, or the retrieval response up to {@code END}.
+     */
+    private String text(String command) throws IOException {
+        send(command);
+        String response = readUntil("\r\n");
+        if (response.startsWith("VALUE")) {
+            response += readUntil("END\r\n");
+        }
+        return response;
+    }
+
+    private String read(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        new DataInputStream(socket.getInputStream()).readFully(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private String readUntil(String terminator) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < terminator.length() || !sb.substring(sb.length() - terminator.length()).equals(terminator)) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Connection closed");
+            }
+            sb.append((char) b);
+        }
+        return sb.toString();
+    }
+
+    private BinaryResponse binary(byte opcode, byte[] extras, String key, String value) throws IOException {
+        send(request(opcode, extras, key, value));
+        return readBinary();
+    }
+
+    private static byte[] request(byte opcode, byte[] extras, String key, String value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.US_ASCII);
+        byte[] valueBytes = value.getBytes(StandardCharsets.US_ASCII);
+        int bodyLength = extras.length + keyBytes.length + valueBytes.length;
+        return ByteBuffer.allocate(BinaryProtocol.HEADER_LENGTH + bodyLength)
+                .put(BinaryProtocol.REQUEST_MAGIC)
+                .put(opcode)
+                .putShort((short) keyBytes.length)
+                .put((byte) extras.length)
+                .put((byte) 0)
+                .putShort((short) 0)
+                .putInt(bodyLength)
+                .putInt(0)
+                .putLong(0)
+                .put(extras)
+                .put(keyBytes)
+                .put(valueBytes)
+                .array();
+    }
+
+    private BinaryResponse readBinary() throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        byte[] header = new byte[BinaryProtocol.HEADER_LENGTH];
+        in.readFully(header);
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        assertThat(headerBuffer.get(0)).isEqualTo(BinaryProtocol.RESPONSE_MAGIC);
+
+        byte[] body = new byte[headerBuffer.getInt(8)];
+        in.readFully(body);
+        return new BinaryResponse(headerBuffer.get(1), headerBuffer.getShort(2), headerBuffer.get(4),
+                headerBuffer.getShort(6), headerBuffer.getLong(16), body);
+    }
+
+    private record BinaryResponse(byte opcode, short keyLength, byte extrasLength, short status, long cas, byte[] bytes) {
+
+        byte[] extras() {
+            return Arrays.copyOfRange(bytes, 0, extrasLength);
+        }
+
+        String key() {
+            return new String(bytes, extrasLength, keyLength, StandardCharsets.US_ASCII);
+        }
+
+        String value() {
+            int offset = extrasLength + keyLength;
+            return new String(bytes, offset, bytes.length - offset, StandardCharsets.US_ASCII);
+        }
+
+        ByteBuffer body() {
+            return ByteBuffer.wrap(bytes, extrasLength + keyLength, bytes.length - extrasLength - keyLength).slice();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016-2026 Sixhours
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sixhours.memcached.test;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static io.sixhours.memcached.test.MemcachedStore.Mode.ADD;
+import static io.sixhours.memcached.test.MemcachedStore.Mode.APPEND;
+import static io.sixhours.memcached.test.MemcachedStore.Mode.REPLACE;
+import static io.sixhours.memcached.test.MemcachedStore.Mode.SET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemcachedStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    private final MemcachedStore store = new MemcachedStore(1024, clock);
+
+    @Test
+    void whenStoreWithMode_thenStoredAccordingToMode() {
+        assertThat(store.store(REPLACE, "key", 0, 0, bytes("a"), 0).status()).isEqualTo(MemcachedStore.Status.NOT_STORED);
+        assertThat(store.store(ADD, "key", 7, 0, bytes("a"), 0).status()).isEqualTo(MemcachedStore.Status.STORED);
+        assertThat(store.store(ADD, "key", 0, 0, bytes("b"), 0).status()).isEqualTo(MemcachedStore.Status.NOT_STORED);
+        assertThat(store.store(APPEND, "key", 0, 0, bytes("c"), 0).status()).isEqualTo(MemcachedStore.Status.STORED);
+
+        MemcachedStore.Item item = store.get("key");
+        assertThat(item.data()).isEqualTo(bytes("ac"));
+        assertThat(item.flags()).isEqualTo(7);
+    }
+
+    @Test
+    void whenStoreWithCas_thenStoredOnlyIfCasMatches() {
+        long cas = store.store(SET, "key", 0, 0, bytes("a"), 0).cas();
+
+        assertThat(store.store(SET, "missing", 0, 0, bytes("b"), cas).status()).isEqualTo(MemcachedStore.Status.NOT_FOUND);
+        assertThat(store.store(SET, "key", 0, 0, bytes("b"), cas + 1).status()).isEqualTo(MemcachedStore.Status.EXISTS);
+        assertThat(store.store(SET, "key", 0, 0, bytes("b"), cas).status()).isEqualTo(MemcachedStore.Status.STORED);
+        assertThat(store.get("key").data()).isEqualTo(bytes("b"));
+    }
+
+    @Test
+    void whenExpirationElapsed_thenItemExpired() {
+        store.store(SET, "relative", 0, 10, bytes("a"), 0);
+        store.store(SET, "absolute", 0, (int) (clock.millis() / 1000) + 20, bytes("a"), 0);
+        store.store(SET, "never", 0, 0, bytes("a"), 0);
+        store.store(SET, "negative", 0, -1, bytes("a"), 0);
+
+        assertThat(store.get("negative")).isNull();
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(store.get("relative")).isNull();
+        assertThat(store.get("absolute")).isNotNull();
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(store.get("absolute")).isNull();
+        assertThat(store.get("never")).isNotNull();
+    }
+
+    @Test
+    void whenTouch_thenExpirationUpdated() {
+        store.store(SET, "key", 0, 10, bytes("a"), 0);
+
+        assertThat(store.touch("key", 30)).isNotNull();
+        assertThat(store.touch("missing", 30)).isNull();
+
+        clock.advance(Duration.ofSeconds(20));
+        assertThat(store.get("key")).isNotNull();
+    }
+
+    @Test
+    void whenMemoryLimitReached_thenLeastRecentlyUsedEvicted() {
+        byte[] value = new byte[250];
+        store.store(SET, "key1", 0, 0, value, 0);
+        store.store(SET, "key2", 0, 0, value, 0);
+        store.store(SET, "key3", 0, 0, value, 0);
+        store.get("key1");
+
+        store.store(SET, "key4", 0, 0, value, 0);
+
+        assertThat(store.get("key2")).isNull();
+        assertThat(store.get("key1")).isNotNull();
+        assertThat(store.get("key3")).isNotNull();
+        assertThat(store.get("key4")).isNotNull();
+        assertThat(store.stats()).containsEntry("evictions", "1").containsEntry("curr_items", "3");
+    }
+
+    @Test
+    void whenItemExceedsLimits_thenNotStored() {
+        assertThat(store.store(SET, "key", 0, 0, new byte[2048], 0).status())
+                .isEqualTo(MemcachedStore.Status.OUT_OF_MEMORY);
+        assertThat(new MemcachedStore(Long.MAX_VALUE, clock).store(SET, "key", 0, 0, new byte[MemcachedStore.MAX_ITEM_SIZE + 1], 0).status())
+                .isEqualTo(MemcachedStore.Status.TOO_LARGE);
+    }
+
+    @Test
+    void whenIncrAndDecr_thenValueUpdated() {
+        store.store(SET, "counter", 0, 0, bytes("10"), 0);
+
+        assertThat(store.incr("counter", 5, false).value()).isEqualTo(15);
+        assertThat(store.incr("counter", 20, true).value()).isZero();
+        assertThat(store.incr("missing", 1, false)).isNull();
+        assertThat(store.get("counter").data()).isEqualTo(bytes("0"));
+
+        store.store(SET, "counter", 0, 0, bytes("18446744073709551615"), 0);
+        assertThat(store.incr("counter", 2, false).value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenIncrNonNumericValue_thenIllegalArgumentException() {
+        store.store(SET, "key", 0, 0, bytes("abc"), 0);
+
+        assertThatThrownBy(() -> store.incr("key", 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenFlushAll_thenItemsInvalidated() {
+        store.store(SET, "key1", 0, 0, bytes("a"), 0);
+        store.store(SET, "key2", 0, 0, bytes("a"), 0);
+
+        store.flushAll(10);
+        assertThat(store.get("key1")).isNotNull();
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(store.get("key1")).isNull();
+
+        store.store(SET, "key3", 0, 0, bytes("a"), 0);
+        store.flushAll(0);
+        assertThat(store.size()).isZero();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}